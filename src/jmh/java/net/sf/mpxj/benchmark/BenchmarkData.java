@@ -0,0 +1,63 @@
+/*
+ * file:       BenchmarkData.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.io.File;
+
+/**
+ * Locates the files used by the benchmarks. Relative file names are resolved
+ * against the junit/data directory, or the directory named by the
+ * mpxj.benchmark.datadir system property if it has been set.
+ */
+final class BenchmarkData
+{
+   /**
+    * Private constructor to prevent instantiation.
+    */
+   private BenchmarkData()
+   {
+
+   }
+
+   /**
+    * Retrieve a benchmark data file.
+    *
+    * @param name file name, either absolute or relative to the data directory
+    * @return File instance
+    */
+   public static File getFile(String name)
+   {
+      File file = new File(name);
+      if (!file.isAbsolute())
+      {
+         file = new File(System.getProperty("mpxj.benchmark.datadir", "junit/data"), name);
+      }
+
+      if (!file.isFile())
+      {
+         throw new IllegalArgumentException("Benchmark data file not found: " + file.getAbsolutePath());
+      }
+
+      return file;
+   }
+}
@@ -0,0 +1,145 @@
+/*
+ * file:       CalendarBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.ProjectCalendar;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.TimeUnit;
+
+/**
+ * Measures the time taken by ProjectCalendar date arithmetic, with and
+ * without calendar indexes. The calendar caches are limited to a single
+ * entry so that the calculations themselves are measured, rather than
+ * cache lookups.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1) @State(Scope.Benchmark) public class CalendarBenchmark
+{
+   /**
+    * Create the calendar and the sample dates and durations.
+    */
+   @Setup public void setup()
+   {
+      ProjectFile file = new ProjectFile();
+      file.getProjectConfig().setUseCalendarIndex(useCalendarIndex);
+      file.getProjectConfig().setCalendarCacheSize(1);
+
+      m_calendar = file.addDefaultBaseCalendar();
+      for (int year = 2020; year <= 2030; year++)
+      {
+         m_calendar.addCalendarException(LocalDate.of(year, 1, 1));
+         m_calendar.addCalendarException(LocalDate.of(year, 12, 25), LocalDate.of(year, 12, 26));
+      }
+
+      Random random = new Random(1);
+      for (int index = 0; index < SAMPLES; index++)
+      {
+         m_starts[index] = LocalDateTime.of(2024, 1, 1, 8, 0).plusDays(random.nextInt(730)).plusHours(random.nextInt(9));
+         m_ends[index] = m_starts[index].plusDays(1 + random.nextInt(spanDays));
+         int minutes = (1 + random.nextInt(spanDays)) * 480;
+         m_durations[index] = Duration.getInstance(minutes, TimeUnit.MINUTES);
+         m_negativeDurations[index] = Duration.getInstance(-minutes, TimeUnit.MINUTES);
+      }
+   }
+
+   /**
+    * Add a duration to a date.
+    *
+    * @return calculated date
+    */
+   @Benchmark public LocalDateTime getDate()
+   {
+      int index = nextIndex();
+      return m_calendar.getDate(m_starts[index], m_durations[index]);
+   }
+
+   /**
+    * Subtract a duration from a date.
+    *
+    * @return calculated date
+    */
+   @Benchmark public LocalDateTime getDateNegative()
+   {
+      int index = nextIndex();
+      return m_calendar.getDate(m_ends[index], m_negativeDurations[index]);
+   }
+
+   /**
+    * Calculate the working time between two dates.
+    *
+    * @return working time
+    */
+   @Benchmark public Duration getWork()
+   {
+      int index = nextIndex();
+      return m_calendar.getWork(m_starts[index], m_ends[index], TimeUnit.HOURS);
+   }
+
+   /**
+    * Retrieve the index of the next sample.
+    *
+    * @return sample index
+    */
+   private int nextIndex()
+   {
+      m_index = (m_index + 1) & (SAMPLES - 1);
+      return m_index;
+   }
+
+   @Param(
+   {
+      "false",
+      "true"
+   }) public boolean useCalendarIndex;
+
+   @Param(
+   {
+      "5",
+      "250"
+   }) public int spanDays;
+
+   private ProjectCalendar m_calendar;
+   private int m_index;
+   private final LocalDateTime[] m_starts = new LocalDateTime[SAMPLES];
+   private final LocalDateTime[] m_ends = new LocalDateTime[SAMPLES];
+   private final Duration[] m_durations = new Duration[SAMPLES];
+   private final Duration[] m_negativeDurations = new Duration[SAMPLES];
+
+   private static final int SAMPLES = 4096;
+}
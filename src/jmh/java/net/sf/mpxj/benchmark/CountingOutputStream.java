@@ -0,0 +1,54 @@
+/*
+ * file:       CountingOutputStream.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * Output stream which discards the data written to it,
+ * recording the number of bytes written.
+ */
+final class CountingOutputStream extends OutputStream
+{
+   @Override public void write(int b)
+   {
+      ++m_count;
+   }
+
+   @Override public void write(byte[] b, int off, int len)
+   {
+      m_count += len;
+   }
+
+   /**
+    * Retrieve the number of bytes written.
+    *
+    * @return number of bytes written
+    */
+   public long getCount()
+   {
+      return m_count;
+   }
+
+   private long m_count;
+}
@@ -0,0 +1,144 @@
+/*
+ * file:       CpmBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.ProjectCalendar;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Relation;
+import net.sf.mpxj.RelationType;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.cpm.CriticalPathScheduler;
+
+/**
+ * Measures the time taken by the CriticalPathScheduler to schedule a large
+ * randomly generated project, and to recalculate the schedule after the
+ * duration of a single task has changed.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(java.util.concurrent.TimeUnit.MILLISECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1) @State(Scope.Benchmark) public class CpmBenchmark
+{
+   /**
+    * Create and schedule the project.
+    */
+   @Setup public void setup() throws Exception
+   {
+      m_random = new Random(1);
+      m_file = createProject();
+      m_file.getProjectConfig().setUseCalendarIndex(useCalendarIndex);
+      m_tasks = m_file.getTasks();
+      m_scheduler = new CriticalPathScheduler();
+      m_scheduler.schedule(m_file, START);
+   }
+
+   /**
+    * Schedule the complete project.
+    *
+    * @return project finish date
+    */
+   @Benchmark public LocalDateTime schedule() throws Exception
+   {
+      m_scheduler.schedule(m_file, START);
+      return m_scheduler.getFinishDate();
+   }
+
+   /**
+    * Change the duration of a randomly selected task and
+    * recalculate the affected part of the schedule.
+    *
+    * @return project finish date
+    */
+   @Benchmark public LocalDateTime reschedule() throws Exception
+   {
+      Task task = m_tasks.get(m_random.nextInt(m_tasks.size()));
+      task.setDuration(Duration.getInstance(1 + m_random.nextInt(5), TimeUnit.DAYS));
+      m_scheduler.reschedule(Collections.singletonList(task));
+      return m_scheduler.getFinishDate();
+   }
+
+   /**
+    * Create a project containing randomly linked tasks.
+    *
+    * @return new project
+    */
+   private ProjectFile createProject()
+   {
+      ProjectFile file = new ProjectFile();
+      ProjectCalendar calendar = file.addDefaultBaseCalendar();
+      file.setDefaultCalendar(calendar);
+
+      List<Task> tasks = new ArrayList<>(this.tasks);
+      for (int index = 0; index < this.tasks; index++)
+      {
+         Task task = file.addTask();
+         task.setName("Task " + index);
+         task.setDuration(Duration.getInstance(1 + m_random.nextInt(5), TimeUnit.DAYS));
+
+         // Link to a couple of recent tasks to keep the network reasonably deep
+         for (int link = 0; link < 2 && index > 0; link++)
+         {
+            Task predecessor = tasks.get(Math.max(0, index - 1 - m_random.nextInt(50)));
+            if (task.getPredecessors().stream().noneMatch(r -> r.getTargetTask() == predecessor))
+            {
+               task.addPredecessor(new Relation.Builder().targetTask(predecessor).type(RelationType.FINISH_START));
+            }
+         }
+         tasks.add(task);
+      }
+
+      return file;
+   }
+
+   @Param("50000") public int tasks;
+
+   @Param(
+   {
+      "false",
+      "true"
+   }) public boolean useCalendarIndex;
+
+   private Random m_random;
+   private ProjectFile m_file;
+   private List<Task> m_tasks;
+   private CriticalPathScheduler m_scheduler;
+
+   private static final LocalDateTime START = LocalDateTime.of(2024, 1, 8, 8, 0);
+}
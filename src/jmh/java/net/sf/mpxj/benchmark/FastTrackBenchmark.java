@@ -0,0 +1,71 @@
+/*
+ * file:       FastTrackBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.fasttrack.FastTrackReader;
+
+/**
+ * Measures the time taken to read a FastTrack file using the FastTrackReader.
+ * Other files can be supplied using the JMH -p option, for example
+ * {@code -p file=/path/to/schedule.fts}.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1) @State(Scope.Benchmark) public class FastTrackBenchmark
+{
+   /**
+    * Locate the file to read.
+    */
+   @Setup public void setup()
+   {
+      m_file = BenchmarkData.getFile(file);
+   }
+
+   /**
+    * Read the file using the FastTrackReader.
+    *
+    * @return project
+    */
+   @Benchmark public ProjectFile read() throws Exception
+   {
+      return new FastTrackReader().read(m_file);
+   }
+
+   @Param("generated/resource-misc/resource-misc-fasttrack10.fts") public String file;
+
+   private File m_file;
+}
@@ -0,0 +1,95 @@
+/*
+ * file:       MppFieldProjectionBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sf.mpxj.FieldTypeClass;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.TaskField;
+import net.sf.mpxj.mpp.MPPReader;
+
+/**
+ * Compares the time taken to read an MPP file with all fields, and with
+ * only the fields required to populate task IDs, names, dates and durations.
+ * Run with {@code -prof gc} to compare the memory allocated. Other files can
+ * be supplied using the JMH -p option, for example {@code -p file=/path/to/schedule.mpp}.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1) @State(Scope.Benchmark) public class MppFieldProjectionBenchmark
+{
+   /**
+    * Load the file data.
+    */
+   @Setup public void setup() throws Exception
+   {
+      m_data = Files.readAllBytes(BenchmarkData.getFile(file).toPath());
+   }
+
+   /**
+    * Read the file with all fields.
+    *
+    * @return project
+    */
+   @Benchmark public ProjectFile readAllFields() throws Exception
+   {
+      return new MPPReader().read(new ByteArrayInputStream(m_data));
+   }
+
+   /**
+    * Read the file with only task IDs, names, dates and durations.
+    *
+    * @return project
+    */
+   @Benchmark public ProjectFile readProjectedFields() throws Exception
+   {
+      MPPReader reader = new MPPReader();
+      reader.setReadFields(FieldTypeClass.TASK, EnumSet.of(TaskField.ID, TaskField.NAME, TaskField.START, TaskField.FINISH, TaskField.DURATION));
+      reader.setReadFields(FieldTypeClass.RESOURCE, Collections.emptySet());
+      reader.setReadFields(FieldTypeClass.ASSIGNMENT, Collections.emptySet());
+      return reader.read(new ByteArrayInputStream(m_data));
+   }
+
+   @Param(
+   {
+      "generated/task-durations/task-durations-project2019-mpp14.mpp",
+      "generated/task-durations/task-durations-project2013-mpp9.mpp"
+   }) public String file;
+
+   private byte[] m_data;
+}
@@ -0,0 +1,83 @@
+/*
+ * file:       ReaderBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.reader.UniversalProjectReader;
+
+/**
+ * Measures the time taken to read a schedule. By default one file is read
+ * for each of the file formats represented in junit/data. Other files can
+ * be supplied using the JMH -p option, for example {@code -p file=/path/to/schedule.mpp}.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1) @State(Scope.Benchmark) public class ReaderBenchmark
+{
+   /**
+    * Locate the file to read.
+    */
+   @Setup public void setup()
+   {
+      m_file = BenchmarkData.getFile(file);
+   }
+
+   /**
+    * Read the file using the UniversalProjectReader.
+    *
+    * @return project
+    */
+   @Benchmark public ProjectFile read() throws Exception
+   {
+      return new UniversalProjectReader().read(m_file);
+   }
+
+   @Param(
+   {
+      "generated/task-durations/task-durations-project2019-mpp14.mpp",
+      "generated/task-durations/task-durations-project2013-mpp12.mpp",
+      "generated/task-durations/task-durations-project2013-mpp9.mpp",
+      "generated/task-durations/task-durations-project2019-mspdi.xml",
+      "generated/task-durations/task-durations-project2003-mpd9.mpd",
+      "generated/task-durations/task-durations-project98.mpx",
+      "generated/task-percentcomplete/percent-complete-8.4.xer",
+      "generated/task-percentcomplete/percent-complete-8.4.pmxml",
+      "generated/resource-misc/resource-misc-fasttrack10.fts",
+      "project1.planner"
+   }) public String file;
+
+   private File m_file;
+}
@@ -0,0 +1,139 @@
+/*
+ * file:       TimephasedBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.sf.mpxj.LocalDateTimeRange;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.ResourceAssignment;
+import net.sf.mpxj.TimephasedCost;
+import net.sf.mpxj.TimephasedWork;
+import net.sf.mpxj.mpp.TimescaleUnits;
+import net.sf.mpxj.reader.UniversalProjectReader;
+import net.sf.mpxj.utility.TimephasedUtility;
+import net.sf.mpxj.utility.TimescaleUtility;
+
+/**
+ * Measures the time taken to divide the timephased work and cost of
+ * every resource assignment in a schedule into timescale segments.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1) @State(Scope.Benchmark) public class TimephasedBenchmark
+{
+   /**
+    * Read the source file, expand the timephased data, and create the timescale.
+    */
+   @Setup public void setup() throws Exception
+   {
+      ProjectFile project = new UniversalProjectReader().read(BenchmarkData.getFile(file));
+      m_dateList = new TimescaleUtility().createTimescale(project.getProjectProperties().getStartDate().minusDays(7), units, segments);
+
+      for (ResourceAssignment assignment : project.getResourceAssignments())
+      {
+         List<TimephasedWork> work = assignment.getTimephasedWork();
+         if (work != null && !work.isEmpty())
+         {
+            m_workAssignments.add(assignment);
+            m_resourceBuckets.computeIfAbsent(assignment.getResourceUniqueID(), k -> new double[segments]);
+         }
+
+         List<TimephasedCost> cost = assignment.getTimephasedCost();
+         if (cost != null && !cost.isEmpty())
+         {
+            m_costAssignments.add(assignment);
+         }
+      }
+   }
+
+   /**
+    * Segment timephased work using segmentWork.
+    *
+    * @param blackhole Blackhole instance
+    */
+   @Benchmark public void segmentWork(Blackhole blackhole)
+   {
+      for (ResourceAssignment assignment : m_workAssignments)
+      {
+         blackhole.consume(m_utility.segmentWork(assignment.getEffectiveCalendar(), assignment.getTimephasedWork(), units, m_dateList));
+      }
+   }
+
+   /**
+    * Segment timephased cost using segmentCost.
+    *
+    * @param blackhole Blackhole instance
+    */
+   @Benchmark public void segmentCost(Blackhole blackhole)
+   {
+      for (ResourceAssignment assignment : m_costAssignments)
+      {
+         blackhole.consume(m_utility.segmentCost(assignment.getEffectiveCalendar(), assignment.getTimephasedCost(), units, m_dateList));
+      }
+   }
+
+   /**
+    * Accumulate timephased work per resource using aggregateWork.
+    *
+    * @return resource buckets
+    */
+   @Benchmark public Map<Integer, double[]> aggregateWork()
+   {
+      m_resourceBuckets.values().forEach(b -> Arrays.fill(b, 0));
+      m_utility.aggregateWork(m_workAssignments, units, m_dateList, net.sf.mpxj.TimeUnit.HOURS, a -> m_resourceBuckets.get(a.getResourceUniqueID()), null);
+      return m_resourceBuckets;
+   }
+
+   @Param("mpp14timephased.mpp") public String file;
+
+   @Param(
+   {
+      "DAYS",
+      "WEEKS"
+   }) public TimescaleUnits units;
+
+   @Param("120") public int segments;
+
+   private final TimephasedUtility m_utility = new TimephasedUtility();
+   private final List<ResourceAssignment> m_workAssignments = new ArrayList<>();
+   private final List<ResourceAssignment> m_costAssignments = new ArrayList<>();
+   private final Map<Integer, double[]> m_resourceBuckets = new HashMap<>();
+   private ArrayList<LocalDateTimeRange> m_dateList;
+}
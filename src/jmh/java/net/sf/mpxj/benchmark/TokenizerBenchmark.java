@@ -0,0 +1,128 @@
+/*
+ * file:       TokenizerBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.common.ReaderTokenizer;
+import net.sf.mpxj.common.Tokenizer;
+import net.sf.mpxj.mpx.MPXWriter;
+import net.sf.mpxj.primavera.PrimaveraXERFileReader;
+import net.sf.mpxj.reader.UniversalProjectReader;
+
+/**
+ * Measures the time taken to tokenize MPX and XER files, and the time taken
+ * to read those files in full. By default a synthetic XER file and an
+ * equivalent MPX file are generated. An existing MPX or XER file can be
+ * supplied using the JMH -p option, for example {@code -p file=/path/to/schedule.xer}.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1) @State(Scope.Benchmark) public class TokenizerBenchmark
+{
+   /**
+    * Load or generate the file data.
+    */
+   @Setup public void setup() throws Exception
+   {
+      if (file.isEmpty())
+      {
+         byte[] xer = XerData.generate(20, 5000);
+         if (format.equals("xer"))
+         {
+            m_data = xer;
+         }
+         else
+         {
+            ProjectFile project = new PrimaveraXERFileReader().read(new ByteArrayInputStream(xer));
+            ByteArrayOutputStream mpx = new ByteArrayOutputStream();
+            new MPXWriter().write(project, mpx);
+            m_data = mpx.toByteArray();
+         }
+         m_delimiter = format.equals("xer") ? '\t' : ',';
+      }
+      else
+      {
+         m_data = Files.readAllBytes(BenchmarkData.getFile(file).toPath());
+         m_delimiter = file.toLowerCase().endsWith(".xer") ? '\t' : ',';
+      }
+   }
+
+   /**
+    * Tokenize the file data.
+    *
+    * @return number of tokens read
+    */
+   @Benchmark public int tokenize() throws Exception
+   {
+      int count = 0;
+      Tokenizer tk = new ReaderTokenizer(new InputStreamReader(new ByteArrayInputStream(m_data), StandardCharsets.UTF_8));
+      tk.setDelimiter(m_delimiter);
+      int type;
+      while ((type = tk.nextToken()) != Tokenizer.TT_EOF)
+      {
+         if (type == Tokenizer.TT_WORD && tk.getToken() != null)
+         {
+            ++count;
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Read the file data as a schedule.
+    *
+    * @return project
+    */
+   @Benchmark public ProjectFile read() throws Exception
+   {
+      return new UniversalProjectReader().read(new ByteArrayInputStream(m_data));
+   }
+
+   @Param(
+   {
+      "xer",
+      "mpx"
+   }) public String format;
+
+   @Param("") public String file;
+
+   private byte[] m_data;
+   private char m_delimiter;
+}
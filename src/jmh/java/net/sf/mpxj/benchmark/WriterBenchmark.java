@@ -0,0 +1,75 @@
+/*
+ * file:       WriterBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.reader.UniversalProjectReader;
+import net.sf.mpxj.writer.FileFormat;
+import net.sf.mpxj.writer.UniversalProjectWriter;
+
+/**
+ * Measures the time taken to write a schedule in each of the file formats
+ * supported by the UniversalProjectWriter. The output is discarded.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1) @State(Scope.Benchmark) public class WriterBenchmark
+{
+   /**
+    * Read the source file.
+    */
+   @Setup public void setup() throws Exception
+   {
+      m_project = new UniversalProjectReader().read(BenchmarkData.getFile(file));
+   }
+
+   /**
+    * Write the project.
+    *
+    * @return number of bytes written
+    */
+   @Benchmark public long write() throws Exception
+   {
+      CountingOutputStream stream = new CountingOutputStream();
+      new UniversalProjectWriter(format).write(m_project, stream);
+      return stream.getCount();
+   }
+
+   @Param("generated/task-durations/task-durations-project2019-mpp14.mpp") public String file;
+
+   @Param public FileFormat format;
+
+   private ProjectFile m_project;
+}
@@ -0,0 +1,106 @@
+/*
+ * file:       XerData.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generates synthetic XER files containing multiple projects, used by the
+ * benchmarks which read XER files.
+ */
+final class XerData
+{
+   /**
+    * Private constructor to prevent instantiation.
+    */
+   private XerData()
+   {
+
+   }
+
+   /**
+    * Generate a synthetic XER file. Each project has a single WBS entry
+    * and a chain of activities linked by finish-start relationships.
+    *
+    * @param projects number of projects
+    * @param activitiesPerProject number of activities per project
+    * @return XER data
+    */
+   public static byte[] generate(int projects, int activitiesPerProject)
+   {
+      StringBuilder sb = new StringBuilder();
+      sb.append("ERMHDR\t8.2.0\t2020-03-17\tProject\tadmin\tPrimavera Admin\tdbxDatabaseNoName\tProject Management\tUSD\n");
+
+      sb.append("%T\tPROJECT\n");
+      sb.append("%F\tproj_id\tproj_short_name\texport_flag\tplan_start_date\n");
+      for (int project = 1; project <= projects; project++)
+      {
+         sb.append("%R\t").append(project).append("\tPROJECT").append(project).append('\t').append(project == 1 ? "Y" : "N").append("\t2024-01-01 08:00\n");
+      }
+
+      sb.append("%T\tPROJWBS\n");
+      sb.append("%F\twbs_id\tproj_id\tparent_wbs_id\tseq_num\tproj_node_flag\twbs_short_name\twbs_name\n");
+      for (int project = 1; project <= projects; project++)
+      {
+         sb.append("%R\t").append(project).append('\t').append(project).append("\t\t0\tY\tPROJECT").append(project).append("\tProject ").append(project).append('\n');
+      }
+
+      sb.append("%T\tTASK\n");
+      sb.append("%F\ttask_id\tproj_id\twbs_id\ttask_code\ttask_name\ttask_type\tstatus_code\ttarget_drtn_hr_cnt\ttarget_start_date\ttarget_end_date\n");
+      for (int project = 1; project <= projects; project++)
+      {
+         for (int activity = 1; activity <= activitiesPerProject; activity++)
+         {
+            int activityID = getActivityID(project, activity, activitiesPerProject);
+            sb.append("%R\t").append(activityID).append('\t').append(project).append('\t').append(project).append("\tA").append(activity).append("\tActivity ").append(activity).append("\tTT_Task\tTK_NotStart\t8\t2024-01-01 08:00\t2024-01-01 16:00\n");
+         }
+      }
+
+      sb.append("%T\tTASKPRED\n");
+      sb.append("%F\ttask_pred_id\ttask_id\tpred_task_id\tproj_id\tpred_proj_id\tpred_type\tlag_hr_cnt\n");
+      int predID = 1;
+      for (int project = 1; project <= projects; project++)
+      {
+         for (int activity = 2; activity <= activitiesPerProject; activity++)
+         {
+            sb.append("%R\t").append(predID++).append('\t').append(getActivityID(project, activity, activitiesPerProject)).append('\t').append(getActivityID(project, activity - 1, activitiesPerProject)).append('\t').append(project).append('\t').append(project).append("\tPR_FS\t0\n");
+         }
+      }
+
+      sb.append("%E\n");
+      return sb.toString().getBytes(StandardCharsets.UTF_8);
+   }
+
+   /**
+    * Generate a unique activity ID.
+    *
+    * @param project project number
+    * @param activity activity number
+    * @param activitiesPerProject number of activities per project
+    * @return unique activity ID
+    */
+   private static int getActivityID(int project, int activity, int activitiesPerProject)
+   {
+      return ((project - 1) * activitiesPerProject) + activity;
+   }
+}
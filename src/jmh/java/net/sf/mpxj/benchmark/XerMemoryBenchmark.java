@@ -0,0 +1,181 @@
+/*
+ * file:       XerMemoryBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.primavera.PrimaveraXERFileReader;
+
+/**
+ * Reports the heap used when reading all projects from an XER file. The peak
+ * heap used during the read, the heap retained by the projects, and the heap
+ * retained once the projects have been converted to use compact field storage
+ * are reported as secondary results. By default a synthetic XER file is
+ * generated, an existing file can be supplied using the JMH -p option, for
+ * example {@code -p file=/path/to/schedule.xer}. For the most reliable
+ * figures run with a fixed heap size, for example {@code -jvmArgs "-Xms4g -Xmx4g"}.
+ */
+@BenchmarkMode(Mode.SingleShotTime) @OutputTimeUnit(TimeUnit.MILLISECONDS) @Warmup(iterations = 1) @Measurement(iterations = 1) @Fork(1) @State(Scope.Benchmark) public class XerMemoryBenchmark
+{
+   /**
+    * Heap usage figures reported alongside the benchmark result.
+    */
+   @AuxCounters(AuxCounters.Type.EVENTS) @State(Scope.Thread) public static class HeapUsage
+   {
+      /**
+       * Clear the figures before each iteration.
+       */
+      @Setup(Level.Iteration) public void reset()
+      {
+         peakMegabytes = 0;
+         retainedMegabytes = 0;
+         compactMegabytes = 0;
+      }
+
+      public long peakMegabytes;
+      public long retainedMegabytes;
+      public long compactMegabytes;
+   }
+
+   /**
+    * Load or generate the XER data.
+    */
+   @Setup public void setup() throws Exception
+   {
+      if (file.isEmpty())
+      {
+         m_data = XerData.generate(projects, activities);
+      }
+      else
+      {
+         m_data = Files.readAllBytes(BenchmarkData.getFile(file).toPath());
+      }
+   }
+
+   /**
+    * Read all projects from the XER data, recording heap usage.
+    *
+    * @param usage heap usage figures
+    * @return projects
+    */
+   @Benchmark public List<ProjectFile> readAll(HeapUsage usage) throws Exception
+   {
+      long baseline = getUsedHeap();
+      resetPeakHeap();
+
+      List<ProjectFile> result = new PrimaveraXERFileReader().readAll(new ByteArrayInputStream(m_data));
+
+      usage.peakMegabytes = toMegabytes(getPeakHeap() - baseline);
+      usage.retainedMegabytes = toMegabytes(getUsedHeap() - baseline);
+
+      result.forEach(p -> p.getProjectConfig().setCompactFieldStorage(true));
+      usage.compactMegabytes = toMegabytes(getUsedHeap() - baseline);
+
+      return result;
+   }
+
+   /**
+    * Retrieve the heap in use after requesting garbage collection.
+    *
+    * @return used heap in bytes
+    */
+   private static long getUsedHeap()
+   {
+      Runtime runtime = Runtime.getRuntime();
+      for (int loop = 0; loop < 3; loop++)
+      {
+         System.gc();
+      }
+      return runtime.totalMemory() - runtime.freeMemory();
+   }
+
+   /**
+    * Reset the peak usage recorded for each heap memory pool.
+    */
+   private static void resetPeakHeap()
+   {
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+      {
+         if (pool.getType() == MemoryType.HEAP)
+         {
+            pool.resetPeakUsage();
+         }
+      }
+   }
+
+   /**
+    * Retrieve the sum of the peak usage of each heap memory pool.
+    *
+    * @return peak heap use in bytes
+    */
+   private static long getPeakHeap()
+   {
+      long result = 0;
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+      {
+         if (pool.getType() == MemoryType.HEAP)
+         {
+            result += pool.getPeakUsage().getUsed();
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Convert a size in bytes to megabytes.
+    *
+    * @param bytes size in bytes
+    * @return size in megabytes
+    */
+   private static long toMegabytes(long bytes)
+   {
+      return bytes / (1024 * 1024);
+   }
+
+   @Param("") public String file;
+   @Param("200") public int projects;
+   @Param("500") public int activities;
+
+   private byte[] m_data;
+}
@@ -0,0 +1,89 @@
+/*
+ * file:       XerReadAllBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.primavera.PrimaveraXERFileReader;
+
+/**
+ * Measures how the time taken by {@code PrimaveraXERFileReader.readAll}
+ * scales with the number of projects in an XER file. A synthetic XER file
+ * is generated for each project count, with a fixed number of activities
+ * per project.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1) @State(Scope.Benchmark) public class XerReadAllBenchmark
+{
+   /**
+    * Generate the XER data.
+    */
+   @Setup public void setup()
+   {
+      m_data = XerData.generate(projects, activities);
+   }
+
+   /**
+    * Read all projects from the XER data.
+    *
+    * @return projects
+    */
+   @Benchmark public List<ProjectFile> readAll() throws Exception
+   {
+      PrimaveraXERFileReader reader = new PrimaveraXERFileReader();
+      reader.setParallelism(parallelism);
+      return reader.readAll(new ByteArrayInputStream(m_data));
+   }
+
+   @Param(
+   {
+      "1",
+      "10",
+      "100",
+      "400"
+   }) public int projects;
+
+   @Param("50") public int activities;
+
+   @Param(
+   {
+      "1",
+      "4"
+   }) public int parallelism;
+
+   private byte[] m_data;
+}
@@ -0,0 +1,119 @@
+/*
+ * file:       XerWriterBenchmark.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.ProjectCalendar;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Relation;
+import net.sf.mpxj.RelationType;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.primavera.PrimaveraXERFileWriter;
+
+/**
+ * Measures the throughput of the XER writer using a generated schedule
+ * with a large number of activities. The output is discarded, so the
+ * results reflect the cost of formatting records rather than I/O.
+ */
+@BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.MINUTES) @Warmup(iterations = 3, time = 5) @Measurement(iterations = 5, time = 5) @Fork(1) @State(Scope.Benchmark) public class XerWriterBenchmark
+{
+   /**
+    * Generate the schedule.
+    */
+   @Setup public void setup()
+   {
+      Random random = new Random(1);
+      m_project = new ProjectFile();
+      ProjectCalendar calendar = m_project.addDefaultBaseCalendar();
+      m_project.setDefaultCalendar(calendar);
+
+      Task wbs = null;
+      Task previous = null;
+      for (int index = 0; index < activities; index++)
+      {
+         if (index % ACTIVITIES_PER_WBS == 0)
+         {
+            wbs = m_project.addTask();
+            wbs.setName("WBS " + index / ACTIVITIES_PER_WBS);
+            wbs.setGUID(new UUID(random.nextLong(), random.nextLong()));
+            previous = null;
+         }
+
+         LocalDateTime start = START.plusDays(random.nextInt(365)).plusMinutes(30 * random.nextInt(16));
+         int days = 1 + random.nextInt(20);
+
+         Task task = wbs.addTask();
+         task.setName("Activity " + index);
+         task.setActivityID("A" + index);
+         task.setGUID(new UUID(random.nextLong(), random.nextLong()));
+         task.setStart(start);
+         task.setFinish(start.plusDays(days));
+         task.setDuration(Duration.getInstance(days, net.sf.mpxj.TimeUnit.DAYS));
+         task.setRemainingDuration(Duration.getInstance(random.nextInt(days + 1), net.sf.mpxj.TimeUnit.DAYS));
+         task.setCost(Double.valueOf(random.nextInt(1000000) / 100.0));
+         task.setPercentageComplete(Double.valueOf(random.nextInt(101)));
+
+         if (previous != null)
+         {
+            task.addPredecessor(new Relation.Builder().targetTask(previous).type(RelationType.FINISH_START));
+         }
+         previous = task;
+      }
+   }
+
+   /**
+    * Write the schedule as an XER file.
+    *
+    * @return number of bytes written
+    */
+   @Benchmark public long write() throws Exception
+   {
+      CountingOutputStream stream = new CountingOutputStream();
+      new PrimaveraXERFileWriter().write(m_project, stream);
+      return stream.getCount();
+   }
+
+   @Param("100000") public int activities;
+
+   private ProjectFile m_project;
+
+   private static final int ACTIVITIES_PER_WBS = 100;
+   private static final LocalDateTime START = LocalDateTime.of(2026, 1, 5, 8, 0);
+}
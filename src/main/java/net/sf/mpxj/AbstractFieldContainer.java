@@ -24,11 +24,11 @@
 package net.sf.mpxj;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import net.sf.mpxj.common.PopulatedFieldTracker;
 import net.sf.mpxj.listener.FieldListener;
 
 /**
@@ -46,6 +46,7 @@ public abstract class AbstractFieldContainer<T> extends ProjectEntity implements
    protected AbstractFieldContainer(ProjectFile file)
    {
       super(file);
+      m_fields = FieldStorage.getInstance(file.getProjectConfig());
    }
 
    /**
@@ -96,6 +97,46 @@ public abstract class AbstractFieldContainer<T> extends ProjectEntity implements
       dependencies.forEach(f -> set(f, null));
    }
 
+   /**
+    * Ensure that the storage used for field values matches
+    * the current project configuration.
+    */
+   void updateFieldStorage()
+   {
+      ProjectConfig config = getParentFile().getProjectConfig();
+      if (!m_fields.matches(config))
+      {
+         m_fields = m_fields.copy(config);
+      }
+   }
+
+   /**
+    * Set the tracker used to maintain the populated field counts for the
+    * container this entity belongs to. The entity's current field values
+    * are removed from any previous tracker and added to the new tracker.
+    *
+    * @param tracker populated field tracker, or null if the entity no longer belongs to a container
+    */
+   void setPopulatedFieldTracker(PopulatedFieldTracker<?> tracker)
+   {
+      if (m_populatedFieldTracker == tracker)
+      {
+         return;
+      }
+
+      if (m_populatedFieldTracker != null)
+      {
+         m_fields.forEach(m_populatedFieldTracker::remove);
+      }
+
+      m_populatedFieldTracker = tracker;
+
+      if (m_populatedFieldTracker != null)
+      {
+         m_fields.forEach(m_populatedFieldTracker::add);
+      }
+   }
+
    /**
     * Disable events firing when fields are updated.
     */
@@ -127,11 +168,44 @@ public abstract class AbstractFieldContainer<T> extends ProjectEntity implements
 
       if ((oldValue == null && value != null) || (oldValue != null && value == null) || (oldValue != null && !oldValue.equals(value)))
       {
+         if (m_populatedFieldTracker != null)
+         {
+            m_populatedFieldTracker.remove(field, oldValue);
+            m_populatedFieldTracker.add(field, value);
+         }
+
          handleFieldChange(field, oldValue, value);
          fireFieldChangeEvent(field, oldValue, value);
       }
    }
 
+   /**
+    * Set a field value without clearing dependent fields or notifying
+    * listeners. The caller is responsible for clearing any dependent fields
+    * if the value has changed. This must not be used to set fields whose
+    * changes require further handling, such as the unique ID.
+    *
+    * @param field field to set
+    * @param value new value
+    * @return true if the value has changed
+    */
+   boolean setQuietly(FieldType field, Object value)
+   {
+      Object oldValue = value == null ? m_fields.remove(field) : m_fields.put(field, value);
+      if (oldValue == value || (oldValue != null && oldValue.equals(value)))
+      {
+         return false;
+      }
+
+      if (m_populatedFieldTracker != null)
+      {
+         m_populatedFieldTracker.remove(field, oldValue);
+         m_populatedFieldTracker.add(field, value);
+      }
+
+      return true;
+   }
+
    @SuppressWarnings("unchecked") @Override public Object get(FieldType field)
    {
       if (field == null)
@@ -195,6 +269,7 @@ public abstract class AbstractFieldContainer<T> extends ProjectEntity implements
    }
 
    private boolean m_clearDependentFieldsEnabled = true;
-   private final Map<FieldType, Object> m_fields = new HashMap<>();
+   private FieldStorage m_fields;
    private List<FieldListener> m_listeners;
+   private PopulatedFieldTracker<?> m_populatedFieldTracker;
 }
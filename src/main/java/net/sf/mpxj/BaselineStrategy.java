@@ -22,6 +22,8 @@
 
 package net.sf.mpxj;
 
+import java.util.Map;
+
 /**
  * Classes implementing this interface manage population of baseline attributes
  * in one schedule by comparing it to another schedule.
@@ -50,4 +52,20 @@ public interface BaselineStrategy
     * @param index baseline to populate (0-10)
     */
    void populateBaseline(ProjectFile project, ProjectFile baseline, int index);
+
+   /**
+    * Populate several baselines for the supplied project. The map keys
+    * select which baseline (0-10) is populated from each baseline project.
+    * <p/>
+    * This default implementation populates each baseline in turn.
+    * Implementations may override this method to populate all of the
+    * baselines in a single pass over the tasks in the target project.
+    *
+    * @param project target project
+    * @param baselines map of baseline index to baseline project
+    */
+   default void populateBaselines(ProjectFile project, Map<Integer, ProjectFile> baselines)
+   {
+      baselines.forEach((index, baseline) -> populateBaseline(project, baseline, index.intValue()));
+   }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+/*
+ * file:       CalendarCachePolicy.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj;
+
+/**
+ * Determines which entries are evicted when a size-bounded
+ * calendar cache is full.
+ */
+public enum CalendarCachePolicy
+{
+   /**
+    * Evict the entry which has gone unused for the longest time.
+    */
+   LEAST_RECENTLY_USED,
+
+   /**
+    * Evict the entry which has been used the fewest times. Where several
+    * entries have been used the same number of times, the oldest is evicted.
+    */
+   LEAST_FREQUENTLY_USED
+}
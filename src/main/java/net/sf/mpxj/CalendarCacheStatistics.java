@@ -0,0 +1,110 @@
+/*
+ * file:       CalendarCacheStatistics.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj;
+
+/**
+ * A snapshot of the usage statistics for one of the caches
+ * maintained by a calendar to speed up date calculations.
+ * These values can be used to determine an appropriate
+ * cache size, see {@link ProjectConfig#setCalendarCacheSize(int)}.
+ */
+public final class CalendarCacheStatistics
+{
+   /**
+    * Constructor.
+    *
+    * @param hits number of cache hits
+    * @param misses number of cache misses
+    * @param evictions number of entries evicted from the cache
+    * @param size current number of entries in the cache
+    */
+   public CalendarCacheStatistics(long hits, long misses, long evictions, int size)
+   {
+      m_hits = hits;
+      m_misses = misses;
+      m_evictions = evictions;
+      m_size = size;
+   }
+
+   /**
+    * Retrieve the number of cache hits.
+    *
+    * @return cache hits
+    */
+   public long getHits()
+   {
+      return m_hits;
+   }
+
+   /**
+    * Retrieve the number of cache misses.
+    *
+    * @return cache misses
+    */
+   public long getMisses()
+   {
+      return m_misses;
+   }
+
+   /**
+    * Retrieve the number of entries evicted from the cache
+    * because it has reached its maximum size.
+    *
+    * @return cache evictions
+    */
+   public long getEvictions()
+   {
+      return m_evictions;
+   }
+
+   /**
+    * Retrieve the number of entries currently held in the cache.
+    *
+    * @return cache size
+    */
+   public int getSize()
+   {
+      return m_size;
+   }
+
+   /**
+    * Retrieve the proportion of lookups which were satisfied by the cache.
+    *
+    * @return hit ratio in the range 0 to 1
+    */
+   public double getHitRatio()
+   {
+      long total = m_hits + m_misses;
+      return total == 0 ? 0 : (double) m_hits / total;
+   }
+
+   @Override public String toString()
+   {
+      return "[CalendarCacheStatistics hits=" + m_hits + " misses=" + m_misses + " evictions=" + m_evictions + " size=" + m_size + "]";
+   }
+
+   private final long m_hits;
+   private final long m_misses;
+   private final long m_evictions;
+   private final int m_size;
+}
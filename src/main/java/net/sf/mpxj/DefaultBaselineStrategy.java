@@ -23,10 +23,13 @@
 
 package net.sf.mpxj;
 
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import net.sf.mpxj.common.KeyIndex;
 import net.sf.mpxj.common.TaskFieldLists;
 
 /**
@@ -34,6 +37,25 @@ import net.sf.mpxj.common.TaskFieldLists;
  */
 public class DefaultBaselineStrategy implements BaselineStrategy
 {
+   /**
+    * Default constructor. Tasks are matched using their GUID.
+    */
+   public DefaultBaselineStrategy()
+   {
+      this(Task::getGUID);
+   }
+
+   /**
+    * Constructor. Tasks are matched using the key generated by the
+    * supplied function.
+    *
+    * @param keyFunction function used to generate the key for each task
+    */
+   public DefaultBaselineStrategy(Function<Task, Object> keyFunction)
+   {
+      m_keyFunction = keyFunction;
+   }
+
    @Override public void clearBaseline(ProjectFile project, int index)
    {
       TaskField[] baselineFields = getBaselineFields(index);
@@ -47,6 +69,69 @@ public class DefaultBaselineStrategy implements BaselineStrategy
       project.getTasks().forEach(t -> populateBaseline(t, map.get(getKeyForTask(t)), baselineFields));
    }
 
+   /**
+    * Populates all of the supplied baselines in a single pass over the tasks
+    * in the target project. The keys for the tasks in the target project are
+    * generated once and held in an index shared by all of the baselines.
+    * Baseline values are written without notifying field listeners, and
+    * dependent fields are only cleared where a baseline value has changed.
+    *
+    * @param project target project
+    * @param baselines map of baseline index to baseline project
+    */
+   @Override public void populateBaselines(ProjectFile project, Map<Integer, ProjectFile> baselines)
+   {
+      List<Task> tasks = project.getTasks();
+      int taskCount = tasks.size();
+      KeyIndex keyIndex = KeyIndex.getInstance(tasks.stream().map(this::getKeyForTask).toArray());
+
+      TaskField[] sourceFields = getSourceFields();
+      TaskField[][] baselineFields = new TaskField[baselines.size()][];
+      Task[][] matches = new Task[baselines.size()][];
+
+      int baselineIndex = 0;
+      for (Map.Entry<Integer, ProjectFile> entry : baselines.entrySet())
+      {
+         baselineFields[baselineIndex] = getBaselineFields(entry.getKey().intValue());
+         Task[] baselineMatches = new Task[taskCount];
+         matches[baselineIndex++] = baselineMatches;
+
+         for (Task baselineTask : entry.getValue().getTasks())
+         {
+            Object key = getKeyForTask(baselineTask);
+            if (key == null)
+            {
+               continue;
+            }
+
+            // Matches the behaviour of populateBaseline, where a repeated
+            // key in the baseline schedule removes the previous match
+            for (int position = keyIndex.getFirst(key); position != -1; position = keyIndex.getNext(position))
+            {
+               baselineMatches[position] = baselineMatches[position] == null ? baselineTask : null;
+            }
+         }
+      }
+
+      for (int position = 0; position < taskCount; position++)
+      {
+         Task task = tasks.get(position);
+         for (baselineIndex = 0; baselineIndex < matches.length; baselineIndex++)
+         {
+            Task baselineTask = matches[baselineIndex][position];
+            TaskField[] fields = baselineFields[baselineIndex];
+            for (int fieldIndex = 0; fieldIndex < sourceFields.length; fieldIndex++)
+            {
+               Object value = baselineTask == null ? null : baselineTask.getCachedValue(sourceFields[fieldIndex]);
+               if (task.setQuietly(fields[fieldIndex], value))
+               {
+                  task.clearDependentFields(fields[fieldIndex]);
+               }
+            }
+         }
+      }
+   }
+
    /**
     * Populates baseline fields in one task with values from another task.
     *
@@ -71,16 +156,17 @@ public class DefaultBaselineStrategy implements BaselineStrategy
     * from the task in the baseline schedule will be used to populate baseline
     * attributes in the main schedule.
     *
-    * This default implementation assumes that the task's GUID attribute is
-    * sufficient to match tasks in the baseline and main schedules. It is expected
-    * that this method is overridden for specific schedule types.
+    * This default implementation applies the key function supplied when
+    * this strategy was constructed, which by default uses the task's GUID
+    * attribute to match tasks in the baseline and main schedules. It is
+    * expected that this method is overridden for specific schedule types.
     *
     * @param task task from which a key is generated
     * @return key value
     */
    protected Object getKeyForTask(Task task)
    {
-      return task.getGUID();
+      return m_keyFunction.apply(task);
    }
 
    /**
@@ -125,8 +211,20 @@ public class DefaultBaselineStrategy implements BaselineStrategy
       return SOURCE_FIELDS;
    }
 
+   private final Function<Task, Object> m_keyFunction;
+
    public static final DefaultBaselineStrategy INSTANCE = new DefaultBaselineStrategy();
 
+   /**
+    * Matches tasks using their unique ID.
+    */
+   public static final DefaultBaselineStrategy UNIQUE_ID = new DefaultBaselineStrategy(Task::getUniqueID);
+
+   /**
+    * Matches tasks using their activity ID.
+    */
+   public static final DefaultBaselineStrategy ACTIVITY_ID = new DefaultBaselineStrategy(Task::getActivityID);
+
    private static final TaskField[] SOURCE_FIELDS =
    {
       TaskField.COST,
@@ -0,0 +1,803 @@
+/*
+ * file:       DependencyGraph.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the dependencies between the tasks in a project.
+ * Each task is assigned a dense index, and the relations are held in
+ * compressed sparse row form using primitive arrays, allowing the network
+ * to be traversed without the overhead of hashing or iterating over lists
+ * of Relation instances. Changes made to the project after the snapshot has
+ * been taken are not reflected in the snapshot.
+ * <p/>
+ * Each relation is represented as an edge from the predecessor to the successor.
+ * Edges are numbered from zero, and are ordered by the index of their predecessor,
+ * so the edges for the successors of a task are contiguous. The edges for the
+ * predecessors of a task are accessed indirectly via {@link #getPredecessorEdge}.
+ * <p/>
+ * Lags are expressed in minutes. Lags expressed as a percentage are converted
+ * using the duration of the predecessor task.
+ */
+public final class DependencyGraph
+{
+   /**
+    * Constructor.
+    *
+    * @param file project from which the snapshot is taken
+    */
+   public DependencyGraph(ProjectFile file)
+   {
+      ProjectProperties props = file.getProjectProperties();
+
+      m_tasks = file.getTasks().toArray(new Task[0]);
+      m_taskIndex = new HashMap<>(m_tasks.length * 2);
+      for (int index = 0; index < m_tasks.length; index++)
+      {
+         m_taskIndex.put(m_tasks[index], Integer.valueOf(index));
+      }
+
+      m_durations = new double[m_tasks.length];
+      for (int index = 0; index < m_tasks.length; index++)
+      {
+         m_durations[index] = getMinutes(props, m_tasks[index].getDuration());
+      }
+
+      //
+      // Ignore any relations to tasks which are not part of this project
+      //
+      List<Relation> relations = new ArrayList<>(file.getRelations().size());
+      for (Relation relation : file.getRelations())
+      {
+         if (m_taskIndex.containsKey(relation.getSourceTask()) && m_taskIndex.containsKey(relation.getTargetTask()))
+         {
+            relations.add(relation);
+         }
+      }
+
+      //
+      // Order the edges by predecessor using a counting sort
+      //
+      int edgeCount = relations.size();
+      m_successorOffsets = new int[m_tasks.length + 1];
+      m_predecessorOffsets = new int[m_tasks.length + 1];
+      for (Relation relation : relations)
+      {
+         ++m_successorOffsets[getIndex(relation.getTargetTask()) + 1];
+         ++m_predecessorOffsets[getIndex(relation.getSourceTask()) + 1];
+      }
+
+      for (int index = 0; index < m_tasks.length; index++)
+      {
+         m_successorOffsets[index + 1] += m_successorOffsets[index];
+         m_predecessorOffsets[index + 1] += m_predecessorOffsets[index];
+      }
+
+      m_relations = new Relation[edgeCount];
+      m_edgePredecessors = new int[edgeCount];
+      m_edgeSuccessors = new int[edgeCount];
+      m_edgeTypes = new byte[edgeCount];
+      m_edgeLags = new double[edgeCount];
+      m_predecessorEdges = new int[edgeCount];
+
+      int[] successorPositions = Arrays.copyOf(m_successorOffsets, m_tasks.length);
+      int[] predecessorPositions = Arrays.copyOf(m_predecessorOffsets, m_tasks.length);
+      for (Relation relation : relations)
+      {
+         int predecessor = getIndex(relation.getTargetTask());
+         int successor = getIndex(relation.getSourceTask());
+         int edge = successorPositions[predecessor]++;
+
+         m_relations[edge] = relation;
+         m_edgePredecessors[edge] = predecessor;
+         m_edgeSuccessors[edge] = successor;
+         m_edgeTypes[edge] = (byte) relation.getType().ordinal();
+         m_edgeLags[edge] = getLagMinutes(props, relation.getLag(), m_durations[predecessor]);
+         m_predecessorEdges[predecessorPositions[successor]++] = edge;
+      }
+
+      m_topologicalOrder = calculateTopologicalOrder();
+   }
+
+   /**
+    * Retrieve the number of tasks in the graph.
+    *
+    * @return task count
+    */
+   public int getTaskCount()
+   {
+      return m_tasks.length;
+   }
+
+   /**
+    * Retrieve the number of edges in the graph.
+    *
+    * @return edge count
+    */
+   public int getEdgeCount()
+   {
+      return m_relations.length;
+   }
+
+   /**
+    * Retrieve the task represented by the supplied index.
+    *
+    * @param index task index
+    * @return Task instance
+    */
+   public Task getTask(int index)
+   {
+      return m_tasks[index];
+   }
+
+   /**
+    * Retrieve the index of the supplied task.
+    *
+    * @param task Task instance
+    * @return task index, or -1 if the task is not part of the graph
+    */
+   public int getIndex(Task task)
+   {
+      Integer index = m_taskIndex.get(task);
+      return index == null ? -1 : index.intValue();
+   }
+
+   /**
+    * Retrieve the duration of the task represented by the supplied index,
+    * in minutes, at the time the snapshot was taken.
+    *
+    * @param index task index
+    * @return duration in minutes
+    */
+   public double getDuration(int index)
+   {
+      return m_durations[index];
+   }
+
+   /**
+    * Retrieve the first edge representing a successor of the supplied task.
+    *
+    * @param index task index
+    * @return edge index
+    */
+   public int getSuccessorStart(int index)
+   {
+      return m_successorOffsets[index];
+   }
+
+   /**
+    * Retrieve the edge following the last edge representing a successor of the supplied task.
+    *
+    * @param index task index
+    * @return edge index
+    */
+   public int getSuccessorEnd(int index)
+   {
+      return m_successorOffsets[index + 1];
+   }
+
+   /**
+    * Retrieve the first position in the predecessor edge list for the supplied task.
+    *
+    * @param index task index
+    * @return position passed to getPredecessorEdge
+    */
+   public int getPredecessorStart(int index)
+   {
+      return m_predecessorOffsets[index];
+   }
+
+   /**
+    * Retrieve the position following the last position in the predecessor
+    * edge list for the supplied task.
+    *
+    * @param index task index
+    * @return position passed to getPredecessorEdge
+    */
+   public int getPredecessorEnd(int index)
+   {
+      return m_predecessorOffsets[index + 1];
+   }
+
+   /**
+    * Retrieve an edge from the predecessor edge list.
+    *
+    * @param position position in the predecessor edge list
+    * @return edge index
+    */
+   public int getPredecessorEdge(int position)
+   {
+      return m_predecessorEdges[position];
+   }
+
+   /**
+    * Retrieve the index of the predecessor task for the supplied edge.
+    *
+    * @param edge edge index
+    * @return task index
+    */
+   public int getEdgePredecessor(int edge)
+   {
+      return m_edgePredecessors[edge];
+   }
+
+   /**
+    * Retrieve the index of the successor task for the supplied edge.
+    *
+    * @param edge edge index
+    * @return task index
+    */
+   public int getEdgeSuccessor(int edge)
+   {
+      return m_edgeSuccessors[edge];
+   }
+
+   /**
+    * Retrieve the relation type for the supplied edge.
+    *
+    * @param edge edge index
+    * @return relation type
+    */
+   public RelationType getEdgeType(int edge)
+   {
+      return RELATION_TYPE_VALUES[m_edgeTypes[edge]];
+   }
+
+   /**
+    * Retrieve the lag for the supplied edge in minutes.
+    *
+    * @param edge edge index
+    * @return lag in minutes
+    */
+   public double getEdgeLag(int edge)
+   {
+      return m_edgeLags[edge];
+   }
+
+   /**
+    * Retrieve the Relation instance represented by the supplied edge.
+    *
+    * @param edge edge index
+    * @return Relation instance
+    */
+   public Relation getRelation(int edge)
+   {
+      return m_relations[edge];
+   }
+
+   /**
+    * Returns true if the graph contains one or more cycles.
+    *
+    * @return true if the graph contains cycles
+    */
+   public boolean hasCycles()
+   {
+      return m_topologicalOrder.length != m_tasks.length;
+   }
+
+   /**
+    * Retrieve the task indexes in topological order: each task appears after
+    * all of its predecessors. If the graph contains cycles, the tasks which are
+    * part of a cycle, or which follow a cycle, are omitted.
+    *
+    * @return task indexes in topological order
+    */
+   public int[] getTopologicalOrder()
+   {
+      return m_topologicalOrder.clone();
+   }
+
+   /**
+    * Retrieve the cycles present in the graph. Each cycle is represented by the
+    * list of tasks forming a strongly connected component of the graph, that is
+    * a group of tasks where each task can be reached from every other task
+    * in the group.
+    *
+    * @return list of cycles, empty if the graph has no cycles
+    */
+   public List<List<Task>> getCycles()
+   {
+      List<List<Task>> result = new ArrayList<>();
+      if (!hasCycles())
+      {
+         return result;
+      }
+
+      //
+      // Iterative implementation of Tarjan's algorithm, restricted
+      // to the tasks which could not be placed in topological order.
+      //
+      BitSet candidates = new BitSet(m_tasks.length);
+      candidates.set(0, m_tasks.length);
+      for (int index : m_topologicalOrder)
+      {
+         candidates.clear(index);
+      }
+
+      int[] order = new int[m_tasks.length];
+      int[] lowLink = new int[m_tasks.length];
+      int[] nextEdge = new int[m_tasks.length];
+      int[] callStack = new int[m_tasks.length];
+      int[] componentStack = new int[m_tasks.length];
+      boolean[] onStack = new boolean[m_tasks.length];
+      int counter = 0;
+      int componentStackSize = 0;
+
+      for (int root = candidates.nextSetBit(0); root >= 0; root = candidates.nextSetBit(root + 1))
+      {
+         if (order[root] != 0)
+         {
+            continue;
+         }
+
+         int callStackSize = 0;
+         callStack[callStackSize++] = root;
+         order[root] = lowLink[root] = ++counter;
+         nextEdge[root] = m_successorOffsets[root];
+         componentStack[componentStackSize++] = root;
+         onStack[root] = true;
+
+         while (callStackSize != 0)
+         {
+            int node = callStack[callStackSize - 1];
+            if (nextEdge[node] < m_successorOffsets[node + 1])
+            {
+               int successor = m_edgeSuccessors[nextEdge[node]++];
+               if (!candidates.get(successor))
+               {
+                  continue;
+               }
+
+               if (order[successor] == 0)
+               {
+                  order[successor] = lowLink[successor] = ++counter;
+                  nextEdge[successor] = m_successorOffsets[successor];
+                  componentStack[componentStackSize++] = successor;
+                  onStack[successor] = true;
+                  callStack[callStackSize++] = successor;
+               }
+               else
+               {
+                  if (onStack[successor])
+                  {
+                     lowLink[node] = Math.min(lowLink[node], order[successor]);
+                  }
+               }
+               continue;
+            }
+
+            --callStackSize;
+            if (callStackSize != 0)
+            {
+               int parent = callStack[callStackSize - 1];
+               lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+            }
+
+            if (lowLink[node] == order[node])
+            {
+               List<Task> component = new ArrayList<>();
+               int member;
+               do
+               {
+                  member = componentStack[--componentStackSize];
+                  onStack[member] = false;
+                  component.add(m_tasks[member]);
+               }
+               while (member != node);
+
+               if (component.size() > 1 || hasSelfLoop(node))
+               {
+                  result.add(component);
+               }
+            }
+         }
+      }
+
+      return result;
+   }
+
+   /**
+    * Returns true if the target task can be reached from the source task
+    * by following successor relations.
+    *
+    * @param source source task index
+    * @param target target task index
+    * @return true if the target is reachable from the source
+    */
+   public boolean isReachable(int source, int target)
+   {
+      if (source == target)
+      {
+         return true;
+      }
+
+      BitSet visited = new BitSet(m_tasks.length);
+      int[] queue = new int[m_tasks.length];
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = source;
+      visited.set(source);
+
+      while (head != tail)
+      {
+         int node = queue[head++];
+         for (int edge = m_successorOffsets[node]; edge < m_successorOffsets[node + 1]; edge++)
+         {
+            int successor = m_edgeSuccessors[edge];
+            if (successor == target)
+            {
+               return true;
+            }
+
+            if (!visited.get(successor))
+            {
+               visited.set(successor);
+               queue[tail++] = successor;
+            }
+         }
+      }
+
+      return false;
+   }
+
+   /**
+    * Retrieve the indexes of all tasks which can be reached from the supplied task
+    * by following successor relations.
+    *
+    * @param index task index
+    * @return indexes of all direct and indirect successors
+    */
+   public BitSet getDescendants(int index)
+   {
+      BitSet result = new BitSet(m_tasks.length);
+      int[] queue = new int[m_tasks.length];
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = index;
+
+      while (head != tail)
+      {
+         int node = queue[head++];
+         for (int edge = m_successorOffsets[node]; edge < m_successorOffsets[node + 1]; edge++)
+         {
+            int successor = m_edgeSuccessors[edge];
+            if (!result.get(successor))
+            {
+               result.set(successor);
+               queue[tail++] = successor;
+            }
+         }
+      }
+
+      return result;
+   }
+
+   /**
+    * Retrieve the indexes of all tasks from which the supplied task can be reached
+    * by following successor relations.
+    *
+    * @param index task index
+    * @return indexes of all direct and indirect predecessors
+    */
+   public BitSet getAncestors(int index)
+   {
+      BitSet result = new BitSet(m_tasks.length);
+      int[] queue = new int[m_tasks.length];
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = index;
+
+      while (head != tail)
+      {
+         int node = queue[head++];
+         for (int position = m_predecessorOffsets[node]; position < m_predecessorOffsets[node + 1]; position++)
+         {
+            int predecessor = m_edgePredecessors[m_predecessorEdges[position]];
+            if (!result.get(predecessor))
+            {
+               result.set(predecessor);
+               queue[tail++] = predecessor;
+            }
+         }
+      }
+
+      return result;
+   }
+
+   /**
+    * Calculate the earliest start of each task, in minutes relative to the
+    * start of the project, using the task durations and relation lags.
+    * Calendars and constraints are ignored. The finish of the task with the
+    * latest earliest finish represents the length of the longest path
+    * through the network.
+    *
+    * @return earliest start of each task, indexed by task index
+    */
+   public double[] getEarliestStarts()
+   {
+      return getEarliestStarts(m_durations, null);
+   }
+
+   /**
+    * Retrieve the longest path through the network, determined using the
+    * task durations and relation lags. This is the sequence of tasks, and the
+    * relations between them, which determine the earliest finish of the project.
+    *
+    * @return indexes of the tasks on the longest path, in order
+    */
+   public int[] getLongestPath()
+   {
+      return getLongestPath(m_durations);
+   }
+
+   /**
+    * Retrieve the longest path through the network, determined using the
+    * supplied task durations and the relation lags.
+    *
+    * @param durations task durations in minutes, indexed by task index
+    * @return indexes of the tasks on the longest path, in order
+    */
+   public int[] getLongestPath(double[] durations)
+   {
+      if (m_tasks.length == 0)
+      {
+         return new int[0];
+      }
+
+      int[] drivingEdges = new int[m_tasks.length];
+      double[] earliestStarts = getEarliestStarts(durations, drivingEdges);
+
+      int last = 0;
+      for (int index = 1; index < m_tasks.length; index++)
+      {
+         if (earliestStarts[index] + durations[index] > earliestStarts[last] + durations[last])
+         {
+            last = index;
+         }
+      }
+
+      int[] path = new int[m_tasks.length];
+      int length = 0;
+      for (int node = last; node != -1; node = drivingEdges[node] == -1 ? -1 : m_edgePredecessors[drivingEdges[node]])
+      {
+         path[length++] = node;
+      }
+
+      int[] result = new int[length];
+      for (int index = 0; index < length; index++)
+      {
+         result[index] = path[length - index - 1];
+      }
+      return result;
+   }
+
+   /**
+    * Calculate the earliest start of each task, in minutes relative to the
+    * start of the project, using the supplied task durations and the relation lags.
+    * Calendars and constraints are ignored.
+    *
+    * @param durations task durations in minutes, indexed by task index
+    * @return earliest start of each task, indexed by task index
+    */
+   public double[] getEarliestStarts(double[] durations)
+   {
+      return getEarliestStarts(durations, null);
+   }
+
+   /**
+    * Calculate the earliest start of each task, optionally recording the edge
+    * which determines the start of each task.
+    *
+    * @param durations task durations in minutes, indexed by task index
+    * @param drivingEdges optional array populated with the edge determining the start of each task, or -1
+    * @return earliest start of each task, indexed by task index
+    */
+   private double[] getEarliestStarts(double[] durations, int[] drivingEdges)
+   {
+      if (hasCycles())
+      {
+         throw new IllegalStateException("Unable to calculate the longest path: the network contains cycles");
+      }
+
+      if (durations.length != m_tasks.length)
+      {
+         throw new IllegalArgumentException("Expected " + m_tasks.length + " durations, found " + durations.length);
+      }
+
+      double[] result = new double[m_tasks.length];
+      if (drivingEdges != null)
+      {
+         Arrays.fill(drivingEdges, -1);
+      }
+
+      for (int node : m_topologicalOrder)
+      {
+         double start = 0;
+         for (int position = m_predecessorOffsets[node]; position < m_predecessorOffsets[node + 1]; position++)
+         {
+            int edge = m_predecessorEdges[position];
+            int predecessor = m_edgePredecessors[edge];
+            double predecessorStart = result[predecessor];
+            double lag = m_edgeLags[edge];
+            double candidate;
+
+            switch (RELATION_TYPE_VALUES[m_edgeTypes[edge]])
+            {
+               case START_START:
+               {
+                  candidate = predecessorStart + lag;
+                  break;
+               }
+
+               case FINISH_FINISH:
+               {
+                  candidate = predecessorStart + durations[predecessor] + lag - durations[node];
+                  break;
+               }
+
+               case START_FINISH:
+               {
+                  candidate = predecessorStart + lag - durations[node];
+                  break;
+               }
+
+               default:
+               {
+                  candidate = predecessorStart + durations[predecessor] + lag;
+                  break;
+               }
+            }
+
+            if (candidate > start || (drivingEdges != null && drivingEdges[node] == -1 && candidate == start))
+            {
+               start = candidate;
+               if (drivingEdges != null)
+               {
+                  drivingEdges[node] = edge;
+               }
+            }
+         }
+         result[node] = start;
+      }
+
+      return result;
+   }
+
+   /**
+    * Determine the order of the tasks using Kahn's algorithm.
+    *
+    * @return task indexes in topological order
+    */
+   private int[] calculateTopologicalOrder()
+   {
+      int[] inDegree = new int[m_tasks.length];
+      for (int index = 0; index < m_tasks.length; index++)
+      {
+         inDegree[index] = m_predecessorOffsets[index + 1] - m_predecessorOffsets[index];
+      }
+
+      int[] order = new int[m_tasks.length];
+      int head = 0;
+      int tail = 0;
+      for (int index = 0; index < m_tasks.length; index++)
+      {
+         if (inDegree[index] == 0)
+         {
+            order[tail++] = index;
+         }
+      }
+
+      while (head != tail)
+      {
+         int node = order[head++];
+         for (int edge = m_successorOffsets[node]; edge < m_successorOffsets[node + 1]; edge++)
+         {
+            int successor = m_edgeSuccessors[edge];
+            if (--inDegree[successor] == 0)
+            {
+               order[tail++] = successor;
+            }
+         }
+      }
+
+      return tail == order.length ? order : Arrays.copyOf(order, tail);
+   }
+
+   /**
+    * Returns true if the supplied task is its own predecessor.
+    *
+    * @param index task index
+    * @return true if the task is its own predecessor
+    */
+   private boolean hasSelfLoop(int index)
+   {
+      for (int edge = m_successorOffsets[index]; edge < m_successorOffsets[index + 1]; edge++)
+      {
+         if (m_edgeSuccessors[edge] == index)
+         {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Convert a duration to minutes.
+    *
+    * @param props project properties
+    * @param duration duration to convert
+    * @return duration in minutes
+    */
+   private static double getMinutes(ProjectProperties props, Duration duration)
+   {
+      if (duration == null || duration.getDuration() == 0)
+      {
+         return 0;
+      }
+      return duration.convertUnits(TimeUnit.MINUTES, props).getDuration();
+   }
+
+   /**
+    * Convert a lag to minutes.
+    *
+    * @param props project properties
+    * @param lag lag duration
+    * @param predecessorDuration duration of the predecessor in minutes
+    * @return lag in minutes
+    */
+   private static double getLagMinutes(ProjectProperties props, Duration lag, double predecessorDuration)
+   {
+      if (lag == null || lag.getDuration() == 0)
+      {
+         return 0;
+      }
+
+      if (lag.getUnits() == TimeUnit.PERCENT || lag.getUnits() == TimeUnit.ELAPSED_PERCENT)
+      {
+         return (lag.getDuration() * predecessorDuration) / 100.0;
+      }
+
+      return getMinutes(props, lag);
+   }
+
+   private final Task[] m_tasks;
+   private final Map<Task, Integer> m_taskIndex;
+   private final double[] m_durations;
+   private final int[] m_successorOffsets;
+   private final int[] m_predecessorOffsets;
+   private final int[] m_predecessorEdges;
+   private final Relation[] m_relations;
+   private final int[] m_edgePredecessors;
+   private final int[] m_edgeSuccessors;
+   private final byte[] m_edgeTypes;
+   private final double[] m_edgeLags;
+   private final int[] m_topologicalOrder;
+
+   private static final RelationType[] RELATION_TYPE_VALUES = RelationType.values();
+}
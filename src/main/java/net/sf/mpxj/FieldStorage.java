@@ -0,0 +1,302 @@
+/*
+ * file:       FieldStorage.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Storage for the field values held by an AbstractFieldContainer.
+ * The implementation is selected based on the field storage setting in
+ * ProjectConfig: by default a HashMap is used, otherwise a compact
+ * open addressing table is used which avoids allocating an entry object
+ * for each field value.
+ */
+abstract class FieldStorage
+{
+   /**
+    * Create field storage based on the supplied configuration.
+    *
+    * @param config project configuration
+    * @return new field storage instance
+    */
+   static FieldStorage getInstance(ProjectConfig config)
+   {
+      return config.getCompactFieldStorage() ? new CompactStorage() : new MapStorage();
+   }
+
+   /**
+    * Determine if this storage matches the supplied configuration.
+    *
+    * @param config project configuration
+    * @return true if this storage matches the configuration
+    */
+   boolean matches(ProjectConfig config)
+   {
+      return (this instanceof CompactStorage) == config.getCompactFieldStorage();
+   }
+
+   /**
+    * Create a copy of this storage based on the supplied configuration.
+    *
+    * @param config project configuration
+    * @return new field storage instance
+    */
+   FieldStorage copy(ProjectConfig config)
+   {
+      FieldStorage result = getInstance(config);
+      forEach(result::put);
+      return result;
+   }
+
+   /**
+    * Retrieve a field value.
+    *
+    * @param field field type
+    * @return field value or null
+    */
+   abstract Object get(FieldType field);
+
+   /**
+    * Set a non-null field value.
+    *
+    * @param field field type
+    * @param value field value
+    * @return previous field value or null
+    */
+   abstract Object put(FieldType field, Object value);
+
+   /**
+    * Remove a field value.
+    *
+    * @param field field type
+    * @return previous field value or null
+    */
+   abstract Object remove(FieldType field);
+
+   /**
+    * Pass each field and value to the supplied consumer.
+    *
+    * @param consumer field and value consumer
+    */
+   abstract void forEach(BiConsumer<FieldType, Object> consumer);
+
+   /**
+    * Field storage backed by a HashMap. This is the storage
+    * implementation traditionally used by AbstractFieldContainer.
+    */
+   private static final class MapStorage extends FieldStorage
+   {
+      @Override Object get(FieldType field)
+      {
+         return m_map.get(field);
+      }
+
+      @Override Object put(FieldType field, Object value)
+      {
+         return m_map.put(field, value);
+      }
+
+      @Override Object remove(FieldType field)
+      {
+         return m_map.remove(field);
+      }
+
+      @Override void forEach(BiConsumer<FieldType, Object> consumer)
+      {
+         m_map.forEach(consumer);
+      }
+
+      private final Map<FieldType, Object> m_map = new HashMap<>();
+   }
+
+   /**
+    * Field storage using open addressing with linear probing. Keys and values
+    * are held in parallel arrays, and no storage is allocated until
+    * the first value is added.
+    */
+   private static final class CompactStorage extends FieldStorage
+   {
+      @Override Object get(FieldType field)
+      {
+         int index = m_size == 0 ? -1 : getIndex(field);
+         return index == -1 ? null : m_values[index];
+      }
+
+      @Override Object put(FieldType field, Object value)
+      {
+         if (m_keys == null)
+         {
+            m_keys = new FieldType[INITIAL_CAPACITY];
+            m_values = new Object[INITIAL_CAPACITY];
+         }
+
+         int mask = m_keys.length - 1;
+         int index = hash(field) & mask;
+         FieldType key;
+         while ((key = m_keys[index]) != null)
+         {
+            if (key == field || key.equals(field))
+            {
+               Object oldValue = m_values[index];
+               m_values[index] = value;
+               return oldValue;
+            }
+            index = (index + 1) & mask;
+         }
+
+         if ((m_size + 1) * 4 > m_keys.length * 3)
+         {
+            resize(m_keys.length * 2);
+            return put(field, value);
+         }
+
+         m_keys[index] = field;
+         m_values[index] = value;
+         ++m_size;
+
+         return null;
+      }
+
+      @Override Object remove(FieldType field)
+      {
+         int index = m_size == 0 ? -1 : getIndex(field);
+         if (index == -1)
+         {
+            return null;
+         }
+
+         Object oldValue = m_values[index];
+
+         // Shift back any following entries which would no
+         // longer be reachable once this entry is removed
+         int mask = m_keys.length - 1;
+         int gap = index;
+         int next = (gap + 1) & mask;
+         FieldType key;
+         while ((key = m_keys[next]) != null)
+         {
+            int ideal = hash(key) & mask;
+            if (((next - ideal) & mask) >= ((next - gap) & mask))
+            {
+               m_keys[gap] = key;
+               m_values[gap] = m_values[next];
+               gap = next;
+            }
+            next = (next + 1) & mask;
+         }
+
+         m_keys[gap] = null;
+         m_values[gap] = null;
+         --m_size;
+
+         return oldValue;
+      }
+
+      @Override void forEach(BiConsumer<FieldType, Object> consumer)
+      {
+         if (m_size == 0)
+         {
+            return;
+         }
+
+         for (int index = 0; index < m_keys.length; index++)
+         {
+            if (m_keys[index] != null)
+            {
+               consumer.accept(m_keys[index], m_values[index]);
+            }
+         }
+      }
+
+      /**
+       * Find the index of the entry for the supplied field.
+       *
+       * @param field field type
+       * @return entry index, or -1 if not found
+       */
+      private int getIndex(FieldType field)
+      {
+         int mask = m_keys.length - 1;
+         int index = hash(field) & mask;
+         FieldType key;
+         while ((key = m_keys[index]) != null)
+         {
+            if (key == field || key.equals(field))
+            {
+               return index;
+            }
+            index = (index + 1) & mask;
+         }
+         return -1;
+      }
+
+      /**
+       * Resize the table, rehashing the existing entries.
+       *
+       * @param capacity new capacity, must be a power of two
+       */
+      private void resize(int capacity)
+      {
+         FieldType[] keys = m_keys;
+         Object[] values = m_values;
+         m_keys = new FieldType[capacity];
+         m_values = new Object[capacity];
+
+         int mask = capacity - 1;
+         for (int oldIndex = 0; oldIndex < keys.length; oldIndex++)
+         {
+            FieldType key = keys[oldIndex];
+            if (key != null)
+            {
+               int index = hash(key) & mask;
+               while (m_keys[index] != null)
+               {
+                  index = (index + 1) & mask;
+               }
+               m_keys[index] = key;
+               m_values[index] = values[oldIndex];
+            }
+         }
+      }
+
+      /**
+       * Spread the bits of the field's hash code.
+       *
+       * @param field field type
+       * @return hash value
+       */
+      private static int hash(FieldType field)
+      {
+         int hash = field.hashCode() * 0x9E3779B9;
+         return hash ^ (hash >>> 16);
+      }
+
+      private FieldType[] m_keys;
+      private Object[] m_values;
+      private int m_size;
+
+      private static final int INITIAL_CAPACITY = 16;
+   }
+}
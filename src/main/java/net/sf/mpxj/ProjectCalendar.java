@@ -40,7 +40,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.UUID;
-import java.util.WeakHashMap;
 import java.util.stream.Collectors;
 
 import net.sf.mpxj.common.LocalDateHelper;
@@ -367,7 +366,7 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
    {
       ProjectCalendarException bce = new ProjectCalendarException(fromDate, toDate, recurringData);
       m_exceptions.add(bce);
-      m_expandedExceptions.clear();
+      m_expandedExceptions = null;
       m_exceptionsSorted = false;
       clearWorkingDateCache();
       return bce;
@@ -381,7 +380,7 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
    public void removeCalendarException(ProjectCalendarException exception)
    {
       m_exceptions.remove(exception);
-      m_expandedExceptions.clear();
+      m_expandedExceptions = null;
       clearWorkingDateCache();
    }
 
@@ -391,7 +390,7 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
    public void clearCalendarExceptions()
    {
       m_exceptions.clear();
-      m_expandedExceptions.clear();
+      m_expandedExceptions = null;
       m_exceptionsSorted = false;
       clearWorkingDateCache();
    }
@@ -418,8 +417,7 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
     */
    public List<ProjectCalendarException> getExpandedCalendarExceptions()
    {
-      populateExpandedExceptions();
-      return Collections.unmodifiableList(m_expandedExceptions);
+      return Collections.unmodifiableList(populateExpandedExceptions());
    }
 
    /**
@@ -559,7 +557,8 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
          return null;
       }
 
-      LocalTime result = m_startTimeCache.get(date);
+      ProjectCalendarCache<LocalDate, LocalTime> cache = getStartTimeCache();
+      LocalTime result = cache.get(date);
       if (result != null)
       {
          return result;
@@ -572,7 +571,7 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
       }
 
       result = ranges.get(0).getStart();
-      m_startTimeCache.put(date, result);
+      cache.put(date, result);
 
       return result;
    }
@@ -622,20 +621,30 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
          return startDate;
       }
 
+      ProjectCalendarIndex index = getCalendarIndex(LocalDateHelper.getLocalDate(startDate));
+      while (index != null)
+      {
+         LocalDateTime result = index.getDateFromPositiveDuration(startDate, remainingMilliseconds);
+         if (result != null)
+         {
+            return truncateMilliseconds(result);
+         }
+
+         index = index.isAfterEnd(startDate, remainingMilliseconds) ? extendCalendarIndex(index, index.getEndDate()) : null;
+      }
+
       //
       // Can we skip come computation by working forward from the
       // last call to this method?
       //
-      LocalDateTime getDateLastStartDate = m_getDateLastStartDate;
-      long getDateLastRemainingMilliseconds = m_getDateLastRemainingMilliseconds;
+      LocalDateTime originalStartDate = startDate;
+      long originalRemainingMilliseconds = remainingMilliseconds;
+      GetDateResult lastResult = m_getDateLastResult;
 
-      m_getDateLastStartDate = startDate;
-      m_getDateLastRemainingMilliseconds = remainingMilliseconds;
-
-      if (m_getDateLastResult != null && LocalDateTimeHelper.compare(startDate, getDateLastStartDate) == 0 && remainingMilliseconds >= getDateLastRemainingMilliseconds)
+      if (lastResult != null && LocalDateTimeHelper.compare(startDate, lastResult.m_startDate) == 0 && remainingMilliseconds >= lastResult.m_remainingMilliseconds)
       {
-         startDate = m_getDateLastResult;
-         remainingMilliseconds = remainingMilliseconds - getDateLastRemainingMilliseconds;
+         startDate = lastResult.m_result;
+         remainingMilliseconds = remainingMilliseconds - lastResult.m_remainingMilliseconds;
          if (remainingMilliseconds == 0)
          {
             return startDate;
@@ -744,13 +753,8 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
          }
       }
 
-      // Truncate to remove milliseconds
-      if (currentDayEnd.getNano() != 0)
-      {
-         currentDayEnd = LocalDateTime.of(currentDayEnd.toLocalDate(), LocalTime.of(currentDayEnd.getHour(), currentDayEnd.getMinute(), currentDayEnd.getSecond()));
-      }
-
-      m_getDateLastResult = currentDayEnd;
+      currentDayEnd = truncateMilliseconds(currentDayEnd);
+      m_getDateLastResult = new GetDateResult(originalStartDate, originalRemainingMilliseconds, currentDayEnd);
 
       return currentDayEnd;
    }
@@ -764,6 +768,18 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
          return endDate;
       }
 
+      ProjectCalendarIndex index = getCalendarIndex(LocalDateHelper.getLocalDate(endDate));
+      while (index != null)
+      {
+         LocalDateTime result = index.getDateFromNegativeDuration(endDate, remainingMilliseconds);
+         if (result != null)
+         {
+            return truncateMilliseconds(result);
+         }
+
+         index = index.isBeforeStart(endDate, remainingMilliseconds) ? extendCalendarIndex(index, index.getStartDate().minusDays(1)) : null;
+      }
+
       // Set the initial day start and end dates
       LocalDateTime currentDayStart;
       LocalDateTime currentDayEnd = endDate;
@@ -856,7 +872,7 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
                // Move the end of the range if our current end is
                // before the range end
                //
-               if (lastRange && (rangeEnd == LocalTime.MIDNIGHT || rangeEnd.isAfter(currentDayEndTime)))
+               if (lastRange && currentDayEndTime != LocalTime.MIDNIGHT && (rangeEnd == LocalTime.MIDNIGHT || rangeEnd.isAfter(currentDayEndTime)))
                {
                   rangeEnd = currentDayEndTime;
                }
@@ -881,13 +897,22 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
          }
       }
 
-      // Truncate to remove milliseconds
-      if (currentDayStart.getNano() != 0)
+      return truncateMilliseconds(currentDayStart);
+   }
+
+   /**
+    * Truncate a date to remove milliseconds.
+    *
+    * @param date date to truncate
+    * @return truncated date
+    */
+   private LocalDateTime truncateMilliseconds(LocalDateTime date)
+   {
+      if (date.getNano() != 0)
       {
-         currentDayStart = LocalDateTime.of(currentDayStart.toLocalDate(), LocalTime.of(currentDayStart.getHour(), currentDayStart.getMinute(), currentDayStart.getSecond()));
+         date = LocalDateTime.of(date.toLocalDate(), LocalTime.of(date.getHour(), date.getMinute(), date.getSecond()));
       }
-
-      return currentDayStart;
+      return date;
    }
 
    /**
@@ -938,18 +963,32 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
          //
          if (startTime == null)
          {
-            int nonWorkingDayCount = 0;
-            do
+            LocalDate day = LocalDateHelper.getLocalDate(date);
+            ProjectCalendarIndex index = getCalendarIndex(day);
+            LocalDate nextWorkingDate = null;
+            while (index != null && (nextWorkingDate = index.getNextWorkingDate(day)) == null && !index.contains(day.plusDays(MAX_NONWORKING_DAYS)))
             {
-               date = date.plusDays(1);
-               ++nonWorkingDayCount;
-               if (nonWorkingDayCount > MAX_NONWORKING_DAYS)
+               index = extendCalendarIndex(index, index.getEndDate());
+            }
+            if (nextWorkingDate == null)
+            {
+               int nonWorkingDayCount = 0;
+               do
                {
-                  date = originalDate;
-                  break;
+                  date = date.plusDays(1);
+                  ++nonWorkingDayCount;
+                  if (nonWorkingDayCount > MAX_NONWORKING_DAYS)
+                  {
+                     date = originalDate;
+                     break;
+                  }
                }
+               while (!isWorkingDate(LocalDateHelper.getLocalDate(date)));
+            }
+            else
+            {
+               date = LocalDateTime.of(nextWorkingDate, date.toLocalTime());
             }
-            while (!isWorkingDate(LocalDateHelper.getLocalDate(date)));
 
             startTime = getStartTime(LocalDateHelper.getLocalDate(date));
          }
@@ -998,18 +1037,32 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
          //
          if (finishTime == null)
          {
-            int nonWorkingDayCount = 0;
-            do
+            LocalDate day = LocalDateHelper.getLocalDate(date);
+            ProjectCalendarIndex index = getCalendarIndex(day);
+            LocalDate previousWorkingDate = null;
+            while (index != null && (previousWorkingDate = index.getPreviousWorkingDate(day)) == null && !index.contains(day.minusDays(MAX_NONWORKING_DAYS)))
             {
-               date = date.minusDays(1);
-               ++nonWorkingDayCount;
-               if (nonWorkingDayCount > MAX_NONWORKING_DAYS)
+               index = extendCalendarIndex(index, index.getStartDate().minusDays(1));
+            }
+            if (previousWorkingDate == null)
+            {
+               int nonWorkingDayCount = 0;
+               do
                {
-                  date = originalDate;
-                  break;
+                  date = date.minusDays(1);
+                  ++nonWorkingDayCount;
+                  if (nonWorkingDayCount > MAX_NONWORKING_DAYS)
+                  {
+                     date = originalDate;
+                     break;
+                  }
                }
+               while (!isWorkingDate(LocalDateHelper.getLocalDate(date)));
+            }
+            else
+            {
+               date = LocalDateTime.of(previousWorkingDate, date.toLocalTime());
             }
-            while (!isWorkingDate(LocalDateHelper.getLocalDate(date)));
 
             finishTime = getFinishTime(LocalDateHelper.getLocalDate(date));
          }
@@ -1256,16 +1309,16 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
 
       // We're working with expanded exceptions, which includes any recurring exceptions
       // expanded into individual entries.
-      populateExpandedExceptions();
-      if (!m_expandedExceptions.isEmpty())
+      List<ProjectCalendarException> expandedExceptions = populateExpandedExceptions();
+      if (!expandedExceptions.isEmpty())
       {
          int low = 0;
-         int high = m_expandedExceptions.size() - 1;
+         int high = expandedExceptions.size() - 1;
 
          while (low <= high)
          {
             int mid = (low + high) >>> 1;
-            ProjectCalendarException midVal = m_expandedExceptions.get(mid);
+            ProjectCalendarException midVal = expandedExceptions.get(mid);
             int cmp = LocalDateHelper.compare(midVal.getFromDate(), midVal.getToDate(), date);
 
             if (cmp > 0)
@@ -1394,8 +1447,21 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
          return null;
       }
 
+      ProjectCalendarIndex index = getCalendarIndex(LocalDateHelper.getLocalDate(startDate));
+      if (index != null && !index.contains(LocalDateHelper.getLocalDate(endDate)))
+      {
+         index = extendCalendarIndex(index, LocalDateHelper.getLocalDate(endDate));
+      }
+
+      Long indexResult = index == null ? null : index.getWork(startDate, endDate);
+      if (indexResult != null)
+      {
+         return convertFormat(indexResult.longValue(), format);
+      }
+
+      ProjectCalendarCache<LocalDateTimeRange, Long> cache = getWorkingDateCache();
       LocalDateTimeRange range = new LocalDateTimeRange(startDate, endDate);
-      Long cachedResult = m_workingDateCache.get(range);
+      Long cachedResult = cache.get(range);
       long totalTime = 0;
 
       if (cachedResult == null)
@@ -1497,7 +1563,7 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
             totalTime = -totalTime;
          }
 
-         m_workingDateCache.put(range, Long.valueOf(totalTime));
+         cache.put(range, Long.valueOf(totalTime));
       }
       else
       {
@@ -1775,12 +1841,127 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
     */
    private void clearWorkingDateCache()
    {
-      m_workingDateCache.clear();
-      m_startTimeCache.clear();
+      ProjectCalendarCache<LocalDateTimeRange, Long> workingDateCache = m_workingDateCache;
+      if (workingDateCache != null)
+      {
+         workingDateCache.clear();
+      }
+
+      ProjectCalendarCache<LocalDate, LocalTime> startTimeCache = m_startTimeCache;
+      if (startTimeCache != null)
+      {
+         startTimeCache.clear();
+      }
+
       m_getDateLastResult = null;
+      m_calendarIndex = null;
       getDerivedCalendars().forEach(ProjectCalendar::clearWorkingDateCache);
    }
 
+   /**
+    * Retrieve the cache used to hold working time calculations,
+    * creating it if necessary to match the current project configuration.
+    *
+    * @return working time cache
+    */
+   private ProjectCalendarCache<LocalDateTimeRange, Long> getWorkingDateCache()
+   {
+      ProjectConfig config = m_projectFile.getProjectConfig();
+      ProjectCalendarCache<LocalDateTimeRange, Long> cache = m_workingDateCache;
+      if (cache == null || !cache.matches(config))
+      {
+         cache = ProjectCalendarCache.getInstance(config);
+         m_workingDateCache = cache;
+      }
+      return cache;
+   }
+
+   /**
+    * Retrieve the cache used to hold start times,
+    * creating it if necessary to match the current project configuration.
+    *
+    * @return start time cache
+    */
+   private ProjectCalendarCache<LocalDate, LocalTime> getStartTimeCache()
+   {
+      ProjectConfig config = m_projectFile.getProjectConfig();
+      ProjectCalendarCache<LocalDate, LocalTime> cache = m_startTimeCache;
+      if (cache == null || !cache.matches(config))
+      {
+         cache = ProjectCalendarCache.getInstance(config);
+         m_startTimeCache = cache;
+      }
+      return cache;
+   }
+
+   /**
+    * Retrieve statistics for the cache used to hold the results of
+    * working time calculations performed by the {@code getWork} method.
+    * Hits and misses are only counted by the default cache if
+    * ProjectConfig.setCalendarCacheStatistics has been enabled.
+    *
+    * @return cache statistics
+    */
+   public CalendarCacheStatistics getWorkingTimeCacheStatistics()
+   {
+      return getWorkingDateCache().getStatistics();
+   }
+
+   /**
+    * Retrieve statistics for the cache used to hold the results
+    * of the {@code getStartTime} method.
+    * Hits and misses are only counted by the default cache if
+    * ProjectConfig.setCalendarCacheStatistics has been enabled.
+    *
+    * @return cache statistics
+    */
+   public CalendarCacheStatistics getStartTimeCacheStatistics()
+   {
+      return getStartTimeCache().getStatistics();
+   }
+
+   /**
+    * If the calendar index is enabled, retrieve an index covering the supplied date.
+    * Temporary calendars are not indexed.
+    *
+    * @param date required date
+    * @return calendar index or null
+    */
+   private ProjectCalendarIndex getCalendarIndex(LocalDate date)
+   {
+      if (m_temporaryCalendar || !m_projectFile.getProjectConfig().getUseCalendarIndex())
+      {
+         return null;
+      }
+
+      ProjectCalendarIndex index = m_calendarIndex;
+      if (index == null || !index.contains(date))
+      {
+         ProjectCalendarIndex extended = index != null && index.isNear(date) ? index.extend(this, date) : null;
+         index = extended == null ? ProjectCalendarIndex.getInstance(this, date) : extended;
+         m_calendarIndex = index;
+      }
+
+      return index;
+   }
+
+   /**
+    * Extend the calendar index to cover the supplied date.
+    *
+    * @param index current index
+    * @param date required date
+    * @return extended index, or null if the index can't be extended to cover the date
+    */
+   private ProjectCalendarIndex extendCalendarIndex(ProjectCalendarIndex index, LocalDate date)
+   {
+      ProjectCalendarIndex result = index.extend(this, date);
+      if (result != null)
+      {
+         m_calendarIndex = result;
+      }
+      return result;
+   }
+
    /**
     * Retrieves the working hours on the given date.
     *
@@ -1861,7 +2042,7 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
    /**
     * Ensure exceptions are sorted.
     */
-   private void sortExceptions()
+   private synchronized void sortExceptions()
    {
       if (!m_exceptionsSorted)
       {
@@ -1874,12 +2055,22 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
     * Populate the expanded exceptions list based on the main exceptions list.
     * Where we find recurring exception definitions, we generate individual
     * exceptions for each recurrence to ensure that we account for them correctly.
+    *
+    * @return expanded exceptions
     */
-   private void populateExpandedExceptions()
+   private List<ProjectCalendarException> populateExpandedExceptions()
    {
-      if (m_exceptions.isEmpty() || !m_expandedExceptions.isEmpty())
+      List<ProjectCalendarException> expandedExceptions = m_expandedExceptions;
+      if (expandedExceptions != null)
       {
-         return;
+         return expandedExceptions;
+      }
+
+      if (m_exceptions.isEmpty())
+      {
+         expandedExceptions = Collections.emptyList();
+         m_expandedExceptions = expandedExceptions;
+         return expandedExceptions;
       }
 
       // Separate exceptions into recurring and non-recurring.
@@ -1917,13 +2108,15 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
       }
 
       // Note the use of TreeMap ensures our expanded exceptions are sorted
-      m_expandedExceptions.addAll(map.values());
+      expandedExceptions = new ArrayList<>(map.values());
+      m_expandedExceptions = expandedExceptions;
+      return expandedExceptions;
    }
 
    /**
     * Ensure work weeks are sorted.
     */
-   private void sortWorkWeeks()
+   private synchronized void sortWorkWeeks()
    {
       if (!m_weeksSorted)
       {
@@ -2025,26 +2218,25 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
    /**
     * List of exceptions, including expansion of recurring exceptions.
     */
-   private final List<ProjectCalendarException> m_expandedExceptions = new ArrayList<>();
+   private volatile List<ProjectCalendarException> m_expandedExceptions;
 
    /**
     * Flag indicating if the list of exceptions is sorted.
     */
-   private boolean m_exceptionsSorted;
+   private volatile boolean m_exceptionsSorted;
 
    /**
     * Flag indicating if the list of weeks is sorted.
     */
-   private boolean m_weeksSorted;
+   private volatile boolean m_weeksSorted;
 
    /**
     * Caches used to speed up date calculations.
     */
-   private final Map<LocalDateTimeRange, Long> m_workingDateCache = new WeakHashMap<>();
-   private final Map<LocalDate, LocalTime> m_startTimeCache = new WeakHashMap<>();
-   private LocalDateTime m_getDateLastStartDate;
-   private long m_getDateLastRemainingMilliseconds;
-   private LocalDateTime m_getDateLastResult;
+   private volatile ProjectCalendarCache<LocalDateTimeRange, Long> m_workingDateCache;
+   private volatile ProjectCalendarCache<LocalDate, LocalTime> m_startTimeCache;
+   private volatile GetDateResult m_getDateLastResult;
+   private volatile ProjectCalendarIndex m_calendarIndex;
 
    /**
     * Work week definitions.
@@ -2085,4 +2277,30 @@ public class ProjectCalendar extends ProjectCalendarDays implements ProjectEntit
    {
       // No implementation
    };
+
+   /**
+    * Records the arguments and result of the last call to getDate
+    * with a positive duration. Held as a single immutable object
+    * to allow the calendar to be used by multiple threads.
+    */
+   private static final class GetDateResult
+   {
+      /**
+       * Constructor.
+       *
+       * @param startDate start date
+       * @param remainingMilliseconds duration in milliseconds
+       * @param result calculated date
+       */
+      public GetDateResult(LocalDateTime startDate, long remainingMilliseconds, LocalDateTime result)
+      {
+         m_startDate = startDate;
+         m_remainingMilliseconds = remainingMilliseconds;
+         m_result = result;
+      }
+
+      final LocalDateTime m_startDate;
+      final long m_remainingMilliseconds;
+      final LocalDateTime m_result;
+   }
 }
@@ -0,0 +1,552 @@
+/*
+ * file:       ProjectCalendarCache.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache used by ProjectCalendar to hold the results of date calculations.
+ * The implementation is selected based on the cache settings in
+ * ProjectConfig: by default a cache which is not thread safe and whose
+ * entries may be reclaimed by the garbage collector is used, otherwise a
+ * size-bounded cache is used with the eviction policy taken from
+ * ProjectConfig. When concurrent access is required the bounded cache is
+ * split into independently locked stripes to reduce contention.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+abstract class ProjectCalendarCache<K, V>
+{
+   /**
+    * Create a cache based on the supplied configuration.
+    *
+    * @param config project configuration
+    * @param <K> key type
+    * @param <V> value type
+    * @return new cache instance
+    */
+   static <K, V> ProjectCalendarCache<K, V> getInstance(ProjectConfig config)
+   {
+      boolean concurrent = config.getConcurrentCalendarCaches();
+      int maximumSize = config.getCalendarCacheSize();
+      CalendarCachePolicy policy = config.getCalendarCachePolicy();
+
+      if (concurrent)
+      {
+         int effectiveSize = maximumSize == 0 ? DEFAULT_CONCURRENT_CACHE_SIZE : maximumSize;
+         return new StripedCache<>(true, maximumSize, policy, effectiveSize, STRIPE_COUNT);
+      }
+
+      if (maximumSize > 0)
+      {
+         return new StripedCache<>(false, maximumSize, policy, maximumSize, 1);
+      }
+
+      return new WeakCache<>(config.getCalendarCacheStatistics());
+   }
+
+   /**
+    * Determine if this cache matches the supplied configuration.
+    *
+    * @param config project configuration
+    * @return true if this cache matches the configuration
+    */
+   abstract boolean matches(ProjectConfig config);
+
+   /**
+    * Retrieve a value from the cache.
+    *
+    * @param key key
+    * @return cached value or null
+    */
+   abstract V get(K key);
+
+   /**
+    * Add a value to the cache.
+    *
+    * @param key key
+    * @param value value
+    */
+   abstract void put(K key, V value);
+
+   /**
+    * Remove all entries from the cache. Statistics are retained.
+    */
+   abstract void clear();
+
+   /**
+    * Retrieve a snapshot of the statistics for this cache.
+    *
+    * @return cache statistics
+    */
+   abstract CalendarCacheStatistics getStatistics();
+
+   /**
+    * Unbounded cache which is not thread safe. This is the cache
+    * implementation traditionally used by ProjectCalendar. Hits and
+    * misses are only counted if cache statistics have been enabled.
+    *
+    * @param <K> key type
+    * @param <V> value type
+    */
+   private static final class WeakCache<K, V> extends ProjectCalendarCache<K, V>
+   {
+      /**
+       * Constructor.
+       *
+       * @param statistics true if hits and misses are counted
+       */
+      public WeakCache(boolean statistics)
+      {
+         m_statistics = statistics;
+      }
+
+      @Override boolean matches(ProjectConfig config)
+      {
+         return !config.getConcurrentCalendarCaches() && config.getCalendarCacheSize() == 0 && m_statistics == config.getCalendarCacheStatistics();
+      }
+
+      @Override V get(K key)
+      {
+         V result = m_map.get(key);
+         if (m_statistics)
+         {
+            if (result == null)
+            {
+               ++m_misses;
+            }
+            else
+            {
+               ++m_hits;
+            }
+         }
+         return result;
+      }
+
+      @Override void put(K key, V value)
+      {
+         m_map.put(key, value);
+      }
+
+      @Override void clear()
+      {
+         m_map.clear();
+      }
+
+      @Override CalendarCacheStatistics getStatistics()
+      {
+         return new CalendarCacheStatistics(m_hits, m_misses, 0, m_map.size());
+      }
+
+      private final boolean m_statistics;
+      private final Map<K, V> m_map = new WeakHashMap<>();
+      private long m_hits;
+      private long m_misses;
+   }
+
+   /**
+    * Size-bounded cache. The entries are distributed across one or more
+    * stripes based on the hash code of the key, each stripe being locked
+    * independently.
+    *
+    * @param <K> key type
+    * @param <V> value type
+    */
+   private static final class StripedCache<K, V> extends ProjectCalendarCache<K, V>
+   {
+      /**
+       * Constructor.
+       *
+       * @param concurrent true if this cache supports concurrent access
+       * @param maximumSize maximum number of entries from the configuration
+       * @param policy eviction policy
+       * @param effectiveSize maximum number of entries actually held
+       * @param stripeCount number of stripes
+       */
+      @SuppressWarnings(
+      {
+         "unchecked",
+         "rawtypes"
+      }) public StripedCache(boolean concurrent, int maximumSize, CalendarCachePolicy policy, int effectiveSize, int stripeCount)
+      {
+         m_concurrent = concurrent;
+         m_maximumSize = maximumSize;
+         m_policy = policy;
+         int stripeSize = Math.max(1, (effectiveSize + stripeCount - 1) / stripeCount);
+         m_stripes = new Stripe[stripeCount];
+         for (int index = 0; index < stripeCount; index++)
+         {
+            m_stripes[index] = policy == CalendarCachePolicy.LEAST_FREQUENTLY_USED ? new LfuStripe<>(stripeSize, m_evictions) : new LruStripe<>(stripeSize, m_evictions);
+         }
+      }
+
+      @Override boolean matches(ProjectConfig config)
+      {
+         return m_concurrent == config.getConcurrentCalendarCaches() && m_maximumSize == config.getCalendarCacheSize() && m_policy == config.getCalendarCachePolicy();
+      }
+
+      @Override V get(K key)
+      {
+         Stripe<K, V> stripe = getStripe(key);
+         V result;
+         synchronized (stripe)
+         {
+            result = stripe.get(key);
+         }
+
+         if (result == null)
+         {
+            m_misses.increment();
+         }
+         else
+         {
+            m_hits.increment();
+         }
+
+         return result;
+      }
+
+      @Override void put(K key, V value)
+      {
+         Stripe<K, V> stripe = getStripe(key);
+         synchronized (stripe)
+         {
+            stripe.put(key, value);
+         }
+      }
+
+      @Override void clear()
+      {
+         for (Stripe<K, V> stripe : m_stripes)
+         {
+            synchronized (stripe)
+            {
+               stripe.clear();
+            }
+         }
+      }
+
+      @Override CalendarCacheStatistics getStatistics()
+      {
+         int size = 0;
+         for (Stripe<K, V> stripe : m_stripes)
+         {
+            synchronized (stripe)
+            {
+               size += stripe.size();
+            }
+         }
+         return new CalendarCacheStatistics(m_hits.sum(), m_misses.sum(), m_evictions.sum(), size);
+      }
+
+      /**
+       * Select the stripe for a given key.
+       *
+       * @param key key
+       * @return stripe
+       */
+      private Stripe<K, V> getStripe(K key)
+      {
+         if (m_stripes.length == 1)
+         {
+            return m_stripes[0];
+         }
+
+         int hash = key.hashCode();
+         hash ^= (hash >>> 16);
+         return m_stripes[hash & (m_stripes.length - 1)];
+      }
+
+      private final boolean m_concurrent;
+      private final int m_maximumSize;
+      private final CalendarCachePolicy m_policy;
+      private final Stripe<K, V>[] m_stripes;
+      private final LongAdder m_hits = new LongAdder();
+      private final LongAdder m_misses = new LongAdder();
+      private final LongAdder m_evictions = new LongAdder();
+   }
+
+   /**
+    * A single stripe of a bounded cache. Callers are responsible
+    * for synchronizing access to the stripe.
+    *
+    * @param <K> key type
+    * @param <V> value type
+    */
+   private static abstract class Stripe<K, V>
+   {
+      /**
+       * Constructor.
+       *
+       * @param maximumSize maximum number of entries
+       * @param evictions eviction counter
+       */
+      protected Stripe(int maximumSize, LongAdder evictions)
+      {
+         m_maximumSize = maximumSize;
+         m_evictions = evictions;
+      }
+
+      /**
+       * Retrieve a value from the stripe.
+       *
+       * @param key key
+       * @return cached value or null
+       */
+      abstract V get(K key);
+
+      /**
+       * Add a value to the stripe, evicting an entry if the stripe is full.
+       *
+       * @param key key
+       * @param value value
+       */
+      abstract void put(K key, V value);
+
+      /**
+       * Remove all entries from the stripe.
+       */
+      abstract void clear();
+
+      /**
+       * Retrieve the number of entries in the stripe.
+       *
+       * @return number of entries
+       */
+      abstract int size();
+
+      protected final int m_maximumSize;
+      protected final LongAdder m_evictions;
+   }
+
+   /**
+    * Stripe using access ordering to evict the least recently used entry.
+    *
+    * @param <K> key type
+    * @param <V> value type
+    */
+   private static final class LruStripe<K, V> extends Stripe<K, V>
+   {
+      /**
+       * Constructor.
+       *
+       * @param maximumSize maximum number of entries
+       * @param evictions eviction counter
+       */
+      public LruStripe(int maximumSize, LongAdder evictions)
+      {
+         super(maximumSize, evictions);
+      }
+
+      @Override V get(K key)
+      {
+         return m_map.get(key);
+      }
+
+      @Override void put(K key, V value)
+      {
+         m_map.put(key, value);
+      }
+
+      @Override void clear()
+      {
+         m_map.clear();
+      }
+
+      @Override int size()
+      {
+         return m_map.size();
+      }
+
+      private final Map<K, V> m_map = new LinkedHashMap<K, V>(16, 0.75f, true)
+      {
+         @Override protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+         {
+            if (size() > m_maximumSize)
+            {
+               m_evictions.increment();
+               return true;
+            }
+            return false;
+         }
+      };
+   }
+
+   /**
+    * Stripe evicting the least frequently used entry. Keys are grouped
+    * into buckets by use count, each bucket preserving insertion order
+    * so that the oldest entry is evicted when use counts are equal.
+    * All operations take constant time.
+    *
+    * @param <K> key type
+    * @param <V> value type
+    */
+   private static final class LfuStripe<K, V> extends Stripe<K, V>
+   {
+      /**
+       * Constructor.
+       *
+       * @param maximumSize maximum number of entries
+       * @param evictions eviction counter
+       */
+      public LfuStripe(int maximumSize, LongAdder evictions)
+      {
+         super(maximumSize, evictions);
+      }
+
+      @Override V get(K key)
+      {
+         LfuEntry<V> entry = m_entries.get(key);
+         if (entry == null)
+         {
+            return null;
+         }
+         incrementFrequency(key, entry);
+         return entry.m_value;
+      }
+
+      @Override void put(K key, V value)
+      {
+         LfuEntry<V> entry = m_entries.get(key);
+         if (entry != null)
+         {
+            entry.m_value = value;
+            incrementFrequency(key, entry);
+            return;
+         }
+
+         if (m_entries.size() >= m_maximumSize)
+         {
+            evict();
+         }
+
+         m_entries.put(key, new LfuEntry<>(value));
+         m_buckets.computeIfAbsent(Integer.valueOf(1), k -> new LinkedHashSet<>()).add(key);
+         m_minimumFrequency = 1;
+      }
+
+      @Override void clear()
+      {
+         m_entries.clear();
+         m_buckets.clear();
+         m_minimumFrequency = 0;
+      }
+
+      @Override int size()
+      {
+         return m_entries.size();
+      }
+
+      /**
+       * Move a key into the bucket for its next use count.
+       *
+       * @param key key
+       * @param entry cache entry
+       */
+      private void incrementFrequency(K key, LfuEntry<V> entry)
+      {
+         int frequency = entry.m_frequency;
+         if (frequency == Integer.MAX_VALUE)
+         {
+            return;
+         }
+
+         Integer bucketKey = Integer.valueOf(frequency);
+         LinkedHashSet<K> bucket = m_buckets.get(bucketKey);
+         bucket.remove(key);
+         if (bucket.isEmpty())
+         {
+            m_buckets.remove(bucketKey);
+            if (m_minimumFrequency == frequency)
+            {
+               m_minimumFrequency = frequency + 1;
+            }
+         }
+
+         entry.m_frequency = frequency + 1;
+         m_buckets.computeIfAbsent(Integer.valueOf(entry.m_frequency), k -> new LinkedHashSet<>()).add(key);
+      }
+
+      /**
+       * Remove the oldest entry with the lowest use count.
+       */
+      private void evict()
+      {
+         Integer bucketKey = Integer.valueOf(m_minimumFrequency);
+         LinkedHashSet<K> bucket = m_buckets.get(bucketKey);
+         Iterator<K> iter = bucket.iterator();
+         K key = iter.next();
+         iter.remove();
+         if (bucket.isEmpty())
+         {
+            m_buckets.remove(bucketKey);
+         }
+         m_entries.remove(key);
+         m_evictions.increment();
+      }
+
+      private final Map<K, LfuEntry<V>> m_entries = new HashMap<>();
+      private final Map<Integer, LinkedHashSet<K>> m_buckets = new HashMap<>();
+      private int m_minimumFrequency;
+   }
+
+   /**
+    * Value held by the LFU stripe, along with its use count.
+    *
+    * @param <V> value type
+    */
+   private static final class LfuEntry<V>
+   {
+      /**
+       * Constructor.
+       *
+       * @param value cached value
+       */
+      public LfuEntry(V value)
+      {
+         m_value = value;
+         m_frequency = 1;
+      }
+
+      V m_value;
+      int m_frequency;
+   }
+
+   /**
+    * Number of stripes used by a concurrent cache, must be a power of two.
+    */
+   private static final int STRIPE_COUNT = 16;
+
+   /**
+    * Maximum number of entries held by a concurrent cache when
+    * no size has been configured.
+    */
+   static final int DEFAULT_CONCURRENT_CACHE_SIZE = 10000;
+}
@@ -0,0 +1,632 @@
+/*
+ * file:       ProjectCalendarIndex.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+import net.sf.mpxj.common.LocalTimeHelper;
+
+/**
+ * A compiled view of the working time defined by a calendar over a bounded
+ * range of dates. Exceptions, work weeks and parent calendars are flattened
+ * into the working hours for each day, and the cumulative working time
+ * from the start of the range is recorded for each day. This allows
+ * date arithmetic to be performed using binary searches rather than by
+ * stepping through the calendar one day at a time.
+ *
+ * The index initially covers a short window around the first date queried.
+ * When a query needs dates outside this window the index is extended,
+ * at least doubling in size in the direction required, and reusing the
+ * working hours already calculated for the existing window.
+ *
+ * Each method returns null if the index is unable to answer the query,
+ * in which case the caller is expected to fall back to the
+ * day-by-day calculation.
+ */
+final class ProjectCalendarIndex
+{
+   /**
+    * Constructor.
+    *
+    * @param calendar calendar to index
+    * @param existing index whose working hours can be reused, may be null
+    * @param startDate first date covered by the index
+    * @param days number of days covered by the index
+    */
+   private ProjectCalendarIndex(ProjectCalendar calendar, ProjectCalendarIndex existing, LocalDate startDate, int days)
+   {
+      m_startDate = startDate;
+      m_days = days;
+      m_ranges = new ProjectCalendarHours[days];
+      m_cumulativeWork = new long[days + 1];
+      m_nextWorkingDay = new int[days];
+      m_previousWorkingDay = new int[days];
+      m_longNonWorkingPeriods = new int[days];
+
+      int offset = existing == null ? 0 : (int) ChronoUnit.DAYS.between(startDate, existing.m_startDate);
+      LocalDate date = startDate;
+      for (int index = 0; index < days; index++)
+      {
+         int existingIndex = index - offset;
+         ProjectCalendarHours ranges = existing != null && existingIndex >= 0 && existingIndex < existing.m_days ? existing.m_ranges[existingIndex] : calendar.getRanges(date);
+         m_ranges[index] = ranges;
+         m_cumulativeWork[index + 1] = m_cumulativeWork[index] + getTotalTime(ranges);
+         date = date.plusDays(1);
+      }
+
+      int previous = -1;
+      for (int index = 0; index < days; index++)
+      {
+         if (!m_ranges[index].isEmpty())
+         {
+            previous = index;
+         }
+         m_previousWorkingDay[index] = previous;
+      }
+
+      int next = -1;
+      for (int index = days - 1; index >= 0; index--)
+      {
+         if (!m_ranges[index].isEmpty())
+         {
+            next = index;
+         }
+         m_nextWorkingDay[index] = next;
+      }
+
+      // Running count of working days preceded by a long period of non-working time
+      int count = 0;
+      for (int index = 0; index < days; index++)
+      {
+         if (index > 0 && !m_ranges[index].isEmpty() && m_previousWorkingDay[index - 1] != -1 && index - m_previousWorkingDay[index - 1] > MAX_NONWORKING_DAYS)
+         {
+            ++count;
+         }
+         m_longNonWorkingPeriods[index] = count;
+      }
+   }
+
+   /**
+    * Create an index covering a short window around the supplied date.
+    *
+    * @param calendar calendar to index
+    * @param date date to be covered
+    * @return new index
+    */
+   static ProjectCalendarIndex getInstance(ProjectCalendar calendar, LocalDate date)
+   {
+      return new ProjectCalendarIndex(calendar, null, date.minusDays(INITIAL_PADDING_DAYS), INITIAL_PADDING_DAYS * 2 + 1);
+   }
+
+   /**
+    * Create an index covering the range of this index and the supplied date.
+    * The range is extended by at least the current number of days
+    * in the direction required.
+    *
+    * @param calendar calendar to index
+    * @param date date to be covered
+    * @return extended index, or null if the index would exceed the maximum size
+    */
+   ProjectCalendarIndex extend(ProjectCalendar calendar, LocalDate date)
+   {
+      if (contains(date))
+      {
+         return this;
+      }
+
+      LocalDate startDate = m_startDate;
+      LocalDate endDate = getEndDate();
+      if (date.isBefore(startDate))
+      {
+         LocalDate paddedDate = date.minusDays(INITIAL_PADDING_DAYS);
+         LocalDate grownDate = startDate.minusDays(m_days);
+         startDate = paddedDate.isBefore(grownDate) ? paddedDate : grownDate;
+      }
+      else
+      {
+         LocalDate paddedDate = date.plusDays(INITIAL_PADDING_DAYS + 1);
+         LocalDate grownDate = endDate.plusDays(m_days);
+         endDate = paddedDate.isAfter(grownDate) ? paddedDate : grownDate;
+      }
+
+      long days = ChronoUnit.DAYS.between(startDate, endDate);
+      if (days > MAX_DAYS)
+      {
+         return null;
+      }
+
+      return new ProjectCalendarIndex(calendar, this, startDate, (int) days);
+   }
+
+   /**
+    * Determine if the supplied date is close enough to the range covered
+    * by this index that it is worth extending the index rather
+    * than creating a new index.
+    *
+    * @param date date to test
+    * @return true if the index should be extended
+    */
+   boolean isNear(LocalDate date)
+   {
+      long distance = date.isBefore(m_startDate) ? ChronoUnit.DAYS.between(date, m_startDate) : ChronoUnit.DAYS.between(getEndDate(), date);
+      return distance <= Math.max(m_days, INITIAL_PADDING_DAYS);
+   }
+
+   /**
+    * Retrieve the first date covered by the index.
+    *
+    * @return start date
+    */
+   LocalDate getStartDate()
+   {
+      return m_startDate;
+   }
+
+   /**
+    * Retrieve the first date after the range covered by the index.
+    *
+    * @return end date (exclusive)
+    */
+   LocalDate getEndDate()
+   {
+      return m_startDate.plusDays(m_days);
+   }
+
+   /**
+    * Determine if adding working time to a date covered by the index
+    * produces a date after the end of the index.
+    *
+    * @param startDate start date
+    * @param milliseconds working time to add
+    * @return true if the index must be extended to determine the result
+    */
+   boolean isAfterEnd(LocalDateTime startDate, long milliseconds)
+   {
+      long start = getCumulativeWork(startDate);
+      return start != -1 && start + milliseconds > m_cumulativeWork[m_days];
+   }
+
+   /**
+    * Determine if subtracting working time from a date covered by the index
+    * produces a date before the start of the index.
+    *
+    * @param endDate end date
+    * @param milliseconds working time to subtract
+    * @return true if the index must be extended to determine the result
+    */
+   boolean isBeforeStart(LocalDateTime endDate, long milliseconds)
+   {
+      long end = getCumulativeWork(endDate);
+      return end != -1 && end - milliseconds < 0;
+   }
+
+   /**
+    * Determine if the supplied date falls within the range covered by the index.
+    *
+    * @param date date to test
+    * @return true if the date is covered by the index
+    */
+   boolean contains(LocalDate date)
+   {
+      long index = ChronoUnit.DAYS.between(m_startDate, date);
+      return index >= 0 && index < m_days;
+   }
+
+   /**
+    * Retrieve the working time between two dates in milliseconds.
+    * The result is negative if the end date is before the start date.
+    *
+    * @param startDate start date
+    * @param endDate end date
+    * @return working time in milliseconds, or null if the dates are not covered by the index
+    */
+   Long getWork(LocalDateTime startDate, LocalDateTime endDate)
+   {
+      long start = getCumulativeWork(startDate);
+      long end = getCumulativeWork(endDate);
+      if (start == -1 || end == -1)
+      {
+         return null;
+      }
+      return Long.valueOf(end - start);
+   }
+
+   /**
+    * Add an amount of working time to a date.
+    *
+    * @param startDate start date
+    * @param milliseconds working time to add, must be greater than zero
+    * @return resulting date, or null if the index can't determine the result
+    */
+   LocalDateTime getDateFromPositiveDuration(LocalDateTime startDate, long milliseconds)
+   {
+      long start = getCumulativeWork(startDate);
+      if (start == -1)
+      {
+         return null;
+      }
+
+      long target = start + milliseconds;
+      if (target > m_cumulativeWork[m_days])
+      {
+         return null;
+      }
+
+      // Find the first day whose cumulative working time reaches the target
+      int startDay = getDayIndex(startDate.toLocalDate());
+      int low = startDay + 1;
+      int high = m_days;
+      while (low < high)
+      {
+         int mid = (low + high) >>> 1;
+         if (m_cumulativeWork[mid] < target)
+         {
+            low = mid + 1;
+         }
+         else
+         {
+            high = mid;
+         }
+      }
+      int day = low - 1;
+
+      if (hasLongNonWorkingPeriodAfter(startDay, day))
+      {
+         return null;
+      }
+
+      ProjectCalendarHours ranges = m_ranges[day];
+      LocalDateTime dayStart = m_startDate.plusDays(day).atStartOfDay();
+      if (m_cumulativeWork[day + 1] == target)
+      {
+         return LocalTimeHelper.setEndTime(dayStart, ranges.get(ranges.size() - 1).getEnd());
+      }
+
+      long remaining = target - m_cumulativeWork[day];
+      for (LocalTimeRange range : ranges)
+      {
+         if (range.getStart() == null || range.getEnd() == null)
+         {
+            continue;
+         }
+
+         long rangeMilliseconds = LocalTimeHelper.getMillisecondsInRange(range.getStart(), range.getEnd());
+         if (remaining > rangeMilliseconds)
+         {
+            remaining -= rangeMilliseconds;
+         }
+         else
+         {
+            LocalTime rangeEnd = remaining == rangeMilliseconds ? range.getEnd() : range.getStart().plus(remaining, ChronoUnit.MILLIS);
+            return LocalTimeHelper.setTime(dayStart, rangeEnd);
+         }
+      }
+
+      return null;
+   }
+
+   /**
+    * Subtract an amount of working time from a date.
+    *
+    * @param endDate end date
+    * @param milliseconds working time to subtract, must be greater than zero
+    * @return resulting date, or null if the index can't determine the result
+    */
+   LocalDateTime getDateFromNegativeDuration(LocalDateTime endDate, long milliseconds)
+   {
+      long end = getCumulativeWork(endDate);
+      if (end == -1)
+      {
+         return null;
+      }
+
+      long target = end - milliseconds;
+      if (target < 0)
+      {
+         return null;
+      }
+
+      // Identify the day on which the end date falls, treating midnight as the end of the previous day
+      int endDay = getDayIndex(endDate.toLocalDate());
+      long endTime = getMillisecondOfDay(endDate.toLocalTime());
+      if (endTime == 0)
+      {
+         --endDay;
+         endTime = MS_PER_DAY;
+      }
+
+      // Find the last day whose cumulative working time at the start of the day does not exceed the target
+      int low = 0;
+      int high = endDay;
+      while (low < high)
+      {
+         int mid = (low + high + 1) >>> 1;
+         if (m_cumulativeWork[mid] <= target)
+         {
+            low = mid;
+         }
+         else
+         {
+            high = mid - 1;
+         }
+      }
+      int day = low;
+
+      if (hasLongNonWorkingPeriodBefore(day, endDay))
+      {
+         return null;
+      }
+
+      ProjectCalendarHours ranges = m_ranges[day];
+      LocalDateTime dayStart = m_startDate.plusDays(day).atStartOfDay();
+      if (m_cumulativeWork[day] == target)
+      {
+         return LocalTimeHelper.setTime(dayStart, ranges.get(0).getStart());
+      }
+
+      long limit = day == endDay ? endTime : MS_PER_DAY;
+      long remaining = m_cumulativeWork[day] + getWorkBefore(ranges, limit) - target;
+      for (int index = ranges.size() - 1; index >= 0; index--)
+      {
+         LocalTimeRange range = ranges.get(index);
+         if (range.getStart() == null || range.getEnd() == null)
+         {
+            continue;
+         }
+
+         long rangeStart = getMillisecondOfDay(range.getStart());
+         long rangeEnd = Math.min(getRangeEnd(range), limit);
+         if (rangeStart >= rangeEnd)
+         {
+            continue;
+         }
+
+         long rangeMilliseconds = rangeEnd - rangeStart;
+         if (remaining > rangeMilliseconds)
+         {
+            remaining -= rangeMilliseconds;
+         }
+         else
+         {
+            return dayStart.plus(rangeEnd - remaining, ChronoUnit.MILLIS);
+         }
+      }
+
+      return null;
+   }
+
+   /**
+    * Find the next working day after the supplied date.
+    *
+    * @param date start date
+    * @return next working day, or null if this can't be determined from the index
+    */
+   LocalDate getNextWorkingDate(LocalDate date)
+   {
+      int index = getDayIndex(date) + 1;
+      if (index < 1 || index >= m_days || m_nextWorkingDay[index] == -1)
+      {
+         return null;
+      }
+
+      int result = m_nextWorkingDay[index];
+      if (result - index >= MAX_NONWORKING_DAYS)
+      {
+         return null;
+      }
+
+      return m_startDate.plusDays(result);
+   }
+
+   /**
+    * Find the previous working day before the supplied date.
+    *
+    * @param date start date
+    * @return previous working day, or null if this can't be determined from the index
+    */
+   LocalDate getPreviousWorkingDate(LocalDate date)
+   {
+      int index = getDayIndex(date) - 1;
+      if (index < 0 || index >= m_days || m_previousWorkingDay[index] == -1)
+      {
+         return null;
+      }
+
+      int result = m_previousWorkingDay[index];
+      if (index - result >= MAX_NONWORKING_DAYS)
+      {
+         return null;
+      }
+
+      return m_startDate.plusDays(result);
+   }
+
+   /**
+    * Determines if the day-by-day calculation would have given up looking
+    * for the next working day when moving forward from the start day to
+    * the end day. If this is the case we let the original calculation
+    * determine the result.
+    *
+    * @param startDay index of the start day
+    * @param endDay index of the end day
+    * @return true if there is a long period of non-working time
+    */
+   private boolean hasLongNonWorkingPeriodAfter(int startDay, int endDay)
+   {
+      if (startDay >= endDay)
+      {
+         return false;
+      }
+
+      int firstWorkingDay = m_nextWorkingDay[startDay + 1];
+      return firstWorkingDay - startDay > MAX_NONWORKING_DAYS || m_longNonWorkingPeriods[endDay] != m_longNonWorkingPeriods[firstWorkingDay];
+   }
+
+   /**
+    * Determines if the day-by-day calculation would have given up looking
+    * for the previous working day when moving backward from the end day to
+    * the start day. If this is the case we let the original calculation
+    * determine the result.
+    *
+    * @param startDay index of the start day
+    * @param endDay index of the end day
+    * @return true if there is a long period of non-working time
+    */
+   private boolean hasLongNonWorkingPeriodBefore(int startDay, int endDay)
+   {
+      if (startDay >= endDay)
+      {
+         return false;
+      }
+
+      int lastWorkingDay = m_previousWorkingDay[endDay - 1];
+      return endDay - lastWorkingDay > MAX_NONWORKING_DAYS || m_longNonWorkingPeriods[lastWorkingDay] != m_longNonWorkingPeriods[startDay];
+   }
+
+   /**
+    * Retrieve the working time from the start of the index to the supplied date.
+    *
+    * @param date target date
+    * @return working time in milliseconds, or -1 if the date is not covered by the index
+    */
+   private long getCumulativeWork(LocalDateTime date)
+   {
+      int index = getDayIndex(date.toLocalDate());
+      if (index < 0 || index > m_days || (index == m_days && date.toLocalTime() != LocalTime.MIDNIGHT))
+      {
+         return -1;
+      }
+
+      if (index == m_days)
+      {
+         return m_cumulativeWork[m_days];
+      }
+
+      return m_cumulativeWork[index] + getWorkBefore(m_ranges[index], getMillisecondOfDay(date.toLocalTime()));
+   }
+
+   /**
+    * Retrieve the working time in a day before the supplied time.
+    *
+    * @param ranges working hours
+    * @param time time of day in milliseconds
+    * @return working time in milliseconds
+    */
+   private long getWorkBefore(ProjectCalendarHours ranges, long time)
+   {
+      long total = 0;
+      for (LocalTimeRange range : ranges)
+      {
+         if (range.getStart() == null || range.getEnd() == null)
+         {
+            continue;
+         }
+
+         long rangeStart = getMillisecondOfDay(range.getStart());
+         long rangeEnd = Math.min(getRangeEnd(range), time);
+         if (rangeStart < rangeEnd)
+         {
+            total += rangeEnd - rangeStart;
+         }
+      }
+      return total;
+   }
+
+   /**
+    * Retrieve the total working time represented by a set of working hours.
+    *
+    * @param ranges working hours
+    * @return working time in milliseconds
+    */
+   private long getTotalTime(ProjectCalendarHours ranges)
+   {
+      return ranges.stream().mapToLong(r -> LocalTimeHelper.getMillisecondsInRange(r.getStart(), r.getEnd())).sum();
+   }
+
+   /**
+    * Retrieve the end of a range in milliseconds, treating midnight as the end of the day.
+    *
+    * @param range time range
+    * @return range end in milliseconds
+    */
+   private long getRangeEnd(LocalTimeRange range)
+   {
+      return range.getEnd() == LocalTime.MIDNIGHT ? MS_PER_DAY : getMillisecondOfDay(range.getEnd());
+   }
+
+   /**
+    * Convert a time to milliseconds. Note that as with the rest of the
+    * calendar arithmetic we work to the nearest second.
+    *
+    * @param time time of day
+    * @return milliseconds since midnight
+    */
+   private long getMillisecondOfDay(LocalTime time)
+   {
+      return time.toSecondOfDay() * 1000L;
+   }
+
+   /**
+    * Retrieve the index of the day represented by the supplied date.
+    *
+    * @param date target date
+    * @return day index
+    */
+   private int getDayIndex(LocalDate date)
+   {
+      long index = ChronoUnit.DAYS.between(m_startDate, date);
+      if (index < Integer.MIN_VALUE || index > Integer.MAX_VALUE)
+      {
+         return -1;
+      }
+      return (int) index;
+   }
+
+   private final LocalDate m_startDate;
+   private final int m_days;
+   private final ProjectCalendarHours[] m_ranges;
+   private final long[] m_cumulativeWork;
+   private final int[] m_nextWorkingDay;
+   private final int[] m_previousWorkingDay;
+   private final int[] m_longNonWorkingPeriods;
+
+   /**
+    * Number of days either side of a requested date to include in a new index.
+    */
+   private static final int INITIAL_PADDING_DAYS = 62;
+
+   /**
+    * Maximum number of days covered by an index.
+    */
+   private static final int MAX_DAYS = 36525;
+
+   /**
+    * Matches the limit used by ProjectCalendar when searching for working days.
+    */
+   private static final int MAX_NONWORKING_DAYS = 1000;
+
+   private static final long MS_PER_DAY = 24 * 60 * 60 * 1000;
+}
@@ -30,6 +30,24 @@ import java.io.File;
  */
 public class ProjectConfig
 {
+   /**
+    * Default constructor.
+    */
+   public ProjectConfig()
+   {
+      this(null);
+   }
+
+   /**
+    * Constructor used by ProjectFile.
+    *
+    * @param file parent project file
+    */
+   ProjectConfig(ProjectFile file)
+   {
+      m_file = file;
+   }
+
    /**
     * Used to set whether WBS numbers are automatically created.
     *
@@ -264,6 +282,176 @@ public class ProjectConfig
       m_completeThroughIsNextWorkStart = completeThroughIsNextWorkStart;
    }
 
+   /**
+    * Returns true if calendars compile their working time into an index
+    * to speed up date arithmetic. Defaults to false.
+    *
+    * @return true if calendar indexes are used
+    */
+   public boolean getUseCalendarIndex()
+   {
+      return m_useCalendarIndex;
+   }
+
+   /**
+    * When set to true calendars will compile their working time into an index
+    * covering a window of a few months around the dates queried, which is
+    * extended as required by later queries. Date arithmetic which would otherwise
+    * step through the calendar one day at a time, for example
+    * ProjectCalendar.getDate and ProjectCalendar.getWork, is instead
+    * performed using binary searches over the index. This trades
+    * a small amount of memory per calendar for faster calculations
+    * on large schedules.
+    *
+    * @param useCalendarIndex true if calendar indexes are used
+    */
+   public void setUseCalendarIndex(boolean useCalendarIndex)
+   {
+      m_useCalendarIndex = useCalendarIndex;
+   }
+
+   /**
+    * Returns true if calendars use caches which support concurrent access.
+    * Defaults to false.
+    *
+    * @return true if concurrent calendar caches are used
+    */
+   public boolean getConcurrentCalendarCaches()
+   {
+      return m_concurrentCalendarCaches;
+   }
+
+   /**
+    * When set to true calendars use caches which can safely be accessed
+    * by multiple threads, allowing read-only calculations on the same
+    * project to be performed in parallel. Existing calendar caches
+    * are replaced the next time they are used.
+    *
+    * @param concurrentCalendarCaches true if concurrent calendar caches are used
+    */
+   public void setConcurrentCalendarCaches(boolean concurrentCalendarCaches)
+   {
+      m_concurrentCalendarCaches = concurrentCalendarCaches;
+   }
+
+   /**
+    * Retrieve the maximum number of entries held by each calendar cache.
+    * A value of zero indicates that the default size is used.
+    * Defaults to zero.
+    *
+    * @return maximum number of cache entries
+    */
+   public int getCalendarCacheSize()
+   {
+      return m_calendarCacheSize;
+   }
+
+   /**
+    * Set the maximum number of entries held by each calendar cache.
+    * When a cache reaches this size entries are evicted according to the
+    * policy set by setCalendarCachePolicy. A value of zero selects the
+    * default: caches which are not concurrent hold their entries weakly
+    * and are otherwise unbounded, while concurrent caches are limited to
+    * 10,000 entries each.
+    * The statistics reported by ProjectCalendar.getWorkingTimeCacheStatistics
+    * and ProjectCalendar.getStartTimeCacheStatistics, enabled for the default
+    * caches using setCalendarCacheStatistics, can be used to
+    * determine an appropriate size. Existing calendar caches
+    * are replaced the next time they are used.
+    *
+    * @param calendarCacheSize maximum number of cache entries
+    */
+   public void setCalendarCacheSize(int calendarCacheSize)
+   {
+      if (calendarCacheSize < 0)
+      {
+         throw new IllegalArgumentException("Calendar cache size must not be negative");
+      }
+      m_calendarCacheSize = calendarCacheSize;
+   }
+
+   /**
+    * Retrieve the policy used to evict entries from size-bounded
+    * calendar caches. Defaults to least recently used.
+    *
+    * @return calendar cache eviction policy
+    */
+   public CalendarCachePolicy getCalendarCachePolicy()
+   {
+      return m_calendarCachePolicy;
+   }
+
+   /**
+    * Set the policy used to evict entries from size-bounded calendar caches.
+    * Least frequently used eviction can be a better choice where a small
+    * set of dates is queried repeatedly alongside one-off queries spread
+    * over a wide date range. Existing calendar caches are replaced the
+    * next time they are used.
+    *
+    * @param calendarCachePolicy calendar cache eviction policy
+    */
+   public void setCalendarCachePolicy(CalendarCachePolicy calendarCachePolicy)
+   {
+      m_calendarCachePolicy = calendarCachePolicy == null ? CalendarCachePolicy.LEAST_RECENTLY_USED : calendarCachePolicy;
+   }
+
+   /**
+    * Returns true if hits and misses are counted by calendar caches
+    * which are not size-bounded. Defaults to false.
+    *
+    * @return true if calendar cache statistics are enabled
+    */
+   public boolean getCalendarCacheStatistics()
+   {
+      return m_calendarCacheStatistics;
+   }
+
+   /**
+    * Size-bounded calendar caches always count hits, misses and evictions.
+    * When set to true the default calendar caches, which are not bounded,
+    * also count hits and misses, allowing the statistics reported by
+    * ProjectCalendar.getWorkingTimeCacheStatistics and
+    * ProjectCalendar.getStartTimeCacheStatistics to be used to choose an
+    * appropriate cache size. Existing calendar caches are replaced the
+    * next time they are used.
+    *
+    * @param calendarCacheStatistics true if calendar cache statistics are enabled
+    */
+   public void setCalendarCacheStatistics(boolean calendarCacheStatistics)
+   {
+      m_calendarCacheStatistics = calendarCacheStatistics;
+   }
+
+   /**
+    * Returns true if tasks, resources and resource assignments use compact
+    * storage for their field values. Defaults to false.
+    *
+    * @return true if compact field storage is used
+    */
+   public boolean getCompactFieldStorage()
+   {
+      return m_compactFieldStorage;
+   }
+
+   /**
+    * When set to true tasks, resources and resource assignments hold their
+    * field values in a compact table rather than a HashMap. This reduces the
+    * memory retained by large schedules, at the cost of slightly slower
+    * updates. Any existing tasks, resources and resource assignments in the
+    * project are converted immediately, so this setting can be applied after
+    * a schedule has been read to reduce the memory it retains.
+    *
+    * @param compactFieldStorage true if compact field storage is used
+    */
+   public void setCompactFieldStorage(boolean compactFieldStorage)
+   {
+      m_compactFieldStorage = compactFieldStorage;
+      if (m_file != null)
+      {
+         m_file.updateFieldStorage();
+      }
+   }
+
    /**
     * Retrieve the strategy used by this project to populate baseline attributes from another schedule.
     *
@@ -373,6 +561,38 @@ public class ProjectConfig
     */
    private boolean m_completeThroughIsNextWorkStart;
 
+   /**
+    * Set to true to use calendar indexes for date arithmetic.
+    */
+   private boolean m_useCalendarIndex;
+
+   /**
+    * Set to true to use calendar caches which support concurrent access.
+    */
+   private boolean m_concurrentCalendarCaches;
+
+   /**
+    * Maximum number of entries in each calendar cache, zero if unbounded.
+    */
+   private int m_calendarCacheSize;
+
+   /**
+    * Policy used to evict entries from size-bounded calendar caches.
+    */
+   private CalendarCachePolicy m_calendarCachePolicy = CalendarCachePolicy.LEAST_RECENTLY_USED;
+
+   /**
+    * Set to true to count hits and misses in calendar caches which are not size-bounded.
+    */
+   private boolean m_calendarCacheStatistics;
+
+   /**
+    * Set to true to use compact storage for field values.
+    */
+   private boolean m_compactFieldStorage;
+
+   private final ProjectFile m_file;
+
    private BaselineStrategy m_baselineStrategy = DefaultBaselineStrategy.INSTANCE;
 
    private File m_subprojectWorkingDirectory;
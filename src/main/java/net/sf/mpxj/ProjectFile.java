@@ -706,6 +706,42 @@ public final class ProjectFile implements ChildTaskContainer, ChildResourceConta
          throw new IllegalArgumentException(index + " is not a valid baseline index");
       }
 
+      storeBaseline(baseline, index);
+      m_config.getBaselineStrategy().populateBaseline(this, baseline, index);
+   }
+
+   /**
+    * Store several baselines in one operation. The map keys select which
+    * baseline (0-10) is populated from each baseline project. The baseline
+    * strategy is given all of the baselines at once, which allows the baseline
+    * attributes of each task in the current project to be populated in a single
+    * pass rather than once for each baseline. Note that field change listeners
+    * are not notified of baseline values populated in this way.
+    *
+    * @param baselines map of baseline index to baseline project
+    */
+   public void setBaselines(Map<Integer, ProjectFile> baselines)
+   {
+      for (Integer index : baselines.keySet())
+      {
+         if (index == null || index.intValue() < 0 || index.intValue() >= m_baselines.length)
+         {
+            throw new IllegalArgumentException(index + " is not a valid baseline index");
+         }
+      }
+
+      baselines.forEach((index, baseline) -> storeBaseline(baseline, index.intValue()));
+      m_config.getBaselineStrategy().populateBaselines(this, baselines);
+   }
+
+   /**
+    * Store a baseline project and record the baseline date.
+    *
+    * @param baseline baseline project
+    * @param index baseline index (0-10)
+    */
+   private void storeBaseline(ProjectFile baseline, int index)
+   {
       m_baselines[index] = baseline;
       if (index == 0)
       {
@@ -715,8 +751,6 @@ public final class ProjectFile implements ChildTaskContainer, ChildResourceConta
       {
          m_properties.setBaselineDate(index, baseline.getProjectProperties().getCreationDate());
       }
-
-      m_config.getBaselineStrategy().populateBaseline(this, baseline, index);
    }
 
    /**
@@ -942,6 +976,18 @@ public final class ProjectFile implements ChildTaskContainer, ChildResourceConta
       fixUniqueIdClashes();
    }
 
+   /**
+    * Ensure that the storage used for field values by the project properties,
+    * tasks, resources and resource assignments matches the project configuration.
+    */
+   void updateFieldStorage()
+   {
+      m_properties.updateFieldStorage();
+      m_tasks.forEach(AbstractFieldContainer::updateFieldStorage);
+      m_resources.forEach(AbstractFieldContainer::updateFieldStorage);
+      m_assignments.forEach(AbstractFieldContainer::updateFieldStorage);
+   }
+
    /**
     * This method is called to renumber any Unique ID values which
     * were found to have duplicates.
@@ -996,7 +1042,7 @@ public final class ProjectFile implements ChildTaskContainer, ChildResourceConta
       return m_externalProjects.read(fileName);
    }
 
-   private final ProjectConfig m_config = new ProjectConfig();
+   private final ProjectConfig m_config = new ProjectConfig(this);
    private final ProjectProperties m_properties = new ProjectProperties(this);
    private final ResourceContainer m_resources = new ResourceContainer(this);
    private final TaskContainer m_tasks = new TaskContainer(this);
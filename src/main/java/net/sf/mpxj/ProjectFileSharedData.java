@@ -22,11 +22,11 @@
 
 package net.sf.mpxj;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.sf.mpxj.common.ObjectSequence;
 
@@ -178,7 +178,7 @@ public class ProjectFileSharedData implements UniqueIdObjectSequenceProvider
    private final ActivityCodeContainer m_activityCodes = new ActivityCodeContainer(this);
    private final ShiftContainer m_shifts = new ShiftContainer(this);
    private final ShiftPeriodContainer m_shiftPeriods = new ShiftPeriodContainer(this);
-   private final Map<String, ObjectSequence> m_uniqueIdObjectSequences = new HashMap<>();
+   private final Map<String, ObjectSequence> m_uniqueIdObjectSequences = new ConcurrentHashMap<>();
 
    private static final Set<String> HOSTED_CLASS_NAMES = new HashSet<>(
       Arrays.asList(
@@ -2737,7 +2737,7 @@ public final class Resource extends AbstractFieldContainer<Resource> implements
       clearDependentFields(DEPENDENCY_MAP, field);
    }
 
-   @Override protected boolean getAlwaysCalculatedField(FieldType field)
+   @Override boolean getAlwaysCalculatedField(FieldType field)
    {
       return ALWAYS_CALCULATED_FIELDS.contains(field);
    }
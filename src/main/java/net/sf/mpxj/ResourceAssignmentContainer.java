@@ -26,7 +26,7 @@ package net.sf.mpxj;
 import java.util.List;
 import java.util.Set;
 
-import net.sf.mpxj.common.PopulatedFields;
+import net.sf.mpxj.common.PopulatedFieldTracker;
 
 /**
  * Manages the collection of resource assignments belonging to a project.
@@ -42,11 +42,30 @@ public class ResourceAssignmentContainer extends ProjectEntityContainer<Resource
    {
       super(projectFile);
       m_projectFile = projectFile;
+      m_populatedFields = new PopulatedFieldTracker<>(projectFile, AssignmentField.class);
+   }
+
+   @Override protected void added(ResourceAssignment assignment)
+   {
+      super.added(assignment);
+      assignment.setPopulatedFieldTracker(m_populatedFields);
+   }
+
+   /**
+    * Clear the list. The entities are detached from the
+    * populated field tracker, which is reset.
+    */
+   @Override public void clear()
+   {
+      forEach(assignment -> assignment.setPopulatedFieldTracker(null));
+      super.clear();
+      m_populatedFields.clear();
    }
 
    @Override public void removed(ResourceAssignment assignment)
    {
       super.removed(assignment);
+      assignment.setPopulatedFieldTracker(null);
       assignment.getTask().removeResourceAssignment(assignment);
       Resource resource = assignment.getResource();
       if (resource != null)
@@ -62,7 +81,7 @@ public class ResourceAssignmentContainer extends ProjectEntityContainer<Resource
     */
    public Set<FieldType> getPopulatedFields()
    {
-      return new PopulatedFields<>(m_projectFile, AssignmentField.class, m_projectFile.getUserDefinedFields().getAssignmentFields(), this).getPopulatedFields();
+      return m_populatedFields.getPopulatedFields(m_projectFile.getUserDefinedFields().getAssignmentFields());
    }
 
    /**
@@ -87,4 +106,5 @@ public class ResourceAssignmentContainer extends ProjectEntityContainer<Resource
    }
 
    private final ProjectFile m_projectFile;
+   private final PopulatedFieldTracker<AssignmentField> m_populatedFields;
 }
@@ -28,7 +28,7 @@ import java.util.List;
 import java.util.Set;
 
 import net.sf.mpxj.common.NumberHelper;
-import net.sf.mpxj.common.PopulatedFields;
+import net.sf.mpxj.common.PopulatedFieldTracker;
 
 /**
  * Manages the collection of resources belonging to a project.
@@ -44,6 +44,24 @@ public class ResourceContainer extends ProjectEntityWithIDContainer<Resource>
    {
       super(projectFile);
       m_projectFile = projectFile;
+      m_populatedFields = new PopulatedFieldTracker<>(projectFile, ResourceField.class);
+   }
+
+   @Override protected void added(Resource resource)
+   {
+      super.added(resource);
+      resource.setPopulatedFieldTracker(m_populatedFields);
+   }
+
+   /**
+    * Clear the list. The entities are detached from the
+    * populated field tracker, which is reset.
+    */
+   @Override public void clear()
+   {
+      forEach(resource -> resource.setPopulatedFieldTracker(null));
+      super.clear();
+      m_populatedFields.clear();
    }
 
    @Override public void removed(Resource resource)
@@ -52,6 +70,7 @@ public class ResourceContainer extends ProjectEntityWithIDContainer<Resource>
       // Remove the resource from the file and its parent resource
       //
       super.removed(resource);
+      resource.setPopulatedFieldTracker(null);
       m_idMap.remove(resource.getID());
 
       Resource parentResource = resource.getParentResource();
@@ -131,7 +150,7 @@ public class ResourceContainer extends ProjectEntityWithIDContainer<Resource>
     */
    public Set<FieldType> getPopulatedFields()
    {
-      return new PopulatedFields<>(m_projectFile, ResourceField.class, m_projectFile.getUserDefinedFields().getResourceFields(), this).getPopulatedFields();
+      return m_populatedFields.getPopulatedFields(m_projectFile.getUserDefinedFields().getResourceFields());
    }
 
    /**
@@ -156,4 +175,5 @@ public class ResourceContainer extends ProjectEntityWithIDContainer<Resource>
    }
 
    private final ProjectFile m_projectFile;
+   private final PopulatedFieldTracker<ResourceField> m_populatedFields;
 }
@@ -5500,6 +5500,16 @@ public final class Task extends AbstractFieldContainer<Task> implements Comparab
       clearDependentFields(DEPENDENCY_MAP, field);
    }
 
+   /**
+    * Clear any fields which depend on the supplied field.
+    *
+    * @param field changed field
+    */
+   void clearDependentFields(FieldType field)
+   {
+      clearDependentFields(DEPENDENCY_MAP, field);
+   }
+
    @Override boolean getAlwaysCalculatedField(FieldType field)
    {
       return ALWAYS_CALCULATED_FIELDS.contains(field);
@@ -29,7 +29,7 @@ import java.util.List;
 import java.util.Set;
 
 import net.sf.mpxj.common.NumberHelper;
-import net.sf.mpxj.common.PopulatedFields;
+import net.sf.mpxj.common.PopulatedFieldTracker;
 
 /**
  * Manages the collection of tasks belonging to a project.
@@ -45,6 +45,24 @@ public class TaskContainer extends ProjectEntityWithIDContainer<Task>
    {
       super(projectFile);
       m_projectFile = projectFile;
+      m_populatedFields = new PopulatedFieldTracker<>(projectFile, TaskField.class);
+   }
+
+   @Override protected void added(Task task)
+   {
+      super.added(task);
+      task.setPopulatedFieldTracker(m_populatedFields);
+   }
+
+   /**
+    * Clear the list. The entities are detached from the
+    * populated field tracker, which is reset.
+    */
+   @Override public void clear()
+   {
+      forEach(task -> task.setPopulatedFieldTracker(null));
+      super.clear();
+      m_populatedFields.clear();
    }
 
    /**
@@ -66,6 +84,7 @@ public class TaskContainer extends ProjectEntityWithIDContainer<Task>
       // Remove the task from the file and its parent task
       //
       super.removed(task);
+      task.setPopulatedFieldTracker(null);
       m_idMap.remove(task.getID());
 
       Task parentTask = task.getParentTask();
@@ -232,7 +251,7 @@ public class TaskContainer extends ProjectEntityWithIDContainer<Task>
     */
    public Set<FieldType> getPopulatedFields()
    {
-      return new PopulatedFields<>(m_projectFile, TaskField.class, m_projectFile.getUserDefinedFields().getTaskFields(), this).getPopulatedFields();
+      return m_populatedFields.getPopulatedFields(m_projectFile.getUserDefinedFields().getTaskFields());
    }
 
    /**
@@ -263,4 +282,5 @@ public class TaskContainer extends ProjectEntityWithIDContainer<Task>
    }
 
    private final ProjectFile m_projectFile;
+   private final PopulatedFieldTracker<TaskField> m_populatedFields;
 }
@@ -47,7 +47,7 @@ public final class AstaMdbReader extends AbstractAstaDatabaseReader
       {
          if (m_database == null)
          {
-            m_database = DatabaseBuilder.open(m_databaseFile);
+            m_database = new DatabaseBuilder(m_databaseFile).setReadOnly(true).open();
          }
 
          List<Row> result = new ArrayList<>();
@@ -54,7 +54,7 @@ public class AstaSqliteReader extends AbstractProjectFileReader
    {
       try
       {
-         m_connection = SQLite.createConnection(file, SQLite.dateFormatProperties());
+         m_connection = SQLite.createReadOnlyConnection(file, SQLite.dateFormatProperties());
          return read();
       }
 
@@ -0,0 +1,212 @@
+/*
+ * file:       BytePatternMatcher.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.common;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.IntConsumer;
+
+/**
+ * Locates occurrences of any one of a set of byte patterns in a buffer
+ * using a single pass over the data. The patterns are compiled into
+ * an Aho-Corasick automaton, so each byte is examined once regardless
+ * of the number of patterns. All of the patterns must be the same length.
+ */
+public final class BytePatternMatcher
+{
+   /**
+    * Constructor.
+    *
+    * @param patterns patterns to match
+    */
+   public BytePatternMatcher(byte[]... patterns)
+   {
+      if (patterns.length == 0)
+      {
+         throw new IllegalArgumentException("At least one pattern is required");
+      }
+
+      m_patternLength = patterns[0].length;
+      if (m_patternLength == 0)
+      {
+         throw new IllegalArgumentException("Patterns must not be empty");
+      }
+
+      int maxStates = 1;
+      for (byte[] pattern : patterns)
+      {
+         if (pattern.length != m_patternLength)
+         {
+            throw new IllegalArgumentException("Patterns must be the same length");
+         }
+         maxStates += pattern.length;
+      }
+
+      //
+      // Build a trie from the patterns. A value of -1 represents a missing transition.
+      //
+      int[] transitions = new int[maxStates * 256];
+      Arrays.fill(transitions, -1);
+      int[] depth = new int[maxStates];
+      int stateCount = 1;
+
+      for (byte[] pattern : patterns)
+      {
+         int state = 0;
+         for (byte b : pattern)
+         {
+            int index = state * 256 + (b & 0xFF);
+            if (transitions[index] == -1)
+            {
+               depth[stateCount] = depth[state] + 1;
+               transitions[index] = stateCount++;
+            }
+            state = transitions[index];
+         }
+      }
+
+      //
+      // Populate the missing transitions using the failure links
+      // to produce a deterministic automaton.
+      //
+      int[] failure = new int[stateCount];
+      Deque<Integer> queue = new ArrayDeque<>();
+      for (int value = 0; value < 256; value++)
+      {
+         int next = transitions[value];
+         if (next == -1)
+         {
+            transitions[value] = 0;
+         }
+         else
+         {
+            failure[next] = 0;
+            queue.add(Integer.valueOf(next));
+         }
+      }
+
+      while (!queue.isEmpty())
+      {
+         int state = queue.remove().intValue();
+         for (int value = 0; value < 256; value++)
+         {
+            int index = state * 256 + value;
+            int next = transitions[index];
+            int fallback = transitions[failure[state] * 256 + value];
+            if (next == -1)
+            {
+               transitions[index] = fallback;
+            }
+            else
+            {
+               failure[next] = fallback;
+               queue.add(Integer.valueOf(next));
+            }
+         }
+      }
+
+      m_transitions = Arrays.copyOf(transitions, stateCount * 256);
+      m_depth = Arrays.copyOf(depth, stateCount);
+   }
+
+   /**
+    * Retrieve the length of the patterns matched by this instance.
+    *
+    * @return pattern length
+    */
+   public int getPatternLength()
+   {
+      return m_patternLength;
+   }
+
+   /**
+    * Find the first match which starts at an offset between fromIndex (inclusive)
+    * and toIndex (exclusive).
+    *
+    * @param buffer data to search
+    * @param fromIndex first offset at which a match may start
+    * @param toIndex offset before which a match must start
+    * @return offset of the first match, or -1 if no match is found
+    */
+   public int indexOf(byte[] buffer, int fromIndex, int toIndex)
+   {
+      int end = getScanEnd(buffer, toIndex);
+      int state = 0;
+      for (int index = fromIndex; index < end; index++)
+      {
+         state = m_transitions[state * 256 + (buffer[index] & 0xFF)];
+         if (m_depth[state] == m_patternLength)
+         {
+            int matchIndex = index - m_patternLength + 1;
+            return matchIndex < toIndex ? matchIndex : -1;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * Find all matches, including overlapping matches, which start at an offset
+    * between fromIndex (inclusive) and toIndex (exclusive). The offset at which
+    * each match starts is passed to the consumer, in ascending order.
+    *
+    * @param buffer data to search
+    * @param fromIndex first offset at which a match may start
+    * @param toIndex offset before which a match must start
+    * @param consumer receives the offset of each match
+    */
+   public void findAll(byte[] buffer, int fromIndex, int toIndex, IntConsumer consumer)
+   {
+      int end = getScanEnd(buffer, toIndex);
+      int state = 0;
+      for (int index = fromIndex; index < end; index++)
+      {
+         state = m_transitions[state * 256 + (buffer[index] & 0xFF)];
+         if (m_depth[state] == m_patternLength)
+         {
+            int matchIndex = index - m_patternLength + 1;
+            if (matchIndex < toIndex)
+            {
+               consumer.accept(matchIndex);
+            }
+         }
+      }
+   }
+
+   /**
+    * Determine the offset of the last byte we need to examine
+    * to find matches starting before toIndex.
+    *
+    * @param buffer data to search
+    * @param toIndex offset before which a match must start
+    * @return offset at which the scan ends (exclusive)
+    */
+   private int getScanEnd(byte[] buffer, int toIndex)
+   {
+      return (int) Math.min(buffer.length, (long) toIndex + m_patternLength - 1);
+   }
+
+   private final int m_patternLength;
+   private final int[] m_transitions;
+   private final int[] m_depth;
+}
@@ -0,0 +1,333 @@
+/*
+ * file:       BytePatternReplacer.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.common;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replaces occurrences of any one of a set of byte patterns in a buffer
+ * using a single pass over the data. As with BytePatternMatcher, the patterns
+ * are compiled into an Aho-Corasick automaton, but here the patterns may be
+ * of different lengths, and the transitions are stored sparsely so that
+ * thousands of patterns can be handled without a large transition table.
+ * <p/>
+ * Each replacement must be the same length as the pattern it replaces,
+ * so the data is modified in place. Where matches overlap, the match which
+ * starts first wins, and where several matches start at the same offset
+ * the longest wins. Replacements do not overlap, and replaced data is not
+ * searched again.
+ */
+public final class BytePatternReplacer
+{
+   /**
+    * Constructor. Where the same pattern appears more than once,
+    * the first replacement supplied is used.
+    *
+    * @param patterns patterns to find
+    * @param replacements replacement for each pattern
+    */
+   public BytePatternReplacer(List<byte[]> patterns, List<byte[]> replacements)
+   {
+      if (patterns.size() != replacements.size())
+      {
+         throw new IllegalArgumentException("A replacement is required for each pattern");
+      }
+
+      int maxStates = 1;
+      for (int index = 0; index < patterns.size(); index++)
+      {
+         byte[] pattern = patterns.get(index);
+         if (pattern.length == 0)
+         {
+            throw new IllegalArgumentException("Patterns must not be empty");
+         }
+
+         if (replacements.get(index).length != pattern.length)
+         {
+            throw new IllegalArgumentException("Replacements must be the same length as the pattern they replace");
+         }
+         maxStates += pattern.length;
+      }
+
+      if (maxStates > MAX_STATES)
+      {
+         throw new IllegalArgumentException("Too many patterns");
+      }
+
+      m_replacements = replacements.toArray(new byte[0][]);
+
+      //
+      // Build a trie from the patterns. Transitions are held in an open
+      // addressing hash table, keyed by the state and the next byte.
+      //
+      m_keys = new int[tableSize(maxStates)];
+      m_values = new int[m_keys.length];
+      m_mask = m_keys.length - 1;
+      Arrays.fill(m_keys, -1);
+
+      int[] depth = new int[maxStates];
+      int[] match = new int[maxStates];
+      int[] firstChild = new int[maxStates];
+      int[] nextSibling = new int[maxStates];
+      byte[] label = new byte[maxStates];
+      Arrays.fill(match, -1);
+      int stateCount = 1;
+
+      for (int index = 0; index < m_replacements.length; index++)
+      {
+         int state = 0;
+         for (byte b : patterns.get(index))
+         {
+            int next = getTransition(state, b);
+            if (next == -1)
+            {
+               next = stateCount++;
+               depth[next] = depth[state] + 1;
+               label[next] = b;
+               nextSibling[next] = firstChild[state];
+               firstChild[state] = next;
+               addTransition(state, b, next);
+            }
+            state = next;
+         }
+
+         if (match[state] == -1)
+         {
+            match[state] = index;
+         }
+      }
+
+      //
+      // Populate the failure link for each state in breadth first order.
+      // As the parent of each state is processed before the state itself,
+      // the longest pattern which ends at a state can be found by following
+      // the failure link if the state itself does not complete a pattern.
+      //
+      int[] failure = new int[stateCount];
+      int[] queue = new int[stateCount];
+      int head = 0;
+      int tail = 0;
+
+      m_rootTransitions = new int[256];
+      for (int next = firstChild[0]; next != 0; next = nextSibling[next])
+      {
+         m_rootTransitions[label[next] & 0xFF] = next;
+         queue[tail++] = next;
+      }
+
+      while (head < tail)
+      {
+         int state = queue[head++];
+         for (int next = firstChild[state]; next != 0; next = nextSibling[next])
+         {
+            failure[next] = step(failure, failure[state], label[next]);
+            if (match[next] == -1)
+            {
+               match[next] = match[failure[next]];
+            }
+            queue[tail++] = next;
+         }
+      }
+
+      m_failure = failure;
+      m_depth = Arrays.copyOf(depth, stateCount);
+      m_match = Arrays.copyOf(match, stateCount);
+   }
+
+   /**
+    * Replace all occurrences of the patterns in the supplied data.
+    *
+    * @param data data to modify
+    * @return number of replacements made
+    */
+   public int replace(byte[] data)
+   {
+      int count = 0;
+      int state = 0;
+      int pendingStart = -1;
+      int pendingPattern = -1;
+      int index = 0;
+
+      while (index < data.length || pendingPattern != -1)
+      {
+         if (index < data.length)
+         {
+            state = step(m_failure, state, data[index]);
+         }
+
+         //
+         // Once the automaton is no longer tracking a match which started
+         // at or before the pending match, or we have reached the end of
+         // the data, nothing can displace the pending match.
+         // Apply the replacement and resume the search after it.
+         //
+         if (pendingPattern != -1 && (index == data.length || index - m_depth[state] + 1 > pendingStart))
+         {
+            index = apply(data, pendingStart, pendingPattern);
+            ++count;
+            state = 0;
+            pendingPattern = -1;
+            continue;
+         }
+
+         int pattern = m_match[state];
+         if (pattern != -1)
+         {
+            int start = index - m_replacements[pattern].length + 1;
+            if (pendingPattern == -1 || start <= pendingStart)
+            {
+               pendingStart = start;
+               pendingPattern = pattern;
+            }
+         }
+
+         ++index;
+      }
+
+      return count;
+   }
+
+   /**
+    * Copy a replacement into the data.
+    *
+    * @param data data to modify
+    * @param start offset at which the match starts
+    * @param pattern index of the matched pattern
+    * @return offset following the replaced data
+    */
+   private int apply(byte[] data, int start, int pattern)
+   {
+      byte[] replacement = m_replacements[pattern];
+      System.arraycopy(replacement, 0, data, start, replacement.length);
+      return start + replacement.length;
+   }
+
+   /**
+    * Move from the current state to the next state for the supplied byte,
+    * following failure links until a transition is found.
+    *
+    * @param failure failure links
+    * @param state current state
+    * @param value next byte
+    * @return next state
+    */
+   private int step(int[] failure, int state, byte value)
+   {
+      while (state != 0)
+      {
+         int next = getTransition(state, value);
+         if (next != -1)
+         {
+            return next;
+         }
+         state = failure[state];
+      }
+      return m_rootTransitions[value & 0xFF];
+   }
+
+   /**
+    * Retrieve the transition from a state for the supplied byte.
+    *
+    * @param state current state
+    * @param value next byte
+    * @return next state, or -1 if there is no transition
+    */
+   private int getTransition(int state, byte value)
+   {
+      int key = (state << 8) | (value & 0xFF);
+      int slot = hash(key) & m_mask;
+      while (true)
+      {
+         int existing = m_keys[slot];
+         if (existing == key)
+         {
+            return m_values[slot];
+         }
+
+         if (existing == -1)
+         {
+            return -1;
+         }
+         slot = (slot + 1) & m_mask;
+      }
+   }
+
+   /**
+    * Add a transition.
+    *
+    * @param state current state
+    * @param value next byte
+    * @param next next state
+    */
+   private void addTransition(int state, byte value, int next)
+   {
+      int key = (state << 8) | (value & 0xFF);
+      int slot = hash(key) & m_mask;
+      while (m_keys[slot] != -1)
+      {
+         slot = (slot + 1) & m_mask;
+      }
+      m_keys[slot] = key;
+      m_values[slot] = next;
+   }
+
+   /**
+    * Spread the bits of a transition key.
+    *
+    * @param key transition key
+    * @return hash value
+    */
+   private static int hash(int key)
+   {
+      int h = key * 0x9E3779B9;
+      return h ^ (h >>> 16);
+   }
+
+   /**
+    * Calculate the size of the transition table, keeping the
+    * load factor below one half.
+    *
+    * @param entries maximum number of entries
+    * @return table size, a power of two
+    */
+   private static int tableSize(int entries)
+   {
+      return Integer.highestOneBit(Math.max(entries, 8) * 2 - 1) << 1;
+   }
+
+   private final byte[][] m_replacements;
+   private final int[] m_keys;
+   private final int[] m_values;
+   private final int m_mask;
+   private final int[] m_failure;
+   private final int[] m_depth;
+   private final int[] m_match;
+   private final int[] m_rootTransitions;
+
+   /**
+    * States are packed into the upper 24 bits of a transition key,
+    * and the key -1 marks an empty slot.
+    */
+   private static final int MAX_STATES = 1 << 23;
+}
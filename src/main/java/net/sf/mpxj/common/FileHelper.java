@@ -117,6 +117,32 @@ public final class FileHelper
       return dir;
    }
 
+   /**
+    * Retrieve the size of a file, or the total size of the files
+    * in a directory and its subdirectories.
+    *
+    * @param file file or directory
+    * @return size in bytes
+    */
+   public static final long getSize(File file)
+   {
+      if (!file.isDirectory())
+      {
+         return file.length();
+      }
+
+      long size = 0;
+      File[] files = file.listFiles();
+      if (files != null)
+      {
+         for (File child : files)
+         {
+            size += getSize(child);
+         }
+      }
+      return size;
+   }
+
    /**
     * Create a new file. Raise an exception if the file exists.
     *
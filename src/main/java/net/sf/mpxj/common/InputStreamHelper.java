@@ -23,6 +23,7 @@
 
 package net.sf.mpxj.common;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -119,6 +120,25 @@ public class InputStreamHelper
       return read(is, new byte[is.available()]);
    }
 
+   /**
+    * Read all of the remaining data from the input stream and populate
+    * a new byte array.
+    *
+    * @param is InputStream instance
+    * @return new byte array instance
+    */
+   public static byte[] readAll(InputStream is) throws IOException
+   {
+      ByteArrayOutputStream os = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int bytesRead;
+      while ((bytesRead = is.read(buffer)) != -1)
+      {
+         os.write(buffer, 0, bytesRead);
+      }
+      return os.toByteArray();
+   }
+
    /**
     * Reads a specified number of bytes from the input stream and populates
     * a new byte array. If the required number of bytes can't be read
@@ -0,0 +1,243 @@
+/*
+ * file:       JaxbContextRegistry.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.common;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+
+/**
+ * Shares JAXB contexts between the readers and writers which use the same
+ * schema. Contexts are expensive to construct, so each context is only
+ * created when first requested, and is then cached. Applications which
+ * know which file formats they will use can construct the contexts in the
+ * background at startup using the warmUp methods, and the time taken to
+ * construct each context can be retrieved to identify startup costs.
+ */
+public final class JaxbContextRegistry
+{
+   /**
+    * Private constructor to prevent instantiation.
+    */
+   private JaxbContextRegistry()
+   {
+
+   }
+
+   /**
+    * Retrieve the context for the supplied schema package,
+    * constructing it if necessary.
+    *
+    * @param packageName schema package name
+    * @return JAXBContext instance
+    */
+   public static JAXBContext getContext(String packageName) throws JAXBException
+   {
+      return ENTRIES.computeIfAbsent(packageName, Entry::new).getContext();
+   }
+
+   /**
+    * Construct the contexts for the supplied schema packages in the
+    * background using the common fork join pool.
+    *
+    * @param packageNames schema package names
+    * @return future which completes when the contexts have been constructed
+    */
+   public static CompletableFuture<Void> warmUp(String... packageNames)
+   {
+      return warmUp(ForkJoinPool.commonPool(), packageNames);
+   }
+
+   /**
+    * Construct the contexts for the supplied schema packages in the
+    * background using the supplied executor. The returned future
+    * completes exceptionally if any context could not be constructed.
+    *
+    * @param executor executor used to construct the contexts
+    * @param packageNames schema package names
+    * @return future which completes when the contexts have been constructed
+    */
+   public static CompletableFuture<Void> warmUp(Executor executor, String... packageNames)
+   {
+      return CompletableFuture.allOf(Arrays.stream(packageNames).map(p -> CompletableFuture.runAsync(() -> warmUp(p), executor)).toArray(CompletableFuture[]::new));
+   }
+
+   /**
+    * Construct the contexts for all of the schema packages used by MPXJ
+    * in the background using the common fork join pool.
+    *
+    * @return future which completes when the contexts have been constructed
+    */
+   public static CompletableFuture<Void> warmUpAll()
+   {
+      return warmUp(SCHEMA_PACKAGES.toArray(new String[0]));
+   }
+
+   /**
+    * Retrieve the time taken to construct the context for the supplied
+    * schema package, or null if the context has not been constructed.
+    *
+    * @param packageName schema package name
+    * @return construction time in milliseconds
+    */
+   public static Long getInitialisationTime(String packageName)
+   {
+      Entry entry = ENTRIES.get(packageName);
+      return entry == null ? null : entry.getInitialisationTime();
+   }
+
+   /**
+    * Retrieve the time taken to construct each context, keyed by schema
+    * package name. Only contexts which have been constructed are included.
+    *
+    * @return map of schema package name to construction time in milliseconds
+    */
+   public static Map<String, Long> getInitialisationTimes()
+   {
+      Map<String, Long> result = new TreeMap<>();
+      ENTRIES.forEach((packageName, entry) -> {
+         Long time = entry.getInitialisationTime();
+         if (time != null)
+         {
+            result.put(packageName, time);
+         }
+      });
+      return result;
+   }
+
+   /**
+    * Construct a context, wrapping any exception for use by a future.
+    *
+    * @param packageName schema package name
+    */
+   private static void warmUp(String packageName)
+   {
+      try
+      {
+         getContext(packageName);
+      }
+
+      catch (JAXBException ex)
+      {
+         throw new CompletionException(ex);
+      }
+   }
+
+   /**
+    * Holds the context for a single schema package.
+    */
+   private static final class Entry
+   {
+      /**
+       * Constructor.
+       *
+       * @param packageName schema package name
+       */
+      public Entry(String packageName)
+      {
+         m_packageName = packageName;
+      }
+
+      /**
+       * Retrieve the context, constructing it if necessary. Any error
+       * raised when the context is constructed is retained and thrown
+       * on each subsequent call.
+       *
+       * @return JAXBContext instance
+       */
+      public synchronized JAXBContext getContext() throws JAXBException
+      {
+         if (m_initialisationTime == null)
+         {
+            long start = System.nanoTime();
+            try
+            {
+               m_context = JAXBContext.newInstance(m_packageName, JaxbContextRegistry.class.getClassLoader());
+            }
+
+            catch (JAXBException ex)
+            {
+               m_exception = ex;
+            }
+
+            m_initialisationTime = Long.valueOf((System.nanoTime() - start) / 1000000);
+         }
+
+         if (m_context == null)
+         {
+            throw m_exception;
+         }
+
+         return m_context;
+      }
+
+      /**
+       * Retrieve the time taken to construct the context.
+       *
+       * @return construction time in milliseconds, or null if not constructed
+       */
+      public synchronized Long getInitialisationTime()
+      {
+         return m_initialisationTime;
+      }
+
+      private final String m_packageName;
+      private JAXBContext m_context;
+      private JAXBException m_exception;
+      private Long m_initialisationTime;
+   }
+
+   public static final String CONCEPT_DRAW = "net.sf.mpxj.conceptdraw.schema";
+   public static final String GANTT_DESIGNER = "net.sf.mpxj.ganttdesigner.schema";
+   public static final String GANTT_PROJECT = "net.sf.mpxj.ganttproject.schema";
+   public static final String MSPDI = "net.sf.mpxj.mspdi.schema";
+   public static final String PHOENIX4 = "net.sf.mpxj.phoenix.schema.phoenix4";
+   public static final String PHOENIX5 = "net.sf.mpxj.phoenix.schema.phoenix5";
+   public static final String PLANNER = "net.sf.mpxj.planner.schema";
+   public static final String PRIMAVERA = "net.sf.mpxj.primavera.schema";
+
+   /**
+    * All of the schema packages used by MPXJ.
+    */
+   public static final List<String> SCHEMA_PACKAGES = Collections.unmodifiableList(Arrays.asList(CONCEPT_DRAW, GANTT_DESIGNER, GANTT_PROJECT, MSPDI, PHOENIX4, PHOENIX5, PLANNER, PRIMAVERA));
+
+   private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+   static
+   {
+      //
+      // JAXB RI property to speed up construction
+      //
+      System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
+   }
+}
@@ -0,0 +1,374 @@
+/*
+ * file:       KeyIndex.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.common;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Maps key values to the positions at which they appear in an array of keys.
+ * More than one position may share the same key. Integer and UUID keys are
+ * held in primitive arrays, avoiding the boxed keys and entry objects
+ * a HashMap would require. Null keys are ignored.
+ */
+public abstract class KeyIndex
+{
+   /**
+    * Create an index for the supplied keys. If all keys are Integer or UUID
+    * instances, an index which stores the keys as primitive values is used.
+    *
+    * @param keys key values, which may include nulls
+    * @return KeyIndex instance
+    */
+   public static KeyIndex getInstance(Object[] keys)
+   {
+      boolean integers = true;
+      boolean uuids = true;
+      for (Object key : keys)
+      {
+         if (key != null)
+         {
+            integers = integers && key instanceof Integer;
+            uuids = uuids && key instanceof UUID;
+         }
+      }
+
+      if (integers)
+      {
+         return new IntegerKeyIndex(keys);
+      }
+
+      if (uuids)
+      {
+         return new UUIDKeyIndex(keys);
+      }
+
+      return new ObjectKeyIndex(keys);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param size number of keys
+    */
+   KeyIndex(int size)
+   {
+      int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+      m_table = new int[capacity];
+      m_mask = capacity - 1;
+      m_next = new int[size];
+      Arrays.fill(m_next, -1);
+   }
+
+   /**
+    * Retrieve the first position at which the supplied key appears.
+    *
+    * @param key key value
+    * @return position, or -1 if the key does not appear
+    */
+   public int getFirst(Object key)
+   {
+      if (key == null || !accepts(key))
+      {
+         return -1;
+      }
+
+      int slot = mix(hash(key)) & m_mask;
+      while (true)
+      {
+         int entry = m_table[slot];
+         if (entry == 0)
+         {
+            return -1;
+         }
+
+         if (matches(entry - 1, key))
+         {
+            return entry - 1;
+         }
+
+         slot = (slot + 1) & m_mask;
+      }
+   }
+
+   /**
+    * Retrieve the next position sharing the key at the supplied position.
+    *
+    * @param position position returned by getFirst or getNext
+    * @return next position, or -1 if there are no further positions
+    */
+   public int getNext(int position)
+   {
+      return m_next[position];
+   }
+
+   /**
+    * Add each non-null key to the index.
+    *
+    * @param keys key values
+    */
+   final void build(Object[] keys)
+   {
+      for (int position = 0; position < keys.length; position++)
+      {
+         if (keys[position] == null)
+         {
+            continue;
+         }
+
+         int slot = mix(hash(position)) & m_mask;
+         while (true)
+         {
+            int entry = m_table[slot];
+            if (entry == 0)
+            {
+               m_table[slot] = position + 1;
+               break;
+            }
+
+            int first = entry - 1;
+            if (equals(first, position))
+            {
+               m_next[position] = m_next[first];
+               m_next[first] = position;
+               break;
+            }
+
+            slot = (slot + 1) & m_mask;
+         }
+      }
+   }
+
+   /**
+    * Spread the bits of a hash code.
+    *
+    * @param hash hash code
+    * @return mixed hash code
+    */
+   private static int mix(int hash)
+   {
+      int h = hash * 0x9E3779B9;
+      return h ^ (h >>> 16);
+   }
+
+   /**
+    * Determine if the supplied key is of a type held by this index.
+    *
+    * @param key key value
+    * @return true if the key could be present
+    */
+   abstract boolean accepts(Object key);
+
+   /**
+    * Calculate the hash code of the key at the supplied position.
+    *
+    * @param position key position
+    * @return hash code
+    */
+   abstract int hash(int position);
+
+   /**
+    * Calculate the hash code of the supplied key.
+    *
+    * @param key key value
+    * @return hash code
+    */
+   abstract int hash(Object key);
+
+   /**
+    * Determine if the keys at two positions are equal.
+    *
+    * @param position1 first key position
+    * @param position2 second key position
+    * @return true if the keys are equal
+    */
+   abstract boolean equals(int position1, int position2);
+
+   /**
+    * Determine if the key at the supplied position is equal to the supplied key.
+    *
+    * @param position key position
+    * @param key key value
+    * @return true if the keys are equal
+    */
+   abstract boolean matches(int position, Object key);
+
+   private final int[] m_table;
+   private final int m_mask;
+   private final int[] m_next;
+
+   /**
+    * Index of Integer keys.
+    */
+   private static final class IntegerKeyIndex extends KeyIndex
+   {
+      /**
+       * Constructor.
+       *
+       * @param keys key values
+       */
+      IntegerKeyIndex(Object[] keys)
+      {
+         super(keys.length);
+         m_keys = new int[keys.length];
+         for (int position = 0; position < keys.length; position++)
+         {
+            if (keys[position] != null)
+            {
+               m_keys[position] = ((Integer) keys[position]).intValue();
+            }
+         }
+         build(keys);
+      }
+
+      @Override boolean accepts(Object key)
+      {
+         return key instanceof Integer;
+      }
+
+      @Override int hash(int position)
+      {
+         return m_keys[position];
+      }
+
+      @Override int hash(Object key)
+      {
+         return ((Integer) key).intValue();
+      }
+
+      @Override boolean equals(int position1, int position2)
+      {
+         return m_keys[position1] == m_keys[position2];
+      }
+
+      @Override boolean matches(int position, Object key)
+      {
+         return m_keys[position] == ((Integer) key).intValue();
+      }
+
+      private final int[] m_keys;
+   }
+
+   /**
+    * Index of UUID keys.
+    */
+   private static final class UUIDKeyIndex extends KeyIndex
+   {
+      /**
+       * Constructor.
+       *
+       * @param keys key values
+       */
+      UUIDKeyIndex(Object[] keys)
+      {
+         super(keys.length);
+         m_mostSignificantBits = new long[keys.length];
+         m_leastSignificantBits = new long[keys.length];
+         for (int position = 0; position < keys.length; position++)
+         {
+            if (keys[position] != null)
+            {
+               UUID uuid = (UUID) keys[position];
+               m_mostSignificantBits[position] = uuid.getMostSignificantBits();
+               m_leastSignificantBits[position] = uuid.getLeastSignificantBits();
+            }
+         }
+         build(keys);
+      }
+
+      @Override boolean accepts(Object key)
+      {
+         return key instanceof UUID;
+      }
+
+      @Override int hash(int position)
+      {
+         return Long.hashCode(m_mostSignificantBits[position] ^ m_leastSignificantBits[position]);
+      }
+
+      @Override int hash(Object key)
+      {
+         UUID uuid = (UUID) key;
+         return Long.hashCode(uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits());
+      }
+
+      @Override boolean equals(int position1, int position2)
+      {
+         return m_mostSignificantBits[position1] == m_mostSignificantBits[position2] && m_leastSignificantBits[position1] == m_leastSignificantBits[position2];
+      }
+
+      @Override boolean matches(int position, Object key)
+      {
+         UUID uuid = (UUID) key;
+         return m_mostSignificantBits[position] == uuid.getMostSignificantBits() && m_leastSignificantBits[position] == uuid.getLeastSignificantBits();
+      }
+
+      private final long[] m_mostSignificantBits;
+      private final long[] m_leastSignificantBits;
+   }
+
+   /**
+    * Index of arbitrary keys.
+    */
+   private static final class ObjectKeyIndex extends KeyIndex
+   {
+      /**
+       * Constructor.
+       *
+       * @param keys key values
+       */
+      ObjectKeyIndex(Object[] keys)
+      {
+         super(keys.length);
+         m_keys = keys.clone();
+         build(keys);
+      }
+
+      @Override boolean accepts(Object key)
+      {
+         return true;
+      }
+
+      @Override int hash(int position)
+      {
+         return m_keys[position].hashCode();
+      }
+
+      @Override int hash(Object key)
+      {
+         return key.hashCode();
+      }
+
+      @Override boolean equals(int position1, int position2)
+      {
+         return m_keys[position1].equals(m_keys[position2]);
+      }
+
+      @Override boolean matches(int position, Object key)
+      {
+         return m_keys[position].equals(key);
+      }
+
+      private final Object[] m_keys;
+   }
+}
@@ -0,0 +1,199 @@
+/*
+ * file:       PopulatedFieldTracker.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.common;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.mpxj.FieldType;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.ProjectProperties;
+import net.sf.mpxj.UserDefinedField;
+
+/**
+ * Maintains a count, for each field, of the number of entities in a container
+ * which have a non-default value for that field. The counts are updated as
+ * field values change, which allows the set of populated fields to be
+ * determined without examining every entity. The results are the same as
+ * those produced by {@link PopulatedFields}.
+ *
+ * @param <E> field enumeration
+ */
+public class PopulatedFieldTracker<E extends Enum<E> & FieldType>
+{
+   /**
+    * Constructor.
+    *
+    * @param project parent project
+    * @param fieldEnumType enumeration representing the set of fields for the parent container
+    */
+   public PopulatedFieldTracker(ProjectFile project, Class<E> fieldEnumType)
+   {
+      m_project = project;
+      m_fieldEnumType = fieldEnumType;
+      m_fields = fieldEnumType.getEnumConstants();
+
+      int maxValue = 0;
+      for (E field : m_fields)
+      {
+         maxValue = Math.max(maxValue, field.getValue());
+      }
+      m_counts = new int[maxValue + 1];
+   }
+
+   /**
+    * Record a field value which has been added to an entity.
+    *
+    * @param field field type
+    * @param value field value
+    */
+   public void add(FieldType field, Object value)
+   {
+      update(field, value, 1);
+   }
+
+   /**
+    * Record a field value which has been removed from an entity.
+    *
+    * @param field field type
+    * @param value field value
+    */
+   public void remove(FieldType field, Object value)
+   {
+      update(field, value, -1);
+   }
+
+   /**
+    * Discard all recorded field values.
+    */
+   public void clear()
+   {
+      Arrays.fill(m_counts, 0);
+      m_userDefinedFieldCounts.clear();
+      m_valueCounts.clear();
+   }
+
+   /**
+    * Retrieve the set of fields populated across the entities in the container.
+    *
+    * @param userDefinedFields collection of user defined fields for the parent container
+    * @return populated fields
+    */
+   public Set<FieldType> getPopulatedFields(Collection<UserDefinedField> userDefinedFields)
+   {
+      ProjectProperties props = m_project.getProjectProperties();
+      Set<FieldType> result = new HashSet<>();
+
+      for (E field : m_fields)
+      {
+         if (PopulatedFields.hasProjectDefaultValue(field.getDataType()) ? isPopulated(props, field) : m_counts[field.getValue()] > 0)
+         {
+            result.add(field);
+         }
+      }
+
+      for (UserDefinedField field : userDefinedFields)
+      {
+         if (PopulatedFields.hasProjectDefaultValue(field.getDataType()) ? isPopulated(props, field) : m_userDefinedFieldCounts.getOrDefault(field, ZERO)[0] > 0)
+         {
+            result.add(field);
+         }
+      }
+
+      return result;
+   }
+
+   /**
+    * Update the count for a field.
+    *
+    * @param field field type
+    * @param value field value
+    * @param delta change in the count
+    */
+   private void update(FieldType field, Object value, int delta)
+   {
+      if (value == null)
+      {
+         return;
+      }
+
+      if (PopulatedFields.hasProjectDefaultValue(field.getDataType()))
+      {
+         // The default value may change, so we count each distinct value
+         Map<Object, int[]> counts = m_valueCounts.computeIfAbsent(field, k -> new HashMap<>());
+         int count = counts.computeIfAbsent(value, k -> new int[1])[0] += delta;
+         if (count == 0)
+         {
+            counts.remove(value);
+         }
+         return;
+      }
+
+      if (!PopulatedFields.valueIsNotDefault(value, field))
+      {
+         return;
+      }
+
+      if (m_fieldEnumType.isInstance(field))
+      {
+         m_counts[field.getValue()] += delta;
+      }
+      else
+      {
+         m_userDefinedFieldCounts.computeIfAbsent(field, k -> new int[1])[0] += delta;
+      }
+   }
+
+   /**
+    * Determine if any entity has a value for the supplied field which
+    * differs from the default value taken from the project properties.
+    *
+    * @param props project properties
+    * @param field field type
+    * @return true if the field is populated
+    */
+   private boolean isPopulated(ProjectProperties props, FieldType field)
+   {
+      Map<Object, int[]> counts = m_valueCounts.get(field);
+      if (counts == null || counts.isEmpty())
+      {
+         return false;
+      }
+
+      Object defaultValue = PopulatedFields.getProjectDefaultValue(props, field.getDataType());
+      return counts.size() > 1 || counts.keySet().iterator().next() != defaultValue;
+   }
+
+   private final ProjectFile m_project;
+   private final Class<E> m_fieldEnumType;
+   private final E[] m_fields;
+   private final int[] m_counts;
+   private final Map<FieldType, int[]> m_userDefinedFieldCounts = new HashMap<>();
+   private final Map<FieldType, Map<Object, int[]>> m_valueCounts = new HashMap<>();
+
+   private static final int[] ZERO = new int[1];
+}
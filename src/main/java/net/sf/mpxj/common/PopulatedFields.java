@@ -29,6 +29,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import net.sf.mpxj.AccrueType;
+import net.sf.mpxj.DataType;
 import net.sf.mpxj.Duration;
 import net.sf.mpxj.EarnedValueMethod;
 import net.sf.mpxj.FieldContainer;
@@ -116,6 +117,115 @@ public class PopulatedFields<E extends Enum<E> & FieldType, T extends FieldConta
    {
       boolean result;
 
+      switch (type.getDataType())
+      {
+         case TIME_UNITS:
+         {
+            result = value != m_defaultDurationUnits;
+            break;
+         }
+
+         case TASK_TYPE:
+         {
+            result = value != m_defaultTaskType;
+            break;
+         }
+
+         case EARNED_VALUE_METHOD:
+         {
+            result = value != m_defaultTaskEarnedValueMethod;
+            break;
+         }
+
+         case ACCRUE:
+         {
+            result = value != m_defaultFixedCostAccrual;
+            break;
+         }
+
+         default:
+         {
+            result = valueIsNotDefault(value, type);
+            break;
+         }
+      }
+
+      return result;
+   }
+
+   /**
+    * Returns true if the default value for fields of the supplied
+    * type is taken from the project properties.
+    *
+    * @param type data type
+    * @return true if the default value is taken from the project properties
+    */
+   static boolean hasProjectDefaultValue(DataType type)
+   {
+      return type == DataType.TIME_UNITS || type == DataType.TASK_TYPE || type == DataType.EARNED_VALUE_METHOD || type == DataType.ACCRUE;
+   }
+
+   /**
+    * Retrieve the default value from the project properties for fields
+    * of the supplied type.
+    *
+    * @param props project properties
+    * @param type data type
+    * @return default value
+    */
+   static Object getProjectDefaultValue(ProjectProperties props, DataType type)
+   {
+      Object result;
+
+      switch (type)
+      {
+         case TIME_UNITS:
+         {
+            result = props.getDefaultDurationUnits();
+            break;
+         }
+
+         case TASK_TYPE:
+         {
+            result = props.getDefaultTaskType();
+            break;
+         }
+
+         case EARNED_VALUE_METHOD:
+         {
+            result = props.getDefaultTaskEarnedValueMethod();
+            break;
+         }
+
+         case ACCRUE:
+         {
+            result = props.getDefaultFixedCostAccrual();
+            break;
+         }
+
+         default:
+         {
+            result = null;
+            break;
+         }
+      }
+
+      return result;
+   }
+
+   /**
+    * Returns true if the value is non-default, for field types whose
+    * default value does not depend on the project properties.
+    * Values which are not of the expected type are treated as non-default.
+    *
+    * @param value field value
+    * @param type field type
+    * @return true if the value is non-default
+    */
+   static boolean valueIsNotDefault(Object value, FieldType type)
+   {
+      boolean result;
+
       switch (type.getDataType())
       {
          case STRING:
@@ -132,7 +242,7 @@ public class PopulatedFields<E extends Enum<E> & FieldType, T extends FieldConta
          case INTEGER:
          case SHORT:
          {
-            result = ((Number) value).doubleValue() != 0.0;
+            result = !(value instanceof Number) || ((Number) value).doubleValue() != 0.0;
             break;
          }
 
@@ -146,50 +256,26 @@ public class PopulatedFields<E extends Enum<E> & FieldType, T extends FieldConta
             }
             else
             {
-               result = ((Duration) value).getDuration() != 0.0;
+               result = !(value instanceof Duration) || ((Duration) value).getDuration() != 0.0;
             }
             break;
          }
 
          case RATE:
          {
-            result = ((Rate) value).getAmount() != 0.0;
+            result = !(value instanceof Rate) || ((Rate) value).getAmount() != 0.0;
             break;
          }
 
          case BOOLEAN:
          {
-            result = ((Boolean) value).booleanValue();
+            result = !(value instanceof Boolean) || ((Boolean) value).booleanValue();
             break;
          }
 
          case PRIORITY:
          {
-            result = ((Priority) value).getValue() != Priority.MEDIUM;
-            break;
-         }
-
-         case TIME_UNITS:
-         {
-            result = value != m_defaultDurationUnits;
-            break;
-         }
-
-         case TASK_TYPE:
-         {
-            result = value != m_defaultTaskType;
-            break;
-         }
-
-         case EARNED_VALUE_METHOD:
-         {
-            result = value != m_defaultTaskEarnedValueMethod;
-            break;
-         }
-
-         case ACCRUE:
-         {
-            result = value != m_defaultFixedCostAccrual;
+            result = !(value instanceof Priority) || ((Priority) value).getValue() != Priority.MEDIUM;
             break;
          }
 
@@ -47,5 +47,10 @@ public class ReaderTokenizer extends Tokenizer
       return (m_reader.read());
    }
 
+   @Override protected int read(char[] buffer) throws IOException
+   {
+      return m_reader.read(buffer, 0, buffer.length);
+   }
+
    private final Reader m_reader;
 }
@@ -28,6 +28,8 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Properties;
 
+import org.sqlite.SQLiteConfig;
+
 import net.sf.mpxj.ikvm.OperatingSystem;
 
 /**
@@ -58,6 +60,32 @@ public final class SQLite
       return createConnection(file, new Properties());
    }
 
+   /**
+    * Create a read-only connection to a SQLite database. This is used by
+    * readers to ensure that reading a schedule never modifies the source file.
+    *
+    * @param file SQLite database file
+    * @return Connection instance
+    */
+   public static Connection createReadOnlyConnection(File file) throws SQLException
+   {
+      return createReadOnlyConnection(file, new Properties());
+   }
+
+   /**
+    * Create a read-only connection to a SQLite database, allowing properties to be passed.
+    *
+    * @param file SQLite database file
+    * @param props Properties instance
+    * @return Connection instance
+    */
+   public static Connection createReadOnlyConnection(File file, Properties props) throws SQLException
+   {
+      SQLiteConfig config = new SQLiteConfig(props);
+      config.setReadOnly(true);
+      return createConnection(file, config.toProperties());
+   }
+
    /**
     * Create a connection to a SQLite database, allowing properties to be passed.
     *
@@ -41,6 +41,27 @@ public abstract class Tokenizer
     */
    protected abstract int read() throws IOException;
 
+   /**
+    * Read a block of characters from the data source. The default
+    * implementation reads a single character using the read method,
+    * ensuring that no more data is consumed from the data source than
+    * is required to return each token. Subclasses can override this method
+    * to read larger blocks where this is not a concern.
+    *
+    * @param buffer buffer to receive characters
+    * @return number of characters read, or -1 at the end of the data
+    */
+   protected int read(char[] buffer) throws IOException
+   {
+      int c = read();
+      if (c == -1)
+      {
+         return -1;
+      }
+      buffer[0] = (char) c;
+      return 1;
+   }
+
    /**
     * This method retrieves the next token and returns a constant representing
     * the type of token found.
@@ -58,7 +79,13 @@ public abstract class Tokenizer
          m_next = 0;
       }
 
+      // Where possible the token is represented by a slice
+      // of the character buffer, rather than copying each
+      // character into the StringBuilder.
       m_buffer.setLength(0);
+      m_slice = true;
+      m_sliceStart = m_position;
+      m_sliceLength = 0;
 
       while (result == 0)
       {
@@ -69,14 +96,14 @@ public abstract class Tokenizer
          }
          else
          {
-            c = read();
+            c = nextChar();
          }
 
          switch (c)
          {
             case TT_EOF:
             {
-               if (m_buffer.length() != 0)
+               if (getTokenLength() != 0)
                {
                   result = TT_WORD;
                   m_next = TT_EOF;
@@ -90,12 +117,12 @@ public abstract class Tokenizer
 
             case TT_EOL:
             {
-               int length = m_buffer.length();
+               int length = getTokenLength();
 
-               if (length != 0 && m_buffer.charAt(length - 1) == '\r')
+               if (length != 0 && getTokenChar(length - 1) == '\r')
                {
                   --length;
-                  m_buffer.setLength(length);
+                  setTokenLength(length);
                }
 
                if (length == 0)
@@ -116,6 +143,7 @@ public abstract class Tokenizer
                char quote = '"';
                if (c == quote)
                {
+                  copySlice();
                   if (!quoted && startQuotedIsValid(m_buffer))
                   {
                      quoted = true;
@@ -128,7 +156,7 @@ public abstract class Tokenizer
                      }
                      else
                      {
-                        nextc = read();
+                        nextc = nextChar();
                         if (nextc == quote)
                         {
                            m_buffer.append((char) c);
@@ -149,7 +177,14 @@ public abstract class Tokenizer
                   }
                   else
                   {
-                     m_buffer.append((char) c);
+                     if (m_slice)
+                     {
+                        ++m_sliceLength;
+                     }
+                     else
+                     {
+                        m_buffer.append((char) c);
+                     }
                   }
                }
             }
@@ -161,6 +196,91 @@ public abstract class Tokenizer
       return (result);
    }
 
+   /**
+    * Retrieve the next character from the buffer, refilling
+    * the buffer from the data source when required.
+    *
+    * @return next character, or TT_EOF
+    */
+   private int nextChar() throws IOException
+   {
+      if (m_position == m_limit)
+      {
+         if (m_slice)
+         {
+            if (m_sliceLength == 0)
+            {
+               m_sliceStart = 0;
+            }
+            else
+            {
+               copySlice();
+            }
+         }
+
+         m_position = 0;
+         m_limit = Math.max(0, read(m_chars));
+         if (m_limit == 0)
+         {
+            return TT_EOF;
+         }
+      }
+
+      return m_chars[m_position++];
+   }
+
+   /**
+    * If the current token is represented by a slice of the character buffer,
+    * copy it to the StringBuilder, and use the StringBuilder for the
+    * remainder of the token.
+    */
+   private void copySlice()
+   {
+      if (m_slice)
+      {
+         m_buffer.append(m_chars, m_sliceStart, m_sliceLength);
+         m_slice = false;
+      }
+   }
+
+   /**
+    * Retrieve the length of the current token.
+    *
+    * @return token length
+    */
+   private int getTokenLength()
+   {
+      return m_slice ? m_sliceLength : m_buffer.length();
+   }
+
+   /**
+    * Set the length of the current token.
+    *
+    * @param length token length
+    */
+   private void setTokenLength(int length)
+   {
+      if (m_slice)
+      {
+         m_sliceLength = length;
+      }
+      else
+      {
+         m_buffer.setLength(length);
+      }
+   }
+
+   /**
+    * Retrieve a character from the current token.
+    *
+    * @param index character index
+    * @return character
+    */
+   private char getTokenChar(int index)
+   {
+      return m_slice ? m_chars[m_sliceStart + index] : m_buffer.charAt(index);
+   }
+
    /**
     * This method allows us to control the behaviour of the tokenizer for
     * quoted text. Normally quoted text begins with a quote character
@@ -182,7 +302,7 @@ public abstract class Tokenizer
     */
    public String getToken()
    {
-      return (m_buffer.toString());
+      return m_slice ? new String(m_chars, m_sliceStart, m_sliceLength) : m_buffer.toString();
    }
 
    /**
@@ -214,4 +334,12 @@ public abstract class Tokenizer
    private int m_next;
    private int m_type;
    private final StringBuilder m_buffer = new StringBuilder();
+   private final char[] m_chars = new char[BUFFER_SIZE];
+   private int m_position;
+   private int m_limit;
+   private boolean m_slice;
+   private int m_sliceStart;
+   private int m_sliceLength;
+
+   private static final int BUFFER_SIZE = 8192;
 }
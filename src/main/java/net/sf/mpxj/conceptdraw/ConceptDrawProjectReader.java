@@ -31,13 +31,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import javax.xml.parsers.ParserConfigurationException;
 
 import net.sf.mpxj.CostRateTable;
 import net.sf.mpxj.CostRateTableEntry;
 import net.sf.mpxj.LocalTimeRange;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.LocalDateTimeHelper;
 import net.sf.mpxj.common.NumberHelper;
 import org.xml.sax.SAXException;
@@ -77,11 +77,6 @@ public final class ConceptDrawProjectReader extends AbstractProjectStreamReader
    {
       try
       {
-         if (CONTEXT == null)
-         {
-            throw CONTEXT_EXCEPTION;
-         }
-
          m_projectFile = new ProjectFile();
          m_eventManager = m_projectFile.getEventManager();
          m_calendarMap = new HashMap<>();
@@ -98,7 +93,7 @@ public final class ConceptDrawProjectReader extends AbstractProjectStreamReader
 
          addListenersToProject(m_projectFile);
 
-         Document cdp = (Document) UnmarshalHelper.unmarshal(CONTEXT, stream, new NamespaceFilter());
+         Document cdp = (Document) UnmarshalHelper.unmarshal(JaxbContextRegistry.getContext(JaxbContextRegistry.CONCEPT_DRAW), stream, new NamespaceFilter());
 
          readProjectProperties(cdp);
          readCalendars(cdp);
@@ -539,36 +534,4 @@ public final class ConceptDrawProjectReader extends AbstractProjectStreamReader
 
    private static final int HOURS_PER_DAY = 24;
    private static final int MINUTES_PER_DAY = HOURS_PER_DAY * 60;
-
-   /**
-    * Cached context to minimise construction cost.
-    */
-   private static JAXBContext CONTEXT;
-
-   /**
-    * Note any error occurring during context construction.
-    */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
-   {
-      try
-      {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
-
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.conceptdraw.schema", ConceptDrawProjectReader.class.getClassLoader());
-      }
-
-      catch (JAXBException ex)
-      {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
-      }
-   }
 }
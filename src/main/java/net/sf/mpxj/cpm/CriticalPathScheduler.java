@@ -0,0 +1,790 @@
+/*
+ * file:       CriticalPathScheduler.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.cpm;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.sf.mpxj.ConstraintType;
+import net.sf.mpxj.DependencyGraph;
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.ProjectCalendar;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Relation;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TaskField;
+import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.common.LocalDateTimeHelper;
+import net.sf.mpxj.common.NumberHelper;
+
+/**
+ * Calculates early and late dates, and slack, for the tasks in a project
+ * using the critical path method. Working time is determined by each task's
+ * effective calendar, relation lags are applied using the successor's calendar,
+ * and constraints and actual dates are honoured.
+ * <p/>
+ * Once a project has been scheduled, changes to the durations, constraints,
+ * calendars or actual dates of individual tasks can be applied by calling
+ * {@link #reschedule(Collection)}. This only recalculates the tasks which
+ * follow or precede the changed tasks, and stops propagating changes as
+ * soon as the dates of a task are unaffected. Adding or removing tasks
+ * or relations requires the project to be scheduled again using
+ * {@link #schedule(ProjectFile, LocalDateTime)}.
+ * <p/>
+ * Relations to or from summary tasks are not supported. The dates of summary
+ * tasks are rolled up from their child tasks.
+ * <p/>
+ * For large projects, enabling calendar indexes using
+ * ProjectConfig.setUseCalendarIndex will significantly reduce the time
+ * taken to calculate dates and slack.
+ */
+public class CriticalPathScheduler
+{
+   /**
+    * Schedule the supplied project.
+    *
+    * @param file project to schedule
+    * @param startDate project start date, or null to use the start date from the project properties
+    */
+   public void schedule(ProjectFile file, LocalDateTime startDate) throws CpmException
+   {
+      m_file = file;
+      m_startDate = startDate == null ? file.getProjectProperties().getStartDate() : startDate;
+      if (m_startDate == null)
+      {
+         throw new CpmException("Project start date not supplied");
+      }
+
+      m_graph = new DependencyGraph(file);
+      if (m_graph.hasCycles())
+      {
+         throw new CpmException("Unable to schedule a project containing cycles");
+      }
+
+      for (int edge = 0; edge < m_graph.getEdgeCount(); edge++)
+      {
+         Relation relation = m_graph.getRelation(edge);
+         if (relation.getSourceTask().hasChildTasks() || relation.getTargetTask().hasChildTasks())
+         {
+            throw new CpmException("Relations to or from summary tasks are not supported: " + relation);
+         }
+      }
+
+      int taskCount = m_graph.getTaskCount();
+      m_order = m_graph.getTopologicalOrder();
+      m_position = new int[taskCount];
+      for (int position = 0; position < taskCount; position++)
+      {
+         m_position[m_order[position]] = position;
+      }
+
+      m_earlyStart = new LocalDateTime[taskCount];
+      m_earlyFinish = new LocalDateTime[taskCount];
+      m_lateStart = new LocalDateTime[taskCount];
+      m_lateFinish = new LocalDateTime[taskCount];
+
+      BitSet all = new BitSet(taskCount);
+      all.set(0, taskCount);
+
+      forwardPass((BitSet) all.clone());
+      m_finishDate = calculateFinishDate();
+      backwardPass((BitSet) all.clone());
+      updateTasks(all, all);
+   }
+
+   /**
+    * Recalculate the schedule following changes to the supplied tasks.
+    *
+    * @param tasks tasks which have changed
+    */
+   public void reschedule(Collection<Task> tasks) throws CpmException
+   {
+      if (m_graph == null)
+      {
+         throw new CpmException("The project has not been scheduled");
+      }
+
+      BitSet seeds = new BitSet(m_order.length);
+      for (Task task : tasks)
+      {
+         int index = m_graph.getIndex(task);
+         if (index == -1)
+         {
+            throw new CpmException("Task is not part of the scheduled project: " + task);
+         }
+         seeds.set(m_position[index]);
+      }
+
+      BitSet earlyChanged = forwardPass((BitSet) seeds.clone());
+
+      //
+      // If the project finish date has changed, the late dates of every task need
+      // to be recalculated, as the finish date bounds the late finish of all tasks,
+      // not just those without successors. Otherwise we only need to recalculate
+      // the tasks we've been told have changed.
+      //
+      BitSet lateSeeds = (BitSet) seeds.clone();
+      LocalDateTime finishDate = calculateFinishDate();
+      if (!finishDate.equals(m_finishDate))
+      {
+         m_finishDate = finishDate;
+         lateSeeds.set(0, m_order.length);
+      }
+      BitSet lateChanged = backwardPass(lateSeeds);
+
+      //
+      // Slack needs to be recalculated for any task whose dates have changed.
+      // Free slack also needs to be recalculated for the predecessors of
+      // any task whose early dates have changed.
+      //
+      BitSet datesChanged = (BitSet) seeds.clone();
+      datesChanged.or(earlyChanged);
+      datesChanged.or(lateChanged);
+
+      BitSet freeSlackChanged = (BitSet) datesChanged.clone();
+      for (int position = earlyChanged.nextSetBit(0); position >= 0; position = earlyChanged.nextSetBit(position + 1))
+      {
+         int index = m_order[position];
+         for (int predecessorPosition = m_graph.getPredecessorStart(index); predecessorPosition < m_graph.getPredecessorEnd(index); predecessorPosition++)
+         {
+            freeSlackChanged.set(m_position[m_graph.getEdgePredecessor(m_graph.getPredecessorEdge(predecessorPosition))]);
+         }
+      }
+
+      updateTasks(datesChanged, freeSlackChanged);
+   }
+
+   /**
+    * Retrieve the finish date of the project calculated by the most recent schedule.
+    *
+    * @return project finish date
+    */
+   public LocalDateTime getFinishDate()
+   {
+      return m_finishDate;
+   }
+
+   /**
+    * Calculate early dates for the tasks at the supplied topological positions,
+    * and for any successors whose early dates change as a result.
+    *
+    * @param dirty topological positions of the tasks to recalculate, updated as the pass proceeds
+    * @return topological positions of the tasks whose early dates have changed
+    */
+   private BitSet forwardPass(BitSet dirty)
+   {
+      BitSet changed = new BitSet(m_order.length);
+      for (int position = dirty.nextSetBit(0); position >= 0; position = dirty.nextSetBit(position + 1))
+      {
+         int index = m_order[position];
+         Task task = m_graph.getTask(index);
+         if (task.hasChildTasks())
+         {
+            continue;
+         }
+
+         LocalDateTime earlyStart = m_earlyStart[index];
+         LocalDateTime earlyFinish = m_earlyFinish[index];
+         calculateEarlyDates(index, task);
+
+         if (!m_earlyStart[index].equals(earlyStart) || !m_earlyFinish[index].equals(earlyFinish))
+         {
+            changed.set(position);
+            for (int edge = m_graph.getSuccessorStart(index); edge < m_graph.getSuccessorEnd(index); edge++)
+            {
+               dirty.set(m_position[m_graph.getEdgeSuccessor(edge)]);
+            }
+         }
+      }
+      return changed;
+   }
+
+   /**
+    * Calculate late dates for the tasks at the supplied topological positions,
+    * and for any predecessors whose late dates change as a result.
+    *
+    * @param dirty topological positions of the tasks to recalculate, updated as the pass proceeds
+    * @return topological positions of the tasks whose late dates have changed
+    */
+   private BitSet backwardPass(BitSet dirty)
+   {
+      BitSet changed = new BitSet(m_order.length);
+      for (int position = dirty.previousSetBit(m_order.length - 1); position >= 0; position = dirty.previousSetBit(position - 1))
+      {
+         int index = m_order[position];
+         Task task = m_graph.getTask(index);
+         if (task.hasChildTasks())
+         {
+            continue;
+         }
+
+         LocalDateTime lateStart = m_lateStart[index];
+         LocalDateTime lateFinish = m_lateFinish[index];
+         calculateLateDates(index, task);
+
+         if (!m_lateStart[index].equals(lateStart) || !m_lateFinish[index].equals(lateFinish))
+         {
+            changed.set(position);
+            for (int predecessorPosition = m_graph.getPredecessorStart(index); predecessorPosition < m_graph.getPredecessorEnd(index); predecessorPosition++)
+            {
+               dirty.set(m_position[m_graph.getEdgePredecessor(m_graph.getPredecessorEdge(predecessorPosition))]);
+            }
+         }
+      }
+      return changed;
+   }
+
+   /**
+    * Calculate the early start and early finish of a task.
+    *
+    * @param index task index
+    * @param task task
+    */
+   private void calculateEarlyDates(int index, Task task)
+   {
+      ProjectCalendar calendar = task.getEffectiveCalendar();
+      Duration duration = getDuration(task);
+      LocalDateTime startBound = m_startDate;
+      LocalDateTime finishBound = null;
+
+      for (int position = m_graph.getPredecessorStart(index); position < m_graph.getPredecessorEnd(index); position++)
+      {
+         int edge = m_graph.getPredecessorEdge(position);
+         int predecessor = m_graph.getEdgePredecessor(edge);
+         Duration lag = getLag(edge, predecessor);
+
+         switch (m_graph.getEdgeType(edge))
+         {
+            case START_START:
+            {
+               startBound = LocalDateTimeHelper.max(startBound, addLag(calendar, m_earlyStart[predecessor], lag));
+               break;
+            }
+
+            case FINISH_FINISH:
+            {
+               finishBound = LocalDateTimeHelper.max(finishBound, addLag(calendar, m_earlyFinish[predecessor], lag));
+               break;
+            }
+
+            case START_FINISH:
+            {
+               finishBound = LocalDateTimeHelper.max(finishBound, addLag(calendar, m_earlyStart[predecessor], lag));
+               break;
+            }
+
+            default:
+            {
+               startBound = LocalDateTimeHelper.max(startBound, addLag(calendar, m_earlyFinish[predecessor], lag));
+               break;
+            }
+         }
+      }
+
+      LocalDateTime constraintDate = task.getConstraintDate();
+      ConstraintType constraintType = constraintDate == null ? null : task.getConstraintType();
+      if (constraintType == ConstraintType.START_NO_EARLIER_THAN)
+      {
+         startBound = LocalDateTimeHelper.max(startBound, constraintDate);
+      }
+      else
+      {
+         if (constraintType == ConstraintType.FINISH_NO_EARLIER_THAN)
+         {
+            finishBound = LocalDateTimeHelper.max(finishBound, constraintDate);
+         }
+      }
+
+      LocalDateTime earlyStart = getStart(calendar, startBound, duration);
+      if (finishBound != null)
+      {
+         earlyStart = LocalDateTimeHelper.max(earlyStart, getStart(calendar, subtract(calendar, getFinish(calendar, finishBound, duration), duration), duration));
+      }
+
+      if (constraintType == ConstraintType.MUST_START_ON || constraintType == ConstraintType.START_ON)
+      {
+         earlyStart = constraintDate;
+      }
+      else
+      {
+         if (constraintType == ConstraintType.MUST_FINISH_ON || constraintType == ConstraintType.FINISH_ON)
+         {
+            earlyStart = subtract(calendar, constraintDate, duration);
+         }
+      }
+
+      if (task.getActualStart() != null)
+      {
+         earlyStart = task.getActualStart();
+      }
+
+      LocalDateTime earlyFinish = task.getActualFinish() == null ? add(calendar, earlyStart, duration) : task.getActualFinish();
+
+      m_earlyStart[index] = earlyStart;
+      m_earlyFinish[index] = earlyFinish;
+   }
+
+   /**
+    * Calculate the late start and late finish of a task.
+    *
+    * @param index task index
+    * @param task task
+    */
+   private void calculateLateDates(int index, Task task)
+   {
+      if (task.getActualFinish() != null)
+      {
+         m_lateStart[index] = m_earlyStart[index];
+         m_lateFinish[index] = m_earlyFinish[index];
+         return;
+      }
+
+      ProjectCalendar calendar = task.getEffectiveCalendar();
+      Duration duration = getDuration(task);
+      LocalDateTime finishBound = m_finishDate;
+      LocalDateTime startBound = null;
+
+      for (int edge = m_graph.getSuccessorStart(index); edge < m_graph.getSuccessorEnd(index); edge++)
+      {
+         int successor = m_graph.getEdgeSuccessor(edge);
+         ProjectCalendar successorCalendar = m_graph.getTask(successor).getEffectiveCalendar();
+         Duration lag = negate(getLag(edge, index));
+
+         switch (m_graph.getEdgeType(edge))
+         {
+            case START_START:
+            {
+               startBound = LocalDateTimeHelper.min(startBound, addLag(successorCalendar, m_lateStart[successor], lag));
+               break;
+            }
+
+            case FINISH_FINISH:
+            {
+               finishBound = LocalDateTimeHelper.min(finishBound, addLag(successorCalendar, m_lateFinish[successor], lag));
+               break;
+            }
+
+            case START_FINISH:
+            {
+               startBound = LocalDateTimeHelper.min(startBound, addLag(successorCalendar, m_lateFinish[successor], lag));
+               break;
+            }
+
+            default:
+            {
+               finishBound = LocalDateTimeHelper.min(finishBound, addLag(successorCalendar, m_lateStart[successor], lag));
+               break;
+            }
+         }
+      }
+
+      LocalDateTime constraintDate = task.getConstraintDate();
+      ConstraintType constraintType = constraintDate == null ? null : task.getConstraintType();
+      if (constraintType == ConstraintType.FINISH_NO_LATER_THAN)
+      {
+         finishBound = LocalDateTimeHelper.min(finishBound, constraintDate);
+      }
+      else
+      {
+         if (constraintType == ConstraintType.START_NO_LATER_THAN)
+         {
+            startBound = LocalDateTimeHelper.min(startBound, constraintDate);
+         }
+      }
+
+      LocalDateTime lateFinish = getFinish(calendar, finishBound, duration);
+      if (startBound != null)
+      {
+         lateFinish = LocalDateTimeHelper.min(lateFinish, getFinish(calendar, add(calendar, getStart(calendar, startBound, duration), duration), duration));
+      }
+
+      if (constraintType == ConstraintType.MUST_FINISH_ON || constraintType == ConstraintType.FINISH_ON)
+      {
+         lateFinish = constraintDate;
+      }
+      else
+      {
+         if (constraintType == ConstraintType.MUST_START_ON || constraintType == ConstraintType.START_ON)
+         {
+            lateFinish = add(calendar, constraintDate, duration);
+         }
+      }
+
+      LocalDateTime lateStart = task.getActualStart() == null ? subtract(calendar, lateFinish, duration) : task.getActualStart();
+
+      m_lateStart[index] = lateStart;
+      m_lateFinish[index] = lateFinish;
+   }
+
+   /**
+    * Determine the project finish date.
+    *
+    * @return project finish date
+    */
+   private LocalDateTime calculateFinishDate()
+   {
+      LocalDateTime result = m_startDate;
+      for (LocalDateTime date : m_earlyFinish)
+      {
+         result = LocalDateTimeHelper.max(result, date);
+      }
+      return result;
+   }
+
+   /**
+    * Write the calculated values to the tasks, and update the summary tasks.
+    *
+    * @param datesChanged topological positions of the tasks whose dates and slack need to be updated
+    * @param freeSlackChanged topological positions of the tasks whose free slack needs to be updated
+    */
+   private void updateTasks(BitSet datesChanged, BitSet freeSlackChanged)
+   {
+      Set<Task> summaryTasks = new HashSet<>();
+
+      for (int position = freeSlackChanged.nextSetBit(0); position >= 0; position = freeSlackChanged.nextSetBit(position + 1))
+      {
+         int index = m_order[position];
+         Task task = m_graph.getTask(index);
+         if (task.hasChildTasks())
+         {
+            continue;
+         }
+
+         if (datesChanged.get(position))
+         {
+            updateTask(task, m_earlyStart[index], m_earlyFinish[index], m_lateStart[index], m_lateFinish[index]);
+            Task parent = task.getParentTask();
+            while (parent != null && summaryTasks.add(parent))
+            {
+               parent = parent.getParentTask();
+            }
+         }
+
+         task.setFreeSlack(calculateFreeSlack(index, task));
+      }
+
+      //
+      // Update summary tasks, starting with the most deeply nested
+      //
+      List<Task> sortedSummaryTasks = new ArrayList<>(summaryTasks);
+      sortedSummaryTasks.sort(Comparator.comparingInt((Task t) -> NumberHelper.getInt(t.getOutlineLevel())).reversed());
+      for (Task task : sortedSummaryTasks)
+      {
+         LocalDateTime earlyStart = null;
+         LocalDateTime earlyFinish = null;
+         LocalDateTime lateStart = null;
+         LocalDateTime lateFinish = null;
+
+         for (Task child : task.getChildTasks())
+         {
+            earlyStart = LocalDateTimeHelper.min(earlyStart, child.getEarlyStart());
+            earlyFinish = LocalDateTimeHelper.max(earlyFinish, child.getEarlyFinish());
+            lateStart = LocalDateTimeHelper.min(lateStart, child.getLateStart());
+            lateFinish = LocalDateTimeHelper.max(lateFinish, child.getLateFinish());
+         }
+
+         if (earlyStart != null)
+         {
+            updateTask(task, earlyStart, earlyFinish, lateStart, lateFinish);
+         }
+      }
+   }
+
+   /**
+    * Write the calculated dates and slack to a task.
+    *
+    * @param task task to update
+    * @param earlyStart early start
+    * @param earlyFinish early finish
+    * @param lateStart late start
+    * @param lateFinish late finish
+    */
+   private void updateTask(Task task, LocalDateTime earlyStart, LocalDateTime earlyFinish, LocalDateTime lateStart, LocalDateTime lateFinish)
+   {
+      ProjectCalendar calendar = task.getEffectiveCalendar();
+      TimeUnit units = getSlackUnits(task);
+
+      task.setEarlyStart(earlyStart);
+      task.setEarlyFinish(earlyFinish);
+      task.setLateStart(lateStart);
+      task.setLateFinish(lateFinish);
+
+      if (task.getConstraintType() == ConstraintType.AS_LATE_AS_POSSIBLE && task.getActualStart() == null)
+      {
+         task.setStart(lateStart);
+         task.setFinish(lateFinish);
+      }
+      else
+      {
+         task.setStart(earlyStart);
+         task.setFinish(earlyFinish);
+      }
+
+      task.setStartSlack(LocalDateTimeHelper.getVariance(calendar, earlyStart, lateStart, units));
+      task.setFinishSlack(LocalDateTimeHelper.getVariance(calendar, earlyFinish, lateFinish, units));
+
+      // Total slack and the critical flag are calculated from the start and finish slack
+      task.set(TaskField.TOTAL_SLACK, null);
+      task.set(TaskField.CRITICAL, null);
+      task.getTotalSlack();
+      task.getCritical();
+   }
+
+   /**
+    * Calculate the free slack for a task: the amount by which the task
+    * can be delayed without delaying the early dates of any of its successors.
+    *
+    * @param index task index
+    * @param task task
+    * @return free slack
+    */
+   private Duration calculateFreeSlack(int index, Task task)
+   {
+      Duration totalSlack = task.getTotalSlack();
+      TimeUnit units = getSlackUnits(task);
+      if (m_graph.getSuccessorStart(index) == m_graph.getSuccessorEnd(index))
+      {
+         return totalSlack;
+      }
+
+      ProjectCalendar calendar = task.getEffectiveCalendar();
+      Duration result = null;
+
+      for (int edge = m_graph.getSuccessorStart(index); edge < m_graph.getSuccessorEnd(index); edge++)
+      {
+         int successor = m_graph.getEdgeSuccessor(edge);
+         ProjectCalendar successorCalendar = m_graph.getTask(successor).getEffectiveCalendar();
+         Duration lag = negate(getLag(edge, index));
+         Duration slack;
+
+         switch (m_graph.getEdgeType(edge))
+         {
+            case START_START:
+            {
+               slack = LocalDateTimeHelper.getVariance(calendar, m_earlyStart[index], addLag(successorCalendar, m_earlyStart[successor], lag), units);
+               break;
+            }
+
+            case FINISH_FINISH:
+            {
+               slack = LocalDateTimeHelper.getVariance(calendar, m_earlyFinish[index], addLag(successorCalendar, m_earlyFinish[successor], lag), units);
+               break;
+            }
+
+            case START_FINISH:
+            {
+               slack = LocalDateTimeHelper.getVariance(calendar, m_earlyStart[index], addLag(successorCalendar, m_earlyFinish[successor], lag), units);
+               break;
+            }
+
+            default:
+            {
+               slack = LocalDateTimeHelper.getVariance(calendar, m_earlyFinish[index], addLag(successorCalendar, m_earlyStart[successor], lag), units);
+               break;
+            }
+         }
+
+         if (result == null || slack.getDuration() < result.getDuration())
+         {
+            result = slack;
+         }
+      }
+
+      if (totalSlack != null && totalSlack.getUnits() == result.getUnits() && totalSlack.getDuration() < result.getDuration())
+      {
+         result = totalSlack;
+      }
+
+      return result;
+   }
+
+   /**
+    * Retrieve the lag for a relation. Lags expressed as a percentage
+    * are converted using the duration of the predecessor.
+    *
+    * @param edge edge index
+    * @param predecessor predecessor task index
+    * @return lag duration
+    */
+   private Duration getLag(int edge, int predecessor)
+   {
+      Duration lag = m_graph.getRelation(edge).getLag();
+      if (lag == null || lag.getDuration() == 0)
+      {
+         return null;
+      }
+
+      if (lag.getUnits() == TimeUnit.PERCENT || lag.getUnits() == TimeUnit.ELAPSED_PERCENT)
+      {
+         Duration duration = getDuration(m_graph.getTask(predecessor));
+         double value = (duration.getDuration() * lag.getDuration()) / 100.0;
+         if (lag.getUnits() == TimeUnit.PERCENT)
+         {
+            lag = Duration.getInstance(value, duration.getUnits());
+         }
+         else
+         {
+            lag = Duration.getInstance(Duration.convertUnits(value, duration.getUnits(), TimeUnit.MINUTES, m_file.getProjectProperties()).getDuration(), TimeUnit.ELAPSED_MINUTES);
+         }
+      }
+
+      return lag;
+   }
+
+   /**
+    * Apply a lag to a date.
+    *
+    * @param calendar calendar used to apply the lag
+    * @param date date
+    * @param lag lag, or null if there is no lag
+    * @return updated date
+    */
+   private LocalDateTime addLag(ProjectCalendar calendar, LocalDateTime date, Duration lag)
+   {
+      if (lag == null || date == null)
+      {
+         return date;
+      }
+
+      if (lag.getUnits().isElapsed())
+      {
+         return date.plusSeconds(Math.round(lag.convertUnits(TimeUnit.ELAPSED_MINUTES, m_file.getProjectProperties()).getDuration() * 60.0));
+      }
+
+      return calendar.getDate(date, lag);
+   }
+
+   /**
+    * Determine the start of a task, given the earliest date on which it can start.
+    *
+    * @param calendar task calendar
+    * @param date earliest start date
+    * @param duration task duration
+    * @return start date
+    */
+   private LocalDateTime getStart(ProjectCalendar calendar, LocalDateTime date, Duration duration)
+   {
+      return duration.getDuration() == 0 || duration.getUnits().isElapsed() ? date : calendar.getNextWorkStart(date);
+   }
+
+   /**
+    * Determine the finish of a task, given the latest date on which it can finish.
+    *
+    * @param calendar task calendar
+    * @param date latest finish date
+    * @param duration task duration
+    * @return finish date
+    */
+   private LocalDateTime getFinish(ProjectCalendar calendar, LocalDateTime date, Duration duration)
+   {
+      return duration.getDuration() == 0 || duration.getUnits().isElapsed() ? date : calendar.getPreviousWorkFinish(date);
+   }
+
+   /**
+    * Add a duration to a date.
+    *
+    * @param calendar task calendar
+    * @param date start date
+    * @param duration task duration
+    * @return finish date
+    */
+   private LocalDateTime add(ProjectCalendar calendar, LocalDateTime date, Duration duration)
+   {
+      if (duration.getDuration() == 0)
+      {
+         return date;
+      }
+      return addLag(calendar, date, duration);
+   }
+
+   /**
+    * Subtract a duration from a date.
+    *
+    * @param calendar task calendar
+    * @param date finish date
+    * @param duration task duration
+    * @return start date
+    */
+   private LocalDateTime subtract(ProjectCalendar calendar, LocalDateTime date, Duration duration)
+   {
+      if (duration.getDuration() == 0)
+      {
+         return date;
+      }
+      return addLag(calendar, date, negate(duration));
+   }
+
+   /**
+    * Negate a duration.
+    *
+    * @param duration duration
+    * @return negated duration, or null if the duration is null
+    */
+   private Duration negate(Duration duration)
+   {
+      return duration == null ? null : Duration.getInstance(-duration.getDuration(), duration.getUnits());
+   }
+
+   /**
+    * Retrieve a task's duration, treating a missing duration as zero.
+    *
+    * @param task task
+    * @return duration
+    */
+   private Duration getDuration(Task task)
+   {
+      Duration duration = task.getDuration();
+      return duration == null ? ZERO_DURATION : duration;
+   }
+
+   /**
+    * Determine the units used to represent slack for a task.
+    *
+    * @param task task
+    * @return slack units
+    */
+   private TimeUnit getSlackUnits(Task task)
+   {
+      Duration duration = task.getDuration();
+      return duration == null ? m_file.getProjectProperties().getDefaultDurationUnits() : duration.getUnits();
+   }
+
+   private ProjectFile m_file;
+   private LocalDateTime m_startDate;
+   private LocalDateTime m_finishDate;
+   private DependencyGraph m_graph;
+   private int[] m_order;
+   private int[] m_position;
+   private LocalDateTime[] m_earlyStart;
+   private LocalDateTime[] m_earlyFinish;
+   private LocalDateTime[] m_lateStart;
+   private LocalDateTime[] m_lateFinish;
+
+   private static final Duration ZERO_DURATION = Duration.getInstance(0, TimeUnit.DAYS);
+}
@@ -24,9 +24,9 @@
 package net.sf.mpxj.fasttrack;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.PrintWriter;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -36,9 +36,9 @@ import java.util.Map;
 import java.util.Set;
 
 import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.common.BytePatternMatcher;
 import net.sf.mpxj.common.CharsetHelper;
 import net.sf.mpxj.common.DebugLogPrintWriter;
-import net.sf.mpxj.common.InputStreamHelper;
 
 /**
  * Read tables of data from a FastTrack file.
@@ -55,24 +55,14 @@ class FastTrackData
       openLogFile();
 
       int blockIndex = 0;
-      int length = (int) file.length();
-      try (FileInputStream is = new FileInputStream(file))
-      {
-         m_buffer = InputStreamHelper.read(is, length);
-      }
+      m_buffer = Files.readAllBytes(file.toPath());
 
       configureVersion();
 
       if (getSupported())
       {
          List<Integer> blocks = new ArrayList<>();
-         for (int index = 64; index < m_buffer.length - 11; index++)
-         {
-            if (matchPattern(PARENT_BLOCK_PATTERNS, index))
-            {
-               blocks.add(Integer.valueOf(index));
-            }
-         }
+         PARENT_BLOCK_MATCHER.findAll(m_buffer, 64, m_buffer.length - 11, index -> blocks.add(Integer.valueOf(index)));
 
          int startIndex = 0;
          for (int endIndex : blocks)
@@ -219,27 +209,24 @@ class FastTrackData
     */
    private void readTableBlock(int startIndex, int blockLength)
    {
-      for (int index = startIndex; index < (startIndex + blockLength - 11); index++)
+      int index = TABLE_BLOCK_MATCHER.indexOf(m_buffer, startIndex, startIndex + blockLength - 11);
+      if (index != -1)
       {
-         if (matchPattern(TABLE_BLOCK_PATTERNS, index))
+         int offset = index + TABLE_BLOCK_MATCHER.getPatternLength();
+         int nameLength = FastTrackUtility.getInt(m_buffer, offset);
+         offset += 4;
+         String name = FastTrackUtility.getString(m_buffer, offset, nameLength).toUpperCase();
+         FastTrackTableType type = REQUIRED_TABLES.get(name);
+         if (type != null)
          {
-            int offset = index + 7;
-            int nameLength = FastTrackUtility.getInt(m_buffer, offset);
-            offset += 4;
-            String name = FastTrackUtility.getString(m_buffer, offset, nameLength).toUpperCase();
-            FastTrackTableType type = REQUIRED_TABLES.get(name);
-            if (type != null)
-            {
-               m_currentTable = new FastTrackTable(type, this);
-               m_tables.put(type, m_currentTable);
-            }
-            else
-            {
-               m_currentTable = null;
-            }
-            m_currentFields.clear();
-            break;
+            m_currentTable = new FastTrackTable(type, this);
+            m_tables.put(type, m_currentTable);
          }
+         else
+         {
+            m_currentTable = null;
+         }
+         m_currentFields.clear();
       }
    }
 
@@ -253,14 +240,13 @@ class FastTrackData
    {
       int endIndex = startIndex + blockLength;
       List<Integer> blocks = new ArrayList<>();
-      for (int index = startIndex; index < endIndex - 11; index++)
-      {
+      CHILD_BLOCK_MATCHER.findAll(m_buffer, startIndex, endIndex - 11, index -> {
          if (matchChildBlock(index))
          {
             int childBlockStart = index - 2;
             blocks.add(Integer.valueOf(childBlockStart));
          }
-      }
+      });
       blocks.add(Integer.valueOf(endIndex));
 
       int childBlockStart = -1;
@@ -325,38 +311,7 @@ class FastTrackData
    }
 
    /**
-    * Locate a feature in the file by match a byte pattern.
-    *
-    * @param patterns patterns to match
-    * @param bufferIndex start index
-    * @return true if the bytes at the position match a pattern
-    */
-   private boolean matchPattern(byte[][] patterns, int bufferIndex)
-   {
-      boolean match = false;
-      for (byte[] pattern : patterns)
-      {
-         int index = 0;
-         match = true;
-         for (byte b : pattern)
-         {
-            if (b != m_buffer[bufferIndex + index])
-            {
-               match = false;
-               break;
-            }
-            ++index;
-         }
-         if (match)
-         {
-            break;
-         }
-      }
-      return match;
-   }
-
-   /**
-    * Locate a child block by byte pattern and validate by
+    * Having located a child block by byte pattern, validate by
     * checking the length of the string we are expecting
     * to follow the pattern.
     *
@@ -365,12 +320,7 @@ class FastTrackData
     */
    private boolean matchChildBlock(int bufferIndex)
    {
-      if (!matchPattern(CHILD_BLOCK_PATTERNS, bufferIndex))
-      {
-         return false;
-      }
-      // TODO: use pattern length
-      int index = 6;
+      int index = CHILD_BLOCK_MATCHER.getPatternLength();
 
       //
       // The first step will produce false positives. To handle this, we should find
@@ -666,6 +616,12 @@ class FastTrackData
       }
    };
 
+   private static final BytePatternMatcher PARENT_BLOCK_MATCHER = new BytePatternMatcher(PARENT_BLOCK_PATTERNS);
+
+   private static final BytePatternMatcher CHILD_BLOCK_MATCHER = new BytePatternMatcher(CHILD_BLOCK_PATTERNS);
+
+   private static final BytePatternMatcher TABLE_BLOCK_MATCHER = new BytePatternMatcher(TABLE_BLOCK_PATTERNS);
+
    private static final Class<?>[] COLUMN_MAP1 = new Class<?>[256];
    static
    {
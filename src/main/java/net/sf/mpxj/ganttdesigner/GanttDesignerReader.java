@@ -27,11 +27,11 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import javax.xml.parsers.ParserConfigurationException;
 
 import net.sf.mpxj.common.DayOfWeekHelper;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.LocalDateHelper;
 import org.xml.sax.SAXException;
 
@@ -63,11 +63,6 @@ public final class GanttDesignerReader extends AbstractProjectStreamReader
    {
       try
       {
-         if (CONTEXT == null)
-         {
-            throw CONTEXT_EXCEPTION;
-         }
-
          m_projectFile = new ProjectFile();
          m_eventManager = m_projectFile.getEventManager();
          m_taskMap = new HashMap<>();
@@ -80,7 +75,7 @@ public final class GanttDesignerReader extends AbstractProjectStreamReader
 
          addListenersToProject(m_projectFile);
 
-         Gantt gantt = (Gantt) UnmarshalHelper.unmarshal(CONTEXT, stream);
+         Gantt gantt = (Gantt) UnmarshalHelper.unmarshal(JaxbContextRegistry.getContext(JaxbContextRegistry.GANTT_DESIGNER), stream);
 
          readProjectProperties(gantt);
          readCalendar(gantt);
@@ -318,36 +313,4 @@ public final class GanttDesignerReader extends AbstractProjectStreamReader
    private ProjectFile m_projectFile;
    private EventManager m_eventManager;
    Map<String, Task> m_taskMap;
-
-   /**
-    * Cached context to minimise construction cost.
-    */
-   private static JAXBContext CONTEXT;
-
-   /**
-    * Note any error occurring during context construction.
-    */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
-   {
-      try
-      {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
-
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.ganttdesigner.schema", GanttDesignerReader.class.getClassLoader());
-      }
-
-      catch (JAXBException ex)
-      {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
-      }
-   }
 }
@@ -35,7 +35,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -44,6 +43,7 @@ import net.sf.mpxj.CostRateTableEntry;
 import net.sf.mpxj.FieldTypeClass;
 import net.sf.mpxj.UserDefinedField;
 import net.sf.mpxj.UserDefinedFieldContainer;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.LocalDateTimeHelper;
 import org.xml.sax.SAXException;
 
@@ -102,11 +102,6 @@ public final class GanttProjectReader extends AbstractProjectStreamReader
    {
       try
       {
-         if (CONTEXT == null)
-         {
-            throw CONTEXT_EXCEPTION;
-         }
-
          m_projectFile = new ProjectFile();
          m_eventManager = m_projectFile.getEventManager();
          m_resourcePropertyDefinitions = new HashMap<>();
@@ -126,7 +121,7 @@ public final class GanttProjectReader extends AbstractProjectStreamReader
 
          addListenersToProject(m_projectFile);
 
-         Project ganttProject = (Project) UnmarshalHelper.unmarshal(CONTEXT, stream);
+         Project ganttProject = (Project) UnmarshalHelper.unmarshal(JaxbContextRegistry.getContext(JaxbContextRegistry.GANTT_PROJECT), stream);
 
          readProjectProperties(ganttProject);
          readCalendars(ganttProject);
@@ -838,36 +833,4 @@ public final class GanttProjectReader extends AbstractProjectStreamReader
    }
 
    private static final Pattern YEAR_PATTERN = Pattern.compile("[^y]*(y+)[^y]*");
-
-   /**
-    * Cached context to minimise construction cost.
-    */
-   private static JAXBContext CONTEXT;
-
-   /**
-    * Note any error occurring during context construction.
-    */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
-   {
-      try
-      {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
-
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.ganttproject.schema", GanttProjectReader.class.getClassLoader());
-      }
-
-      catch (JAXBException ex)
-      {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
-      }
-   }
 }
@@ -0,0 +1,108 @@
+/*
+ * file:       FieldSelector.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.json;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.mpxj.AssignmentField;
+import net.sf.mpxj.FieldContainer;
+import net.sf.mpxj.FieldType;
+import net.sf.mpxj.ResourceField;
+import net.sf.mpxj.TaskField;
+
+/**
+ * Used by the JSON writer to determine which fields to write for a collection
+ * of entities, so that fields which have no value in any entity are not
+ * retrieved for every entity as it is written.
+ */
+final class FieldSelector
+{
+   /**
+    * Private constructor to prevent instantiation.
+    */
+   private FieldSelector()
+   {
+
+   }
+
+   /**
+    * Determine which of the candidate fields should be written for a collection
+    * of entities of the same type. If calculated values are included, a field is
+    * selected if at least one entity has a value for it, calculating the value
+    * if necessary. Otherwise a field is selected if at least one entity has a
+    * cached value for it, or if it is always derived from other data. The
+    * selected fields are returned in candidate order, mapped to true if the
+    * value should be retrieved using get (allowing it to be calculated), or
+    * false if only the cached value should be used.
+    *
+    * @param containers entities to be written
+    * @param candidates fields which may be written
+    * @param includeCalculated true if calculated values are included
+    * @return selected fields
+    */
+   public static Map<FieldType, Boolean> select(Collection<? extends FieldContainer> containers, Collection<? extends FieldType> candidates, boolean includeCalculated)
+   {
+      Map<FieldType, Boolean> result = new LinkedHashMap<>();
+      if (containers.isEmpty())
+      {
+         return result;
+      }
+
+      for (FieldType field : candidates)
+      {
+         if (includeCalculated)
+         {
+            if (containers.stream().anyMatch(c -> c.get(field) != null))
+            {
+               result.put(field, Boolean.TRUE);
+            }
+            continue;
+         }
+
+         if (DERIVED_FIELDS.contains(field))
+         {
+            result.put(field, Boolean.TRUE);
+            continue;
+         }
+
+         if (containers.stream().anyMatch(c -> c.getCachedValue(field) != null))
+         {
+            result.put(field, Boolean.FALSE);
+         }
+      }
+
+      return result;
+   }
+
+   /**
+    * Fields whose values are always derived from other data rather than
+    * being cached by the entity, matching the always calculated fields
+    * defined by Task, Resource and ResourceAssignment.
+    */
+   private static final Set<FieldType> DERIVED_FIELDS = new HashSet<>(Arrays.asList(TaskField.PARENT_TASK_UNIQUE_ID, TaskField.PREDECESSORS, TaskField.SUCCESSORS, ResourceField.STANDARD_RATE, ResourceField.OVERTIME_RATE, ResourceField.COST_PER_USE, ResourceField.START, ResourceField.FINISH, ResourceField.MAX_UNITS, ResourceField.AVAILABLE_FROM, ResourceField.AVAILABLE_TO, AssignmentField.START, AssignmentField.FINISH));
+}
@@ -32,6 +32,8 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 
 import java.util.HashMap;
@@ -192,6 +194,31 @@ public final class JsonWriter extends AbstractProjectWriter
       m_writeAttributeTypes = writeAttributeTypes;
    }
 
+   /**
+    * Returns true if calculated field values are written to the JSON file.
+    *
+    * @return true if calculated field values are written
+    */
+   public boolean getWriteCalculatedFields()
+   {
+      return m_writeCalculatedFields;
+   }
+
+   /**
+    * Sets the flag used to determine if calculated field values are written
+    * to the JSON file. When set to false, values which have not already been
+    * calculated, for example slack and variance values, are omitted rather
+    * than being calculated as the file is written. Values which are always
+    * derived from other data, for example the parent task unique ID and task
+    * predecessors, are still written. Defaults to true.
+    *
+    * @param writeCalculatedFields set to false to omit calculated field values
+    */
+   public void setWriteCalculatedFields(boolean writeCalculatedFields)
+   {
+      m_writeCalculatedFields = writeCalculatedFields;
+   }
+
    /**
     * Set the time units to use for durations. Defaults to seconds.
     *
@@ -571,8 +598,8 @@ public final class JsonWriter extends AbstractProjectWriter
    {
       writeAttributeTypes("property_types", ProjectField.values());
       m_writer.writeStartObject("property_values");
-      writeFields(m_projectFile.getProjectProperties(), ProjectField.values());
-      writeFields(m_projectFile.getProjectProperties(), m_projectFile.getUserDefinedFields().getProjectFields().toArray(new FieldType[0]));
+      FieldList fields = new FieldList(Collections.singletonList(m_projectFile.getProjectProperties()), ProjectField.values(), m_projectFile.getUserDefinedFields().getProjectFields());
+      writeFields(m_projectFile.getProjectProperties(), fields);
       m_writer.writeEndObject();
    }
 
@@ -584,11 +611,11 @@ public final class JsonWriter extends AbstractProjectWriter
       writeAttributeTypes("resource_types", ResourceField.values());
 
       m_writer.writeStartList("resources");
+      FieldList fields = new FieldList(m_projectFile.getResources(), ResourceField.values(), m_projectFile.getUserDefinedFields().getResourceFields());
       for (Resource resource : m_projectFile.getResources())
       {
          m_writer.writeStartObject(null);
-         writeFields(resource, ResourceField.values());
-         writeFields(resource, m_projectFile.getUserDefinedFields().getResourceFields().toArray(new FieldType[0]));
+         writeFields(resource, fields);
          writeCostRateTables(resource);
          writeAvailabilityTable(resource);
          writeRoleAssignments(resource);
@@ -786,9 +813,10 @@ public final class JsonWriter extends AbstractProjectWriter
       writeAttributeTypes("task_types", TaskField.values());
 
       m_writer.writeStartList("tasks");
+      FieldList fields = new FieldList(m_projectFile.getTasks(), TaskField.values(), m_projectFile.getUserDefinedFields().getTaskFields());
       for (Task task : m_projectFile.getChildTasks())
       {
-         writeTask(task);
+         writeTask(task, fields);
       }
       m_writer.writeEndList();
    }
@@ -798,16 +826,16 @@ public final class JsonWriter extends AbstractProjectWriter
     * to the JSON file.
     *
     * @param task task to write
+    * @param fields fields to write
     */
-   private void writeTask(Task task) throws IOException
+   private void writeTask(Task task, FieldList fields) throws IOException
    {
       m_writer.writeStartObject(null);
-      writeFields(task, TaskField.values());
-      writeFields(task, m_projectFile.getUserDefinedFields().getTaskFields().toArray(new FieldType[0]));
+      writeFields(task, fields);
       m_writer.writeEndObject();
       for (Task child : task.getChildTasks())
       {
-         writeTask(child);
+         writeTask(child, fields);
       }
    }
 
@@ -819,11 +847,11 @@ public final class JsonWriter extends AbstractProjectWriter
       writeAttributeTypes("assignment_types", AssignmentField.values());
 
       m_writer.writeStartList("assignments");
+      FieldList fields = new FieldList(m_projectFile.getResourceAssignments(), AssignmentField.values(), m_projectFile.getUserDefinedFields().getAssignmentFields());
       for (ResourceAssignment assignment : m_projectFile.getResourceAssignments())
       {
          m_writer.writeStartObject(null);
-         writeFields(assignment, AssignmentField.values());
-         writeFields(assignment, m_projectFile.getUserDefinedFields().getAssignmentFields().toArray(new FieldType[0]));
+         writeFields(assignment, fields);
          m_writer.writeEndObject();
       }
       m_writer.writeEndList();
@@ -988,33 +1016,19 @@ public final class JsonWriter extends AbstractProjectWriter
     * @param container field container
     * @param fields fields to write
     */
-   private void writeFields(FieldContainer container, FieldType[] fields) throws IOException
+   private void writeFields(FieldContainer container, FieldList fields) throws IOException
    {
-      for (FieldType field : fields)
+      for (int index = 0; index < fields.m_fields.length; index++)
       {
-         Object value = container.get(field);
+         FieldType field = fields.m_fields[index];
+         Object value = fields.m_calculate[index] ? container.get(field) : container.getCachedValue(field);
          if (value != null)
          {
-            writeField(container, field, value);
+            writeField(container, field, fields.m_names[index], field.getDataType(), value);
          }
       }
    }
 
-   /**
-    * Write the appropriate data for a field to the JSON file based on its type.
-    *
-    * @param container field container
-    * @param field field type
-    * @param value field value
-    */
-   private void writeField(FieldContainer container, FieldType field, Object value) throws IOException
-   {
-      if (!IGNORED_FIELDS.contains(field))
-      {
-         writeField(container, field, field.name().toLowerCase(), field.getDataType(), value);
-      }
-   }
-
    /**
     * Write the appropriate data for a field to the JSON file based on its type.
     *
@@ -1889,12 +1903,54 @@ public final class JsonWriter extends AbstractProjectWriter
       }
    }
 
+   /**
+    * The fields to write for a collection of entities. Rather than retrieving
+    * every field for every entity as it is written, we determine up front which
+    * fields have a value in at least one entity. The JSON
+    * name for each field is also determined once, rather than for each entity.
+    */
+   private class FieldList
+   {
+      /**
+       * Constructor.
+       *
+       * @param containers entities to be written
+       * @param fields fields defined for this entity type
+       * @param userDefinedFields user defined fields for this entity type
+       */
+      public FieldList(Collection<? extends FieldContainer> containers, FieldType[] fields, Collection<UserDefinedField> userDefinedFields)
+      {
+         List<FieldType> candidates = new ArrayList<>(Arrays.asList(fields));
+         candidates.addAll(userDefinedFields);
+         candidates.removeAll(IGNORED_FIELDS);
+
+         Map<FieldType, Boolean> selected = FieldSelector.select(containers, candidates, m_writeCalculatedFields);
+         m_fields = new FieldType[selected.size()];
+         m_names = new String[m_fields.length];
+         m_calculate = new boolean[m_fields.length];
+
+         int index = 0;
+         for (Map.Entry<FieldType, Boolean> entry : selected.entrySet())
+         {
+            m_fields[index] = entry.getKey();
+            m_names[index] = entry.getKey().name().toLowerCase();
+            m_calculate[index] = entry.getValue().booleanValue();
+            ++index;
+         }
+      }
+
+      final FieldType[] m_fields;
+      final String[] m_names;
+      final boolean[] m_calculate;
+   }
+
    private ProjectFile m_projectFile;
    private JsonStreamWriter m_writer;
    private boolean m_pretty;
    private boolean m_includeLayoutData;
    private Charset m_charset = DEFAULT_CHARSET;
    private boolean m_writeAttributeTypes;
+   private boolean m_writeCalculatedFields = true;
    private TimeUnit m_timeUnits;
 
    private static final Charset DEFAULT_CHARSET = CharsetHelper.UTF8;
@@ -115,7 +115,7 @@ public final class MerlinReader extends AbstractProjectFileReader
    {
       try
       {
-         m_connection = SQLite.createConnection(file);
+         m_connection = SQLite.createReadOnlyConnection(file);
          m_documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
 
          XPathFactory xPathfactory = XPathFactory.newInstance();
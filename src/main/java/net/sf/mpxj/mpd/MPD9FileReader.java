@@ -93,7 +93,7 @@ final class MPD9FileReader extends MPD9AbstractReader
    {
       if (m_database == null)
       {
-         m_database = DatabaseBuilder.open(m_databaseFile);
+         m_database = new DatabaseBuilder(m_databaseFile).setReadOnly(true).open();
          queryDatabaseMetaData();
       }
    }
@@ -31,6 +31,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import net.sf.mpxj.AccrueType;
 import net.sf.mpxj.BookingType;
@@ -46,14 +47,18 @@ import net.sf.mpxj.Priority;
 import net.sf.mpxj.ProjectFile;
 import net.sf.mpxj.ProjectProperties;
 import net.sf.mpxj.Rate;
+import net.sf.mpxj.ResourceField;
 import net.sf.mpxj.ResourceRequestType;
 import net.sf.mpxj.RtfNotes;
+import net.sf.mpxj.TaskField;
 import net.sf.mpxj.TimeUnit;
 import net.sf.mpxj.UserDefinedField;
 import net.sf.mpxj.WorkGroup;
 import net.sf.mpxj.common.ByteArrayHelper;
 import net.sf.mpxj.common.FieldTypeHelper;
 import net.sf.mpxj.common.NumberHelper;
+import net.sf.mpxj.common.ResourceFieldLists;
+import net.sf.mpxj.common.TaskFieldLists;
 
 /**
  * This class is used to represent the mapping present in the MPP file
@@ -86,6 +91,28 @@ abstract class FieldMap
       m_debug = value;
    }
 
+   /**
+    * Restrict the fields populated by this field map. Passing null
+    * ensures that all fields are populated.
+    *
+    * @param fields fields to populate, or null for all fields
+    */
+   public void setReadFields(Set<FieldType> fields)
+   {
+      m_readFields = fields;
+   }
+
+   /**
+    * Determine if any of the supplied fields will be populated by this field map.
+    *
+    * @param fields fields to test
+    * @return true if at least one of the fields will be populated
+    */
+   public boolean isAnyFieldRead(FieldType... fields)
+   {
+      return m_readFields == null || Arrays.stream(fields).anyMatch(m_readFields::contains);
+   }
+
    /**
     * Generic method used to create a field map from a block of data.
     *
@@ -440,7 +467,7 @@ abstract class FieldMap
       //System.out.println(container.getClass().getSimpleName()+": " + id);
       for (FieldItem item : m_map.values())
       {
-         if (item.getType().getFieldTypeClass() == fieldTypeClass)
+         if (item.getType().getFieldTypeClass() == fieldTypeClass && (m_readFields == null || m_readFields.contains(item.getType())))
          {
             //System.out.println(item.m_type);
             Object value = item.read(id, fixedData, varData);
@@ -1320,6 +1347,7 @@ abstract class FieldMap
    private final Map<FieldType, FieldItem> m_map = new HashMap<>();
    private final int[] m_maxFixedDataSize = new int[MAX_FIXED_DATA_BLOCKS];
    private boolean m_debug;
+   private Set<FieldType> m_readFields;
 
    private static final Integer[] TASK_KEYS =
    {
@@ -1350,4 +1378,32 @@ abstract class FieldMap
    };
 
    private static final int MAX_FIXED_DATA_BLOCKS = 2;
+
+   static final FieldType[] TASK_HYPERLINK_FIELDS =
+   {
+      TaskField.HYPERLINK,
+      TaskField.HYPERLINK_ADDRESS,
+      TaskField.HYPERLINK_SUBADDRESS,
+      TaskField.HYPERLINK_SCREEN_TIP
+   };
+
+   static final FieldType[] RESOURCE_HYPERLINK_FIELDS =
+   {
+      ResourceField.HYPERLINK,
+      ResourceField.HYPERLINK_ADDRESS,
+      ResourceField.HYPERLINK_SUBADDRESS,
+      ResourceField.HYPERLINK_SCREEN_TIP
+   };
+
+   static final FieldType[] TASK_OUTLINE_CODE_FIELDS = TaskFieldLists.CUSTOM_OUTLINE_CODE;
+
+   static final FieldType[] RESOURCE_OUTLINE_CODE_FIELDS = ResourceFieldLists.CUSTOM_OUTLINE_CODE;
+
+   static final FieldType[] TASK_ENTERPRISE_FLAG_FIELDS = TaskFieldLists.ENTERPRISE_CUSTOM_FLAG;
+
+   static final FieldType[] RESOURCE_ENTERPRISE_FLAG_FIELDS = Arrays.copyOf(ResourceFieldLists.ENTERPRISE_CUSTOM_FLAG, ResourceFieldLists.ENTERPRISE_CUSTOM_FLAG.length + 1, FieldType[].class);
+   static
+   {
+      RESOURCE_ENTERPRISE_FLAG_FIELDS[RESOURCE_ENTERPRISE_FLAG_FIELDS.length - 1] = ResourceField.ENTERPRISE;
+   }
 }
@@ -27,19 +27,29 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import net.sf.mpxj.AssignmentField;
 import net.sf.mpxj.CalendarType;
+import net.sf.mpxj.FieldType;
+import net.sf.mpxj.FieldTypeClass;
 import net.sf.mpxj.ProjectCalendar;
 import net.sf.mpxj.Resource;
+import net.sf.mpxj.ResourceField;
 import net.sf.mpxj.TaskField;
 import net.sf.mpxj.UnitOfMeasure;
 import net.sf.mpxj.UnitOfMeasureContainer;
 import net.sf.mpxj.common.AutoCloseableHelper;
+import net.sf.mpxj.common.ResourceFieldLists;
+import net.sf.mpxj.common.TaskFieldLists;
 import org.apache.poi.poifs.filesystem.DirectoryEntry;
 import org.apache.poi.poifs.filesystem.DocumentEntry;
 import org.apache.poi.poifs.filesystem.DocumentInputStream;
@@ -380,6 +390,99 @@ public final class MPPReader extends AbstractProjectStreamReader
       m_readPropertiesOnly = readPropertiesOnly;
    }
 
+   /**
+    * Restrict the fields read for tasks, resources or resource assignments
+    * to the supplied set. Fields outside this set are not decoded, along with
+    * any processing which depends on them, which saves time and memory when
+    * only a small number of fields are required. Fields MPXJ needs to construct
+    * the project structure (for example unique IDs and task hierarchy)
+    * are always read. Passing null reverts to reading all fields.
+    * Note that presentation data such as bar styles is controlled
+    * separately by {@code setReadPresentationData}.
+    *
+    * An IllegalArgumentException is thrown if any of the supplied fields
+    * do not belong to the supplied field type class.
+    *
+    * @param fieldTypeClass TASK, RESOURCE or ASSIGNMENT
+    * @param fields fields to read, or null to read all fields
+    */
+   public void setReadFields(FieldTypeClass fieldTypeClass, Set<? extends FieldType> fields)
+   {
+      if (!REQUIRED_FIELDS.containsKey(fieldTypeClass))
+      {
+         throw new IllegalArgumentException("Field selection is not supported for " + fieldTypeClass);
+      }
+
+      if (fields == null)
+      {
+         m_readFields.remove(fieldTypeClass);
+      }
+      else
+      {
+         for (FieldType field : fields)
+         {
+            if (field.getFieldTypeClass() != fieldTypeClass)
+            {
+               throw new IllegalArgumentException("Field " + field + " is not a " + fieldTypeClass + " field");
+            }
+         }
+
+         Set<FieldType> result = new HashSet<>(REQUIRED_FIELDS.get(fieldTypeClass));
+         result.addAll(fields);
+
+         // Outline code values are looked up using index fields
+         switch (fieldTypeClass)
+         {
+            case TASK:
+            {
+               addDependentFields(result, TaskFieldLists.CUSTOM_OUTLINE_CODE, TaskFieldLists.CUSTOM_OUTLINE_CODE_INDEX);
+               break;
+            }
+
+            case RESOURCE:
+            {
+               addDependentFields(result, ResourceFieldLists.CUSTOM_OUTLINE_CODE, ResourceFieldLists.CUSTOM_OUTLINE_CODE_INDEX);
+               break;
+            }
+
+            default:
+            {
+               break;
+            }
+         }
+
+         m_readFields.put(fieldTypeClass, result);
+      }
+   }
+
+   /**
+    * If any of a group of fields is read, ensure that the fields
+    * on which that group depends are also read.
+    *
+    * @param fields fields to read
+    * @param fieldTypes group of fields
+    * @param dependentFieldTypes fields on which the group depends
+    */
+   private void addDependentFields(Set<FieldType> fields, FieldType[] fieldTypes, FieldType[] dependentFieldTypes)
+   {
+      if (Arrays.stream(fieldTypes).anyMatch(fields::contains))
+      {
+         fields.addAll(Arrays.asList(dependentFieldTypes));
+      }
+   }
+
+   /**
+    * Retrieve the fields which will be read for tasks, resources or resource assignments,
+    * including any fields which are always read. Returns null if all fields will be read.
+    *
+    * @param fieldTypeClass TASK, RESOURCE or ASSIGNMENT
+    * @return fields to read, or null if all fields will be read
+    */
+   public Set<FieldType> getReadFields(FieldTypeClass fieldTypeClass)
+   {
+      return m_readFields.get(fieldTypeClass);
+   }
+
    /**
     * Set the read password for this Project file. This is needed in order to
     * be allowed to read a read-protected Project file.
@@ -435,6 +538,7 @@ public final class MPPReader extends AbstractProjectStreamReader
     */
    private boolean m_readPresentationData = true;
    private boolean m_readPropertiesOnly;
+   private final Map<FieldTypeClass, Set<FieldType>> m_readFields = new EnumMap<>(FieldTypeClass.class);
 
    /**
     * Where supported, set to false to ignore password protection.
@@ -462,6 +566,18 @@ public final class MPPReader extends AbstractProjectStreamReader
       FILE_CLASS_MAP.put("MSProject.GLOBAL14", MPP14Reader.class);
    }
 
+   /**
+    * Fields which are always read when the fields to be read have been restricted,
+    * as they are required to construct the project structure.
+    */
+   private static final Map<FieldTypeClass, Set<FieldType>> REQUIRED_FIELDS = new EnumMap<>(FieldTypeClass.class);
+   static
+   {
+      REQUIRED_FIELDS.put(FieldTypeClass.TASK, new HashSet<>(Arrays.asList(TaskField.UNIQUE_ID, TaskField.ID, TaskField.NAME, TaskField.START, TaskField.FINISH, TaskField.DURATION, TaskField.SCHEDULED_START, TaskField.SCHEDULED_FINISH, TaskField.SCHEDULED_DURATION, TaskField.MANUAL_DURATION, TaskField.TASK_MODE, TaskField.PARENT_TASK_UNIQUE_ID, TaskField.OUTLINE_LEVEL, TaskField.CONSTRAINT_TYPE, TaskField.LATE_START, TaskField.LATE_FINISH, TaskField.CALENDAR_UNIQUE_ID, TaskField.SUBPROJECT_TASK_ID, TaskField.SUBPROJECT_TASK_UNIQUE_ID, TaskField.CREATED, TaskField.MILESTONE, TaskField.SUMMARY, TaskField.ACTUAL_START, TaskField.ACTUAL_FINISH)));
+      REQUIRED_FIELDS.put(FieldTypeClass.RESOURCE, new HashSet<>(Arrays.asList(ResourceField.UNIQUE_ID, ResourceField.ID, ResourceField.NAME, ResourceField.TYPE, ResourceField.CALENDAR_UNIQUE_ID, ResourceField.STANDARD_RATE, ResourceField.STANDARD_RATE_UNITS, ResourceField.OVERTIME_RATE, ResourceField.OVERTIME_RATE_UNITS)));
+      REQUIRED_FIELDS.put(FieldTypeClass.ASSIGNMENT, new HashSet<>(Arrays.asList(AssignmentField.UNIQUE_ID, AssignmentField.TASK_UNIQUE_ID, AssignmentField.RESOURCE_UNIQUE_ID, AssignmentField.START, AssignmentField.FINISH, AssignmentField.RESUME, AssignmentField.STOP, AssignmentField.ACTUAL_WORK, AssignmentField.WORK, AssignmentField.REMAINING_WORK, AssignmentField.OVERTIME_WORK, AssignmentField.ASSIGNMENT_UNITS, AssignmentField.VARIABLE_RATE_UNITS, AssignmentField.WORK_CONTOUR, AssignmentField.CREATED)));
+   }
+
    private static final Map<TaskField, TaskField> TASK_ESTIMATED_BASELINE_FIELDS = new HashMap<>();
    static
    {
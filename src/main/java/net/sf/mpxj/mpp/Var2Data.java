@@ -23,17 +23,22 @@
 
 package net.sf.mpxj.mpp;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import net.sf.mpxj.ProjectFile;
 import net.sf.mpxj.common.ByteArrayHelper;
+import net.sf.mpxj.common.CharsetHelper;
 import net.sf.mpxj.common.InputStreamHelper;
 
 /**
@@ -41,12 +46,14 @@ import net.sf.mpxj.common.InputStreamHelper;
  * data is represented by a 4 byte size, followed by the data itself.
  * Each Var2Data block should be associated with a MetaData block
  * which describes the layout of the data in the Var2Data block.
+ * The block is held as a single buffer, individual items are
+ * only extracted from the buffer when they are requested.
  */
 final class Var2Data extends MPPComponent
 {
    /**
-    * Constructor. Extracts the content of the data block, with reference
-    * to the metadata held in the VarMeta block.
+    * Constructor. Reads the content of the data block, which is
+    * interpreted with reference to the metadata held in the VarMeta block.
     *
     * @param file parent project file
     * @param meta metadata for this block
@@ -57,8 +64,39 @@ final class Var2Data extends MPPComponent
       throws IOException
    {
       m_meta = meta;
+
       byte[] data;
+      try
+      {
+         data = InputStreamHelper.readAvailable(is);
+      }
 
+      catch (IndexOutOfBoundsException ex)
+      {
+         // POI fails to read certain MPP files with this exception:
+         // https://bz.apache.org/bugzilla/show_bug.cgi?id=61677
+         // Fall back to reading as many individual items as we can.
+         is.reset();
+         data = null;
+         m_index = new HashMap<>();
+      }
+
+      m_data = data == null ? readItems(file, meta, is) : data;
+   }
+
+   /**
+    * Used when the complete block can't be read. Reads each item in turn
+    * until we're unable to read any more data, then builds a new buffer
+    * from the items we were able to read.
+    *
+    * @param file parent project file
+    * @param meta metadata for this block
+    * @param is InputStream from which data is read
+    * @return buffer containing the items read
+    */
+   private byte[] readItems(ProjectFile file, VarMeta meta, InputStream is) throws IOException
+   {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
       int currentOffset = 0;
       int available = is.available();
 
@@ -82,7 +120,8 @@ final class Var2Data extends MPPComponent
             }
          }
 
-         int size = readInt(is);
+         byte[] sizeData = readByteArray(is, 4);
+         int size = MPPUtility.getInt(sizeData, 0);
 
          //
          // Try our best to handle corrupt files gracefully
@@ -92,6 +131,7 @@ final class Var2Data extends MPPComponent
             continue;
          }
 
+         byte[] data;
          try
          {
             data = readByteArray(is, size);
@@ -99,17 +139,69 @@ final class Var2Data extends MPPComponent
 
          catch (IndexOutOfBoundsException ex)
          {
-            // POI fails to read certain MPP files with this exception:
-            // https://bz.apache.org/bugzilla/show_bug.cgi?id=61677
             // There is no fix presently, we just have to bail out at
             // this point - we're unable to read any more data.
             file.addIgnoredError(ex);
             break;
          }
 
-         m_map.put(Integer.valueOf(itemOffset), data);
+         buffer.write(sizeData);
+         m_index.put(Integer.valueOf(itemOffset), Integer.valueOf(buffer.size()));
+         buffer.write(data);
          currentOffset = itemOffset + 4 + size;
       }
+
+      return buffer.toByteArray();
+   }
+
+   /**
+    * Determine the location in the buffer of the data for the item at the
+    * supplied offset. The item size is held in the four bytes
+    * immediately before this location.
+    *
+    * @param offset item offset
+    * @return location of the item data, or -1 if the item is not present
+    */
+   private int getDataIndex(Integer offset)
+   {
+      if (offset == null)
+      {
+         return -1;
+      }
+
+      if (m_index != null)
+      {
+         Integer index = m_index.get(offset);
+         return index == null ? -1 : index.intValue();
+      }
+
+      int itemOffset = offset.intValue();
+      if (itemOffset < 0 || itemOffset > m_data.length - 4)
+      {
+         return -1;
+      }
+
+      //
+      // Try our best to handle corrupt files gracefully
+      //
+      int size = MPPUtility.getInt(m_data, itemOffset);
+      if (size < 0 || size > m_data.length - itemOffset - 4)
+      {
+         return -1;
+      }
+
+      return itemOffset + 4;
+   }
+
+   /**
+    * Retrieve the size of the data for an item.
+    *
+    * @param index location of the item data
+    * @return size of the data
+    */
+   private int getDataSize(int index)
+   {
+      return MPPUtility.getInt(m_data, index - 4);
    }
 
    /**
@@ -122,14 +214,8 @@ final class Var2Data extends MPPComponent
     */
    public byte[] getByteArray(Integer offset)
    {
-      byte[] result = null;
-
-      if (offset != null)
-      {
-         result = m_map.get(offset);
-      }
-
-      return (result);
+      int index = getDataIndex(offset);
+      return index == -1 ? null : Arrays.copyOfRange(m_data, index, index + getDataSize(index));
    }
 
    /**
@@ -155,18 +241,24 @@ final class Var2Data extends MPPComponent
     */
    public String getUnicodeString(Integer offset)
    {
-      String result = null;
+      int index = getDataIndex(offset);
+      if (index == -1)
+      {
+         return null;
+      }
 
-      if (offset != null)
+      int size = getDataSize(index);
+      int length = size;
+      for (int loop = index; loop < index + size - 1; loop += 2)
       {
-         byte[] value = m_map.get(offset);
-         if (value != null)
+         if (m_data[loop] == 0 && m_data[loop + 1] == 0)
          {
-            result = MPPUtility.getUnicodeString(value, 0);
+            length = loop - index;
+            break;
          }
       }
 
-      return (result);
+      return length == 0 ? "" : new String(m_data, index, length, CharsetHelper.UTF16LE);
    }
 
    /**
@@ -192,20 +284,8 @@ final class Var2Data extends MPPComponent
     */
    public LocalDateTime getTimestamp(Integer id, Integer type)
    {
-      LocalDateTime result = null;
-
-      Integer offset = m_meta.getOffset(id, type);
-
-      if (offset != null)
-      {
-         byte[] value = m_map.get(offset);
-         if (value != null && value.length >= 4)
-         {
-            result = MPPUtility.getTimestamp(value, 0);
-         }
-      }
-
-      return (result);
+      int index = getDataIndex(m_meta.getOffset(id, type));
+      return index != -1 && getDataSize(index) >= 4 ? MPPUtility.getTimestamp(m_data, index) : null;
    }
 
    /**
@@ -218,18 +298,20 @@ final class Var2Data extends MPPComponent
     */
    public String getString(Integer offset)
    {
-      String result = null;
+      int index = getDataIndex(offset);
+      if (index == -1)
+      {
+         return null;
+      }
 
-      if (offset != null)
+      int end = index + getDataSize(index);
+      StringBuilder buffer = new StringBuilder();
+      for (int loop = index; loop < end && m_data[loop] != 0; loop++)
       {
-         byte[] value = m_map.get(offset);
-         if (value != null)
-         {
-            result = MPPUtility.getString(value, 0);
-         }
+         buffer.append((char) m_data[loop]);
       }
 
-      return (result);
+      return buffer.toString();
    }
 
    /**
@@ -255,21 +337,8 @@ final class Var2Data extends MPPComponent
     */
    public int getShort(Integer id, Integer type)
    {
-      int result = 0;
-
-      Integer offset = m_meta.getOffset(id, type);
-
-      if (offset != null)
-      {
-         byte[] value = m_map.get(offset);
-
-         if (value != null && value.length >= 2)
-         {
-            result = MPPUtility.getShort(value, 0);
-         }
-      }
-
-      return (result);
+      int index = getDataIndex(m_meta.getOffset(id, type));
+      return index != -1 && getDataSize(index) >= 2 ? MPPUtility.getShort(m_data, index) : 0;
    }
 
    /**
@@ -282,21 +351,8 @@ final class Var2Data extends MPPComponent
     */
    public int getByte(Integer id, Integer type)
    {
-      int result = 0;
-
-      Integer offset = m_meta.getOffset(id, type);
-
-      if (offset != null)
-      {
-         byte[] value = m_map.get(offset);
-
-         if (value != null)
-         {
-            result = MPPUtility.getByte(value, 0);
-         }
-      }
-
-      return (result);
+      int index = getDataIndex(m_meta.getOffset(id, type));
+      return index != -1 && getDataSize(index) >= 1 ? MPPUtility.getByte(m_data, index) : 0;
    }
 
    /**
@@ -309,21 +365,8 @@ final class Var2Data extends MPPComponent
     */
    public int getInt(Integer id, Integer type)
    {
-      int result = 0;
-
-      Integer offset = m_meta.getOffset(id, type);
-
-      if (offset != null)
-      {
-         byte[] value = m_map.get(offset);
-
-         if (value != null && value.length >= 4)
-         {
-            result = MPPUtility.getInt(value, 0);
-         }
-      }
-
-      return (result);
+      int index = getDataIndex(m_meta.getOffset(id, type));
+      return index != -1 && getDataSize(index) >= 4 ? MPPUtility.getInt(m_data, index) : 0;
    }
 
    /**
@@ -339,21 +382,8 @@ final class Var2Data extends MPPComponent
     */
    public int getInt(Integer id, int offset, Integer type)
    {
-      int result = 0;
-
-      Integer metaOffset = m_meta.getOffset(id, type);
-
-      if (metaOffset != null)
-      {
-         byte[] value = m_map.get(metaOffset);
-
-         if (value != null && value.length >= offset + 4)
-         {
-            result = MPPUtility.getInt(value, offset);
-         }
-      }
-
-      return (result);
+      int index = getDataIndex(m_meta.getOffset(id, type));
+      return index != -1 && getDataSize(index) >= offset + 4 ? MPPUtility.getInt(m_data, index + offset) : 0;
    }
 
    /**
@@ -366,21 +396,8 @@ final class Var2Data extends MPPComponent
     */
    public long getLong(Integer id, Integer type)
    {
-      long result = 0;
-
-      Integer offset = m_meta.getOffset(id, type);
-
-      if (offset != null)
-      {
-         byte[] value = m_map.get(offset);
-
-         if (value != null && value.length >= 8)
-         {
-            result = MPPUtility.getLong(value, 0);
-         }
-      }
-
-      return (result);
+      int index = getDataIndex(m_meta.getOffset(id, type));
+      return index != -1 && getDataSize(index) >= 8 ? MPPUtility.getLong(m_data, index) : 0;
    }
 
    /**
@@ -424,10 +441,14 @@ final class Var2Data extends MPPComponent
       PrintWriter pw = new PrintWriter(sw);
 
       pw.println("BEGIN Var2Data");
-      for (Map.Entry<Integer, byte[]> entry : m_map.entrySet())
+      for (Integer offset : new TreeSet<>(Arrays.stream(m_meta.getOffsets()).boxed().collect(Collectors.toList())))
       {
-         pw.println("   Data at offset: " + entry.getKey() + " size: " + entry.getValue().length);
-         pw.println(ByteArrayHelper.hexdump(entry.getValue(), true, 16, "   "));
+         byte[] data = getByteArray(offset);
+         if (data != null)
+         {
+            pw.println("   Data at offset: " + offset + " size: " + data.length);
+            pw.println(ByteArrayHelper.hexdump(data, true, 16, "   "));
+         }
       }
 
       pw.println("END Var2Data");
@@ -452,7 +473,7 @@ final class Var2Data extends MPPComponent
       for (Integer type : m_meta.getTypes(id))
       {
          Integer offset = m_meta.getOffset(id, type);
-         byte[] data = m_map.get(offset);
+         byte[] data = getByteArray(offset);
          pw.println("   Data at offset: " + offset + " size: " + data.length);
          pw.println(ByteArrayHelper.hexdump(data, true, 16, "   "));
       }
@@ -463,9 +484,15 @@ final class Var2Data extends MPPComponent
    }
 
    /**
-    * Map containing data items indexed by offset.
+    * Buffer containing the data items.
+    */
+   private final byte[] m_data;
+
+   /**
+    * Maps item offsets to the location of their data in the buffer.
+    * Only used if the complete block could not be read.
     */
-   private final TreeMap<Integer, byte[]> m_map = new TreeMap<>();
+   private Map<Integer, Integer> m_index;
 
    /**
     * Reference to the meta data associated with this block.
@@ -42,7 +42,6 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
 import javax.xml.parsers.ParserConfigurationException;
@@ -57,6 +56,7 @@ import net.sf.mpxj.TimephasedCost;
 import net.sf.mpxj.TimephasedCostContainer;
 import net.sf.mpxj.TimephasedWorkContainer;
 import net.sf.mpxj.common.DefaultTimephasedCostContainer;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.LocalDateHelper;
 import net.sf.mpxj.common.LocalDateTimeHelper;
 import net.sf.mpxj.common.ObjectSequence;
@@ -148,15 +148,10 @@ public final class MSPDIReader extends AbstractProjectStreamReader implements Ha
    {
       try
       {
-         if (CONTEXT == null)
-         {
-            throw CONTEXT_EXCEPTION;
-         }
-
          ProjectFile projectFile = new ProjectFile();
          DatatypeConverter.setContext(projectFile, m_ignoreErrors);
          @SuppressWarnings("unchecked")
-         Project project = ((JAXBElement<Project>) UnmarshalHelper.unmarshal(CONTEXT, new InputSource(new InputStreamReader(stream, getCharset())), new NamespaceFilter(), !m_compatibleInput)).getValue();
+         Project project = ((JAXBElement<Project>) UnmarshalHelper.unmarshal(JaxbContextRegistry.getContext(JaxbContextRegistry.MSPDI), new InputSource(new InputStreamReader(stream, getCharset())), new NamespaceFilter(), !m_compatibleInput)).getValue();
 
          read(projectFile, project);
 
@@ -2253,38 +2248,6 @@ public final class MSPDIReader extends AbstractProjectStreamReader implements Ha
       return m_ignoreErrors;
    }
 
-   /**
-    * Cached context to minimise construction cost.
-    */
-   private static JAXBContext CONTEXT;
-
-   /**
-    * Note any error occurring during context construction.
-    */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
-   {
-      try
-      {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
-
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.mspdi.schema", MSPDIReader.class.getClassLoader());
-      }
-
-      catch (JAXBException ex)
-      {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
-      }
-   }
-
    private boolean m_compatibleInput = true;
    private boolean m_ignoreErrors = true;
    private Charset m_charset = CharsetHelper.UTF8;
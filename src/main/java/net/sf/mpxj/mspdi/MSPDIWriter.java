@@ -30,6 +30,7 @@ import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -37,14 +38,16 @@ import java.util.Comparator;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 
@@ -74,7 +77,6 @@ import net.sf.mpxj.ProjectCalendar;
 import net.sf.mpxj.ProjectCalendarException;
 import net.sf.mpxj.ProjectCalendarHours;
 import net.sf.mpxj.ProjectCalendarWeek;
-import net.sf.mpxj.ProjectConfig;
 import net.sf.mpxj.ProjectFile;
 import net.sf.mpxj.ProjectProperties;
 import net.sf.mpxj.Rate;
@@ -97,12 +99,14 @@ import net.sf.mpxj.UserDefinedField;
 import net.sf.mpxj.common.AssignmentFieldLists;
 import net.sf.mpxj.common.FieldLists;
 import net.sf.mpxj.common.FieldTypeHelper;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.LocalDateHelper;
 import net.sf.mpxj.common.LocalDateTimeHelper;
 import net.sf.mpxj.common.MarshallerHelper;
 import net.sf.mpxj.common.MicrosoftProjectConstants;
 import net.sf.mpxj.common.MicrosoftProjectUniqueIDMapper;
 import net.sf.mpxj.common.NumberHelper;
+import net.sf.mpxj.common.ObjectSequence;
 import net.sf.mpxj.common.ProjectCalendarHelper;
 import net.sf.mpxj.common.ResourceFieldLists;
 import net.sf.mpxj.common.StringHelper;
@@ -213,20 +217,40 @@ public final class MSPDIWriter extends AbstractProjectWriter
       return m_saveVersion;
    }
 
+   /**
+    * Sets a flag to control whether task, resource and assignment elements
+    * are created on demand as the file is written, rather than building
+    * a complete JAXB object tree before writing. This reduces the memory
+    * required to write large projects. The output produced is identical.
+    * The default is false.
+    *
+    * @param flag boolean flag
+    */
+   public void setStreamingOutput(boolean flag)
+   {
+      m_streamingOutput = flag;
+   }
+
+   /**
+    * Retrieves a flag to control whether task, resource and assignment elements
+    * are created on demand as the file is written. The default is false.
+    *
+    * @return boolean flag
+    */
+   public boolean getStreamingOutput()
+   {
+      return m_streamingOutput;
+   }
+
    @Override public void write(ProjectFile projectFile, OutputStream stream) throws IOException
    {
       try
       {
-         if (CONTEXT == null)
-         {
-            throw CONTEXT_EXCEPTION;
-         }
-
          m_projectFile = projectFile;
          m_eventManager = m_projectFile.getEventManager();
          DatatypeConverter.setContext(m_projectFile, false);
 
-         Marshaller marshaller = MarshallerHelper.create(CONTEXT);
+         Marshaller marshaller = MarshallerHelper.create(JaxbContextRegistry.getContext(JaxbContextRegistry.MSPDI));
          marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
 
          m_customFieldValueItems = new HashMap<>();
@@ -1013,13 +1037,17 @@ public final class MSPDIWriter extends AbstractProjectWriter
     */
    private void writeResources(Project project)
    {
-      Project.Resources resources = m_factory.createProjectResources();
-      project.setResources(resources);
-      List<Project.Resources.Resource> list = resources.getResource();
+      Supplier<Stream<Project.Resources.Resource>> resources = () -> m_projectFile.getResources().stream().map(this::writeResource);
 
-      for (Resource resource : m_projectFile.getResources())
+      if (m_streamingOutput)
+      {
+         project.setResources(new StreamingResources(resources));
+      }
+      else
       {
-         list.add(writeResource(resource));
+         Project.Resources xml = m_factory.createProjectResources();
+         project.setResources(xml);
+         resources.get().forEach(xml.getResource()::add);
       }
    }
 
@@ -1395,22 +1423,36 @@ public final class MSPDIWriter extends AbstractProjectWriter
     */
    private void writeTasks(Project project)
    {
-      Project.Tasks tasks = m_factory.createProjectTasks();
-      project.setTasks(tasks);
-      List<Project.Tasks.Task> list = tasks.getTask();
-
-      int taskIdOffset = 0;
-      for (Task task : m_projectFile.getTasks().stream().sorted(Comparator.comparing(Task::getID)).collect(Collectors.toList()))
+      if (m_streamingOutput)
+      {
+         project.setTasks(new StreamingTasks(this::writeTasks));
+      }
+      else
       {
+         Project.Tasks xml = m_factory.createProjectTasks();
+         project.setTasks(xml);
+         writeTasks().forEach(xml.getTask()::add);
+      }
+   }
+
+   /**
+    * Creates a stream of MSPDI tasks in ID order. External tasks are
+    * not written, and the IDs of the tasks which follow them are
+    * adjusted accordingly.
+    *
+    * @return stream of MSPDI tasks
+    */
+   private Stream<Project.Tasks.Task> writeTasks()
+   {
+      int[] taskIdOffset = new int[1];
+      return m_projectFile.getTasks().stream().sorted(Comparator.comparing(Task::getID)).filter(task -> {
          if (task.getExternalTask())
          {
-            taskIdOffset++;
-         }
-         else
-         {
-            list.add(writeTask(taskIdOffset, task));
+            ++taskIdOffset[0];
+            return false;
          }
-      }
+         return true;
+      }).map(task -> writeTask(taskIdOffset[0], task));
    }
 
    /**
@@ -1919,10 +1961,25 @@ public final class MSPDIWriter extends AbstractProjectWriter
     */
    private void writeAssignments(Project project)
    {
-      Project.Assignments assignments = m_factory.createProjectAssignments();
-      project.setAssignments(assignments);
-      List<Project.Assignments.Assignment> list = assignments.getAssignment();
+      if (m_streamingOutput)
+      {
+         project.setAssignments(new StreamingAssignments(this::writeAssignments));
+      }
+      else
+      {
+         Project.Assignments xml = m_factory.createProjectAssignments();
+         project.setAssignments(xml);
+         writeAssignments().forEach(xml.getAssignment()::add);
+      }
+   }
 
+   /**
+    * Creates a stream of MSPDI assignments.
+    *
+    * @return stream of MSPDI assignments
+    */
+   private Stream<Project.Assignments.Assignment> writeAssignments()
+   {
       // As we now allow a resource to be assigned multiple times to a task
       // we need to handle this for file formats which allow a resource to be
       // assigned only once. The code below attempts to preserve the original
@@ -1930,7 +1987,7 @@ public final class MSPDIWriter extends AbstractProjectWriter
       // TODO: implement more intelligent rollup of multiple resource assignments
       Function<ResourceAssignment, String> assignmentKey = (a) -> a.getTaskUniqueID() + " " + a.getResourceUniqueID();
       Map<String, ResourceAssignment> map = m_projectFile.getResourceAssignments().stream().collect(Collectors.toMap(assignmentKey, Function.identity(), (a1, a2) -> a1));
-      m_projectFile.getResourceAssignments().stream().filter(a -> map.get(assignmentKey.apply(a)) == a).forEach(a -> list.add(writeAssignment(a)));
+      Stream<ResourceAssignment> assignments = m_projectFile.getResourceAssignments().stream().filter(a -> map.get(assignmentKey.apply(a)) == a);
 
       //
       // Check to see if we have any tasks that have a percent complete value
@@ -1938,45 +1995,53 @@ public final class MSPDIWriter extends AbstractProjectWriter
       // write a dummy resource assignment record to ensure that the MSPDI
       // file shows the correct percent complete amount for the task.
       //
-      ProjectConfig config = m_projectFile.getProjectConfig();
-      boolean autoUniqueID = config.getAutoAssignmentUniqueID();
-      if (!autoUniqueID)
+      // Dummy assignments are numbered following the existing assignments
+      // without changing the project's configuration. As with the existing
+      // assignments, the Unique ID written is mapped if it is too large
+      // for Microsoft Project.
+      //
+      int firstDummyUniqueID = m_projectFile.getResourceAssignments().stream().map(ResourceAssignment::getUniqueID).filter(Objects::nonNull).mapToInt(Integer::intValue).max().orElse(0) + 1;
+      ObjectSequence dummyUniqueID = new ObjectSequence(firstDummyUniqueID);
+      Stream<ResourceAssignment> dummyAssignments = m_projectFile.getTasks().stream().filter(t -> NumberHelper.getDouble(t.getPercentageComplete()) != 0 && t.getResourceAssignments().isEmpty()).map(t -> createDummyAssignment(t, dummyUniqueID.getNext()));
+
+      return Stream.concat(assignments, dummyAssignments).map(this::writeAssignment);
+   }
+
+   /**
+    * Create a dummy resource assignment for a task with a
+    * percent complete value but no resource assignments.
+    *
+    * @param task parent task
+    * @param uniqueID dummy resource assignment Unique ID
+    * @return dummy resource assignment
+    */
+   private ResourceAssignment createDummyAssignment(Task task, Integer uniqueID)
+   {
+      double percentComplete = NumberHelper.getDouble(task.getPercentageComplete());
+      ResourceAssignment dummy = new ResourceAssignment(m_projectFile, task);
+      dummy.setUniqueID(uniqueID);
+      Duration duration = task.getDuration();
+      if (duration == null)
       {
-         config.setAutoAssignmentUniqueID(true);
+         duration = Duration.getInstance(0, TimeUnit.HOURS);
       }
+      double durationValue = duration.getDuration();
+      TimeUnit durationUnits = duration.getUnits();
+      double actualWork = (durationValue * percentComplete) / 100;
+      double remainingWork = durationValue - actualWork;
 
-      for (Task task : m_projectFile.getTasks())
-      {
-         double percentComplete = NumberHelper.getDouble(task.getPercentageComplete());
-         if (percentComplete != 0 && task.getResourceAssignments().isEmpty())
-         {
-            ResourceAssignment dummy = new ResourceAssignment(m_projectFile, task);
-            Duration duration = task.getDuration();
-            if (duration == null)
-            {
-               duration = Duration.getInstance(0, TimeUnit.HOURS);
-            }
-            double durationValue = duration.getDuration();
-            TimeUnit durationUnits = duration.getUnits();
-            double actualWork = (durationValue * percentComplete) / 100;
-            double remainingWork = durationValue - actualWork;
-
-            dummy.setResourceUniqueID(MicrosoftProjectConstants.ASSIGNMENT_NULL_RESOURCE_ID);
-            dummy.setWork(duration);
-            dummy.setActualWork(Duration.getInstance(actualWork, durationUnits));
-            dummy.setRemainingWork(Duration.getInstance(remainingWork, durationUnits));
-
-            // Without this, MS Project will mark a 100% complete milestone as 99% complete
-            if (percentComplete == 100 && duration.getDuration() == 0)
-            {
-               dummy.setActualFinish(task.getActualStart());
-            }
+      dummy.setResourceUniqueID(MicrosoftProjectConstants.ASSIGNMENT_NULL_RESOURCE_ID);
+      dummy.setWork(duration);
+      dummy.setActualWork(Duration.getInstance(actualWork, durationUnits));
+      dummy.setRemainingWork(Duration.getInstance(remainingWork, durationUnits));
 
-            list.add(writeAssignment(dummy));
-         }
+      // Without this, MS Project will mark a 100% complete milestone as 99% complete
+      if (percentComplete == 100 && duration.getDuration() == 0)
+      {
+         dummy.setActualFinish(task.getActualStart());
       }
 
-      config.setAutoAssignmentUniqueID(autoUniqueID);
+      return dummy;
    }
 
    /**
@@ -2649,34 +2714,101 @@ public final class MSPDIWriter extends AbstractProjectWriter
    }
 
    /**
-    * Cached context to minimise construction cost.
+    * A list whose contents are generated from a stream each time it is iterated.
+    * This is used to allow JAXB to marshal MSPDI elements as they are created.
+    * Random access is supported by collecting the stream into a list the first
+    * time it is required, after which the collected list is used.
     */
-   private static JAXBContext CONTEXT;
+   private static final class StreamingList<T> extends AbstractList<T>
+   {
+      /**
+       * Constructor.
+       *
+       * @param supplier stream supplier
+       */
+      public StreamingList(Supplier<Stream<T>> supplier)
+      {
+         m_supplier = supplier;
+      }
+
+      @Override public Iterator<T> iterator()
+      {
+         return m_list == null ? m_supplier.get().iterator() : m_list.iterator();
+      }
+
+      @Override public T get(int index)
+      {
+         return getList().get(index);
+      }
+
+      @Override public int size()
+      {
+         return getList().size();
+      }
+
+      /**
+       * Retrieve the collected list of elements, creating it if necessary.
+       *
+       * @return list of elements
+       */
+      private List<T> getList()
+      {
+         if (m_list == null)
+         {
+            m_list = m_supplier.get().collect(Collectors.toList());
+         }
+         return m_list;
+      }
+
+      private final Supplier<Stream<T>> m_supplier;
+      private List<T> m_list;
+   }
 
    /**
-    * Note any error occurring during context construction.
+    * Tasks element whose child elements are created as they are marshalled.
     */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
+   private static final class StreamingTasks extends Project.Tasks
    {
-      try
+      /**
+       * Constructor.
+       *
+       * @param supplier task stream supplier
+       */
+      public StreamingTasks(Supplier<Stream<Project.Tasks.Task>> supplier)
       {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
+         task = new StreamingList<>(supplier);
+      }
+   }
 
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.mspdi.schema", MSPDIWriter.class.getClassLoader());
+   /**
+    * Resources element whose child elements are created as they are marshalled.
+    */
+   private static final class StreamingResources extends Project.Resources
+   {
+      /**
+       * Constructor.
+       *
+       * @param supplier resource stream supplier
+       */
+      public StreamingResources(Supplier<Stream<Project.Resources.Resource>> supplier)
+      {
+         resource = new StreamingList<>(supplier);
       }
+   }
 
-      catch (JAXBException ex)
+   /**
+    * Assignments element whose child elements are created as they are marshalled.
+    */
+   private static final class StreamingAssignments extends Project.Assignments
+   {
+      /**
+       * Constructor.
+       *
+       * @param supplier assignment stream supplier
+       */
+      public StreamingAssignments(Supplier<Stream<Project.Assignments.Assignment>> supplier)
       {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
+         assignment = new StreamingList<>(supplier);
       }
    }
 
@@ -2720,6 +2852,8 @@ public final class MSPDIWriter extends AbstractProjectWriter
 
    private SaveVersion m_saveVersion = SaveVersion.Project2016;
 
+   private boolean m_streamingOutput;
+
    private MicrosoftProjectUniqueIDMapper m_taskMapper;
    private MicrosoftProjectUniqueIDMapper m_resourceMapper;
    private MicrosoftProjectUniqueIDMapper m_calendarMapper;
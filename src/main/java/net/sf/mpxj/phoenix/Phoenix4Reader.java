@@ -35,7 +35,6 @@ import java.util.Map;
 import java.util.StringJoiner;
 import java.util.UUID;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -49,6 +48,7 @@ import net.sf.mpxj.RecurrenceType;
 import net.sf.mpxj.RecurringData;
 import net.sf.mpxj.Relation;
 import net.sf.mpxj.SchedulingProgressedActivities;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.LocalDateHelper;
 import net.sf.mpxj.common.LocalDateTimeHelper;
 import net.sf.mpxj.common.SlackHelper;
@@ -109,11 +109,6 @@ final class Phoenix4Reader extends AbstractProjectStreamReader
 
       try
       {
-         if (CONTEXT == null)
-         {
-            throw CONTEXT_EXCEPTION;
-         }
-
          m_projectFile = new ProjectFile();
          m_activityMap = new HashMap<>();
          m_activityCodeValues = new HashMap<>();
@@ -132,7 +127,7 @@ final class Phoenix4Reader extends AbstractProjectStreamReader
 
          addListenersToProject(m_projectFile);
 
-         Project phoenixProject = (Project) UnmarshalHelper.unmarshal(CONTEXT, new SkipNulInputStream(stream));
+         Project phoenixProject = (Project) UnmarshalHelper.unmarshal(JaxbContextRegistry.getContext(JaxbContextRegistry.PHOENIX4), new SkipNulInputStream(stream));
          Storepoint storepoint = getCurrentStorepoint(phoenixProject);
          readProjectProperties(phoenixProject, storepoint);
          readCalendars(storepoint);
@@ -1085,38 +1080,6 @@ final class Phoenix4Reader extends AbstractProjectStreamReader
    private List<UUID> m_codeSequence;
    private final boolean m_useActivityCodesForTaskHierarchy;
 
-   /**
-    * Cached context to minimise construction cost.
-    */
-   private static JAXBContext CONTEXT;
-
-   /**
-    * Note any error occurring during context construction.
-    */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
-   {
-      try
-      {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
-
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.phoenix.schema.phoenix4", Phoenix4Reader.class.getClassLoader());
-      }
-
-      catch (JAXBException ex)
-      {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
-      }
-   }
-
    private static final Map<String, ActivityType> ACTIVITY_TYPE_MAP = new HashMap<>();
    static
    {
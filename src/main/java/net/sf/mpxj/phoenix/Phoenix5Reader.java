@@ -36,7 +36,6 @@ import java.util.StringJoiner;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -51,6 +50,7 @@ import net.sf.mpxj.RecurringData;
 import net.sf.mpxj.RelationshipLagCalendar;
 import net.sf.mpxj.Relation;
 import net.sf.mpxj.SchedulingProgressedActivities;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.LocalDateHelper;
 import net.sf.mpxj.common.LocalDateTimeHelper;
 import net.sf.mpxj.common.SlackHelper;
@@ -110,11 +110,6 @@ final class Phoenix5Reader extends AbstractProjectStreamReader
 
       try
       {
-         if (CONTEXT == null)
-         {
-            throw CONTEXT_EXCEPTION;
-         }
-
          m_projectFile = new ProjectFile();
          m_activityMap = new HashMap<>();
          m_activityCodeValues = new HashMap<>();
@@ -133,7 +128,7 @@ final class Phoenix5Reader extends AbstractProjectStreamReader
 
          addListenersToProject(m_projectFile);
 
-         Project phoenixProject = (Project) UnmarshalHelper.unmarshal(CONTEXT, new SkipNulInputStream(stream));
+         Project phoenixProject = (Project) UnmarshalHelper.unmarshal(JaxbContextRegistry.getContext(JaxbContextRegistry.PHOENIX5), new SkipNulInputStream(stream));
          Storepoint storepoint = getCurrentStorepoint(phoenixProject);
          readProjectProperties(phoenixProject, storepoint);
          readCalendars(storepoint);
@@ -1058,38 +1053,6 @@ final class Phoenix5Reader extends AbstractProjectStreamReader
    List<UUID> m_codeSequence;
    private final boolean m_useActivityCodesForTaskHierarchy;
 
-   /**
-    * Cached context to minimise construction cost.
-    */
-   private static JAXBContext CONTEXT;
-
-   /**
-    * Note any error occurring during context construction.
-    */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
-   {
-      try
-      {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
-
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.phoenix.schema.phoenix5", Phoenix5Reader.class.getClassLoader());
-      }
-
-      catch (JAXBException ex)
-      {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
-      }
-   }
-
    private static final Map<String, ActivityType> ACTIVITY_TYPE_MAP = new HashMap<>();
    static
    {
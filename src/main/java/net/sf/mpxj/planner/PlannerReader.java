@@ -36,7 +36,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -64,6 +63,7 @@ import net.sf.mpxj.ResourceType;
 import net.sf.mpxj.Task;
 import net.sf.mpxj.TaskType;
 import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.NumberHelper;
 import net.sf.mpxj.common.UnmarshalHelper;
 import net.sf.mpxj.planner.schema.Allocation;
@@ -90,11 +90,6 @@ public final class PlannerReader extends AbstractProjectStreamReader
    {
       try
       {
-         if (CONTEXT == null)
-         {
-            throw CONTEXT_EXCEPTION;
-         }
-
          m_projectFile = new ProjectFile();
          m_eventManager = m_projectFile.getEventManager();
 
@@ -111,7 +106,7 @@ public final class PlannerReader extends AbstractProjectStreamReader
 
          addListenersToProject(m_projectFile);
 
-         Project plannerProject = (Project) UnmarshalHelper.unmarshal(CONTEXT, stream);
+         Project plannerProject = (Project) UnmarshalHelper.unmarshal(JaxbContextRegistry.getContext(JaxbContextRegistry.PLANNER), stream);
 
          readProjectProperties(plannerProject);
          readCalendars(plannerProject);
@@ -825,36 +820,4 @@ public final class PlannerReader extends AbstractProjectStreamReader
       RELATIONSHIP_TYPES.put("SF", RelationType.START_FINISH);
       RELATIONSHIP_TYPES.put("SS", RelationType.START_START);
    }
-
-   /**
-    * Cached context to minimise construction cost.
-    */
-   private static JAXBContext CONTEXT;
-
-   /**
-    * Note any error occurring during context construction.
-    */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
-   {
-      try
-      {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
-
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.planner.schema", PlannerReader.class.getClassLoader());
-      }
-
-      catch (JAXBException ex)
-      {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
-      }
-   }
 }
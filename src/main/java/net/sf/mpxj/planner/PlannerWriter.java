@@ -39,7 +39,6 @@ import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 
@@ -62,6 +61,7 @@ import net.sf.mpxj.Task;
 import net.sf.mpxj.TaskType;
 import net.sf.mpxj.LocalTimeRange;
 import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.LocalDateTimeHelper;
 import net.sf.mpxj.common.MarshallerHelper;
 import net.sf.mpxj.common.NumberHelper;
@@ -97,12 +97,7 @@ public final class PlannerWriter extends AbstractProjectWriter
          m_projectFile = projectFile;
          m_eventManager = projectFile.getEventManager();
 
-         if (CONTEXT == null)
-         {
-            throw CONTEXT_EXCEPTION;
-         }
-
-         Marshaller marshaller = MarshallerHelper.create(CONTEXT);
+         Marshaller marshaller = MarshallerHelper.create(JaxbContextRegistry.getContext(JaxbContextRegistry.PLANNER));
          marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
          if (m_charset != null)
          {
@@ -969,36 +964,4 @@ public final class PlannerWriter extends AbstractProjectWriter
       RELATIONSHIP_TYPES.put(RelationType.START_FINISH, "SF");
       RELATIONSHIP_TYPES.put(RelationType.START_START, "SS");
    }
-
-   /**
-    * Cached context to minimise construction cost.
-    */
-   private static JAXBContext CONTEXT;
-
-   /**
-    * Note any error occurring during context construction.
-    */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
-   {
-      try
-      {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
-
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.planner.schema", PlannerWriter.class.getClassLoader());
-      }
-
-      catch (JAXBException ex)
-      {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
-      }
-   }
 }
@@ -23,19 +23,12 @@
 
 package net.sf.mpxj.primavera;
 
-import java.time.LocalDateTime;
 import java.util.Map;
-import java.util.UUID;
-
-import net.sf.mpxj.Duration;
-import net.sf.mpxj.TimeUnit;
-import net.sf.mpxj.common.BooleanHelper;
-import net.sf.mpxj.common.NumberHelper;
 
 /**
  * Implementation of the Row interface, wrapping a Map.
  */
-class MapRow implements Row
+class MapRow extends AbstractRow
 {
    /**
     * Constructor.
@@ -45,198 +38,8 @@ class MapRow implements Row
     */
    public MapRow(Map<String, Object> map, boolean ignoreErrors)
    {
+      super(ignoreErrors);
       m_map = map;
-      m_ignoreErrors = ignoreErrors;
-   }
-
-   @Override public final String getString(String name)
-   {
-      try
-      {
-         Object value = getObject(name);
-         String result;
-         if (value == null)
-         {
-            result = null;
-         }
-         else
-         {
-            if (value instanceof byte[])
-            {
-               result = new String((byte[]) value);
-            }
-            else
-            {
-               result = value.toString();
-            }
-         }
-         return result;
-      }
-
-      catch (Exception ex)
-      {
-         if (m_ignoreErrors)
-         {
-            return null;
-         }
-         throw ex;
-      }
-   }
-
-   @Override public final Integer getInteger(String name)
-   {
-      try
-      {
-         Object result = getObject(name);
-         if (result != null)
-         {
-            if (!(result instanceof Integer))
-            {
-               result = Integer.valueOf(((Number) result).intValue());
-            }
-         }
-         return ((Integer) result);
-      }
-
-      catch (Exception ex)
-      {
-         if (m_ignoreErrors)
-         {
-            return null;
-         }
-         throw ex;
-      }
-   }
-
-   @Override public final Double getDouble(String name)
-   {
-      try
-      {
-         Object result = getObject(name);
-         if (result != null)
-         {
-            if (!(result instanceof Double))
-            {
-               result = Double.valueOf(((Number) result).doubleValue());
-            }
-         }
-         return ((Double) result);
-      }
-
-      catch (Exception ex)
-      {
-         if (m_ignoreErrors)
-         {
-            return null;
-         }
-         throw ex;
-      }
-   }
-
-   @Override public final boolean getBoolean(String name)
-   {
-      Boolean result = getBooleanObject(name);
-      return result != null && result.booleanValue();
-   }
-
-   @Override public final Boolean getBooleanObject(String name)
-   {
-      try
-      {
-         Object value = getObject(name);
-         if (value == null)
-         {
-            return null;
-         }
-
-         if (value instanceof Boolean)
-         {
-            return (Boolean)value;
-         }
-
-         if (value instanceof Number)
-         {
-            // generally all non-zero numbers are treated as truthy
-            return Boolean.valueOf(((Number) value).doubleValue() != 0.0);
-         }
-
-         if (value instanceof String)
-         {
-            return parseBoolean((String) value);
-         }
-
-         return null;
-      }
-
-      catch (Exception ex)
-      {
-         if (m_ignoreErrors)
-         {
-            return null;
-         }
-         throw ex;
-      }
-   }
-
-   @Override public final int getInt(String name)
-   {
-      try
-      {
-         return (NumberHelper.getInt((Number) getObject(name)));
-      }
-
-      catch (Exception ex)
-      {
-         if (m_ignoreErrors)
-         {
-            return 0;
-         }
-         throw ex;
-      }
-   }
-
-   @Override public final LocalDateTime getDate(String name)
-   {
-      try
-      {
-         return ((LocalDateTime) getObject(name));
-      }
-
-      catch (Exception ex)
-      {
-         if (m_ignoreErrors)
-         {
-            return null;
-         }
-         throw ex;
-      }
-   }
-
-   @Override public final Duration getDuration(String name)
-   {
-      try
-      {
-         Double value = getDouble(name);
-         if (value == null)
-         {
-            return null;
-         }
-         return Duration.getInstance(value.doubleValue(), TimeUnit.HOURS);
-      }
-
-      catch (Exception ex)
-      {
-         if (m_ignoreErrors)
-         {
-            return null;
-         }
-         throw ex;
-      }
-   }
-
-   @Override public final UUID getUUID(String name)
-   {
-      return DatatypeConverter.parseUUID(getString(name));
    }
 
    /**
@@ -245,23 +48,10 @@ class MapRow implements Row
     * @param name column name
     * @return column value
     */
-   private Object getObject(String name)
+   @Override protected Object getObject(String name)
    {
       return m_map.get(name);
    }
 
-   /**
-    * Parse a string representation of a Boolean value.
-    * XER files sometimes have "N" and "Y" to indicate boolean
-    *
-    * @param value string representation
-    * @return Boolean value
-    */
-   private Boolean parseBoolean(String value)
-   {
-      return Boolean.valueOf(value != null && (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("y") || value.equalsIgnoreCase("yes")));
-   }
-
    protected final Map<String, Object> m_map;
-   private final boolean m_ignoreErrors;
 }
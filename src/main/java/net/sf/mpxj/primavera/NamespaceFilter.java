@@ -74,5 +74,5 @@ class NamespaceFilter extends XMLFilterImpl
       ELEMENT_MAP.put("BusinessObjects", "APIBusinessObjects");
    }
 
-   private static final String NAMESPACE = "http://xmlns.oracle.com/Primavera/P6/V23.12/API/BusinessObjects";
+   static final String NAMESPACE = "http://xmlns.oracle.com/Primavera/P6/V23.12/API/BusinessObjects";
 }
\ No newline at end of file
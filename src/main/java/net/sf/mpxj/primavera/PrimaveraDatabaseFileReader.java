@@ -138,7 +138,7 @@ public final class PrimaveraDatabaseFileReader extends AbstractProjectFileReader
     */
    private Connection getDatabaseConnection(File file) throws SQLException
    {
-      return SQLite.createConnection(file, SQLite.dateFormatProperties());
+      return SQLite.createReadOnlyConnection(file, SQLite.dateFormatProperties());
    }
 
    private Integer m_projectID;
@@ -31,10 +31,16 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
 
@@ -95,8 +101,16 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    public ProjectFile read() throws MPXJException
    {
-      m_readSharedData = true;
-      return read(new ProjectFileSharedData());
+      try
+      {
+         m_readSharedData = true;
+         return read(new ProjectFileSharedData());
+      }
+
+      finally
+      {
+         releaseConnection();
+      }
    }
 
    /**
@@ -159,15 +173,6 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
       {
          throw new MPXJException(MPXJException.READ_ERROR, ex);
       }
-
-      finally
-      {
-         if (m_allocatedConnection)
-         {
-            AutoCloseableHelper.closeQuietly(m_connection);
-            m_connection = null;
-         }
-      }
    }
 
    /**
@@ -178,16 +183,51 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    public List<ProjectFile> readAll() throws MPXJException
    {
-      Map<Integer, String> projects = listProjects();
-      List<ProjectFile> result = new ArrayList<>(projects.keySet().size());
-      ProjectFileSharedData shared = new ProjectFileSharedData();
-      m_readSharedData = true;
-      for (Integer id : projects.keySet())
+      return readAll(listProjects().keySet());
+   }
+
+   /**
+    * Read multiple projects in a single operation. Data shared between
+    * projects is read once, and the remaining data is retrieved for
+    * batches of projects, rather than issuing separate queries for each project.
+    *
+    * @param projectIDs IDs of the projects to read
+    * @return list of ProjectFile instances
+    */
+   public List<ProjectFile> readAll(Collection<Integer> projectIDs) throws MPXJException
+   {
+      try
       {
-         setProjectID(id.intValue());
-         result.add(read(shared));
+         List<ProjectFile> result = new ArrayList<>(projectIDs.size());
+         ProjectFileSharedData shared = new ProjectFileSharedData();
+         m_projectIDs = new ArrayList<>(projectIDs);
+         m_tableNames = null;
+         m_readSharedData = true;
+
+         for (int batchStart = 0; batchStart < m_projectIDs.size(); batchStart += BATCH_SIZE)
+         {
+            m_batch = m_projectIDs.subList(batchStart, Math.min(m_projectIDs.size(), batchStart + BATCH_SIZE));
+            for (Integer id : m_batch)
+            {
+               m_projectID = id;
+               result.add(read(shared));
+            }
+            m_batchRows.clear();
+            m_batchRelatedRows.clear();
+         }
+
+         return result;
+      }
+
+      finally
+      {
+         m_projectIDs = null;
+         m_batch = null;
+         m_batchRows.clear();
+         m_batchRelatedRows.clear();
+         m_cachedRows.clear();
+         releaseConnection();
       }
-      return result;
    }
 
    /**
@@ -221,13 +261,13 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
       //
       // Process common attributes
       //
-      List<Row> rows = getRows("select * from " + m_schema + "project where proj_id=?", m_projectID);
+      List<Row> rows = getProjectRows("select * from " + m_schema + "project where proj_id=?");
       m_reader.processProjectProperties(m_projectID, rows);
 
       //
       // Process PMDB-specific attributes
       //
-      rows = getRows("select * from " + m_schema + "prefer where prefer.delete_date is null");
+      rows = getCachedRows("select * from " + m_schema + "prefer where prefer.delete_date is null");
       if (!rows.isEmpty())
       {
          Row row = rows.get(0);
@@ -282,7 +322,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processExpenseItems() throws SQLException
    {
-      m_reader.processExpenseItems(getRows("select * from " + m_schema + "projcost where proj_id=?", m_projectID));
+      m_reader.processExpenseItems(getProjectRows("select * from " + m_schema + "projcost where proj_id=?"));
    }
 
    /**
@@ -290,7 +330,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processActivitySteps() throws SQLException
    {
-      m_reader.processActivitySteps(getRows("select * from " + m_schema + "taskproc where proj_id=?", m_projectID));
+      m_reader.processActivitySteps(getProjectRows("select * from " + m_schema + "taskproc where proj_id=?"));
    }
 
    /**
@@ -322,8 +362,8 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processActivityCodeDefinitions() throws SQLException
    {
-      List<Row> types = getRows("select * from " + m_schema + "actvtype where actv_code_type_id in (select distinct actv_code_type_id from taskactv where proj_id=?)", m_projectID);
-      List<Row> typeValues = getRows("select * from " + m_schema + "actvcode where actv_code_id in (select distinct actv_code_id from taskactv where proj_id=?)", m_projectID);
+      List<Row> types = getDistinctRows("select * from " + m_schema + "actvtype where actv_code_type_id in (select distinct actv_code_type_id from taskactv where proj_id=?)", "actv_code_type_id");
+      List<Row> typeValues = getDistinctRows("select * from " + m_schema + "actvcode where actv_code_id in (select distinct actv_code_id from taskactv where proj_id=?)", "actv_code_id");
       m_reader.processActivityCodeDefinitions(types, typeValues);
    }
 
@@ -332,7 +372,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processActivityCodeAssignments() throws SQLException
    {
-      List<Row> assignments = getRows("select * from " + m_schema + "taskactv where proj_id=?", m_projectID);
+      List<Row> assignments = getProjectRows("select * from " + m_schema + "taskactv where proj_id=?");
       m_reader.processActivityCodeAssignments(assignments);
    }
 
@@ -350,7 +390,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processUdfValues() throws SQLException
    {
-      List<Row> values = getRows("select * from " + m_schema + "udfvalue where proj_id=? or proj_id is null", m_projectID);
+      List<Row> values = getProjectRows("select * from " + m_schema + "udfvalue where proj_id=? or proj_id is null");
       m_reader.processUdfValues(values);
    }
 
@@ -360,7 +400,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processSchedulingProjectProperties() throws SQLException
    {
-      List<Row> rows = getRows("select * from " + m_schema + "projprop where proj_id=? and prop_name='scheduling'", m_projectID);
+      List<Row> rows = getProjectRows("select * from " + m_schema + "projprop where proj_id=? and prop_name='scheduling'");
       if (!rows.isEmpty())
       {
          StructuredTextRecord record = new StructuredTextParser().parse(rows.get(0).getString("prop_value"));
@@ -375,7 +415,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processDefaultCurrency(Integer currencyID) throws SQLException
    {
-      List<Row> rows = getRows("select * from " + m_schema + "currtype where curr_id=?", currencyID);
+      List<Row> rows = getCachedRows("select * from " + m_schema + "currtype where curr_id=?", currencyID);
       if (!rows.isEmpty())
       {
          Row row = rows.get(0);
@@ -389,7 +429,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
    private void processResources() throws SQLException
    {
       // TODO: handle exporting parent resources
-      List<Row> rows = getRows("select * from " + m_schema + "rsrc where delete_date is null and rsrc_id in (select rsrc_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null) order by rsrc_seq_num", m_projectID);
+      List<Row> rows = getAssignmentRelatedRows("select * from " + m_schema + "rsrc where delete_date is null and rsrc_id in (select rsrc_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null) order by rsrc_seq_num", "rsrc_id");
       m_reader.processResources(rows);
    }
 
@@ -399,7 +439,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
    private void processRoles() throws SQLException
    {
       // TODO: handle exporting parent roles
-      List<Row> rows = getRows("select * from " + m_schema + "roles where delete_date is null and role_id in (select role_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null) order by seq_num", m_projectID);
+      List<Row> rows = getAssignmentRelatedRows("select * from " + m_schema + "roles where delete_date is null and role_id in (select role_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null) order by seq_num", "role_id");
       m_reader.processRoles(rows);
    }
 
@@ -410,7 +450,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
    {
       if (m_tableNames.contains("RSRCROLE"))
       {
-         List<Row> rows = getRows("select * from " + m_schema + "rsrcrole where delete_date is null and rsrc_id in (select rsrc_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null)", m_projectID);
+         List<Row> rows = getAssignmentRelatedRows("select * from " + m_schema + "rsrcrole where delete_date is null and rsrc_id in (select rsrc_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null)", "rsrc_id");
          m_reader.processRoleAssignments(rows);
       }
    }
@@ -420,7 +460,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processResourceRates() throws SQLException
    {
-      List<Row> rows = getRows("select * from " + m_schema + "rsrcrate where delete_date is null and rsrc_id in (select rsrc_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null) order by rsrc_rate_id", m_projectID);
+      List<Row> rows = getAssignmentRelatedRows("select * from " + m_schema + "rsrcrate where delete_date is null and rsrc_id in (select rsrc_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null) order by rsrc_rate_id", "rsrc_id");
       m_reader.processResourceRates(rows);
    }
 
@@ -429,7 +469,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processRoleRates() throws SQLException
    {
-      List<Row> rows = getRows("select * from " + m_schema + "rolerate where delete_date is null and role_id in (select role_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null) order by role_rate_id", m_projectID);
+      List<Row> rows = getAssignmentRelatedRows("select * from " + m_schema + "rolerate where delete_date is null and role_id in (select role_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null) order by role_rate_id", "role_id");
       m_reader.processRoleRates(rows);
    }
 
@@ -438,7 +478,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processRoleAvailability() throws SQLException
    {
-      List<Row> rows = getRows("select * from " + m_schema + "rolelimit where delete_date is null and role_id in (select role_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null) order by rolelimit_id", m_projectID);
+      List<Row> rows = getAssignmentRelatedRows("select * from " + m_schema + "rolelimit where delete_date is null and role_id in (select role_id from " + m_schema + "taskrsrc t where proj_id=? and delete_date is null) order by rolelimit_id", "role_id");
       m_reader.processRoleAvailability(rows);
    }
 
@@ -447,10 +487,10 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processTasks() throws SQLException
    {
-      List<Row> wbs = getRows("select * from " + m_schema + "projwbs where proj_id=? and delete_date is null order by parent_wbs_id,seq_num", m_projectID);
-      List<Row> tasks = getRows("select * from " + m_schema + "task where proj_id=? and delete_date is null", m_projectID);
-      Map<Integer, Notes> wbsNotes = m_reader.getNotes(getRows("select * from " + m_schema + "wbsmemo where proj_id=?", m_projectID), "wbs_memo_id", "wbs_id", "wbs_memo");
-      Map<Integer, Notes> taskNotes = m_reader.getNotes(getRows("select * from " + m_schema + "taskmemo where proj_id=?", m_projectID), "memo_id", "task_id", "task_memo");
+      List<Row> wbs = getProjectRows("select * from " + m_schema + "projwbs where proj_id=? and delete_date is null order by parent_wbs_id,seq_num");
+      List<Row> tasks = getProjectRows("select * from " + m_schema + "task where proj_id=? and delete_date is null");
+      Map<Integer, Notes> wbsNotes = m_reader.getNotes(getProjectRows("select * from " + m_schema + "wbsmemo where proj_id=?"), "wbs_memo_id", "wbs_id", "wbs_memo");
+      Map<Integer, Notes> taskNotes = m_reader.getNotes(getProjectRows("select * from " + m_schema + "taskmemo where proj_id=?"), "memo_id", "task_id", "task_memo");
 
       m_reader.processTasks(wbs, tasks, wbsNotes, taskNotes);
    }
@@ -460,7 +500,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processPredecessors() throws SQLException
    {
-      List<Row> rows = getRows("select * from " + m_schema + "taskpred where proj_id=? and delete_date is null", m_projectID);
+      List<Row> rows = getProjectRows("select * from " + m_schema + "taskpred where proj_id=? and delete_date is null");
       m_reader.processPredecessors(rows);
    }
 
@@ -469,7 +509,7 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processCalendars() throws SQLException
    {
-      List<Row> rows = getRows("select * from " + m_schema + "calendar where (proj_id is null or proj_id=?) and delete_date is null", m_projectID);
+      List<Row> rows = getProjectRows("select * from " + m_schema + "calendar where (proj_id is null or proj_id=?) and delete_date is null");
       m_reader.processCalendars(rows);
    }
 
@@ -478,8 +518,17 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private void processAssignments() throws SQLException
    {
-      List<Row> rows = getRows("select * from " + m_schema + "taskrsrc where proj_id=? and delete_date is null", m_projectID);
-      m_reader.processAssignments(rows);
+      m_reader.processAssignments(getAssignmentRows());
+   }
+
+   /**
+    * Retrieve the resource assignments for the current project.
+    *
+    * @return resource assignment rows
+    */
+   private List<Row> getAssignmentRows() throws SQLException
+   {
+      return getProjectRows("select * from " + m_schema + "taskrsrc where proj_id=? and delete_date is null");
    }
 
    /**
@@ -581,6 +630,12 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
 
    private void processTableNames() throws SQLException
    {
+      // When reading multiple projects we only need to do this once
+      if (m_projectIDs != null && m_tableNames != null)
+      {
+         return;
+      }
+
       allocateConnection();
       m_tableNames = ConnectionHelper.getTableNames(m_connection);
    }
@@ -593,21 +648,9 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private List<Row> getRows(String sql) throws SQLException
    {
-      allocateConnection();
-
-      try (PreparedStatement ps = m_connection.prepareStatement(sql))
-      {
-         try (ResultSet rs = ps.executeQuery())
-         {
-            List<Row> result = new ArrayList<>();
-            Map<String, Integer> meta = ResultSetHelper.populateMetaData(rs);
-            while (rs.next())
-            {
-               result.add(new ResultSetRow(rs, meta));
-            }
-            return result;
-         }
-      }
+      List<Row> result = new ArrayList<>();
+      processRows(sql, Collections.emptyList(), result::add);
+      return result;
    }
 
    /**
@@ -620,23 +663,200 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
     */
    private List<Row> getRows(String sql, Integer var) throws SQLException
    {
-      allocateConnection();
-
       List<Row> result = new ArrayList<>();
+      processRows(sql, Collections.singletonList(var), result::add);
+      return result;
+   }
+
+   /**
+    * Execute a query, passing each row to a consumer as it is read from the result set.
+    *
+    * @param sql query statement
+    * @param vars bind variable values
+    * @param consumer row consumer
+    */
+   private void processRows(String sql, List<Integer> vars, Consumer<Row> consumer) throws SQLException
+   {
+      allocateConnection();
 
       try (PreparedStatement ps = m_connection.prepareStatement(sql))
       {
-         ps.setInt(1, NumberHelper.getInt(var));
+         int index = 1;
+         for (Integer var : vars)
+         {
+            ps.setInt(index++, NumberHelper.getInt(var));
+         }
+
          try (ResultSet rs = ps.executeQuery())
          {
             Map<String, Integer> meta = ResultSetHelper.populateMetaData(rs);
             while (rs.next())
             {
-               result.add(new ResultSetRow(rs, meta));
+               consumer.accept(new ResultSetRow(rs, meta));
             }
          }
       }
-      return (result);
+   }
+
+   /**
+    * Retrieve rows for the current project. The query must include the
+    * condition {@code proj_id=?}. When reading multiple projects, the first
+    * call for a query retrieves the rows for every project in the current batch,
+    * grouped by project. Rows without a project ID are included for every project.
+    *
+    * @param sql query statement
+    * @return rows for the current project
+    */
+   private List<Row> getProjectRows(String sql) throws SQLException
+   {
+      if (m_batch == null)
+      {
+         return getRows(sql, m_projectID);
+      }
+
+      Map<Integer, List<Row>> batchRows = m_batchRows.get(sql);
+      if (batchRows == null)
+      {
+         Map<Integer, List<Row>> map = new HashMap<>();
+         m_batch.forEach(id -> map.put(id, new ArrayList<>()));
+         processRows(getBatchSql(sql, m_batch.size()), m_batch, row -> {
+            Integer id = row.getInteger("proj_id");
+            if (id == null)
+            {
+               map.values().forEach(list -> list.add(row));
+            }
+            else
+            {
+               List<Row> list = map.get(id);
+               if (list != null)
+               {
+                  list.add(row);
+               }
+            }
+         });
+         batchRows = map;
+         m_batchRows.put(sql, batchRows);
+      }
+
+      return batchRows.get(m_projectID);
+   }
+
+   /**
+    * Retrieve rows from a table related to the current project's
+    * resource assignments, for example resources or roles. The query must include
+    * a subquery using the condition {@code proj_id=?} to select the related rows.
+    * When reading multiple projects, the first call for a query retrieves
+    * the rows for every project in the current batch, which are then filtered
+    * using the current project's resource assignments.
+    *
+    * @param sql query statement
+    * @param column name of the column used to match assignments to rows
+    * @return rows for the current project
+    */
+   private List<Row> getAssignmentRelatedRows(String sql, String column) throws SQLException
+   {
+      if (m_batch == null)
+      {
+         return getRows(sql, m_projectID);
+      }
+
+      List<Row> batchRows = m_batchRelatedRows.get(sql);
+      if (batchRows == null)
+      {
+         batchRows = new ArrayList<>();
+         processRows(getBatchSql(sql, m_batch.size()), m_batch, batchRows::add);
+         m_batchRelatedRows.put(sql, batchRows);
+      }
+
+      Set<Integer> ids = getAssignmentRows().stream().map(row -> row.getInteger(column)).filter(Objects::nonNull).collect(Collectors.toSet());
+      return batchRows.stream().filter(row -> ids.contains(row.getInteger(column))).collect(Collectors.toList());
+   }
+
+   /**
+    * Retrieve rows for the current project, or when reading multiple projects,
+    * the distinct rows for all projects being read. The query must include the
+    * condition {@code proj_id=?}.
+    *
+    * @param sql query statement
+    * @param column name of the column used to identify distinct rows
+    * @return list of rows
+    */
+   private List<Row> getDistinctRows(String sql, String column) throws SQLException
+   {
+      if (m_projectIDs == null)
+      {
+         return getRows(sql, m_projectID);
+      }
+
+      Map<Integer, Row> result = new LinkedHashMap<>();
+      for (int batchStart = 0; batchStart < m_projectIDs.size(); batchStart += BATCH_SIZE)
+      {
+         List<Integer> batch = m_projectIDs.subList(batchStart, Math.min(m_projectIDs.size(), batchStart + BATCH_SIZE));
+         processRows(getBatchSql(sql, batch.size()), batch, row -> result.putIfAbsent(row.getInteger(column), row));
+      }
+      return new ArrayList<>(result.values());
+   }
+
+   /**
+    * Retrieve rows which are the same for every project. When reading
+    * multiple projects the rows are only retrieved once.
+    *
+    * @param sql query statement
+    * @return list of rows
+    */
+   private List<Row> getCachedRows(String sql) throws SQLException
+   {
+      if (m_projectIDs == null)
+      {
+         return getRows(sql);
+      }
+
+      List<Row> result = m_cachedRows.get(sql);
+      if (result == null)
+      {
+         result = getRows(sql);
+         m_cachedRows.put(sql, result);
+      }
+      return result;
+   }
+
+   /**
+    * Retrieve rows which are the same for every project,
+    * using a query which takes a single parameter. When reading
+    * multiple projects the rows are only retrieved once.
+    *
+    * @param sql query statement
+    * @param var bind variable value
+    * @return list of rows
+    */
+   private List<Row> getCachedRows(String sql, Integer var) throws SQLException
+   {
+      if (m_projectIDs == null)
+      {
+         return getRows(sql, var);
+      }
+
+      String key = sql + "|" + var;
+      List<Row> result = m_cachedRows.get(key);
+      if (result == null)
+      {
+         result = getRows(sql, var);
+         m_cachedRows.put(key, result);
+      }
+      return result;
+   }
+
+   /**
+    * Convert a query which selects rows for a single project
+    * into a query which selects rows for a batch of projects.
+    *
+    * @param sql query statement
+    * @param count number of projects in the batch
+    * @return updated query statement
+    */
+   private String getBatchSql(String sql, int count)
+   {
+      return sql.replace("proj_id=?", "proj_id in (" + String.join(",", Collections.nCopies(count, "?")) + ")");
    }
 
    /**
@@ -651,6 +871,19 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
       }
    }
 
+   /**
+    * Closes the database connection, if we allocated it.
+    */
+   private void releaseConnection()
+   {
+      if (m_allocatedConnection)
+      {
+         AutoCloseableHelper.closeQuietly(m_connection);
+         m_connection = null;
+         m_allocatedConnection = false;
+      }
+   }
+
    /**
     * Set the name of the schema containing the Primavera tables.
     *
@@ -811,10 +1044,19 @@ public final class PrimaveraDatabaseReader extends AbstractProjectReader
    private boolean m_ignoreErrors = true;
    private Set<String> m_tableNames;
    private boolean m_readSharedData;
+   private List<Integer> m_projectIDs;
+   private List<Integer> m_batch;
+   private final Map<String, Map<Integer, List<Row>>> m_batchRows = new HashMap<>();
+   private final Map<String, List<Row>> m_batchRelatedRows = new HashMap<>();
+   private final Map<String, List<Row>> m_cachedRows = new HashMap<>();
 
    private final Map<FieldType, String> m_resourceFields = PrimaveraReader.getDefaultResourceFieldMap();
    private final Map<FieldType, String> m_roleFields = PrimaveraReader.getDefaultRoleFieldMap();
    private final Map<FieldType, String> m_wbsFields = PrimaveraReader.getDefaultWbsFieldMap();
    private final Map<FieldType, String> m_taskFields = PrimaveraReader.getDefaultTaskFieldMap();
    private final Map<FieldType, String> m_assignmentFields = PrimaveraReader.getDefaultAssignmentFieldMap();
+
+   // Number of projects retrieved by each query when reading multiple projects.
+   // Kept small to stay well within the limits on bind variables imposed by some databases.
+   private static final int BATCH_SIZE = 100;
 }
\ No newline at end of file
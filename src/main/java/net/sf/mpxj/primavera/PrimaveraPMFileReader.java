@@ -38,13 +38,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import net.sf.mpxj.BaselineStrategy;
 import net.sf.mpxj.ProjectFileSharedData;
@@ -65,9 +71,13 @@ import net.sf.mpxj.UserDefinedField;
 import net.sf.mpxj.common.ColorHelper;
 import net.sf.mpxj.common.HierarchyHelper;
 import net.sf.mpxj.common.InputStreamHelper;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.LocalDateHelper;
 import net.sf.mpxj.common.LocalDateTimeHelper;
 import net.sf.mpxj.primavera.schema.ActivityStepType;
+import net.sf.mpxj.primavera.schema.CostAccountType;
+import net.sf.mpxj.primavera.schema.ExpenseCategoryType;
+import net.sf.mpxj.primavera.schema.LocationType;
 import net.sf.mpxj.primavera.schema.ProjectListType;
 import net.sf.mpxj.primavera.schema.ResourceRoleType;
 import net.sf.mpxj.primavera.schema.ShiftPeriodType;
@@ -211,6 +221,33 @@ public final class PrimaveraPMFileReader extends AbstractProjectStreamReader
       return m_baselineStrategy;
    }
 
+   /**
+    * Set a flag to determine if the file is read as a stream. Rather than
+    * unmarshalling the complete file before any conversion takes place,
+    * the shared data is read first, then each project is unmarshalled,
+    * converted, and discarded in turn. This significantly reduces the memory
+    * required to read large files containing many projects. Data which is not
+    * used by MPXJ is skipped rather than unmarshalled. Note that this mode
+    * relies on the shared data appearing ahead of the projects in the file,
+    * as is the case for files written by P6.
+    *
+    * @param streamingInput true to read the file as a stream
+    */
+   public void setStreamingInput(boolean streamingInput)
+   {
+      m_streamingInput = streamingInput;
+   }
+
+   /**
+    * Retrieve a flag indicating if the file is read as a stream.
+    *
+    * @return true if the file is read as a stream
+    */
+   public boolean getStreamingInput()
+   {
+      return m_streamingInput;
+   }
+
    /**
     * Populates a Map instance representing the IDs and names of
     * projects available in the current file.
@@ -220,6 +257,11 @@ public final class PrimaveraPMFileReader extends AbstractProjectStreamReader
     */
    public Map<Integer, String> listProjects(InputStream is) throws MPXJException
    {
+      if (m_streamingInput)
+      {
+         return listProjectsFromStream(is);
+      }
+
       APIBusinessObjects apibo = processFile(is);
       List<ProjectType> projects = apibo.getProject();
 
@@ -258,15 +300,21 @@ public final class PrimaveraPMFileReader extends AbstractProjectStreamReader
     */
    @Override public List<ProjectFile> readAll(InputStream is) throws MPXJException
    {
-      APIBusinessObjects apibo = processFile(is);
-
-      List<ProjectType> projects = apibo.getProject();
-      List<BaselineProjectType> baselineProjects = apibo.getBaselineProject();
-      List<ProjectFile> result = new ArrayList<>(projects.size() + baselineProjects.size());
+      List<ProjectFile> result = new ArrayList<>();
       m_externalRelations = new ArrayList<>();
 
-      projects.forEach(project -> result.add(read(apibo, project)));
-      baselineProjects.forEach(project -> result.add(read(apibo, project)));
+      APIBusinessObjects apibo;
+      if (m_streamingInput)
+      {
+         apibo = new APIBusinessObjects();
+         processFileFromStream(is, apibo, project -> result.add(read(apibo, project)));
+      }
+      else
+      {
+         apibo = processFile(is);
+         apibo.getProject().forEach(project -> result.add(read(apibo, project)));
+         apibo.getBaselineProject().forEach(project -> result.add(read(apibo, project)));
+      }
 
       // Sort to ensure exported project is first
       result.sort((o1, o2) -> Boolean.compare(o2.getProjectProperties().getExportFlag(), o1.getProjectProperties().getExportFlag()));
@@ -406,20 +454,248 @@ public final class PrimaveraPMFileReader extends AbstractProjectStreamReader
    {
       try
       {
-         if (CONTEXT == null)
+         return (APIBusinessObjects) UnmarshalHelper.unmarshal(JaxbContextRegistry.getContext(JaxbContextRegistry.PRIMAVERA), configureInputSource(stream), new NamespaceFilter(), false);
+      }
+
+      catch (ParserConfigurationException | IOException | SAXException | JAXBException ex)
+      {
+         throw new MPXJException("Failed to parse file", ex);
+      }
+   }
+
+   /**
+    * Read the file as a stream. Shared data is added to the supplied
+    * APIBusinessObjects instance, projects and baseline projects are
+    * passed to the consumer as soon as they have been unmarshalled.
+    *
+    * @param stream input stream
+    * @param apibo container for shared data
+    * @param consumer consumer for projects
+    */
+   private void processFileFromStream(InputStream stream, APIBusinessObjects apibo, Consumer<Object> consumer) throws MPXJException
+   {
+      try
+      {
+         Unmarshaller unmarshaller = JaxbContextRegistry.getContext(JaxbContextRegistry.PRIMAVERA).createUnmarshaller();
+         XMLStreamReader reader = createStreamReader(stream);
+
+         try
          {
-            throw CONTEXT_EXCEPTION;
+            if (!nextElement(reader))
+            {
+               return;
+            }
+
+            // Move to the first child of the root element
+            reader.next();
+
+            while (nextElement(reader))
+            {
+               String name = reader.getLocalName();
+               Class<?> projectType = PROJECT_ELEMENTS.get(name);
+               if (projectType != null)
+               {
+                  consumer.accept(unmarshaller.unmarshal(reader, projectType).getValue());
+                  continue;
+               }
+
+               GlobalElement<?> element = GLOBAL_ELEMENTS.get(name);
+               if (element == null)
+               {
+                  skipElement(reader);
+               }
+               else
+               {
+                  element.add(apibo, unmarshaller.unmarshal(reader, element.getType()).getValue());
+               }
+            }
          }
 
-         return (APIBusinessObjects) UnmarshalHelper.unmarshal(CONTEXT, configureInputSource(stream), new NamespaceFilter(), false);
+         finally
+         {
+            reader.close();
+         }
       }
 
-      catch (ParserConfigurationException | IOException | SAXException | JAXBException ex)
+      catch (IOException | XMLStreamException | JAXBException ex)
       {
          throw new MPXJException("Failed to parse file", ex);
       }
    }
 
+   /**
+    * Retrieve the ID and name of each project by reading the file as a stream.
+    * Only the name and object ID of each project are read, the remainder of
+    * the file is skipped.
+    *
+    * @param stream input stream
+    * @return Map instance containing ID and name pairs
+    */
+   private Map<Integer, String> listProjectsFromStream(InputStream stream) throws MPXJException
+   {
+      try
+      {
+         Map<Integer, String> result = new HashMap<>();
+         XMLStreamReader reader = createStreamReader(stream);
+
+         try
+         {
+            if (!nextElement(reader))
+            {
+               return result;
+            }
+
+            reader.next();
+
+            while (nextElement(reader))
+            {
+               if (!reader.getLocalName().equals("Project"))
+               {
+                  skipElement(reader);
+                  continue;
+               }
+
+               Integer objectID = null;
+               String name = null;
+
+               reader.next();
+               while ((objectID == null || name == null) && nextElement(reader))
+               {
+                  switch (reader.getLocalName())
+                  {
+                     case "ObjectId":
+                     {
+                        objectID = Integer.valueOf(reader.getElementText().trim());
+                        reader.next();
+                        break;
+                     }
+
+                     case "Name":
+                     {
+                        name = reader.getElementText();
+                        reader.next();
+                        break;
+                     }
+
+                     default:
+                     {
+                        skipElement(reader);
+                        break;
+                     }
+                  }
+               }
+
+               result.put(objectID, name);
+
+               // Skip the remainder of the project
+               while (nextElement(reader))
+               {
+                  skipElement(reader);
+               }
+               reader.next();
+            }
+         }
+
+         finally
+         {
+            reader.close();
+         }
+
+         return result;
+      }
+
+      catch (IOException | XMLStreamException | NumberFormatException ex)
+      {
+         throw new MPXJException("Failed to parse file", ex);
+      }
+   }
+
+   /**
+    * Create a StAX reader for the supplied stream.
+    *
+    * @param stream input stream
+    * @return XMLStreamReader instance
+    */
+   private XMLStreamReader createStreamReader(InputStream stream) throws IOException, XMLStreamException
+   {
+      XMLInputFactory factory = XMLInputFactory.newInstance();
+      factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+      factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+
+      InputSource source = configureInputSource(stream);
+      XMLStreamReader reader = source.getCharacterStream() == null ? factory.createXMLStreamReader(source.getByteStream()) : factory.createXMLStreamReader(source.getCharacterStream());
+      return new NamespaceStreamReader(reader);
+   }
+
+   /**
+    * Advance the reader to the next start element at the current level.
+    * Returns false if the end of the enclosing element, or the end of the
+    * document, is reached first.
+    *
+    * @param reader XMLStreamReader instance
+    * @return true if the reader is positioned at a start element
+    */
+   private boolean nextElement(XMLStreamReader reader) throws XMLStreamException
+   {
+      while (true)
+      {
+         switch (reader.getEventType())
+         {
+            case XMLStreamConstants.START_ELEMENT:
+            {
+               return true;
+            }
+
+            case XMLStreamConstants.END_ELEMENT:
+            case XMLStreamConstants.END_DOCUMENT:
+            {
+               return false;
+            }
+
+            default:
+            {
+               reader.next();
+               break;
+            }
+         }
+      }
+   }
+
+   /**
+    * Skip the element at the current position, leaving the reader
+    * positioned at the event following its end element. This matches
+    * the position JAXB leaves the reader in after unmarshalling an element.
+    *
+    * @param reader XMLStreamReader instance
+    */
+   private void skipElement(XMLStreamReader reader) throws XMLStreamException
+   {
+      int depth = 1;
+      while (depth != 0)
+      {
+         switch (reader.next())
+         {
+            case XMLStreamConstants.START_ELEMENT:
+            {
+               ++depth;
+               break;
+            }
+
+            case XMLStreamConstants.END_ELEMENT:
+            {
+               --depth;
+               break;
+            }
+
+            default:
+            {
+               break;
+            }
+         }
+      }
+      reader.next();
+   }
+
    private ProjectFile read(APIBusinessObjects apibo, Object projectObject)
    {
       try
@@ -2591,38 +2867,6 @@ public final class PrimaveraPMFileReader extends AbstractProjectStreamReader
       }
    }
 
-   /**
-    * Cached context to minimise construction cost.
-    */
-   private static JAXBContext CONTEXT;
-
-   /**
-    * Note any error occurring during context construction.
-    */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
-   {
-      try
-      {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
-
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.primavera.schema", PrimaveraPMFileReader.class.getClassLoader());
-      }
-
-      catch (JAXBException ex)
-      {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
-      }
-   }
-
    private Integer m_projectID;
    private ProjectFile m_projectFile;
    private ProjectFileSharedData m_shared;
@@ -2632,6 +2876,7 @@ public final class PrimaveraPMFileReader extends AbstractProjectStreamReader
    private List<ExternalRelation> m_externalRelations;
    private boolean m_linkCrossProjectRelations;
    private BaselineStrategy m_baselineStrategy = PrimaveraBaselineStrategy.PLANNED_ATTRIBUTES;
+   private boolean m_streamingInput;
 
    private static final Map<String, DayOfWeek> DAY_MAP = new HashMap<>();
    static
@@ -2670,4 +2915,81 @@ public final class PrimaveraPMFileReader extends AbstractProjectStreamReader
 
    private static final Pattern ENCODING_PATTERN = Pattern.compile(".*<\\?xml.*encoding=\"([^\"]+)\".*\\?>.*", Pattern.DOTALL);
    private static final LocalTime NON_WORKING_END_TIME = LocalTime.of(23, 59);
+
+   /**
+    * Describes a top level element containing shared data, and how to add
+    * it to an APIBusinessObjects instance once it has been unmarshalled.
+    *
+    * @param <T> element type
+    */
+   private static final class GlobalElement<T>
+   {
+      /**
+       * Constructor.
+       *
+       * @param type element type
+       * @param consumer adds the element to an APIBusinessObjects instance
+       */
+      public GlobalElement(Class<T> type, BiConsumer<APIBusinessObjects, T> consumer)
+      {
+         m_type = type;
+         m_consumer = consumer;
+      }
+
+      /**
+       * Retrieve the element type.
+       *
+       * @return element type
+       */
+      public Class<T> getType()
+      {
+         return m_type;
+      }
+
+      /**
+       * Add an unmarshalled element to an APIBusinessObjects instance.
+       *
+       * @param apibo APIBusinessObjects instance
+       * @param value unmarshalled element
+       */
+      public void add(APIBusinessObjects apibo, Object value)
+      {
+         m_consumer.accept(apibo, m_type.cast(value));
+      }
+
+      private final Class<T> m_type;
+      private final BiConsumer<APIBusinessObjects, T> m_consumer;
+   }
+
+   private static final Map<String, Class<?>> PROJECT_ELEMENTS = new HashMap<>();
+   static
+   {
+      PROJECT_ELEMENTS.put("Project", ProjectType.class);
+      PROJECT_ELEMENTS.put("BaselineProject", BaselineProjectType.class);
+   }
+
+   private static final Map<String, GlobalElement<?>> GLOBAL_ELEMENTS = new HashMap<>();
+   static
+   {
+      GLOBAL_ELEMENTS.put("ProjectList", new GlobalElement<>(ProjectListType.class, APIBusinessObjects::setProjectList));
+      GLOBAL_ELEMENTS.put("UnitOfMeasure", new GlobalElement<>(UnitOfMeasureType.class, (a, v) -> a.getUnitOfMeasure().add(v)));
+      GLOBAL_ELEMENTS.put("CostAccount", new GlobalElement<>(CostAccountType.class, (a, v) -> a.getCostAccount().add(v)));
+      GLOBAL_ELEMENTS.put("Currency", new GlobalElement<>(CurrencyType.class, (a, v) -> a.getCurrency().add(v)));
+      GLOBAL_ELEMENTS.put("UDFType", new GlobalElement<>(UDFTypeType.class, (a, v) -> a.getUDFType().add(v)));
+      GLOBAL_ELEMENTS.put("Location", new GlobalElement<>(LocationType.class, (a, v) -> a.getLocation().add(v)));
+      GLOBAL_ELEMENTS.put("ExpenseCategory", new GlobalElement<>(ExpenseCategoryType.class, (a, v) -> a.getExpenseCategory().add(v)));
+      GLOBAL_ELEMENTS.put("NotebookTopic", new GlobalElement<>(NotebookTopicType.class, (a, v) -> a.getNotebookTopic().add(v)));
+      GLOBAL_ELEMENTS.put("Shift", new GlobalElement<>(ShiftType.class, (a, v) -> a.getShift().add(v)));
+      GLOBAL_ELEMENTS.put("Calendar", new GlobalElement<>(CalendarType.class, (a, v) -> a.getCalendar().add(v)));
+      GLOBAL_ELEMENTS.put("ResourceCurve", new GlobalElement<>(ResourceCurveType.class, (a, v) -> a.getResourceCurve().add(v)));
+      GLOBAL_ELEMENTS.put("Role", new GlobalElement<>(RoleType.class, (a, v) -> a.getRole().add(v)));
+      GLOBAL_ELEMENTS.put("RoleRate", new GlobalElement<>(RoleRateType.class, (a, v) -> a.getRoleRate().add(v)));
+      GLOBAL_ELEMENTS.put("RoleRateNew", new GlobalElement<>(RoleRateType.class, (a, v) -> a.getRoleRateNew().add(v)));
+      GLOBAL_ELEMENTS.put("Resource", new GlobalElement<>(ResourceType.class, (a, v) -> a.getResource().add(v)));
+      GLOBAL_ELEMENTS.put("ResourceRate", new GlobalElement<>(ResourceRateType.class, (a, v) -> a.getResourceRate().add(v)));
+      GLOBAL_ELEMENTS.put("ActivityCodeType", new GlobalElement<>(ActivityCodeTypeType.class, (a, v) -> a.getActivityCodeType().add(v)));
+      GLOBAL_ELEMENTS.put("ActivityCode", new GlobalElement<>(ActivityCodeType.class, (a, v) -> a.getActivityCode().add(v)));
+      GLOBAL_ELEMENTS.put("ResourceRole", new GlobalElement<>(ResourceRoleType.class, (a, v) -> a.getResourceRole().add(v)));
+      GLOBAL_ELEMENTS.put("GlobalPreferences", new GlobalElement<>(GlobalPreferencesType.class, (a, v) -> a.getGlobalPreferences().add(v)));
+   }
 }
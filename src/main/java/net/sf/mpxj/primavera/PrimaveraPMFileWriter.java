@@ -28,7 +28,6 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Objects;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import javax.xml.transform.OutputKeys;
@@ -41,6 +40,7 @@ import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.common.JaxbContextRegistry;
 import net.sf.mpxj.common.MarshallerHelper;
 import net.sf.mpxj.primavera.schema.APIBusinessObjects;
 import net.sf.mpxj.primavera.schema.ObjectFactory;
@@ -79,11 +79,6 @@ public final class PrimaveraPMFileWriter extends AbstractProjectWriter
    {
       try
       {
-         if (CONTEXT == null)
-         {
-            throw CONTEXT_EXCEPTION;
-         }
-
          //
          // The Primavera schema defines elements as nillable, which by
          // default results in
@@ -112,7 +107,7 @@ public final class PrimaveraPMFileWriter extends AbstractProjectWriter
             // support it, swallow any errors raised trying to configure it.
          }
 
-         Marshaller marshaller = MarshallerHelper.create(CONTEXT);
+         Marshaller marshaller = MarshallerHelper.create(JaxbContextRegistry.getContext(JaxbContextRegistry.PRIMAVERA));
 
          marshaller.setProperty(Marshaller.JAXB_SCHEMA_LOCATION, "");
 
@@ -140,37 +135,5 @@ public final class PrimaveraPMFileWriter extends AbstractProjectWriter
 
    private boolean m_writeBaselines;
 
-   /**
-    * Cached context to minimise construction cost.
-    */
-   private static JAXBContext CONTEXT;
-
-   /**
-    * Note any error occurring during context construction.
-    */
-   private static JAXBException CONTEXT_EXCEPTION;
-
-   static
-   {
-      try
-      {
-         //
-         // JAXB RI property to speed up construction
-         //
-         System.setProperty("com.sun.xml.bind.v2.runtime.JAXBContextImpl.fastBoot", "true");
-
-         //
-         // Construct the context
-         //
-         CONTEXT = JAXBContext.newInstance("net.sf.mpxj.primavera.schema", PrimaveraPMFileWriter.class.getClassLoader());
-      }
-
-      catch (JAXBException ex)
-      {
-         CONTEXT_EXCEPTION = ex;
-         CONTEXT = null;
-      }
-   }
-
    private static final String NILLABLE_STYLESHEET = "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"><xsl:output method=\"xml\" indent=\"yes\"/><xsl:template match=\"node()[not(@xsi:nil = 'true')]|@*\"><xsl:copy><xsl:apply-templates select=\"node()|@*\"/></xsl:copy></xsl:template></xsl:stylesheet>";
 }
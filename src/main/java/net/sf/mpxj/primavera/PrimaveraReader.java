@@ -1414,12 +1414,7 @@ final class PrimaveraReader
                continue;
             }
 
-            NotesTopic topic = topics.getByUniqueID(row.getInteger("memo_type_id"));
-            if (topic == null)
-            {
-               topic = topics.getDefaultTopic();
-            }
-
+            NotesTopic topic = getNotesTopic(topics, row.getInteger("memo_type_id"));
             list.add(new StructuredNotes(m_project, row.getInteger(uniqueIDColumn), topic, notes));
          }
 
@@ -1429,6 +1424,25 @@ final class PrimaveraReader
       return result;
    }
 
+   /**
+    * Retrieve a notes topic by Unique ID, falling back on the default topic.
+    * The topics container is shared between projects, and may be updated
+    * here when the default topic is first used, so access is synchronized
+    * to allow projects to be read in parallel.
+    *
+    * @param topics notes topics
+    * @param uniqueID topic Unique ID
+    * @return NotesTopic instance
+    */
+   private NotesTopic getNotesTopic(NotesTopicContainer topics, Integer uniqueID)
+   {
+      synchronized (topics)
+      {
+         NotesTopic topic = topics.getByUniqueID(uniqueID);
+         return topic == null ? topics.getDefaultTopic() : topic;
+      }
+   }
+
    /**
     * Create an HtmlNote instance.
     *
@@ -33,12 +33,17 @@ import java.text.ParseException;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import net.sf.mpxj.DataType;
 import net.sf.mpxj.FieldType;
@@ -115,6 +120,37 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
       m_linkCrossProjectRelations = linkCrossProjectRelations;
    }
 
+   /**
+    * Retrieve the number of threads used to read projects when
+    * using `readAll`.
+    *
+    * @return number of threads
+    */
+   public int getParallelism()
+   {
+      return m_parallelism;
+   }
+
+   /**
+    * Sets the number of threads used to read projects when using `readAll`.
+    * The default value of 1 reads each project in turn on the calling thread.
+    * Setting a larger value allows files containing many projects to
+    * be read more quickly. The projects returned are the same, and in the
+    * same order, regardless of this setting. When this value is greater
+    * than 1, any project listeners added to this reader will be called
+    * concurrently from multiple threads, and must be thread safe.
+    *
+    * @param parallelism number of threads
+    */
+   public void setParallelism(int parallelism)
+   {
+      if (parallelism < 1)
+      {
+         throw new IllegalArgumentException("Parallelism must be at least 1");
+      }
+      m_parallelism = parallelism;
+   }
+
    @Override public ProjectFile read(InputStream is) throws MPXJException
    {
       ProjectFile project = null;
@@ -155,6 +191,8 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
       try
       {
          m_tables = new HashMap<>();
+         m_tableIndexes = new ConcurrentHashMap<>();
+         m_requiredTables = REQUIRED_TABLES;
          m_numberFormat = new DecimalFormat();
          m_readSharedData = true;
 
@@ -164,14 +202,21 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
          List<ProjectFile> result = new ArrayList<>(rows.size());
          List<ExternalRelation> externalRelations = new ArrayList<>();
          ProjectFileSharedData shared = new ProjectFileSharedData();
-         for (Row row : rows)
+         if (m_parallelism > 1 && rows.size() > 2)
+         {
+            readProjectsInParallel(rows, shared, result, externalRelations);
+         }
+         else
          {
-            setProjectID(row.getInt("proj_id"));
-            m_reader = new PrimaveraReader(shared, m_resourceFields, m_roleFields, m_wbsFields, m_taskFields, m_assignmentFields, m_matchPrimaveraWBS, m_wbsIsFullPath, m_ignoreErrors);
-            ProjectFile project = readProject();
-            externalRelations.addAll(m_reader.getExternalRelations());
+            for (Row row : rows)
+            {
+               setProjectID(row.getInt("proj_id"));
+               m_reader = createPrimaveraReader(shared);
+               ProjectFile project = readProject();
+               externalRelations.addAll(m_reader.getExternalRelations());
 
-            result.add(project);
+               result.add(project);
+            }
          }
 
          // Sort to ensure exported project is first
@@ -208,11 +253,104 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
       finally
       {
          m_tables = null;
+         m_tableIndexes = null;
+         m_requiredTables = null;
          m_numberFormat = null;
          m_reader = null;
       }
    }
 
+   /**
+    * Read each project using a pool of threads. The first project is read
+    * on the current thread as this also populates the shared data used by
+    * all of the projects. Each of the remaining projects is read using a
+    * separate reader instance which shares the table data read from the file.
+    * Once the first project has been read the shared data is only read by the
+    * workers, with the exception of the notes topics which are updated under
+    * a lock if the default topic is required. The projects and external
+    * relations are returned in the same order as they would be when
+    * reading sequentially.
+    *
+    * @param rows project rows
+    * @param shared shared data
+    * @param result list to which the projects are added
+    * @param externalRelations list to which external relations are added
+    */
+   private void readProjectsInParallel(List<Row> rows, ProjectFileSharedData shared, List<ProjectFile> result, List<ExternalRelation> externalRelations) throws MPXJException
+   {
+      setProjectID(rows.get(0).getInt("proj_id"));
+      m_reader = createPrimaveraReader(shared);
+      result.add(readProject());
+      externalRelations.addAll(m_reader.getExternalRelations());
+
+      List<PrimaveraXERFileReader> workers = new ArrayList<>(rows.size() - 1);
+      for (Row row : rows.subList(1, rows.size()))
+      {
+         setProjectID(row.getInt("proj_id"));
+         PrimaveraXERFileReader worker = new PrimaveraXERFileReader();
+         addListenersToReader(worker);
+         worker.m_tables = m_tables;
+         worker.m_tableIndexes = m_tableIndexes;
+         worker.m_projectID = m_projectID;
+         worker.m_reader = createPrimaveraReader(shared);
+         workers.add(worker);
+      }
+
+      ForkJoinPool pool = new ForkJoinPool(m_parallelism);
+      try
+      {
+         List<Future<ProjectFile>> futures = new ArrayList<>(workers.size());
+         for (PrimaveraXERFileReader worker : workers)
+         {
+            futures.add(pool.submit(worker::readProject));
+         }
+
+         for (int index = 0; index < workers.size(); index++)
+         {
+            result.add(futures.get(index).get());
+            externalRelations.addAll(workers.get(index).m_reader.getExternalRelations());
+         }
+      }
+
+      catch (InterruptedException ex)
+      {
+         Thread.currentThread().interrupt();
+         throw new MPXJException(MPXJException.READ_ERROR, ex);
+      }
+
+      catch (ExecutionException ex)
+      {
+         Throwable cause = ex.getCause();
+         if (cause instanceof RuntimeException)
+         {
+            throw (RuntimeException) cause;
+         }
+
+         if (cause instanceof Error)
+         {
+            throw (Error) cause;
+         }
+
+         throw new MPXJException(MPXJException.READ_ERROR, ex);
+      }
+
+      finally
+      {
+         pool.shutdownNow();
+      }
+   }
+
+   /**
+    * Create a PrimaveraReader instance configured using the settings from this reader.
+    *
+    * @param shared shared data
+    * @return PrimaveraReader instance
+    */
+   private PrimaveraReader createPrimaveraReader(ProjectFileSharedData shared)
+   {
+      return new PrimaveraReader(shared, m_resourceFields, m_roleFields, m_wbsFields, m_taskFields, m_assignmentFields, m_matchPrimaveraWBS, m_wbsIsFullPath, m_ignoreErrors);
+   }
+
    /**
     * Common project read functionality.
     *
@@ -270,6 +408,7 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
          m_currentTableName = null;
          m_currentTable = null;
          m_currentFieldNames = null;
+         m_currentFieldTypes = null;
          m_defaultCurrencyName = null;
          m_numberFormat = null;
          m_defaultCurrencyData = null;
@@ -383,6 +522,8 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
       try
       {
          m_tables = new HashMap<>();
+         m_tableIndexes = new ConcurrentHashMap<>();
+         m_requiredTables = PROJECT_LIST_TABLES;
          processFile(is);
 
          Map<Integer, String> result = new HashMap<>();
@@ -401,8 +542,11 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
       finally
       {
          m_tables = null;
+         m_tableIndexes = null;
+         m_requiredTables = null;
          m_currentTable = null;
          m_currentFieldNames = null;
+         m_currentFieldTypes = null;
       }
    }
 
@@ -723,8 +867,9 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
 
          case TABLE:
          {
+            completeTable();
             m_currentTableName = record.size() > 1 ? record.get(1).toLowerCase() : null;
-            m_skipTable = !REQUIRED_TABLES.contains(m_currentTableName);
+            m_skipTable = !m_requiredTables.contains(m_currentTableName);
             if (m_skipTable)
             {
                m_currentTable = null;
@@ -742,14 +887,19 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
             if (m_skipTable)
             {
                m_currentFieldNames = null;
+               m_currentFieldTypes = null;
+               m_currentTableData = null;
             }
             else
             {
                m_currentFieldNames = record.toArray(new String[0]);
+               m_currentFieldTypes = new DataType[m_currentFieldNames.length];
                for (int loop = 0; loop < m_currentFieldNames.length; loop++)
                {
                   m_currentFieldNames[loop] = m_currentFieldNames[loop].toLowerCase();
+                  m_currentFieldTypes[loop] = getFieldType(m_currentFieldNames[loop]);
                }
+               m_currentTableData = new XerTable(m_currentFieldNames, m_currentFieldTypes, m_ignoreErrors);
             }
             break;
          }
@@ -765,6 +915,7 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
 
          case END:
          {
+            completeTable();
             done = true;
             break;
          }
@@ -785,7 +936,7 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
     */
    private void processData(List<String> record)
    {
-      Map<String, Object> map = new HashMap<>();
+      int rowIndex = m_currentTableData.addRow();
       for (int loop = 1; loop < record.size(); loop++)
       {
          // We have more fields than field names, stop processing
@@ -794,9 +945,8 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
             break;
          }
 
-         String fieldName = m_currentFieldNames[loop];
          String fieldValue = record.get(loop);
-         DataType fieldType = getFieldType(fieldName);
+         DataType fieldType = m_currentFieldTypes[loop];
 
          Object objectValue;
          if (fieldValue.isEmpty())
@@ -860,10 +1010,10 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
             }
          }
 
-         map.put(fieldName, objectValue);
+         m_currentTableData.setValue(rowIndex, loop, objectValue);
       }
 
-      Row currentRow = new MapRow(map, m_ignoreErrors);
+      Row currentRow = m_currentTableData.getRow(rowIndex);
       m_currentTable.add(currentRow);
 
       //
@@ -877,6 +1027,18 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
       }
    }
 
+   /**
+    * Release any unused storage once all rows for the current table have been read.
+    */
+   private void completeTable()
+   {
+      if (m_currentTableData != null)
+      {
+         m_currentTableData.trim();
+         m_currentTableData = null;
+      }
+   }
+
    /**
     * Handle unescaping of double quotes.
     *
@@ -1013,25 +1175,43 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
       }
       else
       {
+         // Return a copy as callers may sort the rows
          if (columnName == null)
          {
-            result = table;
+            result = new ArrayList<>(table);
          }
          else
          {
-            result = new ArrayList<>();
-            for (Row row : table)
-            {
-               if (NumberHelper.equals(id, row.getInteger(columnName)))
-               {
-                  result.add(row);
-               }
-            }
+            result = new ArrayList<>(getTableIndex(tableName, columnName, table).getOrDefault(id, Collections.emptyList()));
          }
       }
       return result;
    }
 
+   /**
+    * Retrieve an index of the rows in a table, keyed by the value
+    * of the named column. The index is built the first time it is
+    * requested, and preserves the order of the rows in the table.
+    * This avoids scanning the whole table each time we filter it,
+    * which is significant when reading a file containing many projects.
+    *
+    * @param tableName table name
+    * @param columnName column name
+    * @param table table rows
+    * @return index of table rows
+    */
+   private Map<Integer, List<Row>> getTableIndex(String tableName, String columnName, List<Row> table)
+   {
+      return m_tableIndexes.computeIfAbsent(tableName + "." + columnName, k -> {
+         Map<Integer, List<Row>> index = new HashMap<>();
+         for (Row row : table)
+         {
+            index.computeIfAbsent(row.getInteger(columnName), x -> new ArrayList<>()).add(row);
+         }
+         return index;
+      });
+   }
+
    /**
     * If set to true, the WBS for each task read from Primavera will exactly match the WBS value shown in Primavera.
     * If set to false, each task will be given a unique WBS based on the WBS present in Primavera.
@@ -1117,9 +1297,13 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
    private Integer m_projectID;
    boolean m_skipTable;
    private Map<String, List<Row>> m_tables;
+   private Map<String, Map<Integer, List<Row>>> m_tableIndexes;
    private String m_currentTableName;
    private List<Row> m_currentTable;
    private String[] m_currentFieldNames;
+   private DataType[] m_currentFieldTypes;
+   private XerTable m_currentTableData;
+   private Set<String> m_requiredTables;
    private String m_defaultCurrencyName;
    private DecimalFormat m_numberFormat;
    private Row m_defaultCurrencyData;
@@ -1135,6 +1319,7 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
    private boolean m_linkCrossProjectRelations;
    private boolean m_ignoreErrors = true;
    private boolean m_readSharedData;
+   private int m_parallelism = 1;
 
    /**
     * Represents expected record types.
@@ -1356,5 +1541,11 @@ public final class PrimaveraXERFileReader extends AbstractProjectStreamReader im
       REQUIRED_TABLES.add("rsrcrole");
    }
 
+   /**
+    * When listing projects we only need to retain the project table, and currency
+    * definitions which are processed as they are read.
+    */
+   private static final Set<String> PROJECT_LIST_TABLES = new HashSet<>(Arrays.asList("project", "currtype"));
+
    private static final WbsRowComparatorXER WBS_ROW_COMPARATOR = new WbsRowComparatorXER();
 }
@@ -23,6 +23,7 @@
 
 package net.sf.mpxj.primavera;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -116,7 +117,7 @@ public class PrimaveraXERFileWriter extends AbstractProjectWriter
    @Override public void write(ProjectFile projectFile, OutputStream outputStream) throws IOException
    {
       m_file = projectFile;
-      m_writer = new XerWriter(projectFile, new OutputStreamWriter(outputStream, getCharset()));
+      m_writer = new XerWriter(projectFile, new BufferedWriter(new OutputStreamWriter(outputStream, getCharset()), BUFFER_SIZE));
       m_rateObjectID = new ObjectSequence(1);
       m_userDefinedFields = UdfHelper.getUserDefinedFieldsSet(projectFile);
       m_projectFromPrimavera = "Primavera".equals(m_file.getProjectProperties().getFileApplication());
@@ -1095,6 +1096,7 @@ public class PrimaveraXERFileWriter extends AbstractProjectWriter
    private static final Integer DEFAULT_PROJECT_ID = Integer.valueOf(1);
    private static final String RESOURCE_ID_PREFIX = "RESOURCE-";
    private static final String ROLE_ID_PREFIX = "ROLE-";
+   private static final int BUFFER_SIZE = 65536;
 
    interface ExportFunction<T>
    {
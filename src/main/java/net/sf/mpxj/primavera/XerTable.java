@@ -0,0 +1,456 @@
+/*
+ * file:       XerTable.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.primavera;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.sf.mpxj.DataType;
+
+/**
+ * Compact column-oriented storage for the rows of a single table read
+ * from an XER file. The column names are shared by all rows in the table,
+ * and numeric, integer and date values are held in primitive arrays
+ * rather than as individual objects. Rows are exposed via the Row interface.
+ */
+final class XerTable
+{
+   /**
+    * Constructor.
+    *
+    * @param fieldNames lower case column names, the first entry is the record type marker and is ignored
+    * @param fieldTypes column types, matching the field names array
+    * @param ignoreErrors true if errors reading values are ignored
+    */
+   public XerTable(String[] fieldNames, DataType[] fieldTypes, boolean ignoreErrors)
+   {
+      m_ignoreErrors = ignoreErrors;
+      m_columns = new Column[fieldNames.length];
+      for (int index = 1; index < fieldNames.length; index++)
+      {
+         m_columnIndex.put(fieldNames[index], Integer.valueOf(index));
+         m_columns[index] = createColumn(fieldTypes[index]);
+      }
+   }
+
+   /**
+    * Add a new empty row to the table.
+    *
+    * @return row index
+    */
+   public int addRow()
+   {
+      return m_rowCount++;
+   }
+
+   /**
+    * Retrieve a Row instance representing a row in this table.
+    *
+    * @param row row index
+    * @return Row instance
+    */
+   public Row getRow(int row)
+   {
+      return new XerRow(this, row);
+   }
+
+   /**
+    * Set a value in the table.
+    *
+    * @param row row index
+    * @param column column index
+    * @param value column value
+    */
+   public void setValue(int row, int column, Object value)
+   {
+      if (value != null)
+      {
+         m_columns[column].set(row, value);
+      }
+   }
+
+   /**
+    * Release any unused capacity once all rows have been added.
+    */
+   public void trim()
+   {
+      for (int index = 1; index < m_columns.length; index++)
+      {
+         m_columns[index].trim(m_rowCount);
+      }
+   }
+
+   /**
+    * Retrieve a value from the table.
+    *
+    * @param row row index
+    * @param name column name
+    * @return column value
+    */
+   Object getValue(int row, String name)
+   {
+      Integer column = m_columnIndex.get(name);
+      return column == null ? null : m_columns[column.intValue()].get(row);
+   }
+
+   /**
+    * Create the storage for a column of the given type.
+    *
+    * @param type column type
+    * @return column storage
+    */
+   private static Column createColumn(DataType type)
+   {
+      switch (type)
+      {
+         case DATE:
+         {
+            return new DateColumn();
+         }
+
+         case CURRENCY:
+         case NUMERIC:
+         case DURATION:
+         {
+            return new DoubleColumn();
+         }
+
+         case INTEGER:
+         {
+            return new IntegerColumn();
+         }
+
+         default:
+         {
+            return new StringColumn();
+         }
+      }
+   }
+
+   private final boolean m_ignoreErrors;
+   private final Map<String, Integer> m_columnIndex = new HashMap<>();
+   private final Column[] m_columns;
+   private int m_rowCount;
+
+   private static final int INITIAL_CAPACITY = 16;
+
+   /**
+    * A row within the table.
+    */
+   private static final class XerRow extends AbstractRow
+   {
+      /**
+       * Constructor.
+       *
+       * @param table parent table
+       * @param row row index
+       */
+      public XerRow(XerTable table, int row)
+      {
+         super(table.m_ignoreErrors);
+         m_table = table;
+         m_row = row;
+      }
+
+      @Override protected Object getObject(String name)
+      {
+         return m_table.getValue(m_row, name);
+      }
+
+      private final XerTable m_table;
+      private final int m_row;
+   }
+
+   /**
+    * Storage for the values of a single column.
+    */
+   private abstract static class Column
+   {
+      /**
+       * Set a non-null value.
+       *
+       * @param row row index
+       * @param value column value
+       */
+      abstract void set(int row, Object value);
+
+      /**
+       * Retrieve a value.
+       *
+       * @param row row index
+       * @return column value
+       */
+      abstract Object get(int row);
+
+      /**
+       * Release unused capacity.
+       *
+       * @param rowCount number of rows in the table
+       */
+      abstract void trim(int rowCount);
+
+      /**
+       * Calculate the new capacity required to hold the given row.
+       *
+       * @param currentCapacity current capacity
+       * @param row row index
+       * @return new capacity
+       */
+      static int getCapacity(int currentCapacity, int row)
+      {
+         return Math.max(row + 1, Math.max(INITIAL_CAPACITY, currentCapacity * 2));
+      }
+   }
+
+   /**
+    * Storage for string values. Short strings, typically codes and flags,
+    * are deduplicated as they are usually drawn from a small set of values.
+    */
+   private static final class StringColumn extends Column
+   {
+      @Override void set(int row, Object value)
+      {
+         if (row >= m_values.length)
+         {
+            m_values = Arrays.copyOf(m_values, getCapacity(m_values.length, row));
+         }
+
+         if (m_sharedStrings != null && value instanceof String && ((String) value).length() <= MAX_SHARED_STRING_LENGTH && m_sharedStrings.size() < MAX_SHARED_STRINGS)
+         {
+            value = m_sharedStrings.computeIfAbsent((String) value, k -> k);
+         }
+
+         m_values[row] = value;
+      }
+
+      @Override Object get(int row)
+      {
+         return row < m_values.length ? m_values[row] : null;
+      }
+
+      @Override void trim(int rowCount)
+      {
+         if (m_values.length > rowCount)
+         {
+            m_values = Arrays.copyOf(m_values, rowCount);
+         }
+         m_sharedStrings = null;
+      }
+
+      private Object[] m_values = new Object[0];
+      private Map<String, String> m_sharedStrings = new HashMap<>();
+
+      private static final int MAX_SHARED_STRING_LENGTH = 16;
+      private static final int MAX_SHARED_STRINGS = 1024;
+   }
+
+   /**
+    * Base class for columns holding primitive values. Values which could
+    * not be parsed as the expected type are retained as-is.
+    */
+   private abstract static class PrimitiveColumn extends Column
+   {
+      @Override final void set(int row, Object value)
+      {
+         if (row >= getCapacity())
+         {
+            grow(getCapacity(getCapacity(), row));
+         }
+
+         if (!setPrimitive(row, value))
+         {
+            if (m_otherValues == null)
+            {
+               m_otherValues = new HashMap<>();
+            }
+            m_otherValues.put(Integer.valueOf(row), value);
+         }
+
+         m_present.set(row);
+      }
+
+      @Override final Object get(int row)
+      {
+         if (!m_present.get(row))
+         {
+            return null;
+         }
+
+         if (m_otherValues != null)
+         {
+            Object value = m_otherValues.get(Integer.valueOf(row));
+            if (value != null)
+            {
+               return value;
+            }
+         }
+
+         return getPrimitive(row);
+      }
+
+      @Override final void trim(int rowCount)
+      {
+         if (getCapacity() > rowCount)
+         {
+            grow(rowCount);
+         }
+      }
+
+      /**
+       * Retrieve the current capacity of the column.
+       *
+       * @return capacity
+       */
+      abstract int getCapacity();
+
+      /**
+       * Resize the column.
+       *
+       * @param capacity new capacity
+       */
+      abstract void grow(int capacity);
+
+      /**
+       * Store a value as a primitive.
+       *
+       * @param row row index
+       * @param value column value
+       * @return true if the value was stored
+       */
+      abstract boolean setPrimitive(int row, Object value);
+
+      /**
+       * Retrieve a value stored as a primitive.
+       *
+       * @param row row index
+       * @return column value
+       */
+      abstract Object getPrimitive(int row);
+
+      private final BitSet m_present = new BitSet();
+      private Map<Integer, Object> m_otherValues;
+   }
+
+   /**
+    * Storage for floating point values.
+    */
+   private static final class DoubleColumn extends PrimitiveColumn
+   {
+      @Override int getCapacity()
+      {
+         return m_values.length;
+      }
+
+      @Override void grow(int capacity)
+      {
+         m_values = Arrays.copyOf(m_values, capacity);
+      }
+
+      @Override boolean setPrimitive(int row, Object value)
+      {
+         if (value instanceof Double)
+         {
+            m_values[row] = ((Double) value).doubleValue();
+            return true;
+         }
+         return false;
+      }
+
+      @Override Object getPrimitive(int row)
+      {
+         return Double.valueOf(m_values[row]);
+      }
+
+      private double[] m_values = new double[0];
+   }
+
+   /**
+    * Storage for integer values.
+    */
+   private static final class IntegerColumn extends PrimitiveColumn
+   {
+      @Override int getCapacity()
+      {
+         return m_values.length;
+      }
+
+      @Override void grow(int capacity)
+      {
+         m_values = Arrays.copyOf(m_values, capacity);
+      }
+
+      @Override boolean setPrimitive(int row, Object value)
+      {
+         if (value instanceof Integer)
+         {
+            m_values[row] = ((Integer) value).intValue();
+            return true;
+         }
+         return false;
+      }
+
+      @Override Object getPrimitive(int row)
+      {
+         return Integer.valueOf(m_values[row]);
+      }
+
+      private int[] m_values = new int[0];
+   }
+
+   /**
+    * Storage for date values, held as seconds since the epoch.
+    */
+   private static final class DateColumn extends PrimitiveColumn
+   {
+      @Override int getCapacity()
+      {
+         return m_values.length;
+      }
+
+      @Override void grow(int capacity)
+      {
+         m_values = Arrays.copyOf(m_values, capacity);
+      }
+
+      @Override boolean setPrimitive(int row, Object value)
+      {
+         if (value instanceof LocalDateTime && ((LocalDateTime) value).getNano() == 0)
+         {
+            m_values[row] = ((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC);
+            return true;
+         }
+         return false;
+      }
+
+      @Override Object getPrimitive(int row)
+      {
+         return LocalDateTime.ofEpochSecond(m_values[row], 0, ZoneOffset.UTC);
+      }
+
+      private long[] m_values = new long[0];
+   }
+}
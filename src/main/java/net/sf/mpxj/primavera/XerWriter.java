@@ -25,16 +25,14 @@ package net.sf.mpxj.primavera;
 
 import java.awt.Color;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.text.DecimalFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import net.sf.mpxj.AccrueType;
@@ -63,7 +61,9 @@ import net.sf.mpxj.common.HtmlHelper;
 import net.sf.mpxj.common.NumberHelper;
 
 /**
- * Handles writing records to an XER file.
+ * Handles writing records to an XER file. Each record is formatted into
+ * a reusable character buffer before being passed to the writer, avoiding
+ * the creation of intermediate strings for the most common value types.
  */
 final class XerWriter
 {
@@ -73,7 +73,7 @@ final class XerWriter
     * @param file project to write
     * @param writer Writer instance to receive XER records
     */
-   public XerWriter(ProjectFile file, OutputStreamWriter writer)
+   public XerWriter(ProjectFile file, Writer writer)
    {
       m_file = file;
       m_writer = writer;
@@ -86,16 +86,17 @@ final class XerWriter
     */
    public void writeHeader(Object[] data)
    {
-      try
+      m_length = 0;
+      for (int index = 0; index < data.length; index++)
       {
-         m_writer.write(Arrays.stream(data).map(this::format).collect(Collectors.joining("\t")));
-         m_writer.write("\n");
-      }
-
-      catch (IOException ex)
-      {
-         throw new RuntimeException(ex);
+         if (index != 0)
+         {
+            append('\t');
+         }
+         format(data[index]);
       }
+      append('\n');
+      writeBuffer();
    }
 
    /**
@@ -106,18 +107,17 @@ final class XerWriter
     */
    public void writeTable(String name, Map<String, ?> map)
    {
-      try
+      m_length = 0;
+      append("%T\t");
+      append(name);
+      append("\n%F");
+      for (String field : map.keySet())
       {
-         m_writer.write("%T\t" + name + "\n");
-         m_writer.write("%F\t");
-         m_writer.write(String.join("\t", map.keySet()));
-         m_writer.write("\n");
-      }
-
-      catch (IOException ex)
-      {
-         throw new RuntimeException(ex);
+         append('\t');
+         append(field);
       }
+      append('\n');
+      writeBuffer();
    }
 
    /**
@@ -129,7 +129,15 @@ final class XerWriter
     */
    public <T> void writeRecord(Map<String, PrimaveraXERFileWriter.ExportFunction<T>> columns, T object)
    {
-      writeRecord(columns.values().stream().map(f -> f.apply(object)));
+      m_length = 0;
+      append("%R");
+      for (PrimaveraXERFileWriter.ExportFunction<T> column : columns.values())
+      {
+         append('\t');
+         format(column.apply(object));
+      }
+      append('\n');
+      writeBuffer();
    }
 
    /**
@@ -139,17 +147,14 @@ final class XerWriter
     */
    public void writeRecord(Stream<Object> data)
    {
-      try
-      {
-         m_writer.write("%R\t");
-         m_writer.write(data.map(this::format).collect(Collectors.joining("\t")));
-         m_writer.write("\n");
-      }
-
-      catch (IOException ex)
-      {
-         throw new RuntimeException(ex);
-      }
+      m_length = 0;
+      append("%R");
+      data.forEachOrdered(value -> {
+         append('\t');
+         format(value);
+      });
+      append('\n');
+      writeBuffer();
    }
 
    /**
@@ -157,15 +162,9 @@ final class XerWriter
     */
    public void writeTrailer()
    {
-      try
-      {
-         m_writer.write("%E\n");
-      }
-
-      catch (IOException ex)
-      {
-         throw new RuntimeException(ex);
-      }
+      m_length = 0;
+      append("%E\n");
+      writeBuffer();
    }
 
    /**
@@ -177,64 +176,95 @@ final class XerWriter
    }
 
    /**
-    * Format a field value to be written to an XER file.
+    * Pass the contents of the buffer to the writer.
+    */
+   private void writeBuffer()
+   {
+      try
+      {
+         m_writer.write(m_buffer, 0, m_length);
+      }
+
+      catch (IOException ex)
+      {
+         throw new RuntimeException(ex);
+      }
+   }
+
+   /**
+    * Format a field value and append it to the buffer.
     *
     * @param object field value
-    * @return formatted field value
     */
-   private String format(Object object)
+   private void format(Object object)
    {
       if (object == null)
       {
-         return "";
+         return;
       }
 
       // Handle objects which may be subclasses
       if (object instanceof Notes)
       {
-         return formatNotes((Notes) object);
+         formatNotes((Notes) object);
+         return;
       }
 
-      // Handle objects we can identify by class name
-      FormatFunction f = FORMAT_MAP.get(object.getClass());
+      // Handle the most common types without a map lookup
+      Class<?> c = object.getClass();
+      if (c == String.class)
+      {
+         formatString((String) object);
+         return;
+      }
 
-      return f == null ? object.toString() : f.apply(this, object);
+      if (c == Integer.class)
+      {
+         append(((Integer) object).intValue());
+         return;
+      }
+
+      // Handle objects we can identify by class name
+      FormatFunction f = FORMAT_MAP.get(c);
+      if (f == null)
+      {
+         append(object.toString());
+      }
+      else
+      {
+         f.apply(this, object);
+      }
    }
 
    /**
     * Format a Notes object.
     *
     * @param notes Notes instance
-    * @return formatted notes
     */
-   private String formatNotes(Notes notes)
+   private void formatNotes(Notes notes)
    {
-      String result;
-      if (notes == null || notes.isEmpty())
+      if (notes.isEmpty())
       {
-         result = "";
-      }
-      else
-      {
-         result = notes instanceof HtmlNotes ? ((HtmlNotes) notes).getHtml() : HtmlHelper.getHtmlFromPlainText(notes.toString());
-         result = result.replace("\n", "\u007F\u007F");
+         return;
       }
 
-      return formatString(result);
+      String result = notes instanceof HtmlNotes ? ((HtmlNotes) notes).getHtml() : HtmlHelper.getHtmlFromPlainText(notes.toString());
+      formatString(result.replace("\n", "\u007F\u007F"));
    }
 
    /**
-    * Format a UUID.
+    * Format a UUID. The value is written as the Base64 representation of
+    * the UUID's bytes, in the order used by Microsoft's GUID structure,
+    * without the trailing padding characters.
     *
     * @param value UUID instance
-    * @return formatted UUID value
     */
-   private String formatUUID(UUID value)
+   private void formatUUID(UUID value)
    {
-      byte[] data = new byte[16];
       long lsb = value.getLeastSignificantBits();
       long msb = value.getMostSignificantBits();
 
+      byte[] data = m_uuidBytes;
       data[15] = (byte) (lsb & 0xff);
       data[14] = (byte) (lsb >> 8 & 0xff);
       data[13] = (byte) (lsb >> 16 & 0xff);
@@ -253,25 +283,73 @@ final class XerWriter
       data[2] = (byte) (msb >> 48 & 0xff);
       data[3] = (byte) (msb >> 56 & 0xff);
 
-      String result = jakarta.xml.bind.DatatypeConverter.printBase64Binary(data);
+      ensureCapacity(22);
+      for (int index = 0; index < 15; index += 3)
+      {
+         int bits = (data[index] & 0xff) << 16 | (data[index + 1] & 0xff) << 8 | (data[index + 2] & 0xff);
+         m_buffer[m_length++] = BASE64[bits >>> 18];
+         m_buffer[m_length++] = BASE64[bits >>> 12 & 0x3f];
+         m_buffer[m_length++] = BASE64[bits >>> 6 & 0x3f];
+         m_buffer[m_length++] = BASE64[bits & 0x3f];
+      }
 
-      return result.substring(0, result.length() - 2);
+      int bits = data[15] & 0xff;
+      m_buffer[m_length++] = BASE64[bits >>> 2];
+      m_buffer[m_length++] = BASE64[bits << 4 & 0x3f];
    }
 
    /**
     * Format a Duration instance.
     *
     * @param duration Duration instance
-    * @return formatted value
     */
-   private String formatDuration(Duration duration)
+   private void formatDuration(Duration duration)
+   {
+      m_doubleFormat.format(this, duration.convertUnits(TimeUnit.HOURS, m_file.getProjectProperties()).getDuration());
+   }
+
+   /**
+    * Format a date as yyyy-MM-dd.
+    *
+    * @param value date value
+    */
+   private void formatDate(LocalDateTime value)
    {
-      if (duration == null)
+      int year = value.getYear();
+      if (year < 1 || year > 9999)
       {
-         return "";
+         append(m_dateFormat.format(value));
+         return;
       }
 
-      return m_doubleFormat.format(duration.convertUnits(TimeUnit.HOURS, m_file.getProjectProperties()).getDuration());
+      ensureCapacity(10);
+      appendDigits(year, 4);
+      m_buffer[m_length++] = '-';
+      appendDigits(value.getMonthValue(), 2);
+      m_buffer[m_length++] = '-';
+      appendDigits(value.getDayOfMonth(), 2);
+   }
+
+   /**
+    * Format a timestamp as yyyy-MM-dd HH:mm.
+    *
+    * @param value timestamp value
+    */
+   private void formatTimestamp(LocalDateTime value)
+   {
+      int year = value.getYear();
+      if (year < 1 || year > 9999)
+      {
+         append(m_timestampFormat.format(value));
+         return;
+      }
+
+      formatDate(value);
+      ensureCapacity(6);
+      m_buffer[m_length++] = ' ';
+      appendDigits(value.getHour(), 2);
+      m_buffer[m_length++] = ':';
+      appendDigits(value.getMinute(), 2);
    }
 
    /**
@@ -279,64 +357,298 @@ final class XerWriter
     * if they are present.
     *
     * @param value String instance
-    * @return formatted value
     */
-   private String formatString(String value)
+   private void formatString(String value)
+   {
+      int length = value.length();
+      ensureCapacity(length);
+      for (int index = 0; index < length; index++)
+      {
+         char c = value.charAt(index);
+         if (c == '"')
+         {
+            ensureCapacity(length - index + 1);
+            m_buffer[m_length++] = '"';
+         }
+         m_buffer[m_length++] = c;
+      }
+   }
+
+   /**
+    * Append a string to the buffer.
+    *
+    * @param value string value
+    */
+   private void append(String value)
+   {
+      if (value == null)
+      {
+         value = "null";
+      }
+
+      int length = value.length();
+      ensureCapacity(length);
+      value.getChars(0, length, m_buffer, m_length);
+      m_length += length;
+   }
+
+   /**
+    * Append a character to the buffer.
+    *
+    * @param c character
+    */
+   private void append(char c)
    {
-      if (value == null || value.isEmpty())
+      ensureCapacity(1);
+      m_buffer[m_length++] = c;
+   }
+
+   /**
+    * Append a long value to the buffer.
+    *
+    * @param value long value
+    */
+   private void append(long value)
+   {
+      if (value == Long.MIN_VALUE)
       {
-         return "";
+         append(Long.toString(value));
+         return;
       }
 
-      if (value.indexOf('"') == -1)
+      ensureCapacity(20);
+      if (value < 0)
       {
-         return value;
+         m_buffer[m_length++] = '-';
+         value = -value;
       }
 
-      return value.replace("\"", "\"\"");
+      int digits = 1;
+      for (long limit = 10; digits < 19 && value >= limit; limit *= 10)
+      {
+         ++digits;
+      }
+      appendDigits(value, digits);
+   }
+
+   /**
+    * Append a non-negative value to the buffer as a fixed number of digits,
+    * padded with leading zeros. The caller must ensure the buffer has
+    * sufficient capacity.
+    *
+    * @param value value to append
+    * @param digits number of digits
+    */
+   private void appendDigits(long value, int digits)
+   {
+      int index = m_length + digits;
+      m_length = index;
+      while (digits-- > 0)
+      {
+         m_buffer[--index] = (char) ('0' + value % 10);
+         value /= 10;
+      }
+   }
+
+   /**
+    * Ensure that the buffer can accept the requested number of additional characters.
+    *
+    * @param length number of additional characters
+    */
+   private void ensureCapacity(int length)
+   {
+      if (m_length + length > m_buffer.length)
+      {
+         m_buffer = Arrays.copyOf(m_buffer, Math.max(m_buffer.length * 2, m_length + length));
+      }
    }
 
    private interface FormatFunction
    {
-      String apply(XerWriter writer, Object source);
+      void apply(XerWriter writer, Object source);
+   }
+
+   /**
+    * Formats decimal values, matching the output of a DecimalFormat instance
+    * using a pattern of the form 0.### or 0.000. Values are rounded using
+    * arithmetic on primitive values. Where the rounding of a value can't be
+    * determined reliably in this way, or for values outside the supported range,
+    * the DecimalFormat instance is used instead.
+    */
+   private static final class DecimalFormatter
+   {
+      /**
+       * Constructor.
+       *
+       * @param pattern DecimalFormat pattern
+       */
+      public DecimalFormatter(String pattern)
+      {
+         m_format = new DecimalFormat(pattern);
+         m_maximumDigits = m_format.getMaximumFractionDigits();
+         m_minimumDigits = m_format.getMinimumFractionDigits();
+
+         long scale = 1;
+         for (int index = 0; index < m_maximumDigits; index++)
+         {
+            scale *= 10;
+         }
+         m_scale = scale;
+
+         m_decimalSeparator = m_format.getDecimalFormatSymbols().getDecimalSeparator();
+         m_minusSign = m_format.getDecimalFormatSymbols().getMinusSign();
+         m_enabled = m_format.getDecimalFormatSymbols().getZeroDigit() == '0';
+      }
+
+      /**
+       * Format a Number instance and append it to the writer's buffer.
+       *
+       * @param writer target writer
+       * @param value Number instance
+       */
+      public void format(XerWriter writer, Number value)
+      {
+         if (!formatValue(writer, value.doubleValue()))
+         {
+            writer.append(m_format.format(value));
+         }
+      }
+
+      /**
+       * Format a double value and append it to the writer's buffer.
+       *
+       * @param writer target writer
+       * @param value double value
+       */
+      public void format(XerWriter writer, double value)
+      {
+         if (!formatValue(writer, value))
+         {
+            writer.append(m_format.format(value));
+         }
+      }
+
+      /**
+       * Attempt to format a double value using primitive arithmetic.
+       *
+       * @param writer target writer
+       * @param value double value
+       * @return true if the value was formatted
+       */
+      private boolean formatValue(XerWriter writer, double value)
+      {
+         double absoluteValue = Math.abs(value);
+         if (!m_enabled || !(absoluteValue < MAXIMUM_VALUE))
+         {
+            return false;
+         }
+
+         double scaled = absoluteValue * m_scale;
+         double floor = Math.floor(scaled);
+         double fraction = scaled - floor;
+
+         // Too close to a tie to round reliably
+         if (Math.abs(fraction - 0.5) < TIE_TOLERANCE)
+         {
+            return false;
+         }
+
+         long units = (long) floor;
+         if (fraction > 0.5)
+         {
+            ++units;
+         }
+
+         // DecimalFormat retains the sign of negative values which round to zero
+         boolean negative = value < 0 || (value == 0 && 1 / value < 0);
+         if (negative && units == 0)
+         {
+            return false;
+         }
+
+         if (negative)
+         {
+            writer.append(m_minusSign);
+         }
+         writer.append(units / m_scale);
+
+         long fractionalUnits = units % m_scale;
+         int digits = m_maximumDigits;
+         while (digits > m_minimumDigits && fractionalUnits % 10 == 0)
+         {
+            fractionalUnits /= 10;
+            --digits;
+         }
+
+         if (digits != 0)
+         {
+            writer.ensureCapacity(digits + 1);
+            writer.m_buffer[writer.m_length++] = m_decimalSeparator;
+            writer.appendDigits(fractionalUnits, digits);
+         }
+
+         return true;
+      }
+
+      private final DecimalFormat m_format;
+      private final int m_maximumDigits;
+      private final int m_minimumDigits;
+      private final long m_scale;
+      private final char m_decimalSeparator;
+      private final char m_minusSign;
+      private final boolean m_enabled;
+
+      /**
+       * Values of this magnitude or larger are passed to DecimalFormat. This
+       * ensures that the error in the scaled value is well within TIE_TOLERANCE.
+       */
+      private static final double MAXIMUM_VALUE = 1e8;
+
+      private static final double TIE_TOLERANCE = 0.02;
    }
 
    private final ProjectFile m_file;
-   private final OutputStreamWriter m_writer;
+   private final Writer m_writer;
+   private char[] m_buffer = new char[1024];
+   private int m_length;
+   private final byte[] m_uuidBytes = new byte[16];
    private final DateTimeFormatter m_dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
    private final DateTimeFormatter m_timestampFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-   private final DecimalFormat m_doubleFormat = new DecimalFormat("0.######");
-   private final DecimalFormat m_currencyFormat = new DecimalFormat("0.0000");
-   private final DecimalFormat m_maxUnitsFormat = new DecimalFormat("0.####");
+   private final DecimalFormatter m_doubleFormat = new DecimalFormatter("0.######");
+   private final DecimalFormatter m_currencyFormat = new DecimalFormatter("0.0000");
+   private final DecimalFormatter m_maxUnitsFormat = new DecimalFormatter("0.####");
+
+   private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
 
    private static final Map<Class<?>, FormatFunction> FORMAT_MAP = new HashMap<>();
    static
    {
-      FORMAT_MAP.put(DateOnly.class, (w, o) -> w.m_dateFormat.format(((DateOnly) o).toDate()));
-      FORMAT_MAP.put(LocalDateTime.class, (w, o) -> w.m_timestampFormat.format((LocalDateTime) o));
-      FORMAT_MAP.put(Double.class, (w, o) -> w.m_doubleFormat.format(o));
-      FORMAT_MAP.put(Boolean.class, (w, o) -> ((Boolean) o).booleanValue() ? "Y" : "N");
-      FORMAT_MAP.put(Rate.class, (w, o) -> w.m_currencyFormat.format(((Rate) o).getAmount()));
+      FORMAT_MAP.put(DateOnly.class, (w, o) -> w.formatDate(((DateOnly) o).toDate()));
+      FORMAT_MAP.put(LocalDateTime.class, (w, o) -> w.formatTimestamp((LocalDateTime) o));
+      FORMAT_MAP.put(Double.class, (w, o) -> w.m_doubleFormat.format(w, ((Double) o).doubleValue()));
+      FORMAT_MAP.put(Integer.class, (w, o) -> w.append(((Integer) o).intValue()));
+      FORMAT_MAP.put(Boolean.class, (w, o) -> w.append(((Boolean) o).booleanValue() ? 'Y' : 'N'));
+      FORMAT_MAP.put(Rate.class, (w, o) -> w.m_currencyFormat.format(w, ((Rate) o).getAmount()));
       FORMAT_MAP.put(UUID.class, (w, o) -> w.formatUUID((UUID) o));
-      FORMAT_MAP.put(ResourceType.class, (w, o) -> ResourceTypeHelper.getXerFromInstance((ResourceType) o));
-      FORMAT_MAP.put(CriticalActivityType.class, (w, o) -> CriticalActivityTypeHelper.getXerFromInstance((CriticalActivityType) o));
-      FORMAT_MAP.put(TaskType.class, (w, o) -> TaskTypeHelper.getXerFromInstance((TaskType) o));
-      FORMAT_MAP.put(CalendarType.class, (w, o) -> CalendarTypeHelper.getXerFromInstance((CalendarType) o));
-      FORMAT_MAP.put(ActivityType.class, (w, o) -> ActivityTypeHelper.getXerFromInstance((ActivityType) o));
-      FORMAT_MAP.put(PercentCompleteType.class, (w, o) -> PercentCompleteTypeHelper.getXerFromInstance((PercentCompleteType) o));
-      FORMAT_MAP.put(ActivityStatus.class, (w, o) -> ActivityStatusHelper.getXerFromInstance((ActivityStatus) o));
+      FORMAT_MAP.put(ResourceType.class, (w, o) -> w.append(ResourceTypeHelper.getXerFromInstance((ResourceType) o)));
+      FORMAT_MAP.put(CriticalActivityType.class, (w, o) -> w.append(CriticalActivityTypeHelper.getXerFromInstance((CriticalActivityType) o)));
+      FORMAT_MAP.put(TaskType.class, (w, o) -> w.append(TaskTypeHelper.getXerFromInstance((TaskType) o)));
+      FORMAT_MAP.put(CalendarType.class, (w, o) -> w.append(CalendarTypeHelper.getXerFromInstance((CalendarType) o)));
+      FORMAT_MAP.put(ActivityType.class, (w, o) -> w.append(ActivityTypeHelper.getXerFromInstance((ActivityType) o)));
+      FORMAT_MAP.put(PercentCompleteType.class, (w, o) -> w.append(PercentCompleteTypeHelper.getXerFromInstance((PercentCompleteType) o)));
+      FORMAT_MAP.put(ActivityStatus.class, (w, o) -> w.append(ActivityStatusHelper.getXerFromInstance((ActivityStatus) o)));
       FORMAT_MAP.put(Duration.class, (w, o) -> w.formatDuration((Duration) o));
-      FORMAT_MAP.put(ConstraintType.class, (w, o) -> ConstraintTypeHelper.getXerFromInstance((ConstraintType) o));
-      FORMAT_MAP.put(Priority.class, (w, o) -> PriorityHelper.getXerFromInstance((Priority) o));
-      FORMAT_MAP.put(RelationType.class, (w, o) -> RelationTypeHelper.getXerFromInstance((RelationType) o));
-      FORMAT_MAP.put(AccrueType.class, (w, o) -> AccrueTypeHelper.getXerFromInstance((AccrueType) o));
-      FORMAT_MAP.put(ActivityCodeScope.class, (w, o) -> ActivityCodeScopeHelper.getXerFromInstance((ActivityCodeScope) o));
-      FORMAT_MAP.put(Color.class, (w, o) -> ColorHelper.getHexColor((Color) o));
-      FORMAT_MAP.put(RateSource.class, (w, o) -> RateSourceHelper.getXerFromInstance((RateSource) o));
-      FORMAT_MAP.put(DataType.class, (w, o) -> UdfHelper.getXerFromDataType((DataType) o));
-      FORMAT_MAP.put(MaxUnits.class, (w, o) -> w.m_maxUnitsFormat.format(NumberHelper.getDouble(((MaxUnits) o).toNumber()) / 100.0));
-      FORMAT_MAP.put(Currency.class, (w, o) -> w.m_currencyFormat.format(((Currency) o).toNumber()));
-      FORMAT_MAP.put(SkillLevel.class, (w, o) -> SkillLevelHelper.getXerFromInstance((SkillLevel)o));
+      FORMAT_MAP.put(ConstraintType.class, (w, o) -> w.append(ConstraintTypeHelper.getXerFromInstance((ConstraintType) o)));
+      FORMAT_MAP.put(Priority.class, (w, o) -> w.append(PriorityHelper.getXerFromInstance((Priority) o)));
+      FORMAT_MAP.put(RelationType.class, (w, o) -> w.append(RelationTypeHelper.getXerFromInstance((RelationType) o)));
+      FORMAT_MAP.put(AccrueType.class, (w, o) -> w.append(AccrueTypeHelper.getXerFromInstance((AccrueType) o)));
+      FORMAT_MAP.put(ActivityCodeScope.class, (w, o) -> w.append(ActivityCodeScopeHelper.getXerFromInstance((ActivityCodeScope) o)));
+      FORMAT_MAP.put(Color.class, (w, o) -> w.append(ColorHelper.getHexColor((Color) o)));
+      FORMAT_MAP.put(RateSource.class, (w, o) -> w.append(RateSourceHelper.getXerFromInstance((RateSource) o)));
+      FORMAT_MAP.put(DataType.class, (w, o) -> w.append(UdfHelper.getXerFromDataType((DataType) o)));
+      FORMAT_MAP.put(MaxUnits.class, (w, o) -> w.m_maxUnitsFormat.format(w, NumberHelper.getDouble(((MaxUnits) o).toNumber()) / 100.0));
+      FORMAT_MAP.put(Currency.class, (w, o) -> w.m_currencyFormat.format(w, ((Currency) o).toNumber()));
+      FORMAT_MAP.put(SkillLevel.class, (w, o) -> w.append(SkillLevelHelper.getXerFromInstance((SkillLevel)o)));
       FORMAT_MAP.put(String.class, (w, o) -> w.formatString((String) o));
    }
 }
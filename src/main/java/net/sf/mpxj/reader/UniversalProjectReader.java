@@ -24,8 +24,10 @@
 package net.sf.mpxj.reader;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -37,7 +39,12 @@ import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Stack;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
 
 import net.sf.mpxj.HasCharset;
 import net.sf.mpxj.common.ConnectionHelper;
@@ -236,6 +243,46 @@ public final class UniversalProjectReader extends AbstractProjectReader
       protected final T m_source;
    }
 
+   /**
+    * By default, when reading from a stream, OLE compound documents, zip files
+    * and self-extracting archives are copied to temporary files before being read.
+    * Setting this flag to false will read these formats from memory instead,
+    * and will probe the content of zip files without extracting them.
+    * Temporary files are still used for MDB and SQLite databases, and for
+    * zip files containing multi-file databases, as these can only be read
+    * from disk. Note that when reading from a file no temporary copy of an
+    * OLE compound document, MDB or SQLite file is made, regardless of this flag.
+    *
+    * @param useTemporaryFiles true if temporary files are used
+    */
+   public void setUseTemporaryFiles(boolean useTemporaryFiles)
+   {
+      m_useTemporaryFiles = useTemporaryFiles;
+   }
+
+   /**
+    * Retrieve a flag indicating if temporary files are used when
+    * reading OLE compound documents, zip files and self-extracting archives
+    * from a stream.
+    *
+    * @return true if temporary files are used
+    */
+   public boolean getUseTemporaryFiles()
+   {
+      return m_useTemporaryFiles;
+   }
+
+   /**
+    * Retrieve the total number of bytes written to temporary files
+    * by this reader since it was created.
+    *
+    * @return number of bytes
+    */
+   public long getTemporaryBytesWritten()
+   {
+      return m_temporaryBytesWritten.get();
+   }
+
    @Override public ProjectFile read(String fileName) throws MPXJException
    {
       return read(new File(fileName));
@@ -562,16 +609,19 @@ public final class UniversalProjectReader extends AbstractProjectReader
    private ProjectReaderProxy handleOleCompoundDocument(InputStream stream) throws Exception
    {
       POIFSFileSystem fs;
-      File file;
 
       try
       {
-         // Reading from a File instance is more memory efficient than using an InputStream.
-         // This also avoids a hard limit imposed by POI when reading certain very large files.
-         file = InputStreamHelper.writeStreamToTempFile(stream, ".dat");
-         m_cleanup.push(() -> FileHelper.deleteQuietly(file));
-
-         fs = new POIFSFileSystem(file);
+         if (m_useTemporaryFiles || m_sourceFile != null)
+         {
+            // Reading from a File instance is more memory efficient than using an InputStream.
+            // This also avoids a hard limit imposed by POI when reading certain very large files.
+            fs = new POIFSFileSystem(getFile(stream, ".dat"));
+         }
+         else
+         {
+            fs = new POIFSFileSystem(stream);
+         }
          m_cleanup.push(() -> AutoCloseableHelper.closeQuietly(fs));
       }
 
@@ -644,8 +694,7 @@ public final class UniversalProjectReader extends AbstractProjectReader
     */
    private ProjectReaderProxy handleMDBFile(InputStream stream) throws Exception
    {
-      File file = InputStreamHelper.writeStreamToTempFile(stream, ".mdb");
-      m_cleanup.push(() -> FileHelper.deleteQuietly(file));
+      File file = getFile(stream, ".mdb");
 
       Set<String> tableNames = populateMdbTableNames(file);
 
@@ -672,8 +721,7 @@ public final class UniversalProjectReader extends AbstractProjectReader
     */
    private ProjectReaderProxy handleSQLiteFile(InputStream stream) throws Exception
    {
-      File file = InputStreamHelper.writeStreamToTempFile(stream, ".sqlite");
-      m_cleanup.push(() -> FileHelper.deleteQuietly(file));
+      File file = getFile(stream, ".sqlite");
 
       Set<String> tableNames = populateSqliteTableNames(file);
 
@@ -697,18 +745,199 @@ public final class UniversalProjectReader extends AbstractProjectReader
 
    /**
     * We have identified that we have a zip file. Extract the contents into
-    * a temporary directory and process.
+    * a temporary directory and process, or if we are not using temporary files,
+    * probe the content of the zip file in memory.
     *
     * @param stream schedule data
     * @return ProjectFile instance
     */
    private ProjectReaderProxy handleZipFile(InputStream stream) throws Exception
+   {
+      if (m_useTemporaryFiles)
+      {
+         return handleZipFileInDirectory(stream);
+      }
+
+      byte[] data = InputStreamHelper.readAll(stream);
+
+      //
+      // Multi-file databases can only be read from a directory.
+      // If we find one, fall back to extracting the zip file.
+      //
+      List<Integer> depths = new ArrayList<>();
+      if (containsDatabase(data, depths))
+      {
+         return handleZipFileInDirectory(new ByteArrayInputStream(data));
+      }
+
+      //
+      // Mirror the order in which files are tried when the zip file is extracted:
+      // files at the top level first, then files in subdirectories.
+      //
+      for (Integer depth : depths)
+      {
+         ProjectReaderProxy result = handleZipEntries(data, depth.intValue());
+         if (result != null)
+         {
+            return result;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Extract the contents of a zip file into a temporary directory and process.
+    *
+    * @param stream schedule data
+    * @return ProjectFile instance
+    */
+   private ProjectReaderProxy handleZipFileInDirectory(InputStream stream) throws Exception
    {
       File dir = InputStreamHelper.writeZipStreamToTempDir(stream);
       m_cleanup.push(() -> FileHelper.deleteQuietly(dir));
+      m_temporaryBytesWritten.addAndGet(FileHelper.getSize(dir));
       return handleDirectory(dir);
    }
 
+   /**
+    * Examine the first few bytes of each entry in a zip file to determine
+    * if the zip file contains a multi-file database. Collects the distinct
+    * directory depths at which files are found in the zip file.
+    *
+    * @param data zip file data
+    * @param depths populated with directory depths, in ascending order
+    * @return true if the zip file contains a multi-file database
+    */
+   private boolean containsDatabase(byte[] data, List<Integer> depths) throws IOException
+   {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      Set<Integer> depthSet = new TreeSet<>();
+
+      try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(data)))
+      {
+         ZipEntry entry;
+         while ((entry = getNextEntry(zip)) != null)
+         {
+            if (entry.isDirectory())
+            {
+               continue;
+            }
+
+            depthSet.add(Integer.valueOf(getDepth(entry)));
+
+            int bytesRead = readEntry(zip, buffer);
+            if (bytesRead != BUFFER_SIZE)
+            {
+               continue;
+            }
+
+            if (matchesFingerprint(buffer, BTRIEVE_FINGERPRINT) || matchesFingerprint(buffer, STW_FINGERPRINT))
+            {
+               return true;
+            }
+         }
+      }
+
+      depths.addAll(depthSet);
+      return false;
+   }
+
+   /**
+    * Determine if any of the files in a zip file at the given
+    * directory depth contain a schedule we can read. The zip entry
+    * is read directly, without being extracted.
+    *
+    * @param data zip file data
+    * @param depth directory depth
+    * @return ProjectFile instance if we can process anything, or null
+    */
+   private ProjectReaderProxy handleZipEntries(byte[] data, int depth) throws Exception
+   {
+      ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(data));
+      ZipEntry entry;
+      while ((entry = getNextEntry(zip)) != null)
+      {
+         if (entry.isDirectory() || getDepth(entry) != depth)
+         {
+            continue;
+         }
+
+         ProjectReaderProxy result = createNestedReader().getProjectReaderProxy(zip);
+         if (result != null)
+         {
+            return result;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Retrieve the next entry from a zip file. Returns null if
+    * the zip file contains entries Java can't read.
+    *
+    * @param zip zip file stream
+    * @return next entry or null
+    */
+   private ZipEntry getNextEntry(ZipInputStream zip) throws IOException
+   {
+      try
+      {
+         return zip.getNextEntry();
+      }
+
+      catch (ZipException ex)
+      {
+         // See InputStreamHelper.writeZipStreamToTempDir
+         if (!ex.getMessage().equals("only DEFLATED entries can have EXT descriptor"))
+         {
+            throw ex;
+         }
+         return null;
+      }
+   }
+
+   /**
+    * Read from the current zip entry to fill the buffer.
+    *
+    * @param zip zip file stream
+    * @param buffer buffer to fill
+    * @return number of bytes read
+    */
+   private int readEntry(ZipInputStream zip, byte[] buffer) throws IOException
+   {
+      int offset = 0;
+      while (offset < buffer.length)
+      {
+         int bytesRead = zip.read(buffer, offset, buffer.length - offset);
+         if (bytesRead == -1)
+         {
+            break;
+         }
+         offset += bytesRead;
+      }
+      return offset;
+   }
+
+   /**
+    * Determine the directory depth of a zip file entry.
+    *
+    * @param entry zip file entry
+    * @return directory depth
+    */
+   private int getDepth(ZipEntry entry)
+   {
+      String name = entry.getName().replace('\\', '/');
+      int depth = 0;
+      for (int index = name.indexOf('/'); index != -1; index = name.indexOf('/', index + 1))
+      {
+         if (index != 0)
+         {
+            ++depth;
+         }
+      }
+      return depth;
+   }
+
    /**
     * Open and read a file.
     *
@@ -719,7 +948,57 @@ public final class UniversalProjectReader extends AbstractProjectReader
    {
       FileInputStream fis = new FileInputStream(file);
       m_cleanup.push(() -> AutoCloseableHelper.closeQuietly(fis));
-      return getProjectReaderProxy(fis);
+
+      m_sourceFile = file;
+      try
+      {
+         return getProjectReaderProxy(fis);
+      }
+
+      finally
+      {
+         m_sourceFile = null;
+      }
+   }
+
+   /**
+    * Retrieve a file containing the schedule data. If we are reading
+    * from a file, this is used directly, otherwise the stream is
+    * written to a temporary file.
+    *
+    * @param stream schedule data
+    * @param tempFileSuffix suffix to use for temp file
+    * @return File instance
+    */
+   private File getFile(InputStream stream, String tempFileSuffix) throws IOException
+   {
+      if (m_sourceFile != null)
+      {
+         return m_sourceFile;
+      }
+
+      File file = InputStreamHelper.writeStreamToTempFile(stream, tempFileSuffix);
+      m_cleanup.push(() -> FileHelper.deleteQuietly(file));
+      m_temporaryBytesWritten.addAndGet(file.length());
+      return file;
+   }
+
+   /**
+    * Create a reader used to process content found within the
+    * schedule data, for example a file within a zip file. The new reader
+    * shares our cleanup actions, so closing the proxy it returns will also
+    * release any temporary files we have created.
+    *
+    * @return new reader
+    */
+   private UniversalProjectReader createNestedReader()
+   {
+      UniversalProjectReader reader = new UniversalProjectReader();
+      reader.m_cleanup = m_cleanup;
+      reader.m_properties = m_properties;
+      reader.m_useTemporaryFiles = m_useTemporaryFiles;
+      reader.m_temporaryBytesWritten = m_temporaryBytesWritten;
+      return reader;
    }
 
    /**
@@ -810,10 +1089,7 @@ public final class UniversalProjectReader extends AbstractProjectReader
             }
             else
             {
-               UniversalProjectReader reader = new UniversalProjectReader();
-               m_cleanup.push(() -> reader.cleanup());
-               reader.m_properties = m_properties;
-               ProjectReaderProxy result = reader.getProjectReaderProxy(file);
+               ProjectReaderProxy result = createNestedReader().getProjectReaderProxy(file);
                if (result != null)
                {
                   return result;
@@ -902,9 +1178,7 @@ public final class UniversalProjectReader extends AbstractProjectReader
     */
    private ProjectReaderProxy handleByteOrderMark(InputStream stream, int length, Charset charset) throws Exception
    {
-      UniversalProjectReader reader = new UniversalProjectReader();
-      m_cleanup.push(() -> reader.cleanup());
-      reader.m_properties = m_properties;
+      UniversalProjectReader reader = createNestedReader();
       reader.m_skipBytes = length;
       reader.m_charset = charset;
       return reader.getProjectReaderProxy(stream);
@@ -919,13 +1193,23 @@ public final class UniversalProjectReader extends AbstractProjectReader
     */
    private ProjectReaderProxy handleDosExeFile(InputStream stream) throws Exception
    {
-      File file = InputStreamHelper.writeStreamToTempFile(stream, ".tmp");
-      m_cleanup.push(() -> FileHelper.deleteQuietly(file));
+      File file;
+      byte[] content;
+      if (m_useTemporaryFiles || m_sourceFile != null)
+      {
+         file = getFile(stream, ".tmp");
+         content = null;
+      }
+      else
+      {
+         file = null;
+         content = InputStreamHelper.readAll(stream);
+      }
 
       InputStream is = null;
       try
       {
-         is = Files.newInputStream(file.toPath());
+         is = file == null ? new ByteArrayInputStream(content) : Files.newInputStream(file.toPath());
          if (is.available() > 1350)
          {
             InputStreamHelper.skip(is, 1024);
@@ -942,7 +1226,7 @@ public final class UniversalProjectReader extends AbstractProjectReader
                {
                   is.close();
                   is = null;
-                  return new FileReaderProxy(configure(new P3PRXFileReader()), file);
+                  return createProxy(configure(new P3PRXFileReader()), file, content);
                }
             }
 
@@ -955,7 +1239,7 @@ public final class UniversalProjectReader extends AbstractProjectReader
                {
                   is.close();
                   is = null;
-                  return new FileReaderProxy(configure(new SureTrakSTXFileReader()), file);
+                  return createProxy(configure(new SureTrakSTXFileReader()), file, content);
                }
             }
          }
@@ -968,9 +1252,23 @@ public final class UniversalProjectReader extends AbstractProjectReader
       }
    }
 
+   /**
+    * Create a proxy to read from a file, or if no file is available,
+    * to read from the supplied data.
+    *
+    * @param reader reader instance
+    * @param file file containing schedule data, or null
+    * @param data schedule data
+    * @return ProjectReaderProxy instance
+    */
+   private ProjectReaderProxy createProxy(ProjectReader reader, File file, byte[] data)
+   {
+      return file == null ? new StreamReaderProxy(reader, new ByteArrayInputStream(data)) : new FileReaderProxy(reader, file);
+   }
+
    private Set<String> populateMdbTableNames(File file) throws Exception
    {
-      try (Database database = DatabaseBuilder.open(file))
+      try (Database database = new DatabaseBuilder(file).setReadOnly(true).open())
       {
          return database.getTableNames();
       }
@@ -978,7 +1276,7 @@ public final class UniversalProjectReader extends AbstractProjectReader
 
    private Set<String> populateSqliteTableNames(File file) throws Exception
    {
-      try (Connection connection = SQLite.createConnection(file))
+      try (Connection connection = SQLite.createReadOnlyConnection(file))
       {
          return ConnectionHelper.getTableNames(connection);
       }
@@ -1005,7 +1303,10 @@ public final class UniversalProjectReader extends AbstractProjectReader
    private Properties m_properties;
    private int m_skipBytes;
    private Charset m_charset;
-   private final Stack<Runnable> m_cleanup = new Stack<>();
+   private boolean m_useTemporaryFiles = true;
+   private File m_sourceFile;
+   private AtomicLong m_temporaryBytesWritten = new AtomicLong();
+   private Stack<Runnable> m_cleanup = new Stack<>();
 
    private static final int BUFFER_SIZE = 512;
 
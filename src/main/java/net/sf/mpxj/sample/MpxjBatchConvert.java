@@ -24,10 +24,17 @@
 package net.sf.mpxj.sample;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import net.sf.mpxj.utility.BatchConversionResult;
+import net.sf.mpxj.utility.BatchConverter;
 
 /**
- * This is a general utility designed to multiple files in one directory
- * into a different file format.
+ * This is a general utility designed to convert multiple files in one directory
+ * into a different file format. Files are converted in parallel, and a failure
+ * to convert one file does not prevent the remaining files from being converted.
  */
 public final class MpxjBatchConvert
 {
@@ -40,33 +47,103 @@ public final class MpxjBatchConvert
    {
       try
       {
-         if (args.length != 4)
+         boolean recursive = false;
+         String glob = null;
+         int threads = 0;
+         String metricsFile = null;
+
+         int index = 0;
+         while (index < args.length && args[index].startsWith("-"))
+         {
+            switch (args[index])
+            {
+               case "-r":
+               {
+                  recursive = true;
+                  break;
+               }
+
+               case "-g":
+               {
+                  glob = args[++index];
+                  break;
+               }
+
+               case "-t":
+               {
+                  threads = Integer.parseInt(args[++index]);
+                  break;
+               }
+
+               case "-m":
+               {
+                  metricsFile = args[++index];
+                  break;
+               }
+
+               default:
+               {
+                  throw new IllegalArgumentException("Unknown option: " + args[index]);
+               }
+            }
+            ++index;
+         }
+
+         if (args.length - index != 4)
          {
-            System.out.println("Usage: MpxjBatchConvert <source directory> <source suffix> <target directory> <target suffix>");
+            System.out.println("Usage: MpxjBatchConvert [-r] [-g <glob>] [-t <threads>] [-m <metrics file.csv|json>] <source directory> <source suffix> <target directory> <target suffix>");
+            System.exit(0);
          }
-         else
+
+         File sourceDirectory = new File(args[index]);
+         String sourceSuffix = args[index + 1];
+         File targetDirectory = new File(args[index + 2]);
+         String targetSuffix = args[index + 3];
+         String targetExtension = targetSuffix.startsWith(".") ? targetSuffix.substring(1) : targetSuffix;
+
+         BatchConverter converter = new BatchConverter(MpxjConvert.getFileFormat(targetExtension), targetExtension);
+         converter.setRecursive(recursive);
+         converter.setGlob(glob == null ? "*" + sourceSuffix : glob);
+         if (threads != 0)
          {
-            File sourceDirectory = new File(args[0]);
-            final String sourceSuffix = args[1];
-            String targetDirectory = args[2];
-            String targetSuffix = args[3];
+            converter.setThreads(threads);
+         }
 
-            File[] fileList = sourceDirectory.listFiles(pathname -> pathname.getName().endsWith(sourceSuffix));
+         long start = System.currentTimeMillis();
+         List<BatchConversionResult> results = converter.process(sourceDirectory, targetDirectory);
+         long elapsed = System.currentTimeMillis() - start;
 
-            if (fileList != null)
+         int failures = 0;
+         for (BatchConversionResult result : results)
+         {
+            if (result.getSuccess())
             {
-               MpxjConvert convert = new MpxjConvert();
-               for (File file : fileList)
+               System.out.println("Converted " + result.getSourceFile() + " in " + (result.getReadTime() + result.getConvertTime() + result.getWriteTime()) + "ms.");
+            }
+            else
+            {
+               ++failures;
+               System.out.println("Failed to convert " + result.getSourceFile() + ": " + result.getError());
+            }
+         }
+         System.out.println("Converted " + (results.size() - failures) + " of " + results.size() + " files in " + elapsed + "ms.");
+
+         if (metricsFile != null)
+         {
+            try (OutputStream stream = new FileOutputStream(metricsFile))
+            {
+               if (metricsFile.toLowerCase().endsWith(".json"))
+               {
+                  BatchConverter.writeJson(results, stream);
+               }
+               else
                {
-                  String oldName = file.getName();
-                  String newName = oldName.substring(0, oldName.length() - sourceSuffix.length()) + targetSuffix;
-                  File newFile = new File(targetDirectory, newName);
-                  convert.process(file.getCanonicalPath(), newFile.getCanonicalPath());
+                  BatchConverter.writeCsv(results, stream);
                }
             }
          }
 
-         System.exit(0);
+         System.exit(failures == 0 ? 0 : 1);
       }
 
       catch (Exception ex)
@@ -96,12 +96,8 @@ public final class MpxjConvert
          throw new IllegalArgumentException("Filename has no extension: " + outputFile);
       }
 
-      String extension = outputFile.substring(index + 1).toUpperCase();
-      FileFormat outputFormat = FILE_FORMAT_MAP.get(extension);
-      if (outputFormat == null)
-      {
-         throw new IllegalArgumentException("Cannot write files of type: " + extension);
-      }
+      String extension = outputFile.substring(index + 1);
+      FileFormat outputFormat = getFileFormat(extension);
 
       System.out.println("Writing output file started.");
       start = System.currentTimeMillis();
@@ -110,6 +106,22 @@ public final class MpxjConvert
       System.out.println("Writing output completed in " + elapsed + "ms.");
    }
 
+   /**
+    * Determine the output file format from a file extension.
+    *
+    * @param extension file extension
+    * @return file format
+    */
+   static FileFormat getFileFormat(String extension)
+   {
+      FileFormat format = FILE_FORMAT_MAP.get(extension.toUpperCase());
+      if (format == null)
+      {
+         throw new IllegalArgumentException("Cannot write files of type: " + extension.toUpperCase());
+      }
+      return format;
+   }
+
    private static final Map<String, FileFormat> FILE_FORMAT_MAP = new HashMap<>();
    static
    {
@@ -0,0 +1,223 @@
+/*
+ * file:       BatchConversionResult.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.utility;
+
+import java.io.File;
+
+/**
+ * Represents the outcome of converting a single file using the BatchConverter.
+ */
+public final class BatchConversionResult
+{
+   /**
+    * Constructor.
+    *
+    * @param sourceFile source file
+    * @param targetFile target file
+    */
+   BatchConversionResult(File sourceFile, File targetFile)
+   {
+      m_sourceFile = sourceFile;
+      m_targetFile = targetFile;
+      m_sourceSize = sourceFile.length();
+   }
+
+   /**
+    * Retrieve the source file.
+    *
+    * @return source file
+    */
+   public File getSourceFile()
+   {
+      return m_sourceFile;
+   }
+
+   /**
+    * Retrieve the target file.
+    *
+    * @return target file
+    */
+   public File getTargetFile()
+   {
+      return m_targetFile;
+   }
+
+   /**
+    * Retrieve the type of the source file, as reported by the reader,
+    * or null if the file could not be read.
+    *
+    * @return source file type
+    */
+   public String getSourceFileType()
+   {
+      return m_sourceFileType;
+   }
+
+   /**
+    * Retrieve the size of the source file in bytes.
+    *
+    * @return source file size
+    */
+   public long getSourceSize()
+   {
+      return m_sourceSize;
+   }
+
+   /**
+    * Retrieve the size of the target file in bytes,
+    * or zero if no file was written.
+    *
+    * @return target file size
+    */
+   public long getTargetSize()
+   {
+      return m_targetSize;
+   }
+
+   /**
+    * Retrieve the time taken to read the source file in milliseconds.
+    *
+    * @return read time
+    */
+   public long getReadTime()
+   {
+      return m_readTime;
+   }
+
+   /**
+    * Retrieve the time taken to convert the project to the target format
+    * in milliseconds.
+    *
+    * @return convert time
+    */
+   public long getConvertTime()
+   {
+      return m_convertTime;
+   }
+
+   /**
+    * Retrieve the time taken to write the target file in milliseconds.
+    *
+    * @return write time
+    */
+   public long getWriteTime()
+   {
+      return m_writeTime;
+   }
+
+   /**
+    * Retrieve the error which caused the conversion to fail,
+    * or null if the conversion succeeded.
+    *
+    * @return error
+    */
+   public Throwable getError()
+   {
+      return m_error;
+   }
+
+   /**
+    * Returns true if the file was converted successfully.
+    *
+    * @return true if successful
+    */
+   public boolean getSuccess()
+   {
+      return m_error == null;
+   }
+
+   @Override public String toString()
+   {
+      return "[BatchConversionResult source=" + m_sourceFile + " target=" + m_targetFile + " success=" + getSuccess() + "]";
+   }
+
+   /**
+    * Set the source file type.
+    *
+    * @param sourceFileType source file type
+    */
+   void setSourceFileType(String sourceFileType)
+   {
+      m_sourceFileType = sourceFileType;
+   }
+
+   /**
+    * Set the target file size.
+    *
+    * @param targetSize target file size
+    */
+   void setTargetSize(long targetSize)
+   {
+      m_targetSize = targetSize;
+   }
+
+   /**
+    * Set the read time.
+    *
+    * @param readTime read time in milliseconds
+    */
+   void setReadTime(long readTime)
+   {
+      m_readTime = readTime;
+   }
+
+   /**
+    * Set the convert time.
+    *
+    * @param convertTime convert time in milliseconds
+    */
+   void setConvertTime(long convertTime)
+   {
+      m_convertTime = convertTime;
+   }
+
+   /**
+    * Set the write time.
+    *
+    * @param writeTime write time in milliseconds
+    */
+   void setWriteTime(long writeTime)
+   {
+      m_writeTime = writeTime;
+   }
+
+   /**
+    * Set the error which caused the conversion to fail.
+    *
+    * @param error error
+    */
+   void setError(Throwable error)
+   {
+      m_error = error;
+   }
+
+   private final File m_sourceFile;
+   private final File m_targetFile;
+   private final long m_sourceSize;
+   private String m_sourceFileType;
+   private long m_targetSize;
+   private long m_readTime;
+   private long m_convertTime;
+   private long m_writeTime;
+   private Throwable m_error;
+}
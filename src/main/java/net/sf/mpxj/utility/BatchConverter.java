@@ -0,0 +1,501 @@
+/*
+ * file:       BatchConverter.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.utility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.json.JsonStreamWriter;
+import net.sf.mpxj.reader.UniversalProjectReader;
+import net.sf.mpxj.writer.FileFormat;
+import net.sf.mpxj.writer.UniversalProjectWriter;
+
+/**
+ * Converts the schedule files found in a directory to a different file format.
+ * <p/>
+ * Each file passes through three stages: the file is read using the
+ * UniversalProjectReader, the project is converted to the target format in
+ * memory using the UniversalProjectWriter, and the result is written to the
+ * target directory. Stages for different files run concurrently on an
+ * executor, and the number of files in flight at any one time is bounded,
+ * so that the files being enumerated never get too far ahead of the files
+ * being written. As each file is read and written independently, the output
+ * is identical to converting the files one at a time. Where several source
+ * files map to the same target file, for example project.mpp and project.xml,
+ * they are converted in order so that the last one is written last.
+ * <p/>
+ * A failure to convert a file is recorded in the BatchConversionResult for
+ * that file and does not affect the conversion of any other file. As the
+ * target file is only written once conversion has succeeded, a failure
+ * will not leave a partially written target file behind.
+ */
+public final class BatchConverter
+{
+   /**
+    * Constructor.
+    *
+    * @param format target file format
+    * @param targetExtension extension used for target files, for example "xml"
+    */
+   public BatchConverter(FileFormat format, String targetExtension)
+   {
+      m_format = format;
+      m_targetExtension = targetExtension.startsWith(".") ? targetExtension : "." + targetExtension;
+   }
+
+   /**
+    * Returns true if subdirectories of the source directory are processed.
+    *
+    * @return true if subdirectories are processed
+    */
+   public boolean getRecursive()
+   {
+      return m_recursive;
+   }
+
+   /**
+    * Set to true to process subdirectories of the source directory.
+    * The directory structure is replicated in the target directory.
+    * Defaults to false.
+    *
+    * @param recursive true if subdirectories are processed
+    */
+   public void setRecursive(boolean recursive)
+   {
+      m_recursive = recursive;
+   }
+
+   /**
+    * Retrieve the glob pattern used to select source files.
+    *
+    * @return glob pattern
+    */
+   public String getGlob()
+   {
+      return m_glob;
+   }
+
+   /**
+    * Set a glob pattern used to select the source files to convert,
+    * for example "*.mpp" or "*.{mpp,xer}". If the pattern contains
+    * a "/" it is matched against the path of the file relative to the
+    * source directory, otherwise it is matched against the file name.
+    * If no pattern is supplied, all files are converted.
+    *
+    * @param glob glob pattern
+    */
+   public void setGlob(String glob)
+   {
+      m_glob = glob;
+   }
+
+   /**
+    * Retrieve the number of threads used when no executor has been supplied.
+    *
+    * @return number of threads
+    */
+   public int getThreads()
+   {
+      return m_threads;
+   }
+
+   /**
+    * Set the number of threads used when no executor has been supplied.
+    * Defaults to the number of available processors.
+    *
+    * @param threads number of threads
+    */
+   public void setThreads(int threads)
+   {
+      if (threads < 1)
+      {
+         throw new IllegalArgumentException("Threads must be greater than zero");
+      }
+      m_threads = threads;
+   }
+
+   /**
+    * Retrieve the executor used to run the conversion stages.
+    *
+    * @return executor, or null if a fixed thread pool is created for each batch
+    */
+   public ExecutorService getExecutor()
+   {
+      return m_executor;
+   }
+
+   /**
+    * Set the executor used to run the conversion stages. The caller is
+    * responsible for shutting down the executor. If no executor is supplied,
+    * a fixed thread pool is created for each batch, and shut down
+    * once the batch is complete.
+    *
+    * @param executor executor
+    */
+   public void setExecutor(ExecutorService executor)
+   {
+      m_executor = executor;
+   }
+
+   /**
+    * Retrieve the maximum number of files in flight at any one time.
+    *
+    * @return maximum number of files in flight, or zero to use the default
+    */
+   public int getMaxPendingFiles()
+   {
+      return m_maxPendingFiles;
+   }
+
+   /**
+    * Set the maximum number of files which have been submitted for conversion
+    * but not yet written. This bounds the memory used by projects which have
+    * been read, or converted, but not yet written. Defaults to twice the
+    * number of threads.
+    *
+    * @param maxPendingFiles maximum number of files in flight
+    */
+   public void setMaxPendingFiles(int maxPendingFiles)
+   {
+      if (maxPendingFiles < 0)
+      {
+         throw new IllegalArgumentException("Maximum pending files must not be negative");
+      }
+      m_maxPendingFiles = maxPendingFiles;
+   }
+
+   /**
+    * Convert the files in the source directory, writing the results
+    * to the target directory.
+    *
+    * @param sourceDirectory source directory
+    * @param targetDirectory target directory
+    * @return one result per source file, ordered by source file path
+    */
+   public List<BatchConversionResult> process(File sourceDirectory, File targetDirectory) throws IOException
+   {
+      List<Path> files = findFiles(sourceDirectory.toPath());
+      ExecutorService executor = m_executor == null ? Executors.newFixedThreadPool(m_threads) : m_executor;
+      Semaphore permits = new Semaphore(m_maxPendingFiles == 0 ? m_threads * 2 : m_maxPendingFiles);
+      List<CompletableFuture<BatchConversionResult>> futures = new ArrayList<>(files.size());
+      Map<File, CompletableFuture<BatchConversionResult>> targets = new HashMap<>();
+
+      try
+      {
+         for (Path path : files)
+         {
+            BatchConversionResult result = new BatchConversionResult(path.toFile(), getTargetFile(sourceDirectory.toPath(), targetDirectory.toPath(), path));
+
+            try
+            {
+               permits.acquire();
+            }
+
+            catch (InterruptedException ex)
+            {
+               Thread.currentThread().interrupt();
+               throw new InterruptedIOException();
+            }
+
+            // Files sharing a target file are converted in order, so the last one wins as it would sequentially
+            CompletableFuture<BatchConversionResult> previous = targets.get(result.getTargetFile());
+            CompletableFuture<ProjectFile> project = previous == null ? CompletableFuture.supplyAsync(() -> read(result), executor) : previous.thenApplyAsync(r -> read(result), executor);
+
+            CompletableFuture<BatchConversionResult> future = project.thenApplyAsync(p -> convert(result, p), executor).thenAcceptAsync(data -> write(result, data), executor).handle((v, ex) -> {
+               if (ex != null)
+               {
+                  result.setError(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+               }
+               permits.release();
+               return result;
+            });
+
+            targets.put(result.getTargetFile(), future);
+            futures.add(future);
+         }
+
+         return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+      }
+
+      finally
+      {
+         if (m_executor == null)
+         {
+            executor.shutdown();
+         }
+      }
+   }
+
+   /**
+    * Write the metrics for each file as CSV.
+    *
+    * @param results conversion results
+    * @param stream output stream
+    */
+   public static void writeCsv(List<BatchConversionResult> results, OutputStream stream)
+   {
+      PrintWriter writer = new PrintWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+      writer.println("Source,Target,Source File Type,Source Size,Target Size,Read Time,Convert Time,Write Time,Success,Error");
+      for (BatchConversionResult result : results)
+      {
+         writer.print(csvEscape(result.getSourceFile().getPath()));
+         writer.print(',');
+         writer.print(csvEscape(result.getTargetFile().getPath()));
+         writer.print(',');
+         writer.print(csvEscape(result.getSourceFileType()));
+         writer.print(',');
+         writer.print(result.getSourceSize());
+         writer.print(',');
+         writer.print(result.getTargetSize());
+         writer.print(',');
+         writer.print(result.getReadTime());
+         writer.print(',');
+         writer.print(result.getConvertTime());
+         writer.print(',');
+         writer.print(result.getWriteTime());
+         writer.print(',');
+         writer.print(result.getSuccess());
+         writer.print(',');
+         writer.println(csvEscape(result.getError() == null ? null : result.getError().toString()));
+      }
+      writer.flush();
+   }
+
+   /**
+    * Write the metrics for each file as JSON.
+    *
+    * @param results conversion results
+    * @param stream output stream
+    */
+   public static void writeJson(List<BatchConversionResult> results, OutputStream stream) throws IOException
+   {
+      JsonStreamWriter writer = new JsonStreamWriter(stream, StandardCharsets.UTF_8);
+      writer.setPretty(true);
+      writer.writeStartObject(null);
+      writer.writeStartList("files");
+      for (BatchConversionResult result : results)
+      {
+         writer.writeStartObject(null);
+         writer.writeNameValuePair("source", result.getSourceFile().getPath());
+         writer.writeNameValuePair("target", result.getTargetFile().getPath());
+         if (result.getSourceFileType() != null)
+         {
+            writer.writeNameValuePair("source_file_type", result.getSourceFileType());
+         }
+         writer.writeNameValuePair("source_size", result.getSourceSize());
+         writer.writeNameValuePair("target_size", result.getTargetSize());
+         writer.writeNameValuePair("read_time", result.getReadTime());
+         writer.writeNameValuePair("convert_time", result.getConvertTime());
+         writer.writeNameValuePair("write_time", result.getWriteTime());
+         writer.writeNameValuePair("success", result.getSuccess());
+         if (result.getError() != null)
+         {
+            writer.writeNameValuePair("error", result.getError().toString());
+         }
+         writer.writeEndObject();
+      }
+      writer.writeEndList();
+      writer.writeEndObject();
+      writer.flush();
+   }
+
+   /**
+    * Read stage: read the source file.
+    *
+    * @param result conversion result
+    * @return project
+    */
+   private ProjectFile read(BatchConversionResult result)
+   {
+      try
+      {
+         long start = System.nanoTime();
+         ProjectFile project = new UniversalProjectReader().read(result.getSourceFile());
+         result.setReadTime(elapsed(start));
+         if (project == null)
+         {
+            throw new IllegalArgumentException("Unsupported file type");
+         }
+         result.setSourceFileType(project.getProjectProperties().getFileType());
+         return project;
+      }
+
+      catch (Exception ex)
+      {
+         throw new CompletionException(ex);
+      }
+   }
+
+   /**
+    * Convert stage: write the project to the target format in memory.
+    *
+    * @param result conversion result
+    * @param project project
+    * @return target file data
+    */
+   private byte[] convert(BatchConversionResult result, ProjectFile project)
+   {
+      try
+      {
+         long start = System.nanoTime();
+         ByteArrayOutputStream stream = new ByteArrayOutputStream();
+         new UniversalProjectWriter(m_format).write(project, stream);
+         result.setConvertTime(elapsed(start));
+         return stream.toByteArray();
+      }
+
+      catch (Exception ex)
+      {
+         throw new CompletionException(ex);
+      }
+   }
+
+   /**
+    * Write stage: write the target file.
+    *
+    * @param result conversion result
+    * @param data target file data
+    */
+   private void write(BatchConversionResult result, byte[] data)
+   {
+      try
+      {
+         long start = System.nanoTime();
+         Path path = result.getTargetFile().toPath();
+         if (path.getParent() != null)
+         {
+            Files.createDirectories(path.getParent());
+         }
+         Files.write(path, data);
+         result.setWriteTime(elapsed(start));
+         result.setTargetSize(data.length);
+      }
+
+      catch (IOException ex)
+      {
+         throw new CompletionException(ex);
+      }
+   }
+
+   /**
+    * Find the source files to convert.
+    *
+    * @param sourceDirectory source directory
+    * @return source files, ordered by path
+    */
+   private List<Path> findFiles(Path sourceDirectory) throws IOException
+   {
+      PathMatcher matcher = m_glob == null ? null : FileSystems.getDefault().getPathMatcher("glob:" + m_glob);
+      boolean matchRelativePath = m_glob != null && m_glob.contains("/");
+
+      try (Stream<Path> stream = Files.walk(sourceDirectory, m_recursive ? Integer.MAX_VALUE : 1))
+      {
+         return stream.filter(Files::isRegularFile).filter(p -> matcher == null || matcher.matches(matchRelativePath ? sourceDirectory.relativize(p) : p.getFileName())).sorted().collect(Collectors.toList());
+      }
+   }
+
+   /**
+    * Determine the target file for a source file.
+    *
+    * @param sourceDirectory source directory
+    * @param targetDirectory target directory
+    * @param sourceFile source file
+    * @return target file
+    */
+   private File getTargetFile(Path sourceDirectory, Path targetDirectory, Path sourceFile)
+   {
+      Path relativePath = sourceDirectory.relativize(sourceFile);
+      String name = relativePath.getFileName().toString();
+      int index = name.lastIndexOf('.');
+      if (index > 0)
+      {
+         name = name.substring(0, index);
+      }
+
+      Path parent = relativePath.getParent();
+      Path directory = parent == null ? targetDirectory : targetDirectory.resolve(parent);
+      return directory.resolve(name + m_targetExtension).toFile();
+   }
+
+   /**
+    * Calculate the elapsed time in milliseconds.
+    *
+    * @param start start time from System.nanoTime
+    * @return elapsed time in milliseconds
+    */
+   private static long elapsed(long start)
+   {
+      return (System.nanoTime() - start) / 1000000;
+   }
+
+   /**
+    * Quote a CSV value if required.
+    *
+    * @param value value
+    * @return escaped value
+    */
+   private static String csvEscape(String value)
+   {
+      if (value == null)
+      {
+         return "";
+      }
+
+      if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1 && value.indexOf('\r') == -1)
+      {
+         return value;
+      }
+
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+   }
+
+   private final FileFormat m_format;
+   private final String m_targetExtension;
+   private boolean m_recursive;
+   private String m_glob;
+   private int m_threads = Runtime.getRuntime().availableProcessors();
+   private ExecutorService m_executor;
+   private int m_maxPendingFiles;
+}
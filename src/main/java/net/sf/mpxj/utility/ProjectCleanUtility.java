@@ -24,16 +24,26 @@
 package net.sf.mpxj.utility;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
+import net.sf.mpxj.common.BytePatternReplacer;
 import net.sf.mpxj.common.CharsetHelper;
+import net.sf.mpxj.common.FileHelper;
 import net.sf.mpxj.common.InputStreamHelper;
 import net.sf.mpxj.utility.clean.CleanByRedactStrategy;
 import net.sf.mpxj.utility.clean.CleanByReplacementStrategy;
@@ -71,6 +81,10 @@ import net.sf.mpxj.reader.UniversalProjectReader;
  * - Resource Names
  * - Resource Initials
  * - Project Summary Data
+ *
+ * All of the text to be replaced within a file, or within a stream in an
+ * MPP file, is replaced in a single pass over the data. A directory of
+ * files can also be processed, with the files cleaned in parallel.
  */
 public class ProjectCleanUtility
 {
@@ -85,31 +99,39 @@ public class ProjectCleanUtility
       {
          if (args.length < 2 || args.length > 3)
          {
-            System.out.println("Usage: ProjectCleanUtility [redact] <input file name> <output file name>");
+            System.out.println("Usage: ProjectCleanUtility [redact] <input file or directory name> <output file or directory name>");
          }
          else
          {
             String inputFile;
             String outputFile;
-            CleanStrategy strategy;
+            Supplier<CleanStrategy> strategy;
 
             if (args.length == 2)
             {
-               strategy = new CleanByReplacementStrategy();
+               strategy = CleanByReplacementStrategy::new;
                inputFile = args[0];
                outputFile = args[1];
             }
             else
             {
-               strategy = args[0].equalsIgnoreCase("redact") ? new CleanByRedactStrategy() : new CleanByReplacementStrategy();
+               strategy = args[0].equalsIgnoreCase("redact") ? CleanByRedactStrategy::new : CleanByReplacementStrategy::new;
                inputFile = args[1];
                outputFile = args[2];
             }
 
             System.out.println("Clean started.");
             long start = System.currentTimeMillis();
-            ProjectCleanUtility clean = new ProjectCleanUtility();
-            clean.process(strategy, inputFile, outputFile);
+            if (new File(inputFile).isDirectory())
+            {
+               Map<File, Exception> failures = processDirectory(strategy, new File(inputFile), new File(outputFile), Runtime.getRuntime().availableProcessors());
+               failures.forEach((file, ex) -> System.out.println("Failed to clean " + file + ": " + ex));
+            }
+            else
+            {
+               ProjectCleanUtility clean = new ProjectCleanUtility();
+               clean.process(strategy.get(), inputFile, outputFile);
+            }
             long elapsed = System.currentTimeMillis() - start;
             System.out.println("Clean completed in " + elapsed + "ms");
          }
@@ -147,6 +169,11 @@ public class ProjectCleanUtility
       // Extract the project data
       //
       m_project = new UniversalProjectReader().read(input);
+      if (m_project == null)
+      {
+         throw new MPXJException("Unsupported file type");
+      }
+
       if (m_project.getProjectProperties().getFileType().equals("MPP"))
       {
          processMPP(input, output);
@@ -157,6 +184,69 @@ public class ProjectCleanUtility
       }
    }
 
+   /**
+    * Process each of the files in a directory to make them anonymous. The
+    * files are processed in parallel, and the cleaned files are written to
+    * the target directory using the same file names. A new strategy is
+    * requested for each file as the strategies are not thread safe.
+    *
+    * @param strategy supplies the strategy used to make each file anonymous
+    * @param sourceDirectory directory containing the files to clean
+    * @param targetDirectory directory to which cleaned files are written
+    * @param threads number of files to process in parallel
+    * @return map of source files which could not be cleaned to the error encountered
+    */
+   public static Map<File, Exception> processDirectory(Supplier<CleanStrategy> strategy, File sourceDirectory, File targetDirectory, int threads) throws IOException
+   {
+      File[] files = sourceDirectory.listFiles(File::isFile);
+      if (files == null)
+      {
+         throw new IOException("Unable to list files in " + sourceDirectory);
+      }
+      Arrays.sort(files);
+      FileHelper.mkdirsQuietly(targetDirectory);
+
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try
+      {
+         Map<File, Future<?>> futures = new LinkedHashMap<>();
+         for (File file : files)
+         {
+            String output = new File(targetDirectory, file.getName()).getPath();
+            futures.put(file, executor.submit(() -> {
+               new ProjectCleanUtility().process(strategy.get(), file.getPath(), output);
+               return null;
+            }));
+         }
+
+         Map<File, Exception> failures = new LinkedHashMap<>();
+         for (Map.Entry<File, Future<?>> entry : futures.entrySet())
+         {
+            try
+            {
+               entry.getValue().get();
+            }
+
+            catch (ExecutionException ex)
+            {
+               failures.put(entry.getKey(), ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex);
+            }
+
+            catch (InterruptedException ex)
+            {
+               Thread.currentThread().interrupt();
+               throw new InterruptedIOException();
+            }
+         }
+         return failures;
+      }
+
+      finally
+      {
+         executor.shutdown();
+      }
+   }
+
    /**
     * Process a project file to make it anonymous.
     *
@@ -169,9 +259,11 @@ public class ProjectCleanUtility
       byte[] data = InputStreamHelper.readAvailable(is);
       is.close();
 
-      processReplacements(data, Collections.singletonList(m_project.getProjectProperties()), false, false, PROJECT_FIELDS);
-      processReplacements(data, m_project.getTasks(), false, false, TASK_FIELDS);
-      processReplacements(data, m_project.getResources(), false, false, RESOURCE_FIELDS);
+      Map<String, String> replacements = new LinkedHashMap<>();
+      addReplacements(replacements, Collections.singletonList(m_project.getProjectProperties()), PROJECT_FIELDS);
+      addReplacements(replacements, m_project.getTasks(), TASK_FIELDS);
+      addReplacements(replacements, m_project.getResources(), RESOURCE_FIELDS);
+      replaceData(data, replacements, false, false);
 
       FileOutputStream os = new FileOutputStream(output);
       os.write(data);
@@ -269,21 +361,15 @@ public class ProjectCleanUtility
    }
 
    /**
-    * Takes file contents represented as a byte array, finds specific field values within that file
-    * and replaces them with anonymous text.
+    * Find specific field values and add them to a map, along with the
+    * anonymous text which will replace them.
     *
-    * @param data file data
+    * @param replacements map of replacements
     * @param items items to extract field values from
-    * @param unicode true if replacing unicode text
-    * @param nulTerminated true if a nul terminator should be included with the string
     * @param fields list of fields to extract
     */
-   private void processReplacements(byte[] data, List<? extends FieldContainer> items, boolean unicode, boolean nulTerminated, FieldType... fields)
+   private void addReplacements(Map<String, String> replacements, List<? extends FieldContainer> items, FieldType... fields)
    {
-      //
-      // Build a map of the replacements required
-      //
-      Map<String, String> replacements = new HashMap<>();
       for (FieldContainer item : items)
       {
          for (FieldType field : fields)
@@ -295,21 +381,6 @@ public class ProjectCleanUtility
             }
          }
       }
-
-      //
-      // Populate a list of keys and sort into descending order of length
-      //
-      List<String> keys = new ArrayList<>(replacements.keySet());
-      keys.sort((o1, o2) -> (o2.length() - o1.length()));
-
-      //
-      // Perform the replacement
-      //
-      for (String findText : keys)
-      {
-         String replaceText = replacements.get(findText);
-         replaceData(data, findText, replaceText, unicode, nulTerminated);
-      }
    }
 
    /**
@@ -342,39 +413,42 @@ public class ProjectCleanUtility
    private void processFile(DirectoryEntry parentDirectory, String fileName, List<? extends FieldContainer> items, boolean unicode, FieldType... fields) throws IOException
    {
       byte[] data = extractFile(parentDirectory, fileName);
-      processReplacements(data, items, unicode, true, fields);
+      Map<String, String> replacements = new LinkedHashMap<>();
+      addReplacements(replacements, items, fields);
+      replaceData(data, replacements, unicode, true);
       parentDirectory.createDocument(fileName, new ByteArrayInputStream(data));
    }
 
    /**
-    * For a given find/replace pair, iterate through the supplied block of data
-    * and perform a find and replace.
+    * Replace all occurrences of the supplied text in a block of data
+    * in a single pass. Where matches overlap, the longest match starting
+    * at the earliest offset is replaced.
     *
     * @param data data block
-    * @param findText text to find
-    * @param replaceText replacement text
+    * @param replacements map of text to find to replacement text
     * @param unicode true if text is double byte
     * @param nulTerminated true if a nul terminator should be included with the string
     */
-   private void replaceData(byte[] data, String findText, String replaceText, boolean unicode, boolean nulTerminated)
+   private void replaceData(byte[] data, Map<String, String> replacements, boolean unicode, boolean nulTerminated)
    {
-      boolean replaced = false;
-      byte[] findBytes = getBytes(findText, unicode, nulTerminated);
-      byte[] replaceBytes = getBytes(replaceText, unicode, nulTerminated);
-      int endIndex = data.length - findBytes.length;
-      for (int index = 0; index <= endIndex; index++)
+      List<byte[]> findBytes = new ArrayList<>(replacements.size());
+      List<byte[]> replaceBytes = new ArrayList<>(replacements.size());
+      for (Map.Entry<String, String> entry : replacements.entrySet())
       {
-         if (compareBytes(findBytes, data, index))
+         byte[] find = getBytes(entry.getKey(), unicode, nulTerminated);
+         byte[] replace = getBytes(entry.getValue(), unicode, nulTerminated);
+
+         // Text can only be replaced in place if the length is unchanged
+         if (find.length == replace.length)
          {
-            System.arraycopy(replaceBytes, 0, data, index, replaceBytes.length);
-            index += replaceBytes.length;
-            System.out.println(findText + " -> " + replaceText);
-            replaced = true;
+            findBytes.add(find);
+            replaceBytes.add(replace);
          }
       }
-      if (!replaced)
+
+      if (!findBytes.isEmpty())
       {
-         System.out.println("Failed to find " + findText);
+         new BytePatternReplacer(findBytes, replaceBytes).replace(data);
       }
    }
 
@@ -418,28 +492,6 @@ public class ProjectCleanUtility
       return (result);
    }
 
-   /**
-    * Compare an array of bytes with a subsection of a larger array of bytes.
-    *
-    * @param lhs small array of bytes
-    * @param rhs large array of bytes
-    * @param rhsOffset offset into larger array of bytes
-    * @return true if a match is found
-    */
-   private boolean compareBytes(byte[] lhs, byte[] rhs, int rhsOffset)
-   {
-      boolean result = true;
-      for (int loop = 0; loop < lhs.length; loop++)
-      {
-         if (lhs[loop] != rhs[rhsOffset + loop])
-         {
-            result = false;
-            break;
-         }
-      }
-      return (result);
-   }
-
    private CleanStrategy m_strategy;
    private ProjectFile m_project;
 
@@ -25,13 +25,16 @@ package net.sf.mpxj.utility;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 
 import net.sf.mpxj.LocalDateTimeRange;
 import net.sf.mpxj.Duration;
 import net.sf.mpxj.ProjectCalendar;
+import net.sf.mpxj.ResourceAssignment;
 import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.TimeUnitDefaultsContainer;
 import net.sf.mpxj.TimephasedCost;
 import net.sf.mpxj.TimephasedItem;
 import net.sf.mpxj.TimephasedWork;
@@ -175,6 +178,229 @@ public final class TimephasedUtility
       return segmentCost(calendar, cost, rangeUnits, dateList);
    }
 
+   /**
+    * Accumulate timephased work into one or more arrays of buckets, one bucket
+    * per timescale date range. The values added to each bucket are identical
+    * to those returned by segmentWork, converted to the requested units, but
+    * no objects are created per bucket, and date ranges which do not overlap
+    * the timephased data are skipped. Calling this method for many resource
+    * assignments allows work to be rolled up, for example per resource
+    * or per task.
+    *
+    * @param calendar calendar used by the resource assignment
+    * @param work timephased resource assignment data
+    * @param rangeUnits timescale units
+    * @param dateList timescale date ranges, in date order
+    * @param units units in which work is accumulated
+    * @param defaults defaults used when converting work to the requested units
+    * @param buckets arrays to which work is added, null arrays are ignored
+    */
+   public void aggregateWork(ProjectCalendar calendar, List<TimephasedWork> work, TimescaleUnits rangeUnits, List<LocalDateTimeRange> dateList, TimeUnit units, TimeUnitDefaultsContainer defaults, double[]... buckets)
+   {
+      if (work == null || work.isEmpty())
+      {
+         return;
+      }
+
+      double[] amounts = new double[work.size()];
+      for (int index = 0; index < amounts.length; index++)
+      {
+         Duration amountPerDay = work.get(index).getAmountPerDay();
+         amounts[index] = amountPerDay.getUnits() == units ? amountPerDay.getDuration() : Duration.convertUnits(amountPerDay.getDuration(), amountPerDay.getUnits(), units, defaults).getDuration();
+      }
+
+      aggregate(calendar, work, rangeUnits, dateList, amounts, buckets);
+   }
+
+   /**
+    * Accumulate timephased cost into one or more arrays of buckets, one bucket
+    * per timescale date range. The values added to each bucket are identical
+    * to those returned by segmentCost, but no objects are created per bucket,
+    * and date ranges which do not overlap the timephased data are skipped.
+    * Calling this method for many resource assignments allows cost to be
+    * rolled up, for example per resource or per task.
+    *
+    * @param calendar calendar used by the resource assignment
+    * @param cost timephased resource assignment data
+    * @param rangeUnits timescale units
+    * @param dateList timescale date ranges, in date order
+    * @param buckets arrays to which cost is added, null arrays are ignored
+    */
+   public void aggregateCost(ProjectCalendar calendar, List<TimephasedCost> cost, TimescaleUnits rangeUnits, List<LocalDateTimeRange> dateList, double[]... buckets)
+   {
+      if (cost == null || cost.isEmpty())
+      {
+         return;
+      }
+
+      double[] amounts = new double[cost.size()];
+      for (int index = 0; index < amounts.length; index++)
+      {
+         amounts[index] = NumberHelper.getDouble(cost.get(index).getAmountPerDay());
+      }
+
+      aggregate(calendar, cost, rangeUnits, dateList, amounts, buckets);
+   }
+
+   /**
+    * Accumulate the timephased work for a collection of resource assignments
+    * in a single pass. The supplied functions return the buckets to which
+    * each assignment's work is added, allowing per-resource and per-task
+    * rollups to be produced together. The functions are only called for
+    * assignments which have timephased data. Either function may be null,
+    * and either function may return null to ignore an assignment.
+    *
+    * @param assignments resource assignments
+    * @param rangeUnits timescale units
+    * @param dateList timescale date ranges, in date order
+    * @param units units in which work is accumulated
+    * @param resourceBuckets function returning the resource buckets for an assignment
+    * @param taskBuckets function returning the task buckets for an assignment
+    */
+   public void aggregateWork(Collection<ResourceAssignment> assignments, TimescaleUnits rangeUnits, List<LocalDateTimeRange> dateList, TimeUnit units, Function<ResourceAssignment, double[]> resourceBuckets, Function<ResourceAssignment, double[]> taskBuckets)
+   {
+      double[][] buckets = new double[2][];
+      for (ResourceAssignment assignment : assignments)
+      {
+         List<TimephasedWork> work = assignment.getTimephasedWork();
+         if (work == null || work.isEmpty())
+         {
+            continue;
+         }
+
+         buckets[0] = resourceBuckets == null ? null : resourceBuckets.apply(assignment);
+         buckets[1] = taskBuckets == null ? null : taskBuckets.apply(assignment);
+         aggregateWork(assignment.getEffectiveCalendar(), work, rangeUnits, dateList, units, assignment.getParentFile().getProjectProperties(), buckets);
+      }
+   }
+
+   /**
+    * Accumulate the timephased cost for a collection of resource assignments
+    * in a single pass. The supplied functions return the buckets to which
+    * each assignment's cost is added, allowing per-resource and per-task
+    * rollups to be produced together. The functions are only called for
+    * assignments which have timephased data. Either function may be null,
+    * and either function may return null to ignore an assignment.
+    *
+    * @param assignments resource assignments
+    * @param rangeUnits timescale units
+    * @param dateList timescale date ranges, in date order
+    * @param resourceBuckets function returning the resource buckets for an assignment
+    * @param taskBuckets function returning the task buckets for an assignment
+    */
+   public void aggregateCost(Collection<ResourceAssignment> assignments, TimescaleUnits rangeUnits, List<LocalDateTimeRange> dateList, Function<ResourceAssignment, double[]> resourceBuckets, Function<ResourceAssignment, double[]> taskBuckets)
+   {
+      double[][] buckets = new double[2][];
+      for (ResourceAssignment assignment : assignments)
+      {
+         List<TimephasedCost> cost = assignment.getTimephasedCost();
+         if (cost == null || cost.isEmpty())
+         {
+            continue;
+         }
+
+         buckets[0] = resourceBuckets == null ? null : resourceBuckets.apply(assignment);
+         buckets[1] = taskBuckets == null ? null : taskBuckets.apply(assignment);
+         aggregateCost(assignment.getEffectiveCalendar(), cost, rangeUnits, dateList, buckets);
+      }
+   }
+
+   /**
+    * Add the amounts represented by a list of timephased items to the
+    * buckets for each overlapping date range.
+    *
+    * @param calendar calendar used by the resource assignment
+    * @param items timephased items
+    * @param rangeUnits timescale units
+    * @param dateList timescale date ranges, in date order
+    * @param amounts amount per day for each timephased item
+    * @param buckets arrays to which amounts are added, null arrays are ignored
+    */
+   private void aggregate(ProjectCalendar calendar, List<? extends TimephasedItem<?>> items, TimescaleUnits rangeUnits, List<LocalDateTimeRange> dateList, double[] amounts, double[][] buckets)
+   {
+      if (rangeUnits == TimescaleUnits.MINUTES || rangeUnits == TimescaleUnits.HOURS)
+      {
+         throw new UnsupportedOperationException("Please request this functionality from the MPXJ maintainer");
+      }
+
+      for (double[] array : buckets)
+      {
+         if (array != null && array.length < dateList.size())
+         {
+            throw new IllegalArgumentException("Bucket array length " + array.length + " is less than the number of date ranges " + dateList.size());
+         }
+      }
+
+      LocalDateTime firstStart = items.get(0).getStart();
+      LocalDateTime lastFinish = items.get(0).getFinish();
+      for (TimephasedItem<?> item : items)
+      {
+         if (item.getFinish().isAfter(lastFinish))
+         {
+            lastFinish = item.getFinish();
+         }
+      }
+
+      //
+      // Date ranges which end before the timephased data starts,
+      // or start after it finishes, will receive nothing.
+      //
+      int lastStartIndex = 0;
+      for (int rangeIndex = getFirstRangeIndex(dateList, firstStart); rangeIndex < dateList.size(); rangeIndex++)
+      {
+         LocalDateTimeRange range = dateList.get(rangeIndex);
+         if (!range.getStart().isBefore(lastFinish))
+         {
+            break;
+         }
+
+         int startIndex = getStartIndex(range, items, lastStartIndex);
+         if (startIndex == -1)
+         {
+            continue;
+         }
+         lastStartIndex = startIndex;
+
+         double amount = getRangeAmountWholeDay(calendar, range, items, startIndex, amounts);
+         if (amount != 0)
+         {
+            for (double[] array : buckets)
+            {
+               if (array != null)
+               {
+                  array[rangeIndex] += amount;
+               }
+            }
+         }
+      }
+   }
+
+   /**
+    * Find the index of the first date range which ends after the supplied date.
+    *
+    * @param dateList timescale date ranges, in date order
+    * @param date target date
+    * @return date range index
+    */
+   private int getFirstRangeIndex(List<LocalDateTimeRange> dateList, LocalDateTime date)
+   {
+      int low = 0;
+      int high = dateList.size();
+      while (low < high)
+      {
+         int mid = (low + high) >>> 1;
+         if (dateList.get(mid).getEnd().isAfter(date))
+         {
+            high = mid;
+         }
+         else
+         {
+            low = mid + 1;
+         }
+      }
+      return low;
+   }
+
    /**
     * Used to locate the first timephased resource assignment block which
     * intersects with the target date range.
@@ -377,6 +603,64 @@ public final class TimephasedUtility
       return Duration.getInstance(totalWork, assignment.getAmountPerDay().getUnits());
    }
 
+   /**
+    * For a given date range, determine the amount allocated to the range,
+    * based on the amount per day of each timephased item. This follows the
+    * same approach as getRangeDurationWholeDay and getRangeCostWholeDay.
+    *
+    * @param projectCalendar calendar used for the resource assignment calendar
+    * @param range target date range
+    * @param items timephased items
+    * @param startIndex index at which to start searching through the timephased items
+    * @param amounts amount per day for each timephased item
+    * @return amount
+    */
+   private double getRangeAmountWholeDay(ProjectCalendar projectCalendar, LocalDateTimeRange range, List<? extends TimephasedItem<?>> items, int startIndex, double[] amounts)
+   {
+      int totalDays = 0;
+      double totalAmount = 0;
+      TimephasedItem<?> item = items.get(startIndex);
+      boolean done;
+
+      do
+      {
+         LocalDateTime startDate = range.getStart();
+         LocalDateTime itemStart = item.getStart();
+         if (startDate.isBefore(itemStart))
+         {
+            startDate = itemStart;
+         }
+
+         LocalDateTime rangeEndDate = range.getEnd();
+         LocalDateTime itemEndDate = item.getFinish();
+
+         while (startDate.isBefore(rangeEndDate) && startDate.isBefore(itemEndDate))
+         {
+            if (projectCalendar == null || projectCalendar.isWorkingDate(LocalDateHelper.getLocalDate(startDate)))
+            {
+               ++totalDays;
+            }
+            startDate = startDate.plusDays(1);
+         }
+
+         done = true;
+         totalAmount += (amounts[startIndex] * totalDays);
+         if (startDate.isBefore(rangeEndDate))
+         {
+            ++startIndex;
+            if (startIndex < items.size())
+            {
+               item = items.get(startIndex);
+               totalDays = 0;
+               done = false;
+            }
+         }
+      }
+      while (!done);
+
+      return totalAmount;
+   }
+
    /**
     * For a given date range, determine the cost, based on the
     * timephased resource assignment data.
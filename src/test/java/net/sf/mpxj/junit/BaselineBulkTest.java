@@ -0,0 +1,220 @@
+/*
+ * file:       BaselineBulkTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import net.sf.mpxj.BaselineStrategy;
+import net.sf.mpxj.DefaultBaselineStrategy;
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TaskField;
+import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.common.KeyIndex;
+
+/**
+ * Tests for populating several baselines in one operation.
+ */
+public class BaselineBulkTest
+{
+   /**
+    * Ensure that populating several baselines at once produces the same
+    * results as populating each baseline in turn.
+    */
+   @Test public void testBulkMatchesSequential()
+   {
+      testStrategy(DefaultBaselineStrategy.INSTANCE);
+      testStrategy(DefaultBaselineStrategy.UNIQUE_ID);
+      testStrategy(new DefaultBaselineStrategy(Task::getName));
+   }
+
+   /**
+    * Ensure that dependent fields are cleared when a baseline value changes.
+    */
+   @Test public void testDependentFields()
+   {
+      ProjectFile project = createProject(0);
+      Task task = project.getTaskByUniqueID(Integer.valueOf(1));
+      task.set(TaskField.START_VARIANCE, Duration.getInstance(1, TimeUnit.DAYS));
+
+      Map<Integer, ProjectFile> baselines = new LinkedHashMap<>();
+      baselines.put(Integer.valueOf(0), createProject(1));
+      project.setBaselines(baselines);
+      assertNull(task.getCachedValue(TaskField.START_VARIANCE));
+
+      // Reapplying the same baseline leaves the dependent fields untouched
+      task.set(TaskField.START_VARIANCE, Duration.getInstance(2, TimeUnit.DAYS));
+      project.setBaselines(baselines);
+      assertEquals(Duration.getInstance(2, TimeUnit.DAYS), task.getCachedValue(TaskField.START_VARIANCE));
+      assertSame(baselines.get(Integer.valueOf(0)), project.getBaseline());
+   }
+
+   /**
+    * Test the key index with duplicate and missing keys.
+    */
+   @Test public void testKeyIndex()
+   {
+      UUID uuid1 = UUID.randomUUID();
+      UUID uuid2 = UUID.randomUUID();
+      testKeyIndex(new Object[]
+      {
+         Integer.valueOf(1),
+         null,
+         Integer.valueOf(2),
+         Integer.valueOf(1)
+      }, Integer.valueOf(1), Integer.valueOf(2), Integer.valueOf(3));
+      testKeyIndex(new Object[]
+      {
+         uuid1,
+         uuid2,
+         uuid1
+      }, uuid1, uuid2, Integer.valueOf(1));
+      testKeyIndex(new Object[]
+      {
+         "A",
+         Integer.valueOf(1),
+         "A"
+      }, "A", Integer.valueOf(1), "B");
+   }
+
+   /**
+    * Populate baselines using the supplied strategy, and compare the
+    * results of the bulk and sequential approaches.
+    *
+    * @param strategy baseline strategy
+    */
+   private void testStrategy(BaselineStrategy strategy)
+   {
+      ProjectFile sequential = createProject(0);
+      ProjectFile bulk = createProject(0);
+      sequential.getProjectConfig().setBaselineStrategy(strategy);
+      bulk.getProjectConfig().setBaselineStrategy(strategy);
+
+      Map<Integer, ProjectFile> baselines = new LinkedHashMap<>();
+      for (int index = 0; index <= 10; index += 2)
+      {
+         baselines.put(Integer.valueOf(index), createProject(index + 1));
+      }
+
+      baselines.forEach((index, baseline) -> sequential.setBaseline(baseline, index.intValue()));
+      bulk.setBaselines(baselines);
+
+      for (Task expected : sequential.getTasks())
+      {
+         Task actual = bulk.getTaskByUniqueID(expected.getUniqueID());
+         for (int index = 1; index <= 10; index++)
+         {
+            assertEquals(expected.getBaselineStart(index), actual.getBaselineStart(index));
+            assertEquals(expected.getBaselineFinish(index), actual.getBaselineFinish(index));
+            assertEquals(expected.getBaselineCost(index), actual.getBaselineCost(index));
+            assertEquals(expected.getBaselineDuration(index), actual.getBaselineDuration(index));
+            assertEquals(expected.getBaselineWork(index), actual.getBaselineWork(index));
+         }
+         assertEquals(expected.getBaselineStart(), actual.getBaselineStart());
+         assertEquals(expected.getBaselineCost(), actual.getBaselineCost());
+         assertEquals(expected.getBaselineWork(), actual.getBaselineWork());
+      }
+
+      assertEquals(sequential.getTasks().getPopulatedFields(), bulk.getTasks().getPopulatedFields());
+   }
+
+   /**
+    * Create a project whose task values are offset by the supplied number
+    * of days. Baseline projects omit one task, and contain a duplicate key.
+    *
+    * @param offset offset in days
+    * @return new project
+    */
+   private ProjectFile createProject(int offset)
+   {
+      ProjectFile project = new ProjectFile();
+      project.getProjectProperties().setCreationDate(START.plusDays(offset));
+
+      for (int index = 1; index <= TASK_COUNT; index++)
+      {
+         if (offset != 0 && index == TASK_COUNT)
+         {
+            continue;
+         }
+
+         Task task = project.addTask();
+         task.setUniqueID(Integer.valueOf(index));
+         task.setGUID(GUIDS[index]);
+         task.setName(offset != 0 && index == 3 ? "Task 2" : "Task " + index);
+         task.setStart(START.plusDays(index + offset));
+         task.setFinish(START.plusDays(index + offset + 1));
+         task.setDuration(Duration.getInstance(index + offset, TimeUnit.DAYS));
+         task.setWork(Duration.getInstance((index + offset) * 8, TimeUnit.HOURS));
+         task.setCost(Double.valueOf(index * 100 + offset));
+      }
+
+      return project;
+   }
+
+   /**
+    * Verify the positions found by a key index.
+    *
+    * @param keys keys to index
+    * @param duplicate key appearing twice
+    * @param single key appearing once
+    * @param missing key not present
+    */
+   private void testKeyIndex(Object[] keys, Object duplicate, Object single, Object missing)
+   {
+      KeyIndex index = KeyIndex.getInstance(keys);
+
+      int first = index.getFirst(duplicate);
+      int second = index.getNext(first);
+      assertEquals(keys[first], duplicate);
+      assertEquals(keys[second], duplicate);
+      assertEquals(-1, index.getNext(second));
+
+      int position = index.getFirst(single);
+      assertEquals(single, keys[position]);
+      assertEquals(-1, index.getNext(position));
+
+      assertEquals(-1, index.getFirst(missing));
+      assertEquals(-1, index.getFirst(null));
+   }
+
+   private static final int TASK_COUNT = 20;
+   private static final LocalDateTime START = LocalDateTime.of(2026, 1, 5, 8, 0);
+   private static final UUID[] GUIDS = new UUID[TASK_COUNT + 1];
+   static
+   {
+      for (int index = 0; index < GUIDS.length; index++)
+      {
+         GUIDS[index] = UUID.randomUUID();
+      }
+   }
+}
@@ -0,0 +1,171 @@
+/*
+ * file:       BatchConverterTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.common.FileHelper;
+import net.sf.mpxj.reader.UniversalProjectReader;
+import net.sf.mpxj.utility.BatchConversionResult;
+import net.sf.mpxj.utility.BatchConverter;
+import net.sf.mpxj.writer.FileFormat;
+import net.sf.mpxj.writer.UniversalProjectWriter;
+
+/**
+ * Tests for the BatchConverter class.
+ */
+public class BatchConverterTest
+{
+   /**
+    * Create the source and target directories.
+    */
+   @Before public void setUp() throws Exception
+   {
+      m_sourceDirectory = FileHelper.createTempDir();
+      m_targetDirectory = FileHelper.createTempDir();
+
+      copy("mpp14task.mpp", "mpp14task.mpp");
+      copy("PredecessorCalendar.xer", "PredecessorCalendar.xer");
+      copy("PredecessorCalendar.xml", "nested/PredecessorCalendar.xml");
+      copy("legacy/sample1.xml", "nested/deeper/sample1.xml");
+      Files.write(new File(m_sourceDirectory, "broken.mpp").toPath(), "not a schedule".getBytes(StandardCharsets.US_ASCII));
+   }
+
+   /**
+    * Remove the source and target directories.
+    */
+   @After public void tearDown()
+   {
+      FileHelper.deleteQuietly(m_sourceDirectory);
+      FileHelper.deleteQuietly(m_targetDirectory);
+   }
+
+   /**
+    * Ensure that parallel conversion produces the same output as converting
+    * each file in turn, and that failures are isolated.
+    */
+   @Test public void testConversion() throws Exception
+   {
+      BatchConverter converter = new BatchConverter(FileFormat.JSON, "json");
+      converter.setRecursive(true);
+      converter.setThreads(4);
+      converter.setMaxPendingFiles(2);
+
+      List<BatchConversionResult> results = converter.process(m_sourceDirectory, m_targetDirectory);
+      assertEquals(5, results.size());
+
+      int failures = 0;
+      for (BatchConversionResult result : results)
+      {
+         if (!result.getSuccess())
+         {
+            ++failures;
+            assertEquals("broken.mpp", result.getSourceFile().getName());
+            assertNotNull(result.getError());
+            assertFalse(result.getTargetFile().exists());
+            continue;
+         }
+
+         ProjectFile project = new UniversalProjectReader().read(result.getSourceFile());
+         ByteArrayOutputStream expected = new ByteArrayOutputStream();
+         new UniversalProjectWriter(FileFormat.JSON).write(project, expected);
+
+         assertTrue(result.getTargetFile().getName().endsWith(".json"));
+         assertEquals(normalise(expected.toByteArray()), normalise(Files.readAllBytes(result.getTargetFile().toPath())));
+         assertEquals(result.getTargetFile().length(), result.getTargetSize());
+         assertEquals(project.getProjectProperties().getFileType(), result.getSourceFileType());
+      }
+      assertEquals(1, failures);
+
+      assertTrue(new File(m_targetDirectory, "nested/deeper/sample1.json").exists());
+
+      ByteArrayOutputStream csv = new ByteArrayOutputStream();
+      BatchConverter.writeCsv(results, csv);
+      assertEquals(6, csv.toString("UTF-8").split("\n").length);
+
+      ByteArrayOutputStream json = new ByteArrayOutputStream();
+      BatchConverter.writeJson(results, json);
+      assertTrue(json.toString("UTF-8").contains("\"source_file_type\": \"XER\""));
+   }
+
+   /**
+    * Test the selection of source files.
+    */
+   @Test public void testFileSelection() throws Exception
+   {
+      BatchConverter converter = new BatchConverter(FileFormat.MPX, ".mpx");
+      converter.setGlob("*.{mpp,xer}");
+      List<BatchConversionResult> results = converter.process(m_sourceDirectory, m_targetDirectory);
+      assertEquals(3, results.size());
+      assertEquals("PredecessorCalendar.xer", results.get(0).getSourceFile().getName());
+      assertEquals("broken.mpp", results.get(1).getSourceFile().getName());
+      assertEquals("mpp14task.mpp", results.get(2).getSourceFile().getName());
+
+      converter.setRecursive(true);
+      converter.setGlob("nested/**.xml");
+      results = converter.process(m_sourceDirectory, m_targetDirectory);
+      assertEquals(2, results.size());
+      assertTrue(results.stream().allMatch(BatchConversionResult::getSuccess));
+   }
+
+   /**
+    * Copy a test data file to the source directory.
+    *
+    * @param name test data file name
+    * @param target path relative to the source directory
+    */
+   private void copy(String name, String target) throws Exception
+   {
+      File file = new File(m_sourceDirectory, target);
+      FileHelper.mkdirsQuietly(file.getParentFile());
+      Files.copy(new File(MpxjTestData.filePath(name)).toPath(), file.toPath());
+   }
+
+   /**
+    * Remove the current date, which defaults to the time the file was read.
+    *
+    * @param data JSON data
+    * @return normalised JSON text
+    */
+   private String normalise(byte[] data)
+   {
+      return new String(data, StandardCharsets.UTF_8).replaceAll("\"current_date\":\"[^\"]*\"", "");
+   }
+
+   private File m_sourceDirectory;
+   private File m_targetDirectory;
+}
@@ -0,0 +1,170 @@
+/*
+ * file:       BytePatternMatcherTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.sf.mpxj.common.BytePatternMatcher;
+
+/**
+ * Tests to exercise the byte pattern matcher.
+ */
+public class BytePatternMatcherTest
+{
+   /**
+    * Test overlapping matches, and matches at the limits of the search range.
+    */
+   @Test public void testOverlappingMatches()
+   {
+      BytePatternMatcher matcher = new BytePatternMatcher(new byte[]
+      {
+         1,
+         1,
+         1
+      }, new byte[]
+      {
+         1,
+         1,
+         2
+      });
+
+      byte[] buffer =
+      {
+         1,
+         1,
+         1,
+         1,
+         2,
+         0,
+         1,
+         1
+      };
+
+      assertEquals(Arrays.asList(Integer.valueOf(0), Integer.valueOf(1), Integer.valueOf(2)), findAll(matcher, buffer, 0, buffer.length));
+      assertEquals(Arrays.asList(Integer.valueOf(1), Integer.valueOf(2)), findAll(matcher, buffer, 1, buffer.length));
+      assertEquals(Arrays.asList(Integer.valueOf(0), Integer.valueOf(1)), findAll(matcher, buffer, 0, 2));
+      assertEquals(0, matcher.indexOf(buffer, 0, buffer.length));
+      assertEquals(2, matcher.indexOf(buffer, 2, buffer.length));
+      assertEquals(-1, matcher.indexOf(buffer, 3, buffer.length));
+      assertEquals(-1, matcher.indexOf(buffer, 2, 2));
+   }
+
+   /**
+    * Compare the matches found with the results of a simple search
+    * at every offset in randomly generated data.
+    */
+   @Test public void testRandomData()
+   {
+      Random random = new Random(1);
+      byte[][] patterns =
+      {
+         {
+            (byte) 0xFB,
+            0x01,
+            0x02,
+            0x00
+         },
+         {
+            0x00,
+            0x00,
+            0x02,
+            0x00
+         },
+         {
+            0x00,
+            0x02,
+            0x00,
+            0x02
+         }
+      };
+      BytePatternMatcher matcher = new BytePatternMatcher(patterns);
+
+      // Use a small alphabet to ensure we have plenty of matches
+      byte[] values =
+      {
+         0x00,
+         0x01,
+         0x02,
+         (byte) 0xFB
+      };
+      byte[] buffer = new byte[100000];
+      for (int index = 0; index < buffer.length; index++)
+      {
+         buffer[index] = values[random.nextInt(values.length)];
+      }
+
+      List<Integer> expected = new ArrayList<>();
+      for (int index = 10; index < buffer.length - 10; index++)
+      {
+         for (byte[] pattern : patterns)
+         {
+            if (Arrays.equals(pattern, Arrays.copyOfRange(buffer, index, index + pattern.length)))
+            {
+               expected.add(Integer.valueOf(index));
+               break;
+            }
+         }
+      }
+
+      assertEquals(expected, findAll(matcher, buffer, 10, buffer.length - 10));
+      assertEquals(expected.get(0).intValue(), matcher.indexOf(buffer, 10, buffer.length - 10));
+   }
+
+   /**
+    * Patterns of different lengths are rejected.
+    */
+   @Test(expected = IllegalArgumentException.class) public void testInvalidPatterns()
+   {
+      new BytePatternMatcher(new byte[]
+      {
+         1,
+         2
+      }, new byte[]
+      {
+         1
+      });
+   }
+
+   /**
+    * Find all matches.
+    *
+    * @param matcher matcher instance
+    * @param buffer data to search
+    * @param fromIndex first offset at which a match may start
+    * @param toIndex offset before which a match must start
+    * @return list of match offsets
+    */
+   private List<Integer> findAll(BytePatternMatcher matcher, byte[] buffer, int fromIndex, int toIndex)
+   {
+      List<Integer> result = new ArrayList<>();
+      matcher.findAll(buffer, fromIndex, toIndex, index -> result.add(Integer.valueOf(index)));
+      return result;
+   }
+}
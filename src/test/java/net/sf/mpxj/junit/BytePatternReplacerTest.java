@@ -0,0 +1,180 @@
+/*
+ * file:       BytePatternReplacerTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.sf.mpxj.common.BytePatternReplacer;
+
+/**
+ * Tests to exercise the byte pattern replacer.
+ */
+public class BytePatternReplacerTest
+{
+   /**
+    * Test overlapping patterns, and patterns which share a prefix or suffix.
+    */
+   @Test public void testOverlappingPatterns()
+   {
+      assertEquals("<Xxxx Xxxxxxx> <Yyyy> <Zzzz>", replace("<Test Project> <Test> <Plan>", "Test", "Yyyy", "Test Project", "Xxxx Xxxxxxx", "Plan", "Zzzz"));
+      assertEquals("ABCD", replace("1BCD", "1BC", "ABC", "BCD", "bcd"));
+      assertEquals("aaaa", replace("1111", "11", "aa"));
+      assertEquals("wxyz", replace("ABCD", "BC", "bc", "ABCD", "wxyz"));
+      assertEquals("first", replace("dupes", "dupes", "first", "dupes", "other"));
+      assertEquals("unchanged", replace("unchanged", "missing", "MISSING"));
+   }
+
+   /**
+    * Compare the results with a simple search which tries
+    * every pattern at every offset.
+    */
+   @Test public void testRandomData()
+   {
+      Random random = new Random(1);
+      for (int iteration = 0; iteration < 50; iteration++)
+      {
+         List<byte[]> patterns = new ArrayList<>();
+         List<byte[]> replacements = new ArrayList<>();
+         int patternCount = 1 + random.nextInt(40);
+         for (int index = 0; index < patternCount; index++)
+         {
+            byte[] pattern = new byte[1 + random.nextInt(6)];
+            for (int offset = 0; offset < pattern.length; offset++)
+            {
+               pattern[offset] = (byte) (random.nextInt(3) - 1);
+            }
+            byte[] replacement = new byte[pattern.length];
+            Arrays.fill(replacement, (byte) (10 + index));
+            patterns.add(pattern);
+            replacements.add(replacement);
+         }
+
+         byte[] data = new byte[500];
+         for (int index = 0; index < data.length; index++)
+         {
+            data[index] = (byte) (random.nextInt(3) - 1);
+         }
+         byte[] expected = data.clone();
+
+         int count = new BytePatternReplacer(patterns, replacements).replace(data);
+         assertEquals(simpleReplace(expected, patterns, replacements), count);
+         assertArrayEquals(expected, data);
+      }
+   }
+
+   /**
+    * Replace text using pairs of find and replace strings.
+    *
+    * @param text text to modify
+    * @param pairs find and replace strings
+    * @return modified text
+    */
+   private String replace(String text, String... pairs)
+   {
+      List<byte[]> patterns = new ArrayList<>();
+      List<byte[]> replacements = new ArrayList<>();
+      for (int index = 0; index < pairs.length; index += 2)
+      {
+         patterns.add(pairs[index].getBytes(StandardCharsets.US_ASCII));
+         replacements.add(pairs[index + 1].getBytes(StandardCharsets.US_ASCII));
+      }
+
+      byte[] data = text.getBytes(StandardCharsets.US_ASCII);
+      new BytePatternReplacer(patterns, replacements).replace(data);
+      return new String(data, StandardCharsets.US_ASCII);
+   }
+
+   /**
+    * Replace the longest pattern found at each offset, skipping
+    * the replaced data.
+    *
+    * @param data data to modify
+    * @param patterns patterns
+    * @param replacements replacements
+    * @return number of replacements made
+    */
+   private int simpleReplace(byte[] data, List<byte[]> patterns, List<byte[]> replacements)
+   {
+      int count = 0;
+      int offset = 0;
+      while (offset < data.length)
+      {
+         int match = -1;
+         for (int index = 0; index < patterns.size(); index++)
+         {
+            byte[] pattern = patterns.get(index);
+            if ((match == -1 || pattern.length > patterns.get(match).length) && matches(data, offset, pattern))
+            {
+               match = index;
+            }
+         }
+
+         if (match == -1)
+         {
+            ++offset;
+         }
+         else
+         {
+            byte[] replacement = replacements.get(match);
+            System.arraycopy(replacement, 0, data, offset, replacement.length);
+            offset += replacement.length;
+            ++count;
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Determine if a pattern appears at the given offset.
+    *
+    * @param data data
+    * @param offset offset
+    * @param pattern pattern
+    * @return true if the pattern is found
+    */
+   private boolean matches(byte[] data, int offset, byte[] pattern)
+   {
+      if (offset + pattern.length > data.length)
+      {
+         return false;
+      }
+
+      for (int index = 0; index < pattern.length; index++)
+      {
+         if (data[offset + index] != pattern[index])
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+}
@@ -0,0 +1,134 @@
+/*
+ * file:       CompactFieldStorageTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.sf.mpxj.FieldType;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TaskField;
+
+/**
+ * Ensure that compact field storage behaves in the same way as the default storage.
+ */
+public class CompactFieldStorageTest
+{
+   /**
+    * Randomly set and clear field values, checking the values held by the task
+    * against the expected values, switching storage type as we go.
+    */
+   @Test public void testCompactFieldStorage()
+   {
+      ProjectFile file = new ProjectFile();
+      assertFalse(file.getProjectConfig().getCompactFieldStorage());
+
+      Task task = file.addTask();
+      task.disableEvents();
+
+      Map<FieldType, Object> expected = new HashMap<>();
+      TaskField[] fields = TaskField.values();
+      Random random = new Random(1);
+
+      // Capture any values populated when the task was created
+      for (int index = 0; index < 200; index++)
+      {
+         Object value = task.getCachedValue(fields[index]);
+         if (value != null)
+         {
+            expected.put(fields[index], value);
+         }
+      }
+
+      for (int iteration = 0; iteration < 25000; iteration++)
+      {
+         if (iteration % 5000 == 0)
+         {
+            file.getProjectConfig().setCompactFieldStorage(!file.getProjectConfig().getCompactFieldStorage());
+            validate(task, expected, fields);
+         }
+
+         // Use a small range of fields to exercise updates and removals
+         TaskField field = fields[random.nextInt(200)];
+         Object value = random.nextInt(4) == 0 ? null : Integer.valueOf(random.nextInt());
+         task.set(field, value);
+         if (value == null)
+         {
+            expected.remove(field);
+         }
+         else
+         {
+            expected.put(field, value);
+         }
+
+         if (iteration % 100 == 0)
+         {
+            validate(task, expected, fields);
+         }
+      }
+
+      assertTrue(file.getProjectConfig().getCompactFieldStorage());
+      validate(task, expected, fields);
+   }
+
+   /**
+    * New tasks use compact storage once it has been enabled.
+    */
+   @Test public void testNewTask()
+   {
+      ProjectFile file = new ProjectFile();
+      file.getProjectConfig().setCompactFieldStorage(true);
+      Task task = file.addTask();
+      task.setName("Task 1");
+      task.setText(1, "Text 1");
+      assertEquals("Task 1", task.getName());
+      assertEquals("Text 1", task.getText(1));
+      task.setText(1, null);
+      assertEquals(null, task.getText(1));
+      assertEquals("Task 1", task.getName());
+   }
+
+   /**
+    * Validate the cached field values held by a task.
+    *
+    * @param task task
+    * @param expected expected values
+    * @param fields fields to check
+    */
+   private void validate(Task task, Map<FieldType, Object> expected, TaskField[] fields)
+   {
+      for (int index = 0; index < 200; index++)
+      {
+         TaskField field = fields[index];
+         assertEquals(field.name(), expected.get(field), task.getCachedValue(field));
+      }
+   }
+}
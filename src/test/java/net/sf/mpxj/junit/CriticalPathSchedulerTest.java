@@ -0,0 +1,355 @@
+/*
+ * file:       CriticalPathSchedulerTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.sf.mpxj.ConstraintType;
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.ProjectCalendar;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Relation;
+import net.sf.mpxj.RelationType;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.cpm.CpmException;
+import net.sf.mpxj.cpm.CriticalPathScheduler;
+
+/**
+ * Tests for the CriticalPathScheduler class.
+ */
+public class CriticalPathSchedulerTest
+{
+   /**
+    * Schedule a simple network.
+    */
+   @Test public void testSchedule() throws CpmException
+   {
+      ProjectFile file = createProject();
+      Task a = addTask(file, "A", 2);
+      Task b = addTask(file, "B", 3);
+      Task c = addTask(file, "C", 1);
+      Task d = addTask(file, "D", 1);
+      link(a, b, RelationType.FINISH_START, 0);
+      link(a, c, RelationType.FINISH_START, 0);
+      link(b, d, RelationType.FINISH_START, 0);
+      link(c, d, RelationType.FINISH_START, 0);
+
+      CriticalPathScheduler scheduler = new CriticalPathScheduler();
+      scheduler.schedule(file, START);
+
+      assertDates(a, "2024-01-08T08:00", "2024-01-09T17:00", "2024-01-08T08:00", "2024-01-09T17:00");
+      assertDates(b, "2024-01-10T08:00", "2024-01-12T17:00", "2024-01-10T08:00", "2024-01-12T17:00");
+      assertDates(c, "2024-01-10T08:00", "2024-01-10T17:00", "2024-01-12T08:00", "2024-01-12T17:00");
+      assertDates(d, "2024-01-15T08:00", "2024-01-15T17:00", "2024-01-15T08:00", "2024-01-15T17:00");
+      assertEquals(LocalDateTime.parse("2024-01-15T17:00"), scheduler.getFinishDate());
+
+      assertTrue(a.getCritical());
+      assertTrue(b.getCritical());
+      assertFalse(c.getCritical());
+      assertTrue(d.getCritical());
+
+      assertEquals(Duration.getInstance(2, TimeUnit.DAYS), c.getTotalSlack());
+      assertEquals(Duration.getInstance(2, TimeUnit.DAYS), c.getFreeSlack());
+      assertEquals(Duration.getInstance(0, TimeUnit.DAYS), a.getTotalSlack());
+      assertEquals(Duration.getInstance(0, TimeUnit.DAYS), d.getFreeSlack());
+   }
+
+   /**
+    * Test relation types and lags.
+    */
+   @Test public void testRelationTypes() throws CpmException
+   {
+      ProjectFile file = createProject();
+      Task a = addTask(file, "A", 2);
+      Task b = addTask(file, "B", 1);
+      Task c = addTask(file, "C", 1);
+      Task d = addTask(file, "D", 1);
+      Task e = addTask(file, "E", 1);
+      link(a, b, RelationType.START_START, 1);
+      link(a, c, RelationType.FINISH_FINISH, 1);
+      link(a, d, RelationType.FINISH_START, 2);
+      link(d, e, RelationType.START_FINISH, 0);
+
+      new CriticalPathScheduler().schedule(file, START);
+
+      assertEarlyDates(b, "2024-01-09T08:00", "2024-01-09T17:00");
+      assertEarlyDates(c, "2024-01-10T08:00", "2024-01-10T17:00");
+      assertEarlyDates(d, "2024-01-12T08:00", "2024-01-12T17:00");
+      assertEarlyDates(e, "2024-01-11T08:00", "2024-01-11T17:00");
+   }
+
+   /**
+    * Test constraints.
+    */
+   @Test public void testConstraints() throws CpmException
+   {
+      ProjectFile file = createProject();
+      Task a = addTask(file, "A", 1);
+      Task b = addTask(file, "B", 1);
+      Task c = addTask(file, "C", 1);
+      Task d = addTask(file, "D", 1);
+      link(a, b, RelationType.FINISH_START, 0);
+      link(a, c, RelationType.FINISH_START, 0);
+      link(a, d, RelationType.FINISH_START, 0);
+
+      b.setConstraintType(ConstraintType.START_NO_EARLIER_THAN);
+      b.setConstraintDate(LocalDateTime.parse("2024-01-11T08:00"));
+      c.setConstraintType(ConstraintType.MUST_FINISH_ON);
+      c.setConstraintDate(LocalDateTime.parse("2024-01-16T17:00"));
+      d.setConstraintType(ConstraintType.FINISH_NO_LATER_THAN);
+      d.setConstraintDate(LocalDateTime.parse("2024-01-10T17:00"));
+
+      new CriticalPathScheduler().schedule(file, START);
+
+      assertEarlyDates(b, "2024-01-11T08:00", "2024-01-11T17:00");
+      assertDates(c, "2024-01-16T08:00", "2024-01-16T17:00", "2024-01-16T08:00", "2024-01-16T17:00");
+      assertDates(d, "2024-01-09T08:00", "2024-01-09T17:00", "2024-01-10T08:00", "2024-01-10T17:00");
+   }
+
+   /**
+    * Ensure that a project containing a cycle is rejected.
+    */
+   @Test public void testCycle()
+   {
+      ProjectFile file = createProject();
+      Task a = addTask(file, "A", 1);
+      Task b = addTask(file, "B", 1);
+      link(a, b, RelationType.FINISH_START, 0);
+      link(b, a, RelationType.FINISH_START, 0);
+
+      try
+      {
+         new CriticalPathScheduler().schedule(file, START);
+         fail();
+      }
+
+      catch (CpmException ex)
+      {
+         // Expected
+      }
+   }
+
+   /**
+    * Ensure that summary tasks are rolled up from their child tasks.
+    */
+   @Test public void testSummaryTasks() throws CpmException
+   {
+      ProjectFile file = createProject();
+      Task summary = file.addTask();
+      summary.setName("Summary");
+      Task a = summary.addTask();
+      a.setName("A");
+      a.setDuration(Duration.getInstance(2, TimeUnit.DAYS));
+      Task b = summary.addTask();
+      b.setName("B");
+      b.setDuration(Duration.getInstance(1, TimeUnit.DAYS));
+      link(a, b, RelationType.FINISH_START, 0);
+
+      CriticalPathScheduler scheduler = new CriticalPathScheduler();
+      scheduler.schedule(file, START);
+      assertEarlyDates(summary, "2024-01-08T08:00", "2024-01-10T17:00");
+
+      a.setDuration(Duration.getInstance(3, TimeUnit.DAYS));
+      scheduler.reschedule(Collections.singletonList(a));
+      assertEarlyDates(summary, "2024-01-08T08:00", "2024-01-11T17:00");
+   }
+
+   /**
+    * Ensure that incremental recalculation produces the same results as
+    * scheduling the whole project.
+    */
+   @Test public void testReschedule() throws CpmException
+   {
+      Random random = new Random(1);
+      ProjectFile file = createProject();
+      List<Task> tasks = new ArrayList<>();
+      for (int index = 0; index < 500; index++)
+      {
+         Task task = addTask(file, "Task " + index, 1 + random.nextInt(5));
+         if (index > 0)
+         {
+            link(tasks.get(random.nextInt(index)), task, RelationType.values()[random.nextInt(4)], random.nextInt(3) - 1);
+         }
+         if (index > 10 && random.nextBoolean())
+         {
+            link(tasks.get(random.nextInt(index - 10)), task, RelationType.FINISH_START, 0);
+         }
+         tasks.add(task);
+      }
+
+      CriticalPathScheduler scheduler = new CriticalPathScheduler();
+      scheduler.schedule(file, START);
+
+      for (int iteration = 0; iteration < 25; iteration++)
+      {
+         List<Task> changed = new ArrayList<>();
+         for (int count = 0; count < 3; count++)
+         {
+            Task task = tasks.get(random.nextInt(tasks.size()));
+            task.setDuration(Duration.getInstance(random.nextInt(10), TimeUnit.DAYS));
+            if (random.nextInt(4) == 0)
+            {
+               task.setConstraintType(ConstraintType.START_NO_EARLIER_THAN);
+               task.setConstraintDate(START.plusDays(random.nextInt(60)));
+            }
+            changed.add(task);
+         }
+
+         scheduler.reschedule(changed);
+         List<String> incremental = describe(file);
+
+         new CriticalPathScheduler().schedule(file, START);
+         assertEquals(describe(file), incremental);
+      }
+   }
+
+   /**
+    * Ensure that a change to the project finish date updates the late dates
+    * of a task whose late finish is bounded by the finish date, even though
+    * the late dates of its successor do not change.
+    */
+   @Test public void testRescheduleFinishDate() throws CpmException
+   {
+      ProjectFile file = createProject();
+      Task a = addTask(file, "A", 2);
+      Task b = addTask(file, "B", 1);
+      Task c = addTask(file, "C", 2);
+      link(a, b, RelationType.START_START, 0);
+      b.setActualStart(LocalDateTime.parse("2024-01-15T08:00"));
+      b.setActualFinish(LocalDateTime.parse("2024-01-15T17:00"));
+
+      CriticalPathScheduler scheduler = new CriticalPathScheduler();
+      scheduler.schedule(file, START);
+      assertDates(a, "2024-01-08T08:00", "2024-01-09T17:00", "2024-01-12T08:00", "2024-01-15T17:00");
+
+      c.setDuration(Duration.getInstance(10, TimeUnit.DAYS));
+      scheduler.reschedule(Collections.singletonList(c));
+      assertEquals(LocalDateTime.parse("2024-01-19T17:00"), scheduler.getFinishDate());
+      assertDates(a, "2024-01-08T08:00", "2024-01-09T17:00", "2024-01-15T08:00", "2024-01-16T17:00");
+      List<String> incremental = describe(file);
+
+      new CriticalPathScheduler().schedule(file, START);
+      assertEquals(describe(file), incremental);
+   }
+
+   /**
+    * Create a project with a standard calendar.
+    *
+    * @return new project
+    */
+   private ProjectFile createProject()
+   {
+      ProjectFile file = new ProjectFile();
+      ProjectCalendar calendar = file.addDefaultBaseCalendar();
+      file.setDefaultCalendar(calendar);
+      return file;
+   }
+
+   /**
+    * Add a task.
+    *
+    * @param file parent project
+    * @param name task name
+    * @param days task duration in days
+    * @return new task
+    */
+   private Task addTask(ProjectFile file, String name, int days)
+   {
+      Task task = file.addTask();
+      task.setName(name);
+      task.setDuration(Duration.getInstance(days, TimeUnit.DAYS));
+      return task;
+   }
+
+   /**
+    * Add a relation between two tasks.
+    *
+    * @param predecessor predecessor task
+    * @param successor successor task
+    * @param type relation type
+    * @param lagDays lag in days
+    */
+   private void link(Task predecessor, Task successor, RelationType type, int lagDays)
+   {
+      successor.addPredecessor(new Relation.Builder().targetTask(predecessor).type(type).lag(Duration.getInstance(lagDays, TimeUnit.DAYS)));
+   }
+
+   /**
+    * Check a task's early and late dates.
+    *
+    * @param task task
+    * @param earlyStart expected early start
+    * @param earlyFinish expected early finish
+    * @param lateStart expected late start
+    * @param lateFinish expected late finish
+    */
+   private void assertDates(Task task, String earlyStart, String earlyFinish, String lateStart, String lateFinish)
+   {
+      assertEarlyDates(task, earlyStart, earlyFinish);
+      assertEquals(task.getName(), LocalDateTime.parse(lateStart), task.getLateStart());
+      assertEquals(task.getName(), LocalDateTime.parse(lateFinish), task.getLateFinish());
+   }
+
+   /**
+    * Check a task's early dates.
+    *
+    * @param task task
+    * @param earlyStart expected early start
+    * @param earlyFinish expected early finish
+    */
+   private void assertEarlyDates(Task task, String earlyStart, String earlyFinish)
+   {
+      assertEquals(task.getName(), LocalDateTime.parse(earlyStart), task.getEarlyStart());
+      assertEquals(task.getName(), LocalDateTime.parse(earlyFinish), task.getEarlyFinish());
+   }
+
+   /**
+    * Describe the calculated values for each task.
+    *
+    * @param file project
+    * @return task descriptions
+    */
+   private List<String> describe(ProjectFile file)
+   {
+      List<String> result = new ArrayList<>();
+      for (Task task : file.getTasks())
+      {
+         result.add(task.getName() + " " + task.getEarlyStart() + " " + task.getEarlyFinish() + " " + task.getLateStart() + " " + task.getLateFinish() + " " + task.getTotalSlack() + " " + task.getFreeSlack() + " " + task.getCritical());
+      }
+      return result;
+   }
+
+   private static final LocalDateTime START = LocalDateTime.of(2024, 1, 8, 8, 0);
+}
@@ -0,0 +1,274 @@
+/*
+ * file:       DependencyGraphTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import net.sf.mpxj.DependencyGraph;
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Relation;
+import net.sf.mpxj.RelationType;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.reader.UniversalProjectReader;
+
+/**
+ * Tests for the DependencyGraph class.
+ */
+public class DependencyGraphTest
+{
+   /**
+    * Test the structure of a simple network.
+    */
+   @Test public void testStructure()
+   {
+      ProjectFile file = new ProjectFile();
+      Task[] tasks = createTasks(file, 8, 4, 2, 6);
+      link(tasks[0], tasks[1], RelationType.FINISH_START, 0);
+      link(tasks[0], tasks[2], RelationType.START_START, 60);
+      link(tasks[1], tasks[3], RelationType.FINISH_START, 0);
+      link(tasks[2], tasks[3], RelationType.FINISH_FINISH, 0);
+
+      DependencyGraph graph = new DependencyGraph(file);
+      assertEquals(4, graph.getTaskCount());
+      assertEquals(4, graph.getEdgeCount());
+      assertEquals(-1, graph.getIndex(new ProjectFile().addTask()));
+
+      int first = graph.getIndex(tasks[0]);
+      assertEquals(2, graph.getSuccessorEnd(first) - graph.getSuccessorStart(first));
+      for (int edge = graph.getSuccessorStart(first); edge < graph.getSuccessorEnd(first); edge++)
+      {
+         assertEquals(first, graph.getEdgePredecessor(edge));
+         Task successor = graph.getTask(graph.getEdgeSuccessor(edge));
+         Relation relation = graph.getRelation(edge);
+         assertEquals(successor, relation.getSourceTask());
+         assertEquals(relation.getType(), graph.getEdgeType(edge));
+         assertEquals(successor == tasks[2] ? 60.0 : 0.0, graph.getEdgeLag(edge), 0.0);
+      }
+
+      int last = graph.getIndex(tasks[3]);
+      assertEquals(2, graph.getPredecessorEnd(last) - graph.getPredecessorStart(last));
+      for (int position = graph.getPredecessorStart(last); position < graph.getPredecessorEnd(last); position++)
+      {
+         assertEquals(last, graph.getEdgeSuccessor(graph.getPredecessorEdge(position)));
+      }
+
+      assertTrue(graph.isReachable(first, last));
+      assertFalse(graph.isReachable(last, first));
+      assertEquals(3, graph.getDescendants(first).cardinality());
+      assertEquals(3, graph.getAncestors(last).cardinality());
+      assertEquals(0, graph.getAncestors(first).cardinality());
+   }
+
+   /**
+    * Test topological order and longest path calculations.
+    */
+   @Test public void testLongestPath()
+   {
+      ProjectFile file = new ProjectFile();
+      Task[] tasks = createTasks(file, 8, 4, 2, 6, 1);
+      link(tasks[0], tasks[1], RelationType.FINISH_START, 0);
+      link(tasks[0], tasks[2], RelationType.START_START, 60);
+      link(tasks[1], tasks[3], RelationType.FINISH_START, 0);
+      link(tasks[2], tasks[3], RelationType.FINISH_FINISH, 30);
+      link(tasks[3], tasks[4], RelationType.START_FINISH, 120);
+
+      DependencyGraph graph = new DependencyGraph(file);
+      assertFalse(graph.hasCycles());
+      assertTrue(graph.getCycles().isEmpty());
+      assertTopologicalOrder(graph);
+
+      double[] starts = graph.getEarliestStarts();
+      assertEquals(0.0, starts[graph.getIndex(tasks[0])], 0.0);
+      assertEquals(480.0, starts[graph.getIndex(tasks[1])], 0.0);
+      assertEquals(60.0, starts[graph.getIndex(tasks[2])], 0.0);
+      assertEquals(720.0, starts[graph.getIndex(tasks[3])], 0.0);
+      assertEquals(780.0, starts[graph.getIndex(tasks[4])], 0.0);
+
+      assertArrayEquals(indexes(graph, tasks[0], tasks[1], tasks[3]), graph.getLongestPath());
+
+      // Lengthen task 3 so that the path through task 3 drives the finish
+      double[] durations = new double[graph.getTaskCount()];
+      for (int index = 0; index < durations.length; index++)
+      {
+         durations[index] = graph.getDuration(index);
+      }
+      durations[graph.getIndex(tasks[2])] = 1200;
+      assertArrayEquals(indexes(graph, tasks[0], tasks[2], tasks[3]), graph.getLongestPath(durations));
+   }
+
+   /**
+    * Test detection of cycles.
+    */
+   @Test public void testCycles()
+   {
+      ProjectFile file = new ProjectFile();
+      Task[] tasks = createTasks(file, 1, 1, 1, 1, 1, 1);
+      link(tasks[0], tasks[1], RelationType.FINISH_START, 0);
+      link(tasks[1], tasks[2], RelationType.FINISH_START, 0);
+      link(tasks[2], tasks[1], RelationType.FINISH_START, 0);
+      link(tasks[2], tasks[3], RelationType.FINISH_START, 0);
+      link(tasks[4], tasks[4], RelationType.FINISH_START, 0);
+
+      DependencyGraph graph = new DependencyGraph(file);
+      assertTrue(graph.hasCycles());
+      assertEquals(toSet(indexes(graph, tasks[0], tasks[5])), toSet(graph.getTopologicalOrder()));
+
+      List<List<Task>> cycles = graph.getCycles();
+      assertEquals(2, cycles.size());
+      HashSet<HashSet<Task>> expected = new HashSet<>();
+      expected.add(new HashSet<>(Arrays.asList(tasks[1], tasks[2])));
+      expected.add(new HashSet<>(Arrays.asList(tasks[4])));
+      HashSet<HashSet<Task>> actual = new HashSet<>();
+      cycles.forEach(c -> actual.add(new HashSet<>(c)));
+      assertEquals(expected, actual);
+
+      try
+      {
+         graph.getLongestPath();
+         fail();
+      }
+
+      catch (IllegalStateException ex)
+      {
+         // Expected
+      }
+   }
+
+   /**
+    * Ensure that the topological order is valid for a sample of schedules.
+    */
+   @Test public void testFiles() throws Exception
+   {
+      for (String name : new String[]
+      {
+         "mpp14task.mpp",
+         "PredecessorCalendar.xer",
+         "legacy/sample1.xml"
+      })
+      {
+         ProjectFile file = new UniversalProjectReader().read(MpxjTestData.filePath(name));
+         DependencyGraph graph = new DependencyGraph(file);
+         assertEquals(file.getTasks().size(), graph.getTaskCount());
+         assertFalse(graph.hasCycles());
+         assertTopologicalOrder(graph);
+
+         for (Task task : file.getTasks())
+         {
+            int index = graph.getIndex(task);
+            assertEquals(task.getPredecessors().size(), graph.getPredecessorEnd(index) - graph.getPredecessorStart(index));
+            assertEquals(task.getSuccessors().size(), graph.getSuccessorEnd(index) - graph.getSuccessorStart(index));
+         }
+      }
+   }
+
+   /**
+    * Ensure that every task appears after its predecessors in the topological order.
+    *
+    * @param graph dependency graph
+    */
+   private void assertTopologicalOrder(DependencyGraph graph)
+   {
+      int[] order = graph.getTopologicalOrder();
+      assertEquals(graph.getTaskCount(), order.length);
+
+      int[] position = new int[order.length];
+      for (int index = 0; index < order.length; index++)
+      {
+         position[order[index]] = index;
+      }
+
+      for (int edge = 0; edge < graph.getEdgeCount(); edge++)
+      {
+         assertTrue(position[graph.getEdgePredecessor(edge)] < position[graph.getEdgeSuccessor(edge)]);
+      }
+   }
+
+   /**
+    * Create tasks with the supplied durations in hours.
+    *
+    * @param file parent project
+    * @param hours task durations
+    * @return tasks
+    */
+   private Task[] createTasks(ProjectFile file, int... hours)
+   {
+      Task[] result = new Task[hours.length];
+      for (int index = 0; index < hours.length; index++)
+      {
+         result[index] = file.addTask();
+         result[index].setName("Task " + (index + 1));
+         result[index].setDuration(Duration.getInstance(hours[index], TimeUnit.HOURS));
+      }
+      return result;
+   }
+
+   /**
+    * Add a relation between two tasks.
+    *
+    * @param predecessor predecessor task
+    * @param successor successor task
+    * @param type relation type
+    * @param lagMinutes lag in minutes
+    */
+   private void link(Task predecessor, Task successor, RelationType type, int lagMinutes)
+   {
+      successor.addPredecessor(new Relation.Builder().targetTask(predecessor).type(type).lag(Duration.getInstance(lagMinutes, TimeUnit.MINUTES)));
+   }
+
+   /**
+    * Retrieve the indexes of the supplied tasks.
+    *
+    * @param graph dependency graph
+    * @param tasks tasks
+    * @return task indexes
+    */
+   private int[] indexes(DependencyGraph graph, Task... tasks)
+   {
+      return Arrays.stream(tasks).mapToInt(graph::getIndex).toArray();
+   }
+
+   /**
+    * Convert an array of indexes to a set.
+    *
+    * @param values indexes
+    * @return set of indexes
+    */
+   private HashSet<Integer> toSet(int[] values)
+   {
+      HashSet<Integer> result = new HashSet<>();
+      Arrays.stream(values).forEach(result::add);
+      return result;
+   }
+}
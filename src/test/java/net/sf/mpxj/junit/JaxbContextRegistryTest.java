@@ -0,0 +1,95 @@
+/*
+ * file:       JaxbContextRegistryTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ExecutionException;
+
+import jakarta.xml.bind.JAXBException;
+
+import org.junit.Test;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.common.JaxbContextRegistry;
+import net.sf.mpxj.mspdi.MSPDIReader;
+import net.sf.mpxj.mspdi.MSPDIWriter;
+
+/**
+ * Tests for the JaxbContextRegistry class.
+ */
+public class JaxbContextRegistryTest
+{
+   /**
+    * Ensure that contexts are shared, and that their construction time is recorded.
+    */
+   @Test public void testSharedContext() throws Exception
+   {
+      JaxbContextRegistry.warmUp(JaxbContextRegistry.PLANNER).get();
+      assertNotNull(JaxbContextRegistry.getInitialisationTime(JaxbContextRegistry.PLANNER));
+      assertTrue(JaxbContextRegistry.getInitialisationTimes().containsKey(JaxbContextRegistry.PLANNER));
+      assertSame(JaxbContextRegistry.getContext(JaxbContextRegistry.PLANNER), JaxbContextRegistry.getContext(JaxbContextRegistry.PLANNER));
+
+      ProjectFile project = new MSPDIReader().read(MpxjTestData.filePath("mspdicostratetable.xml"));
+      new MSPDIWriter().write(project, new ByteArrayOutputStream());
+      assertNotNull(JaxbContextRegistry.getInitialisationTime(JaxbContextRegistry.MSPDI));
+   }
+
+   /**
+    * Ensure that a context which can't be constructed reports an error.
+    */
+   @Test public void testInvalidPackage() throws Exception
+   {
+      String packageName = "net.sf.mpxj.junit.missing";
+      assertNull(JaxbContextRegistry.getInitialisationTime(packageName));
+
+      try
+      {
+         JaxbContextRegistry.warmUp(packageName).get();
+         fail("Expected exception");
+      }
+
+      catch (ExecutionException ex)
+      {
+         assertTrue(ex.getCause() instanceof JAXBException);
+      }
+
+      try
+      {
+         JaxbContextRegistry.getContext(packageName);
+         fail("Expected exception");
+      }
+
+      catch (JAXBException ex)
+      {
+         // Expected
+      }
+
+      assertNotNull(JaxbContextRegistry.getInitialisationTime(packageName));
+   }
+}
@@ -0,0 +1,132 @@
+/*
+ * file:       JsonWriterCalculatedFieldsTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Relation;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TaskField;
+import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.json.JsonWriter;
+
+/**
+ * Ensure that the JSON writer writes or omits calculated fields as expected.
+ */
+public class JsonWriterCalculatedFieldsTest
+{
+   /**
+    * Calculated values are written by default.
+    */
+   @Test public void testCalculatedFieldsWritten() throws Exception
+   {
+      ProjectFile file = createProject();
+      Task task = file.getTaskByUniqueID(Integer.valueOf(2));
+
+      String json = write(file, true);
+      assertTrue(json.contains("\"cost_variance\""));
+      assertTrue(json.contains("\"parent_task_unique_id\""));
+      assertTrue(json.contains("\"predecessors\""));
+      assertTrue(json.contains("\"text1\":\"Text 2\""));
+      assertNotNull(task.getCachedValue(TaskField.COST_VARIANCE));
+   }
+
+   /**
+    * Calculated values are omitted when requested, with the
+    * exception of values which are always derived from other data.
+    */
+   @Test public void testCalculatedFieldsOmitted() throws Exception
+   {
+      ProjectFile file = createProject();
+      Task task = file.getTaskByUniqueID(Integer.valueOf(2));
+
+      String json = write(file, false);
+      assertFalse(json.contains("\"cost_variance\""));
+      assertTrue(json.contains("\"parent_task_unique_id\""));
+      assertTrue(json.contains("\"predecessors\""));
+      assertTrue(json.contains("\"text1\":\"Text 2\""));
+      assertNull(task.getCachedValue(TaskField.COST_VARIANCE));
+
+      // Values which have already been calculated are written
+      assertNotNull(task.getCostVariance());
+      json = write(file, false);
+      assertTrue(json.contains("\"cost_variance\""));
+   }
+
+   /**
+    * Create a project with tasks which have calculated values.
+    *
+    * @return new project
+    */
+   private ProjectFile createProject()
+   {
+      ProjectFile file = new ProjectFile();
+      file.addDefaultBaseCalendar();
+
+      Task summary = file.addTask();
+      summary.setName("Summary");
+
+      Task previous = null;
+      for (int index = 1; index <= 3; index++)
+      {
+         Task task = summary.addTask();
+         task.setName("Task " + index);
+         task.setText(1, "Text " + index);
+         task.setDuration(Duration.getInstance(index, TimeUnit.DAYS));
+         task.setCost(Double.valueOf(100 * index));
+         task.setBaselineCost(Double.valueOf(80 * index));
+         if (previous != null)
+         {
+            task.addPredecessor(new Relation.Builder().targetTask(previous));
+         }
+         previous = task;
+      }
+
+      return file;
+   }
+
+   /**
+    * Write a project as JSON.
+    *
+    * @param file project to write
+    * @param writeCalculatedFields true if calculated fields should be written
+    * @return JSON text
+    */
+   private String write(ProjectFile file, boolean writeCalculatedFields) throws Exception
+   {
+      JsonWriter writer = new JsonWriter();
+      writer.setWriteCalculatedFields(writeCalculatedFields);
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      writer.write(file, stream);
+      return stream.toString("UTF-8");
+   }
+}
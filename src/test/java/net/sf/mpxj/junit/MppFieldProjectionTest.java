@@ -0,0 +1,164 @@
+/*
+ * file:       MppFieldProjectionTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import net.sf.mpxj.FieldType;
+import net.sf.mpxj.FieldTypeClass;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.ResourceField;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TaskField;
+import net.sf.mpxj.common.ResourceFieldLists;
+import net.sf.mpxj.common.TaskFieldLists;
+import net.sf.mpxj.mpp.MPPReader;
+
+/**
+ * Tests to ensure that restricting the fields read from an MPP file
+ * populates the requested fields, and leaves other fields empty.
+ */
+public class MppFieldProjectionTest
+{
+   /**
+    * Test reading selected fields from an MPP9 file.
+    */
+   @Test public void testMpp9() throws Exception
+   {
+      testFieldProjection("mpp9task.mpp");
+   }
+
+   /**
+    * Test reading selected fields from an MPP12 file.
+    */
+   @Test public void testMpp12() throws Exception
+   {
+      testFieldProjection("mpp12task.mpp");
+   }
+
+   /**
+    * Test reading selected fields from an MPP14 file.
+    */
+   @Test public void testMpp14() throws Exception
+   {
+      testFieldProjection("mpp14task.mpp");
+   }
+
+   /**
+    * Invalid field type classes are rejected.
+    */
+   @Test(expected = IllegalArgumentException.class) public void testInvalidFieldTypeClass()
+   {
+      new MPPReader().setReadFields(FieldTypeClass.PROJECT, Collections.emptySet());
+   }
+
+   /**
+    * Fields which do not belong to the field type class are rejected.
+    */
+   @Test(expected = IllegalArgumentException.class) public void testMismatchedFields()
+   {
+      new MPPReader().setReadFields(FieldTypeClass.TASK, new HashSet<>(Arrays.asList(TaskField.NAME, ResourceField.NAME)));
+   }
+
+   /**
+    * Fields required to look up outline code values are only added
+    * for the entity type whose outline codes are being read.
+    */
+   @Test public void testDependentFields()
+   {
+      MPPReader reader = new MPPReader();
+      reader.setReadFields(FieldTypeClass.TASK, EnumSet.of(TaskField.OUTLINE_CODE1));
+      reader.setReadFields(FieldTypeClass.RESOURCE, EnumSet.of(ResourceField.OUTLINE_CODE1));
+      reader.setReadFields(FieldTypeClass.ASSIGNMENT, Collections.emptySet());
+
+      Set<FieldType> taskFields = reader.getReadFields(FieldTypeClass.TASK);
+      assertTrue(taskFields.containsAll(Arrays.asList(TaskFieldLists.CUSTOM_OUTLINE_CODE_INDEX)));
+      assertTrue(Arrays.stream(ResourceFieldLists.CUSTOM_OUTLINE_CODE_INDEX).noneMatch(taskFields::contains));
+
+      Set<FieldType> resourceFields = reader.getReadFields(FieldTypeClass.RESOURCE);
+      assertTrue(resourceFields.containsAll(Arrays.asList(ResourceFieldLists.CUSTOM_OUTLINE_CODE_INDEX)));
+      assertTrue(Arrays.stream(TaskFieldLists.CUSTOM_OUTLINE_CODE_INDEX).noneMatch(resourceFields::contains));
+
+      Set<FieldType> assignmentFields = reader.getReadFields(FieldTypeClass.ASSIGNMENT);
+      assertTrue(Arrays.stream(TaskFieldLists.CUSTOM_OUTLINE_CODE_INDEX).noneMatch(assignmentFields::contains));
+      assertTrue(Arrays.stream(ResourceFieldLists.CUSTOM_OUTLINE_CODE_INDEX).noneMatch(assignmentFields::contains));
+   }
+
+   /**
+    * Compare a file read with all fields to the same file read with a subset of fields.
+    *
+    * @param fileName file name
+    */
+   private void testFieldProjection(String fileName) throws Exception
+   {
+      ProjectFile expected = new MPPReader().read(MpxjTestData.filePath(fileName));
+
+      MPPReader reader = new MPPReader();
+      reader.setReadFields(FieldTypeClass.TASK, EnumSet.of(TaskField.TEXT1, TaskField.OUTLINE_CODE1, TaskField.HYPERLINK));
+      reader.setReadFields(FieldTypeClass.RESOURCE, Collections.emptySet());
+      reader.setReadFields(FieldTypeClass.ASSIGNMENT, Collections.emptySet());
+      assertNotNull(reader.getReadFields(FieldTypeClass.TASK));
+      ProjectFile actual = reader.read(MpxjTestData.filePath(fileName));
+
+      assertEquals(expected.getTasks().size(), actual.getTasks().size());
+      assertEquals(expected.getResources().size(), actual.getResources().size());
+      assertEquals(expected.getResourceAssignments().size(), actual.getResourceAssignments().size());
+
+      for (int index = 0; index < expected.getTasks().size(); index++)
+      {
+         Task expectedTask = expected.getTasks().get(index);
+         Task actualTask = actual.getTasks().get(index);
+
+         assertEquals(expectedTask.getUniqueID(), actualTask.getUniqueID());
+         assertEquals(expectedTask.getID(), actualTask.getID());
+         assertEquals(expectedTask.getName(), actualTask.getName());
+         assertEquals(expectedTask.getStart(), actualTask.getStart());
+         assertEquals(expectedTask.getFinish(), actualTask.getFinish());
+         assertEquals(expectedTask.getDuration(), actualTask.getDuration());
+         assertEquals(expectedTask.getOutlineLevel(), actualTask.getOutlineLevel());
+         assertEquals(expectedTask.getPredecessors().size(), actualTask.getPredecessors().size());
+         assertEquals(expectedTask.getText(1), actualTask.getText(1));
+         assertEquals(expectedTask.getOutlineCode(1), actualTask.getOutlineCode(1));
+         assertEquals(expectedTask.getHyperlink(), actualTask.getHyperlink());
+
+         assertNull(actualTask.getText(2));
+         assertNull(actualTask.getNumber(1));
+         assertNull(actualTask.getNotesObject());
+      }
+
+      Task expectedTask = expected.getTaskByID(Integer.valueOf(1));
+      assertNotNull(expectedTask.getText(1));
+      assertNotNull(expectedTask.getNumber(1));
+   }
+}
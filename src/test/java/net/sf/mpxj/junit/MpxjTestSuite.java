@@ -37,7 +37,10 @@ import net.sf.mpxj.junit.calendar.InvalidCalendarTest;
 import net.sf.mpxj.junit.calendar.MultiDayExceptionsTest;
 import net.sf.mpxj.junit.calendar.RecurringExceptionsTest;
 import net.sf.mpxj.junit.legacy.BasicTest;
+import net.sf.mpxj.junit.primavera.PrimaveraDatabaseReadAllTest;
 import net.sf.mpxj.junit.primavera.PrimaveraDatabaseReaderTest;
+import net.sf.mpxj.junit.primavera.PmxmlStreamingReadTest;
+import net.sf.mpxj.junit.primavera.XerParallelReadAllTest;
 import net.sf.mpxj.junit.project.DataLinksTest;
 import net.sf.mpxj.junit.project.DefaultDurationFormatTest;
 import net.sf.mpxj.junit.project.ProjectPropertiesOnlyTest;
@@ -97,6 +100,8 @@ import net.sf.mpxj.junit.task.TaskTextValuesTest;
    MppEmbeddedTest.class,
    MppRecurringTest.class,
    MppNullTaskTest.class,
+   MppFieldProjectionTest.class,
+   CompactFieldStorageTest.class,
    PlannerCalendarTest.class,
    PlannerResourceTest.class,
    TimephasedTest.class,
@@ -110,6 +115,21 @@ import net.sf.mpxj.junit.task.TaskTextValuesTest;
    TimephasedWorkSegmentTest.class,
    MppAssignmentTest.class,
    TimephasedWorkCostSegmentTest.class,
+   TimephasedAggregationTest.class,
+   MspdiStreamingWriterTest.class,
+   JsonWriterCalculatedFieldsTest.class,
+   TokenizerTest.class,
+   UniversalProjectReaderTemporaryFilesTest.class,
+   BytePatternMatcherTest.class,
+   PopulatedFieldTrackerTest.class,
+   DependencyGraphTest.class,
+   CriticalPathSchedulerTest.class,
+   BatchConverterTest.class,
+   BaselineBulkTest.class,
+   JaxbContextRegistryTest.class,
+   XerWriterTest.class,
+   BytePatternReplacerTest.class,
+   ProjectCleanUtilityTest.class,
    MppTaskFlagsTest.class,
    MppResourceFlagsTest.class,
    DateUtilityTest.class,
@@ -138,6 +158,9 @@ import net.sf.mpxj.junit.task.TaskTextValuesTest;
    ProjectValueListsTest.class,
    CalendarCalendarsTest.class,
    PrimaveraDatabaseReaderTest.class,
+   PrimaveraDatabaseReadAllTest.class,
+   XerParallelReadAllTest.class,
+   PmxmlStreamingReadTest.class,
    TaskContainerTest.class,
    AvailabilityTableTest.class,
    AssignmentAssignmentsTest.class,
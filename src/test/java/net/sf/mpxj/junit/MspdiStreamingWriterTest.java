@@ -0,0 +1,233 @@
+/*
+ * file:       MspdiStreamingWriterTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Resource;
+import net.sf.mpxj.ResourceAssignment;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.common.MicrosoftProjectConstants;
+import net.sf.mpxj.mspdi.MSPDIReader;
+import net.sf.mpxj.mspdi.MSPDIWriter;
+import net.sf.mpxj.reader.UniversalProjectReader;
+
+/**
+ * Ensure that MSPDI files written with streaming output enabled are
+ * identical to those written using the complete JAXB object tree.
+ */
+public class MspdiStreamingWriterTest
+{
+   /**
+    * Test writing a project read from an MPP file.
+    */
+   @Test public void testMpp() throws Exception
+   {
+      testStreamingOutput("mpp14task.mpp", false);
+   }
+
+   /**
+    * Test writing a project including timephased data.
+    */
+   @Test public void testTimephased() throws Exception
+   {
+      testStreamingOutput("mpp14timephased.mpp", true);
+   }
+
+   /**
+    * Test writing a project read from an MSPDI file.
+    */
+   @Test public void testMspdi() throws Exception
+   {
+      testStreamingOutput("legacy/sample1.xml", false);
+   }
+
+   /**
+    * Test writing a project which includes external tasks,
+    * and tasks which are complete but have no assignments.
+    */
+   @Test public void testExternalTasksAndDummyAssignments() throws Exception
+   {
+      ProjectFile expected = createProject();
+      ProjectFile actual = createProject();
+      testStreamingOutput(expected, actual, false);
+
+      ProjectFile result = new MSPDIReader().read(new ByteArrayInputStream(write(createProject(), false, true)));
+      assertEquals(2, result.getResourceAssignments().size());
+      assertEquals(Integer.valueOf(2), result.getTaskByUniqueID(Integer.valueOf(3)).getID());
+   }
+
+   /**
+    * Ensure that dummy assignments are given Unique IDs without
+    * changing the configuration of the project being written.
+    */
+   @Test public void testDummyAssignmentUniqueID() throws Exception
+   {
+      ProjectFile file = createProject();
+      file.getProjectConfig().setAutoAssignmentUniqueID(false);
+      Integer assignmentUniqueID = file.getResourceAssignments().get(0).getUniqueID();
+
+      ProjectFile result = new MSPDIReader().read(new ByteArrayInputStream(write(file, false, true)));
+      assertFalse(file.getProjectConfig().getAutoAssignmentUniqueID());
+      assertEquals(1, file.getResourceAssignments().size());
+
+      assertEquals(2, result.getResourceAssignments().size());
+      assertEquals(assignmentUniqueID, result.getResourceAssignments().get(0).getUniqueID());
+      assertEquals(Integer.valueOf(assignmentUniqueID.intValue() + 1), result.getResourceAssignments().get(1).getUniqueID());
+   }
+
+   /**
+    * Ensure that dummy assignment Unique IDs are mapped in the same way as
+    * other assignment Unique IDs when they are too large for Microsoft Project.
+    */
+   @Test public void testDummyAssignmentLargeUniqueID() throws Exception
+   {
+      testDummyAssignmentLargeUniqueID(false);
+      testDummyAssignmentLargeUniqueID(true);
+   }
+
+   /**
+    * Write a project whose assignment Unique IDs are too large for
+    * Microsoft Project and confirm that all of the Unique IDs written
+    * are within range and are distinct.
+    *
+    * @param streamingOutput true if streaming output is enabled
+    */
+   private void testDummyAssignmentLargeUniqueID(boolean streamingOutput) throws Exception
+   {
+      ProjectFile file = createProject();
+      file.getResourceAssignments().get(0).setUniqueID(Integer.valueOf(MicrosoftProjectConstants.MAX_UNIQUE_ID + 10));
+
+      ProjectFile result = new MSPDIReader().read(new ByteArrayInputStream(write(file, false, streamingOutput)));
+      assertEquals(2, result.getResourceAssignments().size());
+
+      Set<Integer> uniqueIDs = new HashSet<>();
+      for (ResourceAssignment assignment : result.getResourceAssignments())
+      {
+         assertTrue(assignment.getUniqueID().intValue() < MicrosoftProjectConstants.MAX_UNIQUE_ID);
+         assertTrue(uniqueIDs.add(assignment.getUniqueID()));
+      }
+   }
+
+   /**
+    * Read a file twice, and compare the output written with
+    * and without streaming output.
+    *
+    * @param fileName file name
+    * @param writeTimephasedData true if timephased data should be written
+    */
+   private void testStreamingOutput(String fileName, boolean writeTimephasedData) throws Exception
+   {
+      ProjectFile expected = new UniversalProjectReader().read(MpxjTestData.filePath(fileName));
+      ProjectFile actual = new UniversalProjectReader().read(MpxjTestData.filePath(fileName));
+      testStreamingOutput(expected, actual, writeTimephasedData);
+   }
+
+   /**
+    * Write a project without streaming output, and an identical project
+    * with streaming output, and compare the results. The file written with
+    * streaming output is then read to ensure that it contains the expected tasks.
+    *
+    * @param expectedFile project to write without streaming output
+    * @param actualFile project to write with streaming output
+    * @param writeTimephasedData true if timephased data should be written
+    */
+   private void testStreamingOutput(ProjectFile expectedFile, ProjectFile actualFile, boolean writeTimephasedData) throws Exception
+   {
+      // The current date defaults to the time the project was created
+      actualFile.getProjectProperties().setCurrentDate(expectedFile.getProjectProperties().getCurrentDate());
+
+      byte[] expected = write(expectedFile, writeTimephasedData, false);
+      byte[] actual = write(actualFile, writeTimephasedData, true);
+      assertTrue(expected.length > 0);
+      assertEquals(new String(expected, "UTF-8"), new String(actual, "UTF-8"));
+
+      ProjectFile result = new MSPDIReader().read(new ByteArrayInputStream(actual));
+      assertEquals(actualFile.getTasks().stream().filter(t -> !t.getExternalTask()).count(), result.getTasks().size());
+      for (Task task : result.getTasks())
+      {
+         assertEquals(actualFile.getTaskByUniqueID(task.getUniqueID()).getName(), task.getName());
+      }
+   }
+
+   /**
+    * Create a project containing an external task, and a
+    * task which is complete but has no resource assignments.
+    *
+    * @return new project
+    */
+   private ProjectFile createProject()
+   {
+      ProjectFile file = new ProjectFile();
+      file.addDefaultBaseCalendar();
+      Resource resource = file.addResource();
+      resource.setName("Resource 1");
+
+      Task task1 = file.addTask();
+      task1.setName("Task 1");
+      task1.setDuration(Duration.getInstance(2, TimeUnit.DAYS));
+      task1.addResourceAssignment(resource);
+
+      Task task2 = file.addTask();
+      task2.setName("External Task");
+      task2.setExternalTask(true);
+
+      Task task3 = file.addTask();
+      task3.setName("Task 3");
+      task3.setDuration(Duration.getInstance(4, TimeUnit.DAYS));
+      task3.setPercentageComplete(Integer.valueOf(50));
+
+      return file;
+   }
+
+   /**
+    * Write a project as MSPDI.
+    *
+    * @param file project to write
+    * @param writeTimephasedData true if timephased data should be written
+    * @param streamingOutput true if streaming output is enabled
+    * @return MSPDI data
+    */
+   private byte[] write(ProjectFile file, boolean writeTimephasedData, boolean streamingOutput) throws Exception
+   {
+      MSPDIWriter writer = new MSPDIWriter();
+      writer.setWriteTimephasedData(writeTimephasedData);
+      writer.setStreamingOutput(streamingOutput);
+
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      writer.write(file, stream);
+      return stream.toByteArray();
+   }
+}
@@ -0,0 +1,243 @@
+/*
+ * file:       PopulatedFieldTrackerTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import net.sf.mpxj.AssignmentField;
+import net.sf.mpxj.DataType;
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.FieldType;
+import net.sf.mpxj.FieldTypeClass;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Resource;
+import net.sf.mpxj.ResourceAssignment;
+import net.sf.mpxj.ResourceField;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TaskField;
+import net.sf.mpxj.TaskType;
+import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.UserDefinedField;
+import net.sf.mpxj.common.PopulatedFields;
+import net.sf.mpxj.reader.UniversalProjectReader;
+
+/**
+ * Ensure that the populated fields maintained incrementally by the entity containers
+ * match those found by examining every entity.
+ */
+public class PopulatedFieldTrackerTest
+{
+   /**
+    * Test changes to field values.
+    */
+   @Test public void testFieldChanges()
+   {
+      ProjectFile file = new ProjectFile();
+      Task task1 = file.addTask();
+      Task task2 = file.addTask();
+
+      task1.setText(1, "Text");
+      task2.setText(1, "Text");
+      assertPopulated(file, TaskField.TEXT1, true);
+
+      task1.setText(1, null);
+      assertPopulated(file, TaskField.TEXT1, true);
+
+      task2.setText(1, "");
+      assertPopulated(file, TaskField.TEXT1, false);
+
+      task1.setCost(1, Double.valueOf(1.0));
+      assertPopulated(file, TaskField.COST1, true);
+
+      task1.setCost(1, Double.valueOf(0.0));
+      assertPopulated(file, TaskField.COST1, false);
+
+      task1.setFlag(1, true);
+      assertPopulated(file, TaskField.FLAG1, true);
+
+      task1.setFlag(1, false);
+      assertPopulated(file, TaskField.FLAG1, false);
+   }
+
+   /**
+    * Test adding and removing entities.
+    */
+   @Test public void testAddAndRemove()
+   {
+      ProjectFile file = new ProjectFile();
+      Task task = file.addTask();
+      Resource resource = file.addResource();
+      resource.setText(1, "Text");
+      ResourceAssignment assignment = task.addResourceAssignment(resource);
+      assignment.setText(1, "Text");
+      task.setDuration(Duration.getInstance(1, TimeUnit.DAYS));
+
+      assertPopulated(file, TaskField.DURATION, true);
+      assertPopulated(file, ResourceField.TEXT1, true);
+      assertPopulated(file, AssignmentField.TEXT1, true);
+
+      assignment.remove();
+      assertPopulated(file, AssignmentField.TEXT1, false);
+
+      file.removeResource(resource);
+      assertPopulated(file, ResourceField.TEXT1, false);
+
+      file.removeTask(task);
+      assertPopulated(file, TaskField.DURATION, false);
+
+      // Changes to an entity no longer in the project are ignored
+      task.setText(1, "Text");
+      assertPopulated(file, TaskField.TEXT1, false);
+   }
+
+   /**
+    * Test clearing the entity containers.
+    */
+   @Test public void testClear()
+   {
+      ProjectFile file = new ProjectFile();
+      Task task = file.addTask();
+      task.setText(1, "Text");
+      Resource resource = file.addResource();
+      resource.setText(1, "Text");
+      ResourceAssignment assignment = task.addResourceAssignment(resource);
+      assignment.setText(1, "Text");
+
+      file.getResourceAssignments().clear();
+      assertPopulated(file, AssignmentField.TEXT1, false);
+
+      file.getResources().clear();
+      assertPopulated(file, ResourceField.TEXT1, false);
+
+      file.getTasks().clear();
+      assertPopulated(file, TaskField.TEXT1, false);
+
+      // Changes to entities no longer in the project are ignored
+      task.setText(2, "Text");
+      resource.setText(2, "Text");
+      assignment.setText(2, "Text");
+      assertPopulated(file, TaskField.TEXT2, false);
+      assertPopulated(file, ResourceField.TEXT2, false);
+      assertPopulated(file, AssignmentField.TEXT2, false);
+
+      // Entities added after the containers are cleared are tracked as usual
+      file.addTask().setText(3, "Text");
+      assertPopulated(file, TaskField.TEXT3, true);
+   }
+
+   /**
+    * Test fields whose default value is taken from the project properties.
+    */
+   @Test public void testProjectDefaults()
+   {
+      ProjectFile file = new ProjectFile();
+      file.getProjectProperties().setDefaultTaskType(TaskType.FIXED_UNITS);
+
+      Task task = file.addTask();
+      task.setType(TaskType.FIXED_UNITS);
+      assertPopulated(file, TaskField.TYPE, false);
+
+      file.getProjectProperties().setDefaultTaskType(TaskType.FIXED_DURATION);
+      assertPopulated(file, TaskField.TYPE, true);
+
+      task.setType(TaskType.FIXED_DURATION);
+      assertPopulated(file, TaskField.TYPE, false);
+   }
+
+   /**
+    * Test user defined fields.
+    */
+   @Test public void testUserDefinedFields()
+   {
+      ProjectFile file = new ProjectFile();
+      UserDefinedField field = new UserDefinedField.Builder(file).uniqueID(Integer.valueOf(1000)).internalName("user_field_1").externalName("User Field 1").fieldTypeClass(FieldTypeClass.TASK).dataType(DataType.STRING).build();
+      file.getUserDefinedFields().add(field);
+
+      Task task = file.addTask();
+      assertPopulated(file, field, false);
+
+      task.set(field, "Text");
+      assertPopulated(file, field, true);
+
+      task.set(field, null);
+      assertPopulated(file, field, false);
+   }
+
+   /**
+    * Compare the populated fields with those found by examining every entity
+    * for a sample of schedules.
+    */
+   @Test public void testFiles() throws Exception
+   {
+      for (String name : new String[]
+      {
+         "mpp14task.mpp",
+         "legacy/sample1.xml",
+         "PredecessorCalendar.xer"
+      })
+      {
+         ProjectFile project = new UniversalProjectReader().read(MpxjTestData.filePath(name));
+         assertMatchesScan(project);
+
+         // Clear the values of the first task and check again
+         if (!project.getTasks().isEmpty())
+         {
+            Task task = project.getTasks().get(0);
+            for (TaskField field : TaskField.values())
+            {
+               task.set(field, null);
+            }
+            assertMatchesScan(project);
+         }
+      }
+   }
+
+   /**
+    * Check whether the supplied field is populated, and that the
+    * result matches the result found by examining every entity.
+    *
+    * @param file parent project
+    * @param field field to test
+    * @param expected true if the field should be populated
+    */
+   private void assertPopulated(ProjectFile file, FieldType field, boolean expected)
+   {
+      assertEquals(expected, file.getPopulatedFields().contains(field));
+      assertMatchesScan(file);
+   }
+
+   /**
+    * Ensure that the populated fields reported by each container match
+    * those found by examining every entity.
+    *
+    * @param file parent project
+    */
+   private void assertMatchesScan(ProjectFile file)
+   {
+      assertEquals(new PopulatedFields<>(file, TaskField.class, file.getUserDefinedFields().getTaskFields(), file.getTasks()).getPopulatedFields(), file.getTasks().getPopulatedFields());
+      assertEquals(new PopulatedFields<>(file, ResourceField.class, file.getUserDefinedFields().getResourceFields(), file.getResources()).getPopulatedFields(), file.getResources().getPopulatedFields());
+      assertEquals(new PopulatedFields<>(file, AssignmentField.class, file.getUserDefinedFields().getAssignmentFields(), file.getResourceAssignments()).getPopulatedFields(), file.getResourceAssignments().getPopulatedFields());
+   }
+}
@@ -29,14 +29,23 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
+import net.sf.mpxj.CalendarCachePolicy;
+import net.sf.mpxj.CalendarCacheStatistics;
 import net.sf.mpxj.DayType;
 import net.sf.mpxj.Duration;
 import net.sf.mpxj.ProjectCalendar;
+import net.sf.mpxj.LocalDateRange;
 import net.sf.mpxj.ProjectCalendarException;
+import net.sf.mpxj.ProjectCalendarWeek;
 import net.sf.mpxj.ProjectFile;
 import net.sf.mpxj.Task;
 import net.sf.mpxj.LocalTimeRange;
@@ -927,4 +936,286 @@ public class ProjectCalendarTest
       //
       assertNull(cal.getStartTime(LocalDate.of(2003, 10, 11)));
    }
+
+   /**
+    * Ensure that date arithmetic using the calendar index matches
+    * the day-by-day calculations.
+    */
+   @Test public void testCalendarIndex()
+   {
+      ProjectFile file = new ProjectFile();
+      ProjectCalendar base = file.addDefaultBaseCalendar();
+
+      // Holiday period
+      base.addCalendarException(LocalDate.of(2023, 12, 25), LocalDate.of(2024, 1, 1));
+
+      // Working Saturday with reduced hours
+      ProjectCalendarException saturday = base.addCalendarException(LocalDate.of(2024, 1, 13));
+      saturday.add(new LocalTimeRange(LocalTime.of(9, 0), LocalTime.of(13, 0)));
+
+      // Work week with a single long shift
+      ProjectCalendarWeek week = base.addWorkWeek();
+      week.setDateRange(new LocalDateRange(LocalDate.of(2024, 2, 5), LocalDate.of(2024, 2, 16)));
+      for (DayOfWeek day : DayOfWeek.values())
+      {
+         boolean working = day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY;
+         week.setCalendarDayType(day, working ? DayType.WORKING : DayType.NON_WORKING);
+         if (working)
+         {
+            week.addCalendarHours(day).add(new LocalTimeRange(LocalTime.of(6, 0), LocalTime.of(18, 0)));
+         }
+      }
+
+      ProjectCalendar derived = file.addDefaultDerivedCalendar();
+      derived.setParent(base);
+      derived.addCalendarException(LocalDate.of(2024, 1, 17));
+
+      List<LocalTime> times = Arrays.asList(LocalTime.of(0, 0), LocalTime.of(8, 0), LocalTime.of(10, 30), LocalTime.of(12, 0), LocalTime.of(12, 30), LocalTime.of(13, 0), LocalTime.of(17, 0), LocalTime.of(20, 0));
+      List<Double> hours = Arrays.asList(Double.valueOf(0.5), Double.valueOf(4), Double.valueOf(8), Double.valueOf(37.5), Double.valueOf(200), Double.valueOf(2000));
+
+      for (ProjectCalendar calendar : Arrays.asList(base, derived))
+      {
+         for (int dayOffset = 0; dayOffset < 70; dayOffset++)
+         {
+            LocalDate date = LocalDate.of(2023, 12, 15).plusDays(dayOffset);
+            for (LocalTime time : times)
+            {
+               LocalDateTime dateTime = LocalDateTime.of(date, time);
+
+               for (Double value : hours)
+               {
+                  Duration positive = Duration.getInstance(value.doubleValue(), TimeUnit.HOURS);
+                  Duration negative = Duration.getInstance(-value.doubleValue(), TimeUnit.HOURS);
+                  assertEquals(getDate(calendar, false, dateTime, positive), getDate(calendar, true, dateTime, positive));
+                  assertEquals(getDate(calendar, false, dateTime, negative), getDate(calendar, true, dateTime, negative));
+               }
+
+               LocalDateTime endDate = dateTime.plusDays(dayOffset % 9).plusHours(dayOffset % 5);
+               assertEquals(getWork(calendar, false, dateTime, endDate), getWork(calendar, true, dateTime, endDate));
+               assertEquals(getWork(calendar, false, endDate, dateTime), getWork(calendar, true, endDate, dateTime));
+
+               assertEquals(getNextWorkStart(calendar, false, dateTime), getNextWorkStart(calendar, true, dateTime));
+               assertEquals(getPreviousWorkFinish(calendar, false, dateTime), getPreviousWorkFinish(calendar, true, dateTime));
+            }
+         }
+      }
+   }
+
+   /**
+    * Ensure that the calendar index gives the same results as the
+    * day-by-day calculations when queries require the index to be
+    * extended beyond its initial window.
+    */
+   @Test public void testCalendarIndexExtension()
+   {
+      List<Double> hours = Arrays.asList(Double.valueOf(100), Double.valueOf(1500), Double.valueOf(6000), Double.valueOf(20000));
+      for (int monthOffset = 0; monthOffset < 60; monthOffset += 7)
+      {
+         LocalDateTime dateTime = LocalDateTime.of(2022, 1, 3, 10, 0).plusMonths(monthOffset);
+
+         // Start each set of queries with a fresh index around a single date
+         ProjectCalendar calendar = createExtensionCalendar();
+
+         for (Double value : hours)
+         {
+            Duration positive = Duration.getInstance(value.doubleValue(), TimeUnit.HOURS);
+            Duration negative = Duration.getInstance(-value.doubleValue(), TimeUnit.HOURS);
+            assertEquals(getDate(calendar, false, dateTime, positive), getDate(calendar, true, dateTime, positive));
+            assertEquals(getDate(calendar, false, dateTime, negative), getDate(calendar, true, dateTime, negative));
+         }
+
+         LocalDateTime endDate = dateTime.plusYears(9).plusDays(monthOffset);
+         assertEquals(getWork(calendar, false, dateTime, endDate), getWork(calendar, true, dateTime, endDate));
+         assertEquals(getWork(calendar, false, endDate, dateTime), getWork(calendar, true, endDate, dateTime));
+      }
+
+      for (LocalDateTime dateTime : Arrays.asList(LocalDateTime.of(2019, 3, 2, 9, 0), LocalDateTime.of(2021, 6, 29, 9, 0), LocalDateTime.of(2027, 1, 2, 9, 0), LocalDateTime.of(2029, 12, 30, 9, 0)))
+      {
+         assertEquals(getNextWorkStart(createExtensionCalendar(), false, dateTime), getNextWorkStart(createExtensionCalendar(), true, dateTime));
+         assertEquals(getPreviousWorkFinish(createExtensionCalendar(), false, dateTime), getPreviousWorkFinish(createExtensionCalendar(), true, dateTime));
+      }
+   }
+
+   /**
+    * Create a calendar with long non-working periods.
+    *
+    * @return new calendar
+    */
+   private ProjectCalendar createExtensionCalendar()
+   {
+      ProjectFile file = new ProjectFile();
+      ProjectCalendar calendar = file.addDefaultBaseCalendar();
+      calendar.addCalendarException(LocalDate.of(2019, 3, 1), LocalDate.of(2021, 6, 30));
+      calendar.addCalendarException(LocalDate.of(2027, 1, 1), LocalDate.of(2029, 12, 31));
+      return calendar;
+   }
+
+   private LocalDateTime getDate(ProjectCalendar calendar, boolean useIndex, LocalDateTime date, Duration duration)
+   {
+      calendar.getParentFile().getProjectConfig().setUseCalendarIndex(useIndex);
+      return calendar.getDate(date, duration);
+   }
+
+   private Duration getWork(ProjectCalendar calendar, boolean useIndex, LocalDateTime startDate, LocalDateTime endDate)
+   {
+      calendar.getParentFile().getProjectConfig().setUseCalendarIndex(useIndex);
+      return calendar.getWork(startDate, endDate, TimeUnit.MINUTES);
+   }
+
+   private LocalDateTime getNextWorkStart(ProjectCalendar calendar, boolean useIndex, LocalDateTime date)
+   {
+      calendar.getParentFile().getProjectConfig().setUseCalendarIndex(useIndex);
+      return calendar.getNextWorkStart(date);
+   }
+
+   private LocalDateTime getPreviousWorkFinish(ProjectCalendar calendar, boolean useIndex, LocalDateTime date)
+   {
+      calendar.getParentFile().getProjectConfig().setUseCalendarIndex(useIndex);
+      return calendar.getPreviousWorkFinish(date);
+   }
+
+   /**
+    * Exercise calendar calculations from multiple threads using bounded concurrent caches.
+    */
+   @Test public void testConcurrentCalendarCaches() throws Exception
+   {
+      ProjectFile file = new ProjectFile();
+      ProjectCalendar calendar = file.addDefaultBaseCalendar();
+      calendar.addCalendarException(LocalDate.of(2024, 3, 29), LocalDate.of(2024, 4, 1));
+
+      List<LocalDateTime> dates = new ArrayList<>();
+      for (int index = 0; index < 500; index++)
+      {
+         dates.add(LocalDateTime.of(2024, 1, 1, 8, 0).plusHours(index * 7L));
+      }
+
+      Duration duration = Duration.getInstance(100, TimeUnit.HOURS);
+      List<LocalDateTime> expectedDates = dates.stream().map(d -> calendar.getDate(d, duration)).collect(Collectors.toList());
+      List<Duration> expectedWork = dates.stream().map(d -> calendar.getWork(d, d.plusDays(20), TimeUnit.MINUTES)).collect(Collectors.toList());
+
+      file.getProjectConfig().setConcurrentCalendarCaches(true);
+      file.getProjectConfig().setCalendarCacheSize(100);
+
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try
+      {
+         List<Future<Boolean>> futures = new ArrayList<>();
+         for (int thread = 0; thread < 8; thread++)
+         {
+            futures.add(executor.submit(() -> {
+               boolean result = true;
+               for (int pass = 0; pass < 4; pass++)
+               {
+                  for (int index = 0; index < dates.size(); index++)
+                  {
+                     LocalDateTime date = dates.get(index);
+                     result &= expectedDates.get(index).equals(calendar.getDate(date, duration));
+                     result &= expectedWork.get(index).equals(calendar.getWork(date, date.plusDays(20), TimeUnit.MINUTES));
+                     calendar.getStartTime(date.toLocalDate());
+                  }
+               }
+               return Boolean.valueOf(result);
+            }));
+         }
+
+         for (Future<Boolean> future : futures)
+         {
+            assertTrue(future.get().booleanValue());
+         }
+      }
+      finally
+      {
+         executor.shutdown();
+      }
+
+      CalendarCacheStatistics statistics = calendar.getWorkingTimeCacheStatistics();
+      assertTrue(statistics.getHits() + statistics.getMisses() > 0);
+      assertTrue(statistics.getEvictions() > 0);
+      assertTrue(statistics.getSize() <= 112);
+      assertTrue(calendar.getStartTimeCacheStatistics().getHits() > 0);
+   }
+
+   /**
+    * Verify the eviction behaviour of the calendar cache policies.
+    */
+   @Test public void testCalendarCachePolicies()
+   {
+      // A is used three times, B once, then C displaces an entry
+      assertEquals(3, getStartTimeCacheHits(CalendarCachePolicy.LEAST_FREQUENTLY_USED));
+      assertEquals(2, getStartTimeCacheHits(CalendarCachePolicy.LEAST_RECENTLY_USED));
+   }
+
+   /**
+    * Verify that concurrent calendar caches are bounded by default.
+    */
+   @Test public void testConcurrentCalendarCacheDefaultSize()
+   {
+      ProjectFile file = new ProjectFile();
+      ProjectCalendar calendar = file.addDefaultBaseCalendar();
+      file.getProjectConfig().setConcurrentCalendarCaches(true);
+
+      LocalDate date = LocalDate.of(2000, 1, 3);
+      for (int index = 0; index < 30000; index++)
+      {
+         calendar.getStartTime(date.plusDays(index));
+      }
+
+      CalendarCacheStatistics statistics = calendar.getStartTimeCacheStatistics();
+      assertTrue(statistics.getEvictions() > 0);
+      assertTrue(statistics.getSize() <= 10000);
+   }
+
+   /**
+    * Verify that the default calendar caches only count hits and misses
+    * when cache statistics are enabled.
+    */
+   @Test public void testDefaultCalendarCacheStatistics()
+   {
+      ProjectFile file = new ProjectFile();
+      ProjectCalendar calendar = file.addDefaultBaseCalendar();
+      LocalDate date = LocalDate.of(2024, 1, 1);
+
+      calendar.getStartTime(date);
+      calendar.getStartTime(date);
+      CalendarCacheStatistics statistics = calendar.getStartTimeCacheStatistics();
+      assertEquals(0, statistics.getHits());
+      assertEquals(0, statistics.getMisses());
+      assertEquals(1, statistics.getSize());
+
+      file.getProjectConfig().setCalendarCacheStatistics(true);
+      calendar.getStartTime(date);
+      calendar.getStartTime(date);
+      statistics = calendar.getStartTimeCacheStatistics();
+      assertEquals(1, statistics.getHits());
+      assertEquals(1, statistics.getMisses());
+   }
+
+   /**
+    * Run a fixed sequence of start time queries against a cache holding
+    * two entries and return the number of cache hits.
+    *
+    * @param policy cache eviction policy
+    * @return number of cache hits
+    */
+   private long getStartTimeCacheHits(CalendarCachePolicy policy)
+   {
+      ProjectFile file = new ProjectFile();
+      ProjectCalendar calendar = file.addDefaultBaseCalendar();
+      file.getProjectConfig().setCalendarCacheSize(2);
+      file.getProjectConfig().setCalendarCachePolicy(policy);
+
+      LocalDate a = LocalDate.of(2024, 1, 1);
+      LocalDate b = LocalDate.of(2024, 1, 2);
+      LocalDate c = LocalDate.of(2024, 1, 3);
+
+      calendar.getStartTime(a);
+      calendar.getStartTime(a);
+      calendar.getStartTime(a);
+      calendar.getStartTime(b);
+      calendar.getStartTime(c);
+      assertEquals(1, calendar.getStartTimeCacheStatistics().getEvictions());
+      calendar.getStartTime(a);
+
+      return calendar.getStartTimeCacheStatistics().getHits();
+   }
 }
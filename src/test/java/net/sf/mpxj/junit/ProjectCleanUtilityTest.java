@@ -0,0 +1,116 @@
+/*
+ * file:       ProjectCleanUtilityTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.common.FileHelper;
+import net.sf.mpxj.reader.UniversalProjectReader;
+import net.sf.mpxj.utility.ProjectCleanUtility;
+import net.sf.mpxj.utility.clean.CleanByRedactStrategy;
+
+/**
+ * Tests for the ProjectCleanUtility class.
+ */
+public class ProjectCleanUtilityTest
+{
+   /**
+    * Create the source and target directories.
+    */
+   @Before public void setUp() throws Exception
+   {
+      m_sourceDirectory = FileHelper.createTempDir();
+      m_targetDirectory = new File(FileHelper.createTempDir(), "clean");
+
+      for (String name : FILES)
+      {
+         Files.copy(new File(MpxjTestData.filePath(name)).toPath(), new File(m_sourceDirectory, name).toPath());
+      }
+      Files.write(new File(m_sourceDirectory, "broken.mpp").toPath(), "not a schedule".getBytes(StandardCharsets.US_ASCII));
+   }
+
+   /**
+    * Remove the source and target directories.
+    */
+   @After public void tearDown()
+   {
+      FileHelper.deleteQuietly(m_sourceDirectory);
+      FileHelper.deleteQuietly(m_targetDirectory.getParentFile());
+   }
+
+   /**
+    * Clean a directory of files in parallel, ensuring that task names
+    * are redacted and that failures are isolated.
+    */
+   @Test public void testProcessDirectory() throws Exception
+   {
+      Map<File, Exception> failures = ProjectCleanUtility.processDirectory(CleanByRedactStrategy::new, m_sourceDirectory, m_targetDirectory, 2);
+      assertEquals(1, failures.size());
+      assertEquals("broken.mpp", failures.keySet().iterator().next().getName());
+
+      CleanByRedactStrategy strategy = new CleanByRedactStrategy();
+      for (String name : FILES)
+      {
+         ProjectFile original = new UniversalProjectReader().read(new File(m_sourceDirectory, name));
+         ProjectFile cleaned = new UniversalProjectReader().read(new File(m_targetDirectory, name));
+         List<Task> originalTasks = original.getTasks();
+         List<Task> cleanedTasks = cleaned.getTasks();
+         assertEquals(originalTasks.size(), cleanedTasks.size());
+
+         int redacted = 0;
+         for (int index = 0; index < originalTasks.size(); index++)
+         {
+            String taskName = originalTasks.get(index).getName();
+            if (taskName != null && taskName.length() > 1)
+            {
+               assertEquals(strategy.generateReplacementText(taskName), cleanedTasks.get(index).getName());
+               ++redacted;
+            }
+         }
+         assertTrue(redacted > 0);
+      }
+   }
+
+   private File m_sourceDirectory;
+   private File m_targetDirectory;
+
+   private static final String[] FILES =
+   {
+      "mpp14task.mpp",
+      "mpp9task.mpp",
+      "PredecessorCalendar.xml"
+   };
+}
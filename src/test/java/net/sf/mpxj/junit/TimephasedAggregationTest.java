@@ -0,0 +1,179 @@
+/*
+ * file:       TimephasedAggregationTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.LocalDateTimeRange;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.ResourceAssignment;
+import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.TimephasedCost;
+import net.sf.mpxj.TimephasedWork;
+import net.sf.mpxj.mpp.MPPReader;
+import net.sf.mpxj.mpp.TimescaleUnits;
+import net.sf.mpxj.utility.TimephasedUtility;
+import net.sf.mpxj.utility.TimescaleUtility;
+
+/**
+ * Ensure that timephased data aggregated into buckets matches the segmented timephased data.
+ */
+public class TimephasedAggregationTest
+{
+   /**
+    * Test aggregation using daily timescale units.
+    */
+   @Test public void testDays() throws Exception
+   {
+      testAggregation("mpp14timephased.mpp", TimescaleUnits.DAYS, 120);
+      testAggregation("mpp12timephased2.mpp", TimescaleUnits.DAYS, 120);
+   }
+
+   /**
+    * Test aggregation using weekly timescale units.
+    */
+   @Test public void testWeeks() throws Exception
+   {
+      testAggregation("mpp14timephased.mpp", TimescaleUnits.WEEKS, 20);
+      testAggregation("mpp12timephased2.mpp", TimescaleUnits.WEEKS, 20);
+   }
+
+   /**
+    * Buckets which are too small are rejected.
+    */
+   @Test(expected = IllegalArgumentException.class) public void testInvalidBuckets() throws Exception
+   {
+      ProjectFile file = new MPPReader().read(MpxjTestData.filePath("mpp14timephased.mpp"));
+      ArrayList<LocalDateTimeRange> dateList = m_timescale.createTimescale(file.getProjectProperties().getStartDate(), TimescaleUnits.DAYS, 10);
+      m_timephased.aggregateWork(file.getResourceAssignments(), TimescaleUnits.DAYS, dateList, TimeUnit.HOURS, a -> new double[5], null);
+   }
+
+   /**
+    * Compare per-assignment, per-resource and per-task aggregated values
+    * against values calculated using the segmentWork and segmentCost methods.
+    *
+    * @param fileName file name
+    * @param units timescale units
+    * @param segments number of timescale segments
+    */
+   private void testAggregation(String fileName, TimescaleUnits units, int segments) throws Exception
+   {
+      ProjectFile file = new MPPReader().read(MpxjTestData.filePath(fileName));
+      ArrayList<LocalDateTimeRange> dateList = m_timescale.createTimescale(file.getProjectProperties().getStartDate().minusDays(7), units, segments);
+
+      Map<Integer, double[]> expectedResourceWork = new HashMap<>();
+      Map<Integer, double[]> expectedTaskCost = new HashMap<>();
+      int assignmentCount = 0;
+
+      for (ResourceAssignment assignment : file.getResourceAssignments())
+      {
+         List<TimephasedWork> work = assignment.getTimephasedWork();
+         if (work != null && !work.isEmpty())
+         {
+            ++assignmentCount;
+            double[] expected = new double[segments];
+            List<Duration> durations = m_timephased.segmentWork(assignment.getEffectiveCalendar(), work, units, dateList);
+            for (int index = 0; index < segments; index++)
+            {
+               expected[index] = durations.get(index).convertUnits(TimeUnit.HOURS, file.getProjectProperties()).getDuration();
+            }
+
+            double[] actual = new double[segments];
+            m_timephased.aggregateWork(assignment.getEffectiveCalendar(), work, units, dateList, TimeUnit.HOURS, file.getProjectProperties(), actual);
+            assertArrayEquals(expected, actual);
+
+            add(expectedResourceWork.computeIfAbsent(assignment.getResourceUniqueID(), k -> new double[segments]), expected);
+         }
+
+         List<TimephasedCost> cost = assignment.getTimephasedCost();
+         if (cost != null && !cost.isEmpty())
+         {
+            double[] expected = new double[segments];
+            List<Double> costs = m_timephased.segmentCost(assignment.getEffectiveCalendar(), cost, units, dateList);
+            for (int index = 0; index < segments; index++)
+            {
+               expected[index] = costs.get(index).doubleValue();
+            }
+
+            double[] actual = new double[segments];
+            m_timephased.aggregateCost(assignment.getEffectiveCalendar(), cost, units, dateList, actual);
+            assertArrayEquals(expected, actual);
+
+            add(expectedTaskCost.computeIfAbsent(assignment.getTaskUniqueID(), k -> new double[segments]), expected);
+         }
+      }
+
+      assertTrue(assignmentCount > 0);
+
+      Map<Integer, double[]> resourceWork = new HashMap<>();
+      m_timephased.aggregateWork(file.getResourceAssignments(), units, dateList, TimeUnit.HOURS, a -> resourceWork.computeIfAbsent(a.getResourceUniqueID(), k -> new double[segments]), null);
+      assertEquals(expectedResourceWork.keySet(), resourceWork.keySet());
+      expectedResourceWork.forEach((k, v) -> assertArrayEquals(v, resourceWork.get(k)));
+
+      Map<Integer, double[]> taskCost = new HashMap<>();
+      m_timephased.aggregateCost(file.getResourceAssignments(), units, dateList, null, a -> taskCost.computeIfAbsent(a.getTaskUniqueID(), k -> new double[segments]));
+      assertEquals(expectedTaskCost.keySet(), taskCost.keySet());
+      expectedTaskCost.forEach((k, v) -> assertArrayEquals(v, taskCost.get(k)));
+   }
+
+   /**
+    * Add the values from one array to another.
+    *
+    * @param target target array
+    * @param source source array
+    */
+   private void add(double[] target, double[] source)
+   {
+      for (int index = 0; index < target.length; index++)
+      {
+         target[index] += source[index];
+      }
+   }
+
+   /**
+    * Compare two arrays of values.
+    *
+    * @param expected expected values
+    * @param actual actual values
+    */
+   private void assertArrayEquals(double[] expected, double[] actual)
+   {
+      assertEquals(expected.length, actual.length);
+      for (int index = 0; index < expected.length; index++)
+      {
+         assertEquals("Failed at index " + index, expected[index], actual[index], 0.0001);
+      }
+   }
+
+   private final TimescaleUtility m_timescale = new TimescaleUtility();
+   private final TimephasedUtility m_timephased = new TimephasedUtility();
+}
@@ -0,0 +1,133 @@
+/*
+ * file:       TokenizerTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.sf.mpxj.common.InputStreamTokenizer;
+import net.sf.mpxj.common.ReaderTokenizer;
+import net.sf.mpxj.common.Tokenizer;
+
+/**
+ * Tests to exercise the tokenizer used by the MPX and XER readers.
+ */
+public class TokenizerTest
+{
+   /**
+    * Test simple, empty and quoted tokens.
+    */
+   @Test public void testTokens() throws Exception
+   {
+      List<String> tokens = tokenize(new ReaderTokenizer(new StringReader("a,,\"b,c\",\"d\"\"e\"\r\nf\"g,h\n\n,i")));
+      assertEquals(Arrays.asList("a", "", "b,c", "d\"e", "<EOL>", "f\"g", "h", "<EOL>", "<EOL>", "", "i", "<EOF>"), tokens);
+   }
+
+   /**
+    * Test that subclasses can still control the handling of quoted text.
+    */
+   @Test public void testStartQuotedIsValid() throws Exception
+   {
+      Tokenizer tk = new ReaderTokenizer(new StringReader("<\"a,b\",\"c\""))
+      {
+         @Override protected boolean startQuotedIsValid(StringBuilder buffer)
+         {
+            return buffer.length() == 1 && buffer.charAt(0) == '<';
+         }
+      };
+      assertEquals(Arrays.asList("<a,b", "\"c\"", "<EOF>"), tokenize(tk));
+   }
+
+   /**
+    * Ensure that tokens which span the tokenizer's internal buffer
+    * are read correctly, by comparing the results with those produced
+    * when the data is read one character at a time.
+    */
+   @Test public void testLargeData() throws Exception
+   {
+      Random random = new Random(1);
+      String[] values =
+      {
+         "",
+         "text",
+         "\"quoted\ttext\"",
+         "\"doubled \"\" quote\"",
+         "12345.67",
+         "2024-01-01 08:00"
+      };
+
+      StringBuilder sb = new StringBuilder();
+      for (int line = 0; line < 5000; line++)
+      {
+         int fields = random.nextInt(20);
+         for (int field = 0; field < fields; field++)
+         {
+            if (field != 0)
+            {
+               sb.append('\t');
+            }
+            sb.append(values[random.nextInt(values.length)]);
+         }
+         sb.append(random.nextBoolean() ? "\r\n" : "\n");
+      }
+      String data = sb.toString();
+
+      Tokenizer expected = new InputStreamTokenizer(new ByteArrayInputStream(data.getBytes(StandardCharsets.US_ASCII)));
+      expected.setDelimiter('\t');
+      Tokenizer actual = new ReaderTokenizer(new StringReader(data));
+      actual.setDelimiter('\t');
+
+      assertEquals(tokenize(expected), tokenize(actual));
+   }
+
+   /**
+    * Read all tokens.
+    *
+    * @param tk tokenizer
+    * @return list of tokens
+    */
+   private List<String> tokenize(Tokenizer tk) throws Exception
+   {
+      List<String> result = new ArrayList<>();
+      while (true)
+      {
+         int type = tk.nextToken();
+         if (type == Tokenizer.TT_EOF)
+         {
+            result.add("<EOF>");
+            break;
+         }
+         result.add(type == Tokenizer.TT_EOL ? "<EOL>" : tk.getToken());
+      }
+      return result;
+   }
+}
@@ -0,0 +1,241 @@
+/*
+ * file:       UniversalProjectReaderTemporaryFilesTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.common.SQLite;
+import net.sf.mpxj.reader.UniversalProjectReader;
+
+/**
+ * Ensure that the universal project reader produces the same results
+ * with and without temporary files, and reports the number of bytes
+ * written to temporary files.
+ */
+public class UniversalProjectReaderTemporaryFilesTest
+{
+   /**
+    * Test reading an MPP file from a stream.
+    */
+   @Test public void testOleCompoundDocument() throws Exception
+   {
+      byte[] data = Files.readAllBytes(new File(MpxjTestData.filePath("mpp14task.mpp")).toPath());
+
+      UniversalProjectReader reader = new UniversalProjectReader();
+      ProjectFile expected = reader.read(new ByteArrayInputStream(data));
+      assertEquals(data.length, reader.getTemporaryBytesWritten());
+
+      reader = new UniversalProjectReader();
+      reader.setUseTemporaryFiles(false);
+      ProjectFile actual = reader.read(new ByteArrayInputStream(data));
+      assertEquals(0, reader.getTemporaryBytesWritten());
+
+      assertSameProject(expected, actual);
+   }
+
+   /**
+    * Reading from a file doesn't require a temporary copy of the file.
+    */
+   @Test public void testFile() throws Exception
+   {
+      UniversalProjectReader reader = new UniversalProjectReader();
+      assertNotNull(reader.read(MpxjTestData.filePath("mpp14task.mpp")));
+      assertEquals(0, reader.getTemporaryBytesWritten());
+
+      reader = new UniversalProjectReader();
+      assertNotNull(reader.read(MpxjTestData.filePath("mpdassignmentfields.mpd")));
+      assertEquals(0, reader.getTemporaryBytesWritten());
+   }
+
+   /**
+    * MDB files can only be read from disk, so a temporary file is always required
+    * when reading from a stream.
+    */
+   @Test public void testDatabase() throws Exception
+   {
+      byte[] data = Files.readAllBytes(new File(MpxjTestData.filePath("mpdassignmentfields.mpd")).toPath());
+
+      UniversalProjectReader reader = new UniversalProjectReader();
+      reader.setUseTemporaryFiles(false);
+      assertNotNull(reader.read(new ByteArrayInputStream(data)));
+      assertEquals(data.length, reader.getTemporaryBytesWritten());
+   }
+
+   /**
+    * Reading a database from a file must not modify the file.
+    */
+   @Test public void testDatabaseFileUnchanged() throws Exception
+   {
+      File file = File.createTempFile("mpxj", ".mpd");
+      try
+      {
+         Files.copy(new File(MpxjTestData.filePath("mpdassignmentfields.mpd")).toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+         assertFileUnchangedByRead(file, true);
+      }
+
+      finally
+      {
+         file.delete();
+      }
+   }
+
+   /**
+    * Reading a SQLite database from a file must not modify the file,
+    * and the connections used by readers must not allow updates.
+    */
+   @Test public void testSqliteFileUnchanged() throws Exception
+   {
+      File file = File.createTempFile("mpxj", ".sqlite");
+      try
+      {
+         try (Connection connection = SQLite.createConnection(file); Statement statement = connection.createStatement())
+         {
+            statement.execute("create table example (id integer)");
+         }
+
+         // Not a recognised schedule, but the table names are read to determine the file type
+         assertFileUnchangedByRead(file, false);
+
+         try (Connection connection = SQLite.createReadOnlyConnection(file); Statement statement = connection.createStatement())
+         {
+            statement.execute("insert into example values (1)");
+            fail("Expected SQLException");
+         }
+
+         catch (SQLException ex)
+         {
+            // expected
+         }
+      }
+
+      finally
+      {
+         file.delete();
+      }
+   }
+
+   /**
+    * Read a file and ensure that its content and modification time are unchanged.
+    *
+    * @param file file to read
+    * @param schedule true if the file contains a schedule
+    */
+   private void assertFileUnchangedByRead(File file, boolean schedule) throws Exception
+   {
+      long lastModified = 946684800000L;
+      assertTrue(file.setLastModified(lastModified));
+      byte[] data = Files.readAllBytes(file.toPath());
+
+      UniversalProjectReader reader = new UniversalProjectReader();
+      ProjectFile project = reader.read(file);
+      assertEquals(Boolean.valueOf(schedule), Boolean.valueOf(project != null));
+      assertEquals(0, reader.getTemporaryBytesWritten());
+
+      assertArrayEquals(data, Files.readAllBytes(file.toPath()));
+      assertEquals(lastModified, file.lastModified());
+   }
+
+   /**
+    * Test reading schedules from within a zip file.
+    */
+   @Test public void testZipFile() throws Exception
+   {
+      testZipFile("mpp14task.mpp");
+      testZipFile("legacy/sample1.xml");
+   }
+
+   /**
+    * Create a zip file containing a file which is not a schedule, followed
+    * by a schedule in a subdirectory, and ensure that the schedule is read
+    * in the same way with and without temporary files.
+    *
+    * @param fileName schedule file name
+    */
+   private void testZipFile(String fileName) throws Exception
+   {
+      File file = new File(MpxjTestData.filePath(fileName));
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      try (ZipOutputStream zip = new ZipOutputStream(stream))
+      {
+         zip.putNextEntry(new ZipEntry("readme.txt"));
+         zip.write("Not a schedule".getBytes(StandardCharsets.UTF_8));
+         zip.closeEntry();
+
+         zip.putNextEntry(new ZipEntry("data/"));
+         zip.closeEntry();
+
+         zip.putNextEntry(new ZipEntry("data/" + file.getName()));
+         zip.write(Files.readAllBytes(file.toPath()));
+         zip.closeEntry();
+      }
+      byte[] data = stream.toByteArray();
+
+      UniversalProjectReader reader = new UniversalProjectReader();
+      ProjectFile expected = reader.read(new ByteArrayInputStream(data));
+      assertTrue(reader.getTemporaryBytesWritten() > file.length());
+
+      reader = new UniversalProjectReader();
+      reader.setUseTemporaryFiles(false);
+      ProjectFile actual = reader.read(new ByteArrayInputStream(data));
+      assertEquals(0, reader.getTemporaryBytesWritten());
+
+      assertSameProject(expected, actual);
+   }
+
+   /**
+    * Ensure that two projects have the same content.
+    *
+    * @param expected expected project
+    * @param actual actual project
+    */
+   private void assertSameProject(ProjectFile expected, ProjectFile actual)
+   {
+      assertNotNull(expected);
+      assertNotNull(actual);
+      assertEquals(expected.getProjectProperties().getFileType(), actual.getProjectProperties().getFileType());
+      assertEquals(expected.getTasks().size(), actual.getTasks().size());
+      for (int index = 0; index < expected.getTasks().size(); index++)
+      {
+         assertEquals(expected.getTasks().get(index).getName(), actual.getTasks().get(index).getName());
+      }
+   }
+}
@@ -0,0 +1,169 @@
+/*
+ * file:       XerWriterTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import net.sf.mpxj.Duration;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.TimeUnit;
+import net.sf.mpxj.primavera.PrimaveraXERFileReader;
+import net.sf.mpxj.primavera.PrimaveraXERFileWriter;
+
+/**
+ * Tests for the formatting of values written to XER files.
+ */
+public class XerWriterTest
+{
+   /**
+    * Write a project containing values which exercise the formatting of
+    * numbers, dates, strings and UUIDs, then verify the written values
+    * and ensure they can be read back.
+    */
+   @Test public void testFormatting() throws Exception
+   {
+      double[] durations =
+      {
+         0,
+         2.5,
+         1.0 / 3.0,
+         0.0000005,
+         0.00000049,
+         1234567.1234565,
+         1e9 + 0.25
+      };
+
+      ProjectFile project = new ProjectFile();
+      project.setDefaultCalendar(project.addDefaultBaseCalendar());
+      Task wbs = project.addTask();
+      wbs.setName("WBS");
+
+      List<Task> tasks = new ArrayList<>();
+      for (int index = 0; index < durations.length; index++)
+      {
+         Task task = wbs.addTask();
+         task.setActivityID("A" + index);
+         task.setName("Task \"" + index + "\"");
+         task.setGUID(UUID.randomUUID());
+         task.setPlannedStart(LocalDateTime.of(2026, 1 + index, 9 + index, index, 5 * index));
+         task.setPlannedDuration(Duration.getInstance(durations[index], TimeUnit.HOURS));
+         tasks.add(task);
+      }
+
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      new PrimaveraXERFileWriter().write(project, stream);
+      byte[] data = stream.toByteArray();
+
+      List<Map<String, String>> rows = getTableRows(new String(data, StandardCharsets.UTF_8), "TASK");
+      assertEquals(durations.length, rows.size());
+
+      DecimalFormat format = new DecimalFormat("0.######");
+      for (int index = 0; index < durations.length; index++)
+      {
+         Map<String, String> row = rows.get(index);
+         Task task = tasks.get(index);
+         assertEquals(format.format(durations[index]), row.get("target_drtn_hr_cnt"));
+         assertEquals(String.format("2026-%02d-%02d %02d:%02d", Integer.valueOf(1 + index), Integer.valueOf(9 + index), Integer.valueOf(index), Integer.valueOf(5 * index)), row.get("target_start_date"));
+         assertEquals("Task \"\"" + index + "\"\"", row.get("task_name"));
+      }
+
+      ProjectFile result = new PrimaveraXERFileReader().read(new ByteArrayInputStream(data));
+      for (Task task : tasks)
+      {
+         Task resultTask = result.getTasks().stream().filter(t -> task.getActivityID().equals(t.getActivityID())).findFirst().orElse(null);
+         assertNotNull(resultTask);
+         assertEquals(task.getName(), resultTask.getName());
+         assertEquals(task.getGUID(), resultTask.getGUID());
+         assertEquals(task.getPlannedStart(), resultTask.getPlannedStart());
+      }
+   }
+
+   /**
+    * Extract the rows from an XER table.
+    *
+    * @param text XER file text
+    * @param table table name
+    * @return list of rows, each represented as a map of field name to value
+    */
+   private List<Map<String, String>> getTableRows(String text, String table)
+   {
+      List<Map<String, String>> rows = new ArrayList<>();
+      String[] fields = null;
+      boolean inTable = false;
+
+      for (String line : text.split("\n"))
+      {
+         String[] values = line.split("\t", -1);
+         switch (values[0])
+         {
+            case "%T":
+            {
+               inTable = values[1].equals(table);
+               break;
+            }
+
+            case "%F":
+            {
+               fields = values;
+               break;
+            }
+
+            case "%R":
+            {
+               if (inTable)
+               {
+                  Map<String, String> row = new HashMap<>();
+                  for (int index = 1; index < values.length; index++)
+                  {
+                     row.put(fields[index], values[index]);
+                  }
+                  rows.add(row);
+               }
+               break;
+            }
+
+            default:
+            {
+               break;
+            }
+         }
+      }
+
+      return rows;
+   }
+}
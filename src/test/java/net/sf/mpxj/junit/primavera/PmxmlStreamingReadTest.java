@@ -0,0 +1,142 @@
+/*
+ * file:       PmxmlStreamingReadTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit.primavera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.json.JsonWriter;
+import net.sf.mpxj.junit.MpxjTestData;
+import net.sf.mpxj.primavera.PrimaveraPMFileReader;
+import net.sf.mpxj.primavera.PrimaveraPMFileWriter;
+
+/**
+ * Ensure that reading a PMXML file as a stream produces the same
+ * results as unmarshalling the complete file.
+ */
+public class PmxmlStreamingReadTest
+{
+   /**
+    * Compare the results of reading each of the sample PMXML files.
+    */
+   @Test public void testSampleFiles() throws Exception
+   {
+      for (String name : SAMPLE_FILES)
+      {
+         testStreamingRead(Files.readAllBytes(new File(MpxjTestData.filePath(name)).toPath()));
+      }
+   }
+
+   /**
+    * Compare the results of reading a file containing several projects,
+    * ensuring that baselines are attached in streaming mode.
+    */
+   @Test public void testBaselineProjects() throws Exception
+   {
+      PrimaveraPMFileReader reader = new PrimaveraPMFileReader();
+      ProjectFile project = reader.read(MpxjTestData.filePath("PredecessorCalendar.xml"));
+      ProjectFile baseline = new PrimaveraPMFileReader().read(MpxjTestData.filePath("PredecessorCalendar.xml"));
+      baseline.getProjectProperties().setUniqueID(Integer.valueOf(9999));
+      project.setBaseline(baseline);
+      project.getProjectProperties().setBaselineProjectUniqueID(baseline.getProjectProperties().getUniqueID());
+
+      PrimaveraPMFileWriter writer = new PrimaveraPMFileWriter();
+      writer.setWriteBaselines(true);
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      writer.write(project, stream);
+
+      List<ProjectFile> projects = testStreamingRead(stream.toByteArray());
+      assertEquals(2, projects.size());
+      assertNotNull(projects.get(0).getBaseline());
+   }
+
+   /**
+    * Read the supplied data with and without streaming and compare the results.
+    *
+    * @param data PMXML data
+    * @return projects read in streaming mode
+    */
+   private List<ProjectFile> testStreamingRead(byte[] data) throws Exception
+   {
+      PrimaveraPMFileReader reader = new PrimaveraPMFileReader();
+      reader.setLinkCrossProjectRelations(true);
+      List<ProjectFile> expected = reader.readAll(new ByteArrayInputStream(data));
+      Map<Integer, String> expectedList = reader.listProjects(new ByteArrayInputStream(data));
+
+      PrimaveraPMFileReader streamingReader = new PrimaveraPMFileReader();
+      streamingReader.setLinkCrossProjectRelations(true);
+      streamingReader.setStreamingInput(true);
+      List<ProjectFile> actual = streamingReader.readAll(new ByteArrayInputStream(data));
+      Map<Integer, String> actualList = streamingReader.listProjects(new ByteArrayInputStream(data));
+
+      assertFalse(expected.isEmpty());
+      assertEquals(expected.size(), actual.size());
+      assertEquals(expectedList, actualList);
+
+      for (int index = 0; index < expected.size(); index++)
+      {
+         ProjectFile expectedProject = expected.get(index);
+         ProjectFile actualProject = actual.get(index);
+         assertEquals(toJson(expectedProject), toJson(actualProject));
+         assertEquals(expectedProject.getBaseline() == null, actualProject.getBaseline() == null);
+      }
+
+      return actual;
+   }
+
+   /**
+    * Generate a JSON representation of a project, ignoring the current date
+    * which defaults to the time the file was read.
+    *
+    * @param project project
+    * @return JSON text
+    */
+   private String toJson(ProjectFile project) throws Exception
+   {
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      new JsonWriter().write(project, stream);
+      return new String(stream.toByteArray(), StandardCharsets.UTF_8).replaceAll("\"current_date\":\"[^\"]*\"", "");
+   }
+
+   private static final String[] SAMPLE_FILES =
+   {
+      "PredecessorCalendar.xml",
+      "SuccessorCalendar.xml",
+      "ProjectDefaultCalendar.xml",
+      "TwentyFourHourCalendar.xml",
+      "assignment/resource-rates-test.xml",
+      "generated/task-percentcomplete/percent-complete-8.4.pmxml"
+   };
+}
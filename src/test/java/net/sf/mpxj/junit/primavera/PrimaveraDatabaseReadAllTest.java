@@ -0,0 +1,254 @@
+/*
+ * file:       PrimaveraDatabaseReadAllTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit.primavera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Relation;
+import net.sf.mpxj.Resource;
+import net.sf.mpxj.ResourceAssignment;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.common.FileHelper;
+import net.sf.mpxj.common.SQLite;
+import net.sf.mpxj.primavera.PrimaveraDatabaseReader;
+
+/**
+ * Ensure that reading multiple projects from a P6 database in a single operation
+ * produces the same results as reading each project individually.
+ */
+public class PrimaveraDatabaseReadAllTest
+{
+   /**
+    * Read a small number of projects.
+    */
+   @Test public void testReadAll() throws Exception
+   {
+      testReadAll(3);
+   }
+
+   /**
+    * Read enough projects to require more than one batch.
+    */
+   @Test public void testReadAllBatches() throws Exception
+   {
+      testReadAll(150);
+   }
+
+   /**
+    * Create a database containing the requested number of projects,
+    * then compare the projects read individually with those read
+    * in a single operation.
+    *
+    * @param projectCount number of projects
+    */
+   private void testReadAll(int projectCount) throws Exception
+   {
+      File file = Files.createTempFile("mpxj", ".db").toFile();
+      try (Connection connection = SQLite.createConnection(file, SQLite.dateFormatProperties()))
+      {
+         populateDatabase(connection, projectCount);
+
+         PrimaveraDatabaseReader reader = new PrimaveraDatabaseReader();
+         reader.setConnection(connection);
+         List<Integer> ids = new ArrayList<>(reader.listProjects().keySet());
+         assertEquals(projectCount, ids.size());
+
+         List<ProjectFile> expected = new ArrayList<>();
+         for (Integer id : ids)
+         {
+            reader = new PrimaveraDatabaseReader();
+            reader.setConnection(connection);
+            reader.setProjectID(id.intValue());
+            expected.add(reader.read());
+         }
+
+         reader = new PrimaveraDatabaseReader();
+         reader.setConnection(connection);
+         List<ProjectFile> actual = reader.readAll(ids);
+
+         assertEquals(expected.size(), actual.size());
+         for (int index = 0; index < expected.size(); index++)
+         {
+            assertEquals(describe(expected.get(index)), describe(actual.get(index)));
+         }
+      }
+
+      finally
+      {
+         FileHelper.deleteQuietly(file);
+      }
+   }
+
+   /**
+    * Produce a text description of the project to allow two projects to be compared.
+    *
+    * @param project project to describe
+    * @return project description
+    */
+   private String describe(ProjectFile project)
+   {
+      StringBuilder sb = new StringBuilder();
+      sb.append(project.getProjectProperties().getProjectID()).append('\n');
+
+      for (Task task : project.getTasks())
+      {
+         sb.append(task.getUniqueID()).append(' ').append(task.getName()).append(' ').append(task.getActivityID()).append(' ').append(task.getPlannedStart()).append(' ').append(task.getPlannedDuration()).append('\n');
+         sb.append(task.getActivityCodes().stream().map(v -> v.getName()).sorted().collect(Collectors.joining(","))).append('\n');
+         for (Relation relation : task.getPredecessors())
+         {
+            sb.append(relation.getTargetTask().getUniqueID()).append(' ').append(relation.getType()).append('\n');
+         }
+      }
+
+      for (Resource resource : project.getResources())
+      {
+         sb.append(resource.getUniqueID()).append(' ').append(resource.getName()).append('\n');
+      }
+
+      for (ResourceAssignment assignment : project.getResourceAssignments())
+      {
+         sb.append(assignment.getTaskUniqueID()).append(' ').append(assignment.getResourceUniqueID()).append(' ').append(assignment.getPlannedWork()).append('\n');
+      }
+
+      assertFalse(project.getTasks().isEmpty());
+      assertFalse(project.getResourceAssignments().isEmpty());
+
+      return sb.toString();
+   }
+
+   /**
+    * Create the tables used by the database reader and populate them with
+    * a number of small projects. Each project uses one resource which is
+    * unique to the project, and one resource which is shared with all projects.
+    *
+    * @param connection database connection
+    * @param projectCount number of projects to create
+    */
+   private void populateDatabase(Connection connection, int projectCount) throws Exception
+   {
+      try (Statement statement = connection.createStatement())
+      {
+         for (String sql : SCHEMA)
+         {
+            statement.execute(sql);
+         }
+      }
+
+      connection.setAutoCommit(false);
+
+      insert(connection, "insert into actvtype (actv_code_type_id, actv_code_type, actv_code_type_scope, seq_num) values (?,?,?,?)", 1, "Phase", "AS_Global", 1);
+      insert(connection, "insert into actvcode (actv_code_id, actv_code_type_id, short_name, actv_code_name, seq_num) values (?,?,?,?,?)", 1, 1, "Design", "Design Phase", 1);
+      insert(connection, "insert into actvcode (actv_code_id, actv_code_type_id, short_name, actv_code_name, seq_num) values (?,?,?,?,?)", 2, 1, "Build", "Build Phase", 2);
+      insert(connection, "insert into rsrc (rsrc_id, rsrc_name, rsrc_short_name, rsrc_seq_num, rsrc_type) values (?,?,?,?,?)", 1, "Shared Resource", "SHARED", 1, "RT_Labor");
+
+      for (int project = 1; project <= projectCount; project++)
+      {
+         int wbsID = project * 100;
+         int resourceID = project + 1;
+
+         insert(connection, "insert into project (proj_id, proj_short_name) values (?,?)", project, "PROJECT" + project);
+         insert(connection, "insert into projwbs (wbs_id, proj_id, seq_num, proj_node_flag, wbs_short_name, wbs_name) values (?,?,?,?,?,?)", wbsID, project, 1, "Y", "PROJECT" + project, "Project " + project);
+         insert(connection, "insert into rsrc (rsrc_id, rsrc_name, rsrc_short_name, rsrc_seq_num, rsrc_type) values (?,?,?,?,?)", resourceID, "Resource " + project, "R" + project, resourceID, "RT_Labor");
+
+         for (int task = 1; task <= 3; task++)
+         {
+            int taskID = project * 100 + task;
+            insert(connection, "insert into task (task_id, proj_id, wbs_id, task_code, task_name, task_type, target_start_date, target_end_date, target_drtn_hr_cnt) values (?,?,?,?,?,?,?,?,?)", taskID, project, wbsID, "A" + task, "Task " + project + "." + task, "TT_Task", "2024-01-0" + task + " 08:00:00", "2024-01-0" + task + " 17:00:00", 8.0);
+            insert(connection, "insert into taskrsrc (taskrsrc_id, task_id, proj_id, rsrc_id, target_qty) values (?,?,?,?,?)", taskID, taskID, project, task == 2 ? 1 : resourceID, 8.0);
+            insert(connection, "insert into taskactv (task_id, actv_code_type_id, actv_code_id, proj_id) values (?,?,?,?)", taskID, 1, task == 1 ? 1 : 2, project);
+
+            if (task > 1)
+            {
+               insert(connection, "insert into taskpred (task_pred_id, task_id, pred_task_id, proj_id, pred_proj_id, pred_type, lag_hr_cnt) values (?,?,?,?,?,?,?)", taskID, taskID, taskID - 1, project, project, "PR_FS", 0.0);
+            }
+         }
+      }
+
+      connection.commit();
+      connection.setAutoCommit(true);
+   }
+
+   /**
+    * Insert a row.
+    *
+    * @param connection database connection
+    * @param sql insert statement
+    * @param values column values
+    */
+   private void insert(Connection connection, String sql, Object... values) throws Exception
+   {
+      try (PreparedStatement ps = connection.prepareStatement(sql))
+      {
+         for (int index = 0; index < values.length; index++)
+         {
+            ps.setObject(index + 1, values[index]);
+         }
+         ps.execute();
+      }
+   }
+
+   private static final String[] SCHEMA =
+   {
+      "create table project (proj_id integer, proj_short_name varchar(40), delete_date datetime)",
+      "create table projwbs (wbs_id integer, proj_id integer, parent_wbs_id integer, seq_num integer, proj_node_flag varchar(1), wbs_short_name varchar(40), wbs_name varchar(100), delete_date datetime)",
+      "create table task (task_id integer, proj_id integer, wbs_id integer, task_code varchar(40), task_name varchar(120), task_type varchar(20), target_start_date datetime, target_end_date datetime, target_drtn_hr_cnt real, delete_date datetime)",
+      "create table taskpred (task_pred_id integer, task_id integer, pred_task_id integer, proj_id integer, pred_proj_id integer, pred_type varchar(10), lag_hr_cnt real, delete_date datetime)",
+      "create table taskrsrc (taskrsrc_id integer, task_id integer, proj_id integer, rsrc_id integer, role_id integer, target_qty real, delete_date datetime)",
+      "create table rsrc (rsrc_id integer, rsrc_name varchar(100), rsrc_short_name varchar(40), rsrc_seq_num integer, rsrc_type varchar(20), delete_date datetime)",
+      "create table roles (role_id integer, seq_num integer, delete_date datetime)",
+      "create table rsrcrate (rsrc_rate_id integer, rsrc_id integer, delete_date datetime)",
+      "create table rolerate (role_rate_id integer, role_id integer, delete_date datetime)",
+      "create table rolelimit (rolelimit_id integer, role_id integer, delete_date datetime)",
+      "create table calendar (clndr_id integer, proj_id integer, delete_date datetime)",
+      "create table taskactv (task_id integer, actv_code_type_id integer, actv_code_id integer, proj_id integer)",
+      "create table actvtype (actv_code_type_id integer, actv_code_type varchar(40), actv_code_type_scope varchar(20), seq_num integer, proj_id integer, wbs_id integer)",
+      "create table actvcode (actv_code_id integer, actv_code_type_id integer, parent_actv_code_id integer, short_name varchar(40), actv_code_name varchar(100), seq_num integer)",
+      "create table udftype (udf_type_id integer)",
+      "create table udfvalue (udf_type_id integer, fk_id integer, proj_id integer)",
+      "create table projprop (proj_id integer, prop_name varchar(40), prop_value varchar(4000))",
+      "create table projcost (cost_item_id integer, proj_id integer)",
+      "create table taskproc (proc_id integer, proj_id integer)",
+      "create table wbsmemo (wbs_memo_id integer, proj_id integer)",
+      "create table taskmemo (memo_id integer, proj_id integer)",
+      "create table costtype (cost_type_id integer)",
+      "create table account (acct_id integer)",
+      "create table umeasure (unit_id integer)",
+      "create table memotype (memo_type_id integer)",
+      "create table rsrccurv (curv_id integer)",
+      "create table prefer (prefer_id integer, delete_date datetime)",
+      "create table currtype (curr_id integer)"
+   };
+}
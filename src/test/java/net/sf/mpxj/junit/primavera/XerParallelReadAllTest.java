@@ -0,0 +1,272 @@
+/*
+ * file:       XerParallelReadAllTest.java
+ * author:     Jon Iles
+ * date:       2026-10-17
+ */
+
+/*
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation; either version 2.1 of the License, or (at your
+ * option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307, USA.
+ */
+
+package net.sf.mpxj.junit.primavera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+
+import net.sf.mpxj.ActivityCodeValue;
+import net.sf.mpxj.ProjectFile;
+import net.sf.mpxj.Relation;
+import net.sf.mpxj.Task;
+import net.sf.mpxj.primavera.PrimaveraXERFileReader;
+
+/**
+ * Ensure that reading all projects from an XER file in parallel
+ * produces the same results as reading them sequentially.
+ */
+public class XerParallelReadAllTest
+{
+   /**
+    * Compare sequential and parallel reads.
+    */
+   @Test public void testParallelReadAll() throws Exception
+   {
+      byte[] data = generate(PROJECT_COUNT, TASK_COUNT);
+      List<ProjectFile> expected = read(data, 1);
+      assertEquals(PROJECT_COUNT, expected.size());
+
+      // The exported project is returned first
+      Task task = expected.get(0).getTaskByUniqueID(Integer.valueOf(TASK_COUNT + 1));
+      assertTrue(task.getNotes().endsWith("Note " + (TASK_COUNT + 1)));
+      assertEquals(1, task.getActivityCodes().size());
+      assertProjectsEqual(expected, read(data, 4));
+   }
+
+   /**
+    * Read the same file in parallel many times to expose any
+    * unsafe access to the data shared between projects.
+    */
+   @Test public void testRepeatedParallelReadAll() throws Exception
+   {
+      byte[] data = generate(PROJECT_COUNT, TASK_COUNT);
+      List<ProjectFile> expected = read(data, 1);
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         List<ProjectFile> actual = read(data, 8);
+         assertProjectsEqual(expected, actual);
+
+         ProjectFile first = actual.get(0);
+         assertEquals(1, first.getNotesTopics().size());
+         for (ProjectFile project : actual)
+         {
+            assertSame(first.getNotesTopics(), project.getNotesTopics());
+            assertSame(first.getActivityCodes(), project.getActivityCodes());
+         }
+      }
+   }
+
+   /**
+    * Read all projects from the supplied data.
+    *
+    * @param data XER data
+    * @param parallelism number of threads
+    * @return projects
+    */
+   private List<ProjectFile> read(byte[] data, int parallelism) throws Exception
+   {
+      PrimaveraXERFileReader reader = new PrimaveraXERFileReader();
+      reader.setLinkCrossProjectRelations(true);
+      reader.setParallelism(parallelism);
+      return reader.readAll(new ByteArrayInputStream(data));
+   }
+
+   /**
+    * Ensure that two lists of projects contain the same data.
+    *
+    * @param expected expected projects
+    * @param actual actual projects
+    */
+   private void assertProjectsEqual(List<ProjectFile> expected, List<ProjectFile> actual)
+   {
+      assertEquals(expected.size(), actual.size());
+
+      for (int projectIndex = 0; projectIndex < expected.size(); projectIndex++)
+      {
+         ProjectFile expectedProject = expected.get(projectIndex);
+         ProjectFile actualProject = actual.get(projectIndex);
+         assertEquals(expectedProject.getProjectProperties().getUniqueID(), actualProject.getProjectProperties().getUniqueID());
+         assertEquals(expectedProject.getProjectProperties().getProjectID(), actualProject.getProjectProperties().getProjectID());
+         assertEquals(expectedProject.getTasks().size(), actualProject.getTasks().size());
+
+         for (int taskIndex = 0; taskIndex < expectedProject.getTasks().size(); taskIndex++)
+         {
+            Task expectedTask = expectedProject.getTasks().get(taskIndex);
+            Task actualTask = actualProject.getTasks().get(taskIndex);
+            assertEquals(expectedTask.getUniqueID(), actualTask.getUniqueID());
+            assertEquals(expectedTask.getName(), actualTask.getName());
+            assertEquals(expectedTask.getStart(), actualTask.getStart());
+            assertEquals(expectedTask.getFinish(), actualTask.getFinish());
+            assertEquals(expectedTask.getNotes(), actualTask.getNotes());
+            assertEquals(getActivityCodes(expectedTask), getActivityCodes(actualTask));
+            assertEquals(getPredecessors(expectedTask), getPredecessors(actualTask));
+         }
+      }
+   }
+
+   /**
+    * Create a string representation of a task's activity codes.
+    *
+    * @param task task
+    * @return activity code value unique IDs
+    */
+   private String getActivityCodes(Task task)
+   {
+      StringBuilder sb = new StringBuilder();
+      for (ActivityCodeValue value : task.getActivityCodes())
+      {
+         sb.append(value.getUniqueID()).append(',');
+      }
+      return sb.toString();
+   }
+
+   /**
+    * Create a string representation of a task's predecessors.
+    *
+    * @param task task
+    * @return predecessor unique IDs
+    */
+   private String getPredecessors(Task task)
+   {
+      StringBuilder sb = new StringBuilder();
+      for (Relation relation : task.getPredecessors())
+      {
+         sb.append(relation.getTargetTask().getUniqueID()).append(relation.getType()).append(',');
+      }
+      return sb.toString();
+   }
+
+   /**
+    * Generate a synthetic XER file. Each project after the first has
+    * a relation from the last task of the previous project.
+    *
+    * @param projects number of projects
+    * @param tasksPerProject number of activities per project
+    * @return XER data
+    */
+   private byte[] generate(int projects, int tasksPerProject)
+   {
+      StringBuilder sb = new StringBuilder();
+      sb.append("ERMHDR\t8.2.0\t2020-03-17\tProject\tadmin\tPrimavera Admin\tdbxDatabaseNoName\tProject Management\tUSD\n");
+
+      sb.append("%T\tPROJECT\n");
+      sb.append("%F\tproj_id\tproj_short_name\texport_flag\tplan_start_date\n");
+      for (int project = 1; project <= projects; project++)
+      {
+         sb.append("%R\t").append(project).append("\tPROJECT").append(project).append('\t').append(project == 2 ? "Y" : "N").append("\t2024-01-01 08:00\n");
+      }
+
+      sb.append("%T\tPROJWBS\n");
+      sb.append("%F\twbs_id\tproj_id\tparent_wbs_id\tseq_num\tproj_node_flag\twbs_short_name\twbs_name\n");
+      for (int project = 1; project <= projects; project++)
+      {
+         sb.append("%R\t").append(project).append('\t').append(project).append("\t\t0\tY\tPROJECT").append(project).append("\tProject ").append(project).append('\n');
+      }
+
+      sb.append("%T\tTASK\n");
+      sb.append("%F\ttask_id\tproj_id\twbs_id\ttask_code\ttask_name\ttask_type\tstatus_code\ttarget_drtn_hr_cnt\ttarget_start_date\ttarget_end_date\n");
+      for (int project = 1; project <= projects; project++)
+      {
+         for (int task = 1; task <= tasksPerProject; task++)
+         {
+            sb.append("%R\t").append(getTaskID(project, task, tasksPerProject)).append('\t').append(project).append('\t').append(project).append("\tA").append(task).append("\tActivity ").append(task).append("\tTT_Task\tTK_NotStart\t8\t2024-01-0").append(1 + task % 5).append(" 08:00\t2024-01-0").append(1 + task % 5).append(" 16:00\n");
+         }
+      }
+
+      sb.append("%T\tACTVTYPE\n");
+      sb.append("%F\tactv_code_type_id\tactv_short_len\tseq_num\tactv_code_type\tproj_id\twbs_id\tactv_code_type_scope\tsuper_flag\n");
+      sb.append("%R\t1\t10\t1\tPhase\t\t\tAS_Global\tN\n");
+
+      sb.append("%T\tACTVCODE\n");
+      sb.append("%F\tactv_code_id\tparent_actv_code_id\tactv_code_type_id\tactv_code_name\tshort_name\tseq_num\n");
+      sb.append("%R\t1\t\t1\tDesign\tD\t1\n");
+      sb.append("%R\t2\t\t1\tBuild\tB\t2\n");
+
+      sb.append("%T\tTASKACTV\n");
+      sb.append("%F\ttask_id\tactv_code_type_id\tactv_code_id\tproj_id\n");
+      for (int project = 1; project <= projects; project++)
+      {
+         for (int task = 1; task <= tasksPerProject; task++)
+         {
+            sb.append("%R\t").append(getTaskID(project, task, tasksPerProject)).append("\t1\t").append(1 + task % 2).append('\t').append(project).append('\n');
+         }
+      }
+
+      // Notes without a topic use the default topic, which is added to the shared data when first used.
+      // The first project is read before any others, so omit its notes to ensure the topic is added by a worker.
+      sb.append("%T\tTASKMEMO\n");
+      sb.append("%F\tmemo_id\ttask_id\tmemo_type_id\tproj_id\ttask_memo\n");
+      for (int project = 2; project <= projects; project++)
+      {
+         for (int task = 1; task <= tasksPerProject; task++)
+         {
+            int taskID = getTaskID(project, task, tasksPerProject);
+            sb.append("%R\t").append(taskID).append('\t').append(taskID).append("\t\t").append(project).append("\tNote ").append(taskID).append('\n');
+         }
+      }
+
+      sb.append("%T\tTASKPRED\n");
+      sb.append("%F\ttask_pred_id\ttask_id\tpred_task_id\tproj_id\tpred_proj_id\tpred_type\tlag_hr_cnt\n");
+      int predID = 1;
+      for (int project = 1; project <= projects; project++)
+      {
+         for (int task = 2; task <= tasksPerProject; task++)
+         {
+            sb.append("%R\t").append(predID++).append('\t').append(getTaskID(project, task, tasksPerProject)).append('\t').append(getTaskID(project, task - 1, tasksPerProject)).append('\t').append(project).append('\t').append(project).append("\tPR_FS\t0\n");
+         }
+
+         if (project > 1)
+         {
+            sb.append("%R\t").append(predID++).append('\t').append(getTaskID(project, 1, tasksPerProject)).append('\t').append(getTaskID(project - 1, tasksPerProject, tasksPerProject)).append('\t').append(project).append('\t').append(project - 1).append("\tPR_SS\t0\n");
+         }
+      }
+
+      sb.append("%E\n");
+      return sb.toString().getBytes(StandardCharsets.UTF_8);
+   }
+
+   /**
+    * Generate a unique task ID.
+    *
+    * @param project project number
+    * @param task task number
+    * @param tasksPerProject number of tasks per project
+    * @return unique task ID
+    */
+   private int getTaskID(int project, int task, int tasksPerProject)
+   {
+      return ((project - 1) * tasksPerProject) + task;
+   }
+
+   private static final int PROJECT_COUNT = 12;
+   private static final int TASK_COUNT = 20;
+   private static final int ITERATIONS = 50;
+}